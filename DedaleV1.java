@@ -1,18 +1,29 @@
 package dedale;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import dedale.elements.ConfigurationJeu;
 import dedale.gestionnaires.GestionnaireIG;
 import dedale.gestionnaires.GestionnaireJeu;
 import dedale.gestionnaires.Jeu;
+import dedale.gestionnaires.PlanificateurTempsReel;
+import dedale.mesures.Mesure;
+import dedale.mesures.Metriques;
 import dedaleig.ig.IG;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 
 /**
  * La première version de l'application Dédale ;-).
+ * <br>
+ * Avec -Ddedale.metriques=true, la durée du démarrage est enregistrée dans les métriques (voir {@link Mesure#DEMARRAGE}).
  * @author Damlencourt Valentin
  * @since 5.0 (26/02/23)
- * @version 5.0 (26/02/23)
+ * @version 6.0 (19/10/26)
  */
 public class DedaleV1 extends Application {
 
@@ -21,19 +32,22 @@ public class DedaleV1 extends Application {
     	stage.initStyle(StageStyle.UNDECORATED);
     	stage.xProperty().addListener((obs, oldVal, newVal) -> stage.centerOnScreen());
     	stage.yProperty().addListener((obs, oldVal, newVal) -> stage.centerOnScreen());
-    	final GestionnaireJeu jeu=new Jeu();
+    	final GestionnaireJeu jeu=new Jeu(new ConfigurationJeu(),new PlanificateurTempsReel(Platform::runLater));
     	final GestionnaireIG ig=new IG(stage,jeu);
         jeu.lancerJeu(ig);
-    	
-         final Pane root= new Pane();
-    	final Scene scene = new Scene(root,IG3.LARGEUR_TOTALE,IG3.HAUTEUR_TOTALE, Color.BLACK);
-    	final IG3 ig=new IG3(root);
-        stage.setScene(scene);
-        stage.show();
-        stage.setFullScreen(true);
-        ig.initialiserElementsJeu(new ElementsJeu());
-        ig.lancerAttenteCoup();
-        
+    	if (Metriques.ACTIVEES)
+    		Platform.runLater(DedaleV1::mesurerDemarrage);
+    }
+
+    /**
+     * Méthode enregistrant la durée du démarrage (du lancement de la JVM à l'affichage de la vue de paramétrage)
+     * lorsque les métriques sont activées.
+     */
+    static private void mesurerDemarrage() {
+    	final Optional<Instant> lancement=ProcessHandle.current().info().startInstant();
+    	if (lancement.isPresent()) {
+    		Metriques.enregistrerDuree(Mesure.DEMARRAGE,Duration.between(lancement.get(),Instant.now()).toNanos());
+    	}
     }
     
     public static void main(String[] args) {
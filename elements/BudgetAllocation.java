@@ -0,0 +1,186 @@
+package dedale.elements;
+
+import java.util.ArrayList;
+import java.util.function.IntConsumer;
+
+/**
+ * Une énumération correspondant aux budgets d'allocation des opérations critiques du moteur : pour chaque opération,
+ * le nombre maximal d'octets que peut allouer en moyenne un appel, une fois le code compilé, sur des éléments de jeu
+ * ayant la configuration par défaut (voir {@link ConfigurationJeu#ConfigurationJeu()}).
+ * Un budget nul signifie que l'opération ne doit créer aucun objet.
+ * <br>
+ * Chaque budget fournit aussi l'opération mesurée (voir {@link #preparer(ElementsJeu)}) : les opérations internes au paquetage
+ * (par exemple la génération des coups de {@link EtatRecherche}) peuvent ainsi être vérifiées depuis un autre paquetage.
+ * Ces budgets doivent être mis à jour avec les opérations qu'ils concernent.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public enum BudgetAllocation {
+	/**
+	 * Le parcours en largeur d'un plateau compact (voir {@link PlateauCompact#parcourirEnLargeur(int, int[], int[])}).
+	 */
+	PARCOURS_LARGEUR(0) {
+		@Override
+		public IntConsumer preparer(final ElementsJeu elementsJeu) {
+			final PlateauCompact plateau=new PlateauCompact(elementsJeu);
+			final int[] distances=new int[plateau.getNbCases()];
+			final int[] file=new int[plateau.getNbCases()];
+			return i -> plateau.parcourirEnLargeur(i%plateau.getNbCases(),distances,file);
+		}
+	},
+	/**
+	 * Le calcul des plans de connexions d'un plateau compact puis des cases accessibles depuis une case
+	 * (voir {@link PlansConnexions#calculer(PlateauCompact)} et {@link PlansConnexions#calculerAccessibles(int, long[])}),
+	 * avec l'extraction vectorielle lorsque le module jdk.incubator.vector est chargé.
+	 */
+	PROPAGATION(0) {
+		@Override
+		public IntConsumer preparer(final ElementsJeu elementsJeu) {
+			final PlateauCompact plateau=new PlateauCompact(elementsJeu);
+			final PlansConnexions plans=new PlansConnexions(plateau);
+			final long[] accessibles=plans.creerEnsembleCases();
+			return i -> {
+				plans.calculer(plateau);
+				plans.calculerAccessibles(i%plateau.getNbCases(),accessibles);
+			};
+		}
+	},
+	/**
+	 * Le calcul d'un chemin vers une position dont le parcours est dans le cache, dans une liste réutilisée
+	 * (voir {@link ElementsJeu#calculerChemin(PositionPlateau, PositionPlateau, ArrayList)}).
+	 */
+	CALCUL_CHEMIN(0) {
+		@Override
+		public IntConsumer preparer(final ElementsJeu elementsJeu) {
+			final ConfigurationJeu configuration=elementsJeu.getConfiguration();
+			final PositionPlateau[] positions=new PositionPlateau[configuration.getNbCases()];
+			for (int numCase=0;numCase<positions.length;numCase++)
+				positions[numCase]=new PositionPlateau(numCase/configuration.getNbColonnes(),numCase%configuration.getNbColonnes(),configuration);
+			final PositionPlateau positionFinale=elementsJeu.getJoueurs().get(0).getPosition();
+			final ArrayList<Piece> chemin=new ArrayList<Piece>();
+			return i -> elementsJeu.calculerChemin(positions[i%positions.length],positionFinale,chemin);
+		}
+	},
+	/**
+	 * Le décalage d'une ligne ou d'une colonne d'un plateau compact puis son annulation
+	 * (voir {@link PlateauCompact#decaler(Direction, int)} et {@link PlateauCompact#annulerDecalage(Direction, int)}).
+	 */
+	DECALAGE_PLATEAU_COMPACT(0) {
+		@Override
+		public IntConsumer preparer(final ElementsJeu elementsJeu) {
+			final PlateauCompact plateau=new PlateauCompact(elementsJeu);
+			return i -> {
+				final Direction direction=DIRECTIONS[i&3];
+				final int numLigOuCol=(i>>>2)%(((direction==Direction.HAUT)||(direction==Direction.BAS))?plateau.getNbColonnes():plateau.getNbLignes());
+				plateau.decaler(direction,numLigOuCol);
+				plateau.annulerDecalage(direction,numLigOuCol);
+			};
+		}
+	},
+	/**
+	 * L'insertion de la pièce hors plateau dans les éléments du jeu (voir {@link ElementsJeu#effectuerInsertionPieceHorsPlateau(Direction, int)}) :
+	 * l'événement JFR du décalage n'est créé que lorsqu'un enregistrement l'a activé.
+	 */
+	DECALAGE(0) {
+		@Override
+		public IntConsumer preparer(final ElementsJeu elementsJeu) {
+			final ConfigurationJeu configuration=elementsJeu.getConfiguration();
+			return i -> {
+				final Direction direction=DIRECTIONS[i&3];
+				elementsJeu.effectuerInsertionPieceHorsPlateau(direction,(i>>>2)%(((direction==Direction.HAUT)||(direction==Direction.BAS))?configuration.getNbColonnes():configuration.getNbLignes()));
+			};
+		}
+	},
+	/**
+	 * La rotation de la pièce hors plateau des éléments du jeu (voir {@link ElementsJeu#rotationnerPieceHorsPlateau()}).
+	 */
+	ROTATION(0) {
+		@Override
+		public IntConsumer preparer(final ElementsJeu elementsJeu) {
+			return i -> elementsJeu.rotationnerPieceHorsPlateau();
+		}
+	},
+	/**
+	 * La génération des coups d'un joueur lors d'une recherche (voir {@link EtatRecherche#genererCoups(int, int[], long[])}).
+	 */
+	GENERATION_COUPS(0) {
+		@Override
+		public IntConsumer preparer(final ElementsJeu elementsJeu) {
+			final EtatRecherche etat=new EtatRecherche(elementsJeu,1);
+			final ConfigurationJeu configuration=elementsJeu.getConfiguration();
+			final int nbCoupsMax=4*2*(configuration.getNbLignes()+configuration.getNbColonnes());
+			final int[] coups=new int[nbCoupsMax];
+			final long[] cles=new long[nbCoupsMax];
+			return i -> etat.genererCoups(i%etat.getNbJoueurs(),coups,cles);
+		}
+	},
+	/**
+	 * Le calcul d'un coup par un joueur ordinateur de niveau 2 (voir {@link JoueurOrdiN2#calculerCoup(ElementsJeu)}) : seul le coup retourné est créé.
+	 */
+	CALCUL_COUP_N2(64) {
+		@Override
+		public IntConsumer preparer(final ElementsJeu elementsJeu) {
+			final JoueurOrdi joueur=new JoueurOrdiN2(0,"Budget",new PositionPlateau(0,0,elementsJeu.getConfiguration()),true);
+			return i -> joueur.calculerCoup(elementsJeu);
+		}
+	},
+	/**
+	 * Le calcul d'un coup par un joueur ordinateur de niveau 3 (voir {@link JoueurOrdiN3#calculerCoup(ElementsJeu)}) :
+	 * le plateau compact et les tableaux du parcours sont créés à chaque appel.
+	 */
+	CALCUL_COUP_N3(4096) {
+		@Override
+		public IntConsumer preparer(final ElementsJeu elementsJeu) {
+			final JoueurOrdi joueur=new JoueurOrdiN3(0,"Budget",new PositionPlateau(0,0,elementsJeu.getConfiguration()),true);
+			return i -> joueur.calculerCoup(elementsJeu);
+		}
+	},
+	/**
+	 * Le calcul d'un coup par un joueur ordinateur de niveau 4 limité à une profondeur de 1 (voir {@link JoueurOrdiN4#calculerCoup(ElementsJeu, int)}) :
+	 * l'état de la racine, le stock de noeuds (dont seuls les objets de gestion sont dans le tas) et le coup retourné sont créés
+	 * à chaque appel, ainsi que les tâches du calcul parallèle ;
+	 * les recherches des tâches et leurs tableaux sont réutilisés. Les allocations de tous les threads sont comptées.
+	 */
+	CALCUL_COUP_N4(4096) {
+		@Override
+		public IntConsumer preparer(final ElementsJeu elementsJeu) {
+			final JoueurOrdiN4 joueur=new JoueurOrdiN4(0,"Budget",new PositionPlateau(0,0,elementsJeu.getConfiguration()),true);
+			return i -> joueur.calculerCoup(elementsJeu,1);
+		}
+	};
+
+	/**
+	 * Les directions dans l'ordre de leur déclaration.
+	 */
+	static final private Direction[] DIRECTIONS=Direction.values();
+
+	/**
+	 * Le nombre maximal d'octets alloués en moyenne par appel.
+	 */
+	final private long octetsParAppelMax;
+
+	/**
+	 * Constructeur permettant de créer un budget.
+	 * @param octetsParAppelMax Le nombre maximal d'octets alloués en moyenne par appel.
+	 */
+	private BudgetAllocation(final long octetsParAppelMax) {
+		this.octetsParAppelMax=octetsParAppelMax;
+	}
+
+	/**
+	 * Méthode retournant le nombre maximal d'octets que peut allouer en moyenne un appel de l'opération.
+	 * @return Le budget en octets par appel.
+	 */
+	public long getOctetsParAppelMax() {
+		return octetsParAppelMax;
+	}
+
+	/**
+	 * Méthode préparant l'opération mesurée sur des éléments du jeu (les allocations de la préparation ne sont pas comptées).
+	 * L'opération peut modifier les éléments du jeu (décalages, rotations).
+	 * @param elementsJeu Les éléments du jeu.
+	 * @return L'opération, appelée avec le numéro de la répétition.
+	 */
+	abstract public IntConsumer preparer(final ElementsJeu elementsJeu);
+}
@@ -0,0 +1,109 @@
+package dedale.elements;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Une instance de cette classe correspond à un cache des parcours en largeur utilisés pour calculer les chemins
+ * (voir {@link Piece#calculerChemin(PositionPlateau, PositionPlateau, ArrayList)}) sur un plateau donné.
+ * Un parcours est associé à la case dont il part (la position finale des chemins) et n'est valable que pour une version du plateau :
+ * toute modification du plateau (décalage, rotation) doit être signalée par {@link #changerVersion()}, ce qui vide le cache.
+ * Le nombre de parcours conservés est borné : le parcours utilisé le moins récemment est retiré en premier.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+class CacheChemins {
+	/**
+	 * Le nombre maximal par défaut de parcours conservés, la valeur de cette constante est {@value}.
+	 */
+	static final int TAILLE_MAX_DEFAUT=64;
+
+	/**
+	 * Les parcours en largeur indexés par case de départ, du moins récemment utilisé au plus récemment utilisé.
+	 */
+	final private LinkedHashMap<Integer,int[]> parcours;
+
+	/**
+	 * La version du plateau à laquelle correspondent les parcours.
+	 */
+	private long version;
+
+	/**
+	 * Le nombre de parcours trouvés dans le cache.
+	 */
+	private long nbSucces;
+
+	/**
+	 * Le nombre de parcours absents du cache (et donc calculés).
+	 */
+	private long nbEchecs;
+
+	/**
+	 * Constructeur permettant de créer un cache vide.
+	 * @param tailleMax Le nombre maximal de parcours conservés.
+	 */
+	CacheChemins(final int tailleMax) {
+		parcours=new LinkedHashMap<Integer,int[]>(16,0.75f,true) {
+			private static final long serialVersionUID=1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Integer,int[]> plusAncien) {
+				return size()>tailleMax;
+			}
+		};
+	}
+
+	/**
+	 * Méthode retournant le parcours en largeur à partir d'une case, en le calculant s'il n'est pas dans le cache
+	 * (voir {@link Piece#parcourirEnLargeur(int, Piece[], int)}).
+	 * @param caseFinale Le numéro de la case de départ du parcours.
+	 * @param grille Les pièces du plateau indexées par numéro de case.
+	 * @param nbColonnes Le nombre de colonnes du plateau.
+	 * @return Le résultat du parcours (il ne doit pas être modifié).
+	 */
+	int[] longueursVers(final int caseFinale,final Piece[] grille,final int nbColonnes) {
+		int[] longueurs=parcours.get(caseFinale);
+		if (longueurs!=null) {
+			nbSucces++;
+			return longueurs;
+		}
+		nbEchecs++;
+		longueurs=Piece.parcourirEnLargeur(caseFinale,grille,nbColonnes);
+		parcours.put(caseFinale,longueurs);
+		return longueurs;
+	}
+
+	/**
+	 * Méthode signalant une modification du plateau : la version est incrémentée et le cache est vidé.
+	 */
+	void changerVersion() {
+		version++;
+		parcours.clear();
+	}
+
+	/**
+	 * Méthode retournant la version du plateau à laquelle correspondent les parcours.
+	 * @return La version du plateau.
+	 */
+	long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Méthode retournant le nombre de parcours trouvés dans le cache.
+	 * @return Le nombre de succès.
+	 */
+	long getNbSucces() {
+		return nbSucces;
+	}
+
+	/**
+	 * Méthode retournant le nombre de parcours absents du cache.
+	 * @return Le nombre d'échecs.
+	 */
+	long getNbEchecs() {
+		return nbEchecs;
+	}
+}
@@ -0,0 +1,248 @@
+package dedale.elements;
+
+import java.util.Random;
+
+/**
+ * Une instance de cette classe regroupe la configuration (et le contexte) propre à une partie.
+ * <ul>
+ * <li>La probabilité de génération aléatoire d'une sortie d'une pièce.</li>
+ * <li>Les dimensions du plateau.</li>
+ * <li>Le nombre de joueurs et le nombre d'objets que chacun doit récupérer.</li>
+ * <li>La graine du générateur aléatoire de la partie (et ce générateur).</li>
+ * <li>Le temps maximal accordé aux joueurs ordinateurs pour calculer un coup.</li>
+ * </ul>
+ * Chaque partie possède sa propre configuration : aucun état n'est partagé entre deux parties,
+ * ce qui permet d'en faire tourner plusieurs en parallèle.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public class ConfigurationJeu {
+	/**
+	 * La probabilité de génération d'une sortie utilisée par défaut, la valeur de cette constante est {@value}.
+	 */
+	static final public int PROB_SORTIE_DEFAUT=60;
+
+	/**
+	 * La graine utilisée par défaut pour le générateur aléatoire, la valeur de cette constante est {@value}.
+	 */
+	static final public long GRAINE_DEFAUT=0;
+
+	/**
+	 * Le nombre d'objets à récupérer par joueur utilisé par défaut, la valeur de cette constante est {@value}.
+	 */
+	static final public int NB_OBJETS_PAR_JOUEUR_DEFAUT=Objet.NB_OBJETS/Joueur.NB_JOUEURS;
+
+	/**
+	 * Le nombre minimal de lignes ou de colonnes d'un plateau, la valeur de cette constante est {@value}.
+	 */
+	static final public int TAILLE_MIN_PLATEAU=2;
+
+	/**
+	 * Le nombre maximal de lignes ou de colonnes d'un plateau, la valeur de cette constante est {@value}.
+	 */
+	static final public int TAILLE_MAX_PLATEAU=256;
+
+	/**
+	 * Le nombre maximal de joueurs d'une partie, la valeur de cette constante est {@value}.
+	 */
+	static final public int NB_JOUEURS_MAX=16;
+
+	/**
+	 * Le temps maximal (en millisecondes) accordé par défaut à un joueur ordinateur pour calculer un coup, la valeur de cette constante est {@value}.
+	 */
+	static final public int TEMPS_CALCUL_MAX_MS_DEFAUT=1000;
+
+	/**
+	 * Un nombre entier pour générer aléatoirement une sortie d'une pièce.
+	 */
+	private int probSortie;
+
+	/**
+	 * Le nombre de lignes du plateau.
+	 */
+	final private int nbLignes;
+
+	/**
+	 * Le nombre de colonnes du plateau.
+	 */
+	final private int nbColonnes;
+
+	/**
+	 * Le nombre de joueurs de la partie.
+	 */
+	final private int nbJoueurs;
+
+	/**
+	 * Le nombre d'objets que doit récupérer chaque joueur.
+	 */
+	final private int nbObjetsParJoueur;
+
+	/**
+	 * La graine du générateur aléatoire.
+	 */
+	final private long graine;
+
+	/**
+	 * Le temps maximal (en millisecondes) accordé à un joueur ordinateur pour calculer un coup.
+	 */
+	final private int tempsCalculMaxMs;
+
+	/**
+	 * Le générateur aléatoire de la partie.
+	 */
+	final private Random generateurAleatoire;
+
+	/**
+	 * Constructeur permettant de créer une configuration à partir de chacune de ses valeurs.
+	 * Dans le cas où une des valeurs n'est pas valide, une Exception de type IllegalArgumentExcpetion est levée.
+	 * <ul>
+	 * <li>Le nombre de lignes et le nombre de colonnes doivent être compris (au sens large) entre {@link #TAILLE_MIN_PLATEAU} et {@link #TAILLE_MAX_PLATEAU}.</li>
+	 * <li>Le nombre de joueurs doit être compris (au sens large) entre 1 et {@link #NB_JOUEURS_MAX} et ne pas dépasser le nombre de cases du plateau.</li>
+	 * <li>Le nombre total d'objets (nbJoueurs*nbObjetsParJoueur) ne doit pas dépasser le nombre de cases du plateau.</li>
+	 * </ul>
+	 * @param probSortie Un nombre entier compris (au sens large) entre 49 et 99 (voir {@link #changerProbSortie(int)}).
+	 * @param nbLignes Le nombre de lignes du plateau.
+	 * @param nbColonnes Le nombre de colonnes du plateau.
+	 * @param nbJoueurs Le nombre de joueurs.
+	 * @param nbObjetsParJoueur Le nombre d'objets (strictement positif) que doit récupérer chaque joueur.
+	 * @param graine La graine du générateur aléatoire.
+	 * @param tempsCalculMaxMs Le temps maximal (strictement positif) accordé à un joueur ordinateur pour calculer un coup.
+	 */
+	public ConfigurationJeu(final int probSortie,final int nbLignes,final int nbColonnes,final int nbJoueurs,final int nbObjetsParJoueur,final long graine,final int tempsCalculMaxMs) {
+		if ((probSortie<49)||(probSortie>99))
+			throw new IllegalArgumentException("La probabilité de génération d'une sortie n'est pas valide : "+probSortie+" !");
+		if ((nbLignes<TAILLE_MIN_PLATEAU)||(nbLignes>TAILLE_MAX_PLATEAU)||(nbColonnes<TAILLE_MIN_PLATEAU)||(nbColonnes>TAILLE_MAX_PLATEAU))
+			throw new IllegalArgumentException("Les dimensions du plateau ne sont pas valides : "+nbLignes+"x"+nbColonnes+" !");
+		if ((nbJoueurs<1)||(nbJoueurs>NB_JOUEURS_MAX)||(nbJoueurs>nbLignes*nbColonnes))
+			throw new IllegalArgumentException("Le nombre de joueurs n'est pas valide : "+nbJoueurs+" !");
+		if ((nbObjetsParJoueur<1)||(nbJoueurs*nbObjetsParJoueur>nbLignes*nbColonnes))
+			throw new IllegalArgumentException("Le nombre d'objets par joueur n'est pas valide : "+nbObjetsParJoueur+" !");
+		if (tempsCalculMaxMs<=0)
+			throw new IllegalArgumentException("Le temps de calcul maximal doit être strictement positif !");
+		this.probSortie=probSortie;
+		this.nbLignes=nbLignes;
+		this.nbColonnes=nbColonnes;
+		this.nbJoueurs=nbJoueurs;
+		this.nbObjetsParJoueur=nbObjetsParJoueur;
+		this.graine=graine;
+		this.tempsCalculMaxMs=tempsCalculMaxMs;
+		generateurAleatoire=new Random(graine);
+	}
+
+	/**
+	 * Constructeur permettant de créer une configuration avec une graine donnée, les autres valeurs étant celles par défaut.
+	 * @param graine La graine du générateur aléatoire.
+	 */
+	public ConfigurationJeu(final long graine) {
+		this(PROB_SORTIE_DEFAUT,PositionPlateau.NB_LIGS_PLATEAU,PositionPlateau.NB_COLS_PLATEAU,Joueur.NB_JOUEURS,NB_OBJETS_PAR_JOUEUR_DEFAUT,graine,TEMPS_CALCUL_MAX_MS_DEFAUT);
+	}
+
+	/**
+	 * Constructeur permettant de créer une configuration avec toutes les valeurs par défaut.
+	 */
+	public ConfigurationJeu() {
+		this(GRAINE_DEFAUT);
+	}
+
+	/**
+	 * Méthode retournant le nombre entier correspondant à la probabilité de génération d'une sortie d'une pièce.
+	 * @return Un nombre entier compris (au sens large) entre 49 et 99.
+	 */
+	public int getProbSortie() {
+		return probSortie;
+	}
+
+	/**
+	 * Méthode permettant de changer la probabilité qu'une sortie soit générée ou non.
+	 * Le nombre entier donné en paramètre doit être compris entre 49 et 99 (49 pour une probabilité de 0.5 et
+	 * 99 pour une probabilité de 1.0). Si la probabilité donnée n'est pas valable, aucun changement est effectué.
+	 * @param probSortie Un nombre entier compris (au sens large) entre 49 et 99.
+	 */
+	public void changerProbSortie(final int probSortie) {
+		if ((probSortie>=49)&&(probSortie<=99))
+			this.probSortie=probSortie;
+	}
+
+	/**
+	 * Méthode retournant le nombre de lignes du plateau.
+	 * @return Le nombre de lignes du plateau.
+	 */
+	public int getNbLignes() {
+		return nbLignes;
+	}
+
+	/**
+	 * Méthode retournant le nombre de colonnes du plateau.
+	 * @return Le nombre de colonnes du plateau.
+	 */
+	public int getNbColonnes() {
+		return nbColonnes;
+	}
+
+	/**
+	 * Méthode retournant le nombre de joueurs de la partie.
+	 * @return Le nombre de joueurs.
+	 */
+	public int getNbJoueurs() {
+		return nbJoueurs;
+	}
+
+	/**
+	 * Méthode retournant le nombre d'objets que doit récupérer chaque joueur.
+	 * @return Le nombre d'objets par joueur.
+	 */
+	public int getNbObjetsParJoueur() {
+		return nbObjetsParJoueur;
+	}
+
+	/**
+	 * Méthode retournant le nombre total d'objets de la partie.
+	 * @return Le nombre d'objets de la partie (nbJoueurs*nbObjetsParJoueur).
+	 */
+	public int getNbObjets() {
+		return nbJoueurs*nbObjetsParJoueur;
+	}
+
+	/**
+	 * Méthode retournant le nombre de cases du plateau.
+	 * @return Le nombre de cases du plateau (nbLignes*nbColonnes).
+	 */
+	public int getNbCases() {
+		return nbLignes*nbColonnes;
+	}
+
+	/**
+	 * Méthode retournant la graine du générateur aléatoire.
+	 * @return La graine du générateur aléatoire.
+	 */
+	public long getGraine() {
+		return graine;
+	}
+
+	/**
+	 * Méthode retournant le temps maximal accordé à un joueur ordinateur pour calculer un coup.
+	 * @return Le temps maximal en millisecondes.
+	 */
+	public int getTempsCalculMaxMs() {
+		return tempsCalculMaxMs;
+	}
+
+	/**
+	 * Méthode retournant un nombre entier généré aléatoirement à l'aide du générateur de la partie.
+	 * @param valMax La valeur maximale du nombre entier généré.
+	 * @return Un nombre entier compris au sens large entre 0 et valMax.
+	 */
+	public int genererAleatoirementEntier(final int valMax) {
+		return generateurAleatoire.nextInt(valMax+1);
+	}
+
+	/**
+	 * Retourne une représentation textuelle de la configuration.
+	 */
+	@Override
+	public String toString() {
+		return "ConfigurationJeu [probSortie=" + probSortie + ", nbLignes=" + nbLignes + ", nbColonnes=" + nbColonnes
+				+ ", nbJoueurs=" + nbJoueurs + ", nbObjetsParJoueur=" + nbObjetsParJoueur + ", graine=" + graine + ", tempsCalculMaxMs=" + tempsCalculMaxMs + "]";
+	}
+}
@@ -1,6 +1,11 @@
 package dedale.elements;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+
+import dedale.mesures.DecalageJFR;
+import dedale.mesures.Mesure;
+import dedale.mesures.Metriques;
 
 /**
  * Une instance de cette classe permet de stocker l'ensemble des éléments du jeu lors de son déroulement.
@@ -8,12 +13,27 @@ import java.util.ArrayList;
  * <li>Les pièces du jeu.
  * <li>Les objets du jeu.
  * <li>Les joueurs du jeu.
+ * <li>La configuration de la partie.
  * </ul>
+ * Un index par case (numéro de case, voir {@link PositionPlateau#getNumCase()}) de la pièce, de l'objet et du joueur
+ * s'y trouvant est maintenu, ainsi que pour chaque joueur l'identifiant du prochain objet à récupérer.
+ * Toutes les requêtes d'occupation d'une case se font ainsi en temps constant.
+ * Les données utilisées par les parcours et les évaluations sont de plus conservées dans des tableaux de types primitifs contigus
+ * (masque des sorties de la pièce de chaque case, case de chaque objet et case de chaque joueur) : elles peuvent ainsi être
+ * parcourues ou copiées en bloc sans passer par les objets (voir {@link PlateauCompact#PlateauCompact(ElementsJeu)}).
+ * Pour que cet index reste à jour, les décalages, les déplacements des joueurs et les récupérations d'objets doivent être réalisés
+ * par l'intermédiaire des méthodes de cette classe ({@link #effectuerInsertionPieceHorsPlateau(Direction, int)},
+ * {@link #deplacerJoueur(Joueur, PositionPlateau)} et {@link #recupererObjet(Objet)}).
  * @author Damlencourt Valentin
  * @since 3.0 (24/02/23)
- * @version 3.0 (24/02/23)
+ * @version 6.0 (19/10/26)
  */
 public class ElementsJeu {
+	/**
+	 * La configuration de la partie.
+	 */
+	final private ConfigurationJeu configuration;
+
 	/**
 	 * Les pièces du jeu.
 	 */
@@ -29,59 +49,225 @@ public class ElementsJeu {
 	 */
 	final private ArrayList<Joueur> joueurs;
 
+	/**
+	 * Les pièces du plateau indexées par numéro de case.
+	 */
+	final private Piece[] pieceParCase;
+
+	/**
+	 * La pièce hors plateau.
+	 */
+	private Piece pieceHorsPlateau;
+
+	/**
+	 * Les identifiants des objets (non récupérés) indexés par numéro de case (-1 pour une case sans objet).
+	 */
+	final private int[] objetParCase;
+
+	/**
+	 * Les identifiants des joueurs indexés par numéro de case (-1 pour une case sans joueur).
+	 */
+	final private int[] joueurParCase;
+
+	/**
+	 * Les objets indexés par identifiant.
+	 */
+	final private Objet[] objetsParId;
+
+	/**
+	 * Les joueurs indexés par identifiant.
+	 */
+	final private Joueur[] joueursParId;
+
+	/**
+	 * Pour chaque joueur (indexé par identifiant), l'identifiant du prochain objet à récupérer (-1 si tous ses objets ont été récupérés).
+	 */
+	final private int[] prochainObjet;
+
+	/**
+	 * Pour chaque case, le masque des sorties de la pièce qui s'y trouve (voir {@link Piece#getMasqueSorties()}).
+	 */
+	final private byte[] masqueParCase;
+
+	/**
+	 * Pour chaque objet (indexé par identifiant), le numéro de la case où il se trouve (-1 s'il a été récupéré).
+	 * Le type int est nécessaire : un plateau peut comporter jusqu'à 256x256 cases, ce qui dépasse la capacité du type short.
+	 */
+	final private int[] caseParObjet;
+
+	/**
+	 * Pour chaque joueur (indexé par identifiant), le numéro de la case où il se trouve.
+	 */
+	final private int[] caseParJoueur;
+
+	/**
+	 * Les numéros des cases de la ligne ou de la colonne du dernier décalage (voir {@link #casesDansLeSensDuDecalage(Direction, int)}),
+	 * conservés afin qu'un décalage ne crée aucun tableau.
+	 */
+	final private int[] casesDecalage;
+
+	/**
+	 * La version persistante du plateau correspondant à l'état courant (null tant qu'elle n'a pas été demandée).
+	 */
+	private PlateauPersistant instantanePlateau;
+
+	/**
+	 * Les plans de connexions utilisés pour la recherche d'une position libre accessible (null tant qu'ils n'ont pas été utilisés).
+	 */
+	private PlansConnexions plansConnexions;
+
+	/**
+	 * Les tableaux des recherches de chemin bidirectionnelle et A* (null tant qu'une de ces stratégies n'a pas été utilisée).
+	 */
+	private RechercheChemin rechercheChemin;
+
+	/**
+	 * Le cache des parcours utilisés pour le calcul des chemins, vidé à chaque modification des pièces du plateau.
+	 */
+	final private CacheChemins cacheChemins=new CacheChemins(CacheChemins.TAILLE_MAX_DEFAUT);
+
 	/**
 	 * Constructeur permettant de construire l'ensemble des éléments du jeu à partir de chacun d'eux.
-	 * 
+	 *
+	 * @param configuration La configuration de la partie.
 	 * @param pieces Toutes les pièces du jeu (celles positionnées sur le plateau et celle hors plateau).
 	 * @param objets Tous les objets du jeu (aucun déjà récupéré).
 	 * @param joueurs L'ensemble des joueurs (avec un et un seul à qui c'est le tour et tous positionnés).
 	 */
-	public ElementsJeu(ArrayList<Piece> pieces,ArrayList<Objet> objets,ArrayList<Joueur> joueurs) {
+	public ElementsJeu(ConfigurationJeu configuration,ArrayList<Piece> pieces,ArrayList<Objet> objets,ArrayList<Joueur> joueurs) {
+		this.configuration=configuration;
 		this.pieces=pieces;
 		this.objets=objets;
 		this.joueurs=joueurs;
+		pieceParCase=new Piece[configuration.getNbCases()];
+		objetParCase=new int[configuration.getNbCases()];
+		joueurParCase=new int[configuration.getNbCases()];
+		objetsParId=new Objet[configuration.getNbObjets()];
+		joueursParId=new Joueur[configuration.getNbJoueurs()];
+		prochainObjet=new int[configuration.getNbJoueurs()];
+		masqueParCase=new byte[configuration.getNbCases()];
+		caseParObjet=new int[configuration.getNbObjets()];
+		caseParJoueur=new int[configuration.getNbJoueurs()];
+		casesDecalage=new int[Math.max(configuration.getNbLignes(),configuration.getNbColonnes())];
+		reindexer();
 	}
 
 	/**
 	 * Constructeur permettant de générer (en partie aléatoirement) les pièces et les objets.
 	 * Seul doit être donné en paramètre l'ensemble des joueurs. Les joueurs seront postionnés aléatoirement
 	 * (les positions initiales des joueurs n'a donc pas d'importance).
-	 * 
+	 * La génération aléatoire utilise le générateur de la configuration donnée.
+	 *
+	 * @param configuration La configuration de la partie.
 	 * @param joueurs L'ensemble des joueurs (avec un et un seul à qui c'est le tour).
 	 */
-	public ElementsJeu(ArrayList<Joueur> joueurs) {
-		ArrayList<Piece> pieces=null;
-        int nb;
-        do {
-        	nb=0;
-        	pieces=Piece.nouvellesPieces();
-        	for (Piece piece : pieces)
-        		if (piece.getNbSorties()>0)
-        			nb++;
-        }while (nb<Joueur.NB_JOUEURS);
-		this.pieces=pieces;
-		objets=Objet.nouveauxObjets();
-		Joueur.positionnerJoueurs(joueurs, pieces);
-		this.joueurs=joueurs;
+	public ElementsJeu(ConfigurationJeu configuration,ArrayList<Joueur> joueurs) {
+		this(configuration,nouvellesPiecesAvecSorties(configuration),Objet.nouveauxObjets(configuration),joueurs);
+		Joueur.positionnerJoueurs(joueurs, pieces, configuration);
+		reindexer();
 	}
 
 	/**
 	 * Constructeur permettant de générer (en partie aléatoirement) les pièces et les objets.
 	 * Les joueurs sont également générés automatiquement et ce sont des joueurs humains.
+	 * La génération aléatoire utilise le générateur de la configuration donnée.
+	 *
+	 * @param configuration La configuration de la partie.
+	 */
+	public ElementsJeu(ConfigurationJeu configuration) {
+		this(configuration,nouvellesPiecesAvecSorties(configuration),Objet.nouveauxObjets(configuration),new ArrayList<Joueur>());
+		final String[] noms=new String[configuration.getNbJoueurs()];
+		for (int i=0;i<noms.length;i++)
+			noms[i]="Cyclope "+(i+1);
+		joueurs.addAll(JoueurHumain.nouveauxJoueursHumains(noms, pieces, configuration));
+		reindexer();
+	}
+
+	/**
+	 * Constructeur permettant de générer (en partie aléatoirement) les pièces, les objets et les joueurs (humains)
+	 * avec une configuration par défaut (voir {@link ConfigurationJeu#ConfigurationJeu()}).
 	 */
 	public ElementsJeu() {
+		this(new ConfigurationJeu());
+	}
+
+	/**
+	 * Méthode générant les pièces du jeu jusqu'à ce qu'au moins autant de pièces que de joueurs possèdent une sortie.
+	 * @param configuration La configuration de la partie.
+	 * @return Les pièces générées.
+	 */
+	static private ArrayList<Piece> nouvellesPiecesAvecSorties(final ConfigurationJeu configuration) {
 		ArrayList<Piece> pieces=null;
         int nb;
         do {
         	nb=0;
-        	pieces=Piece.nouvellesPieces();
+        	pieces=Piece.nouvellesPieces(configuration);
         	for (Piece piece : pieces)
-        		nb+=piece.getNbSorties();
-        }while (nb<Joueur.NB_JOUEURS);
-		this.pieces=pieces;
-		objets=Objet.nouveauxObjets();
-		final String[] noms= {"Cyclope 1","Cyclope 2","Cyclope 3"}; 
-		joueurs=JoueurHumain.nouveauxJoueursHumains(noms, pieces);
+        		if (piece.getNbSorties()>0)
+        			nb++;
+        }while (nb<configuration.getNbJoueurs());
+        return pieces;
+	}
+
+	/**
+	 * Méthode reconstruisant entièrement l'index des pièces, des objets et des joueurs par case ainsi que les prochains objets à récupérer.
+	 * Cette méthode doit être appelée si des positions ont été modifiées sans passer par les méthodes de cette classe.
+	 */
+	public void reindexer() {
+		cacheChemins.changerVersion();
+		instantanePlateau=null;
+		Arrays.fill(pieceParCase,null);
+		Arrays.fill(objetParCase,-1);
+		Arrays.fill(joueurParCase,-1);
+		Arrays.fill(objetsParId,null);
+		Arrays.fill(joueursParId,null);
+		Arrays.fill(caseParObjet,-1);
+		pieceHorsPlateau=null;
+		for (Piece piece : pieces)
+			if (piece.getPosition()!=null) {
+				pieceParCase[piece.getPosition().getNumCase()]=piece;
+				masqueParCase[piece.getPosition().getNumCase()]=(byte)piece.getMasqueSorties();
+			}
+			else if (pieceHorsPlateau==null)
+				pieceHorsPlateau=piece;
+		for (Objet objet : objets) {
+			objetsParId[objet.getId()]=objet;
+			if ((objet.getPosition()!=null)&&(!objet.estRecupere())) {
+				objetParCase[objet.getPosition().getNumCase()]=objet.getId();
+				caseParObjet[objet.getId()]=objet.getPosition().getNumCase();
+			}
+		}
+		for (Joueur joueur : joueurs) {
+			joueursParId[joueur.getId()]=joueur;
+			joueurParCase[joueur.getPosition().getNumCase()]=joueur.getId();
+			caseParJoueur[joueur.getId()]=joueur.getPosition().getNumCase();
+		}
+		for (int i=0;i<prochainObjet.length;i++) {
+			prochainObjet[i]=i*configuration.getNbObjetsParJoueur();
+			avancerProchainObjet(i);
+		}
+	}
+
+	/**
+	 * Méthode faisant avancer le prochain objet à récupérer d'un joueur jusqu'au premier objet non récupéré lui appartenant.
+	 * @param idJoueur L'identifiant du joueur.
+	 */
+	private void avancerProchainObjet(final int idJoueur) {
+		if (prochainObjet[idJoueur]==-1)
+			return;
+		final int fin=(idJoueur+1)*configuration.getNbObjetsParJoueur();
+		int id=prochainObjet[idJoueur];
+		while ((id<fin)&&((objetsParId[id]==null)||objetsParId[id].estRecupere()))
+			id++;
+		prochainObjet[idJoueur]=(id<fin)?id:-1;
+	}
+
+	/**
+	 * Méthode retournant la configuration de la partie.
+	 * @return La configuration de la partie.
+	 */
+	public ConfigurationJeu getConfiguration() {
+		return configuration;
 	}
 
 	/**
@@ -108,43 +294,367 @@ public class ElementsJeu {
 		return joueurs;
 	}
 
+	/**
+	 * Méthode retournant la pièce hors plateau.
+	 * @return La pièce hors plateau.
+	 */
+	public Piece getPieceHorsPlateau() {
+		return pieceHorsPlateau;
+	}
+
+	/**
+	 * Méthode retournant la pièce se trouvant à une certaine position.
+	 * @param numLigne Un numéro de ligne valide.
+	 * @param numColonne Un numéro de colonne valide.
+	 * @return La pièce se trouvant à la position donnée.
+	 */
+	public Piece pieceAt(final int numLigne,final int numColonne) {
+		return pieceParCase[numLigne*configuration.getNbColonnes()+numColonne];
+	}
+
+	/**
+	 * Méthode retournant l'objet (non récupéré) se trouvant à une certaine position.
+	 * @param numLigne Un numéro de ligne valide.
+	 * @param numColonne Un numéro de colonne valide.
+	 * @return L'objet se trouvant à la position donnée ou null s'il n'y a pas d'objet à cette position.
+	 */
+	public Objet objetAt(final int numLigne,final int numColonne) {
+		final int id=objetParCase[numLigne*configuration.getNbColonnes()+numColonne];
+		return (id==-1)?null:objetsParId[id];
+	}
+
+	/**
+	 * Méthode retournant le joueur se trouvant à une certaine position.
+	 * @param numLigne Un numéro de ligne valide.
+	 * @param numColonne Un numéro de colonne valide.
+	 * @return Le joueur se trouvant à la position donnée ou null s'il n'y a pas de joueur à cette position.
+	 */
+	public Joueur joueurAt(final int numLigne,final int numColonne) {
+		final int id=joueurParCase[numLigne*configuration.getNbColonnes()+numColonne];
+		return (id==-1)?null:joueursParId[id];
+	}
+
+	/**
+	 * Méthode retournant le masque des sorties de la pièce se trouvant sur une case (voir {@link Piece#getMasqueSorties()}).
+	 * @param numCase Un numéro de case valide.
+	 * @return Le masque des sorties de la pièce.
+	 */
+	public int getMasqueSorties(final int numCase) {
+		return masqueParCase[numCase];
+	}
+
+	/**
+	 * Méthode retournant le numéro de la case où se trouve un objet.
+	 * @param idObjet L'identifiant de l'objet.
+	 * @return Le numéro de la case de l'objet ou -1 s'il a été récupéré.
+	 */
+	public int getCaseObjet(final int idObjet) {
+		return caseParObjet[idObjet];
+	}
+
+	/**
+	 * Méthode retournant le numéro de la case où se trouve un joueur.
+	 * @param idJoueur L'identifiant du joueur.
+	 * @return Le numéro de la case du joueur.
+	 */
+	public int getCaseJoueur(final int idJoueur) {
+		return caseParJoueur[idJoueur];
+	}
+
+	/**
+	 * Méthode retournant l'identifiant du prochain objet à récupérer par un joueur.
+	 * @param idJoueur L'identifiant du joueur.
+	 * @return L'identifiant du prochain objet à récupérer ou -1 si tous ses objets ont été récupérés.
+	 */
+	public int getIdProchainObjet(final int idJoueur) {
+		return prochainObjet[idJoueur];
+	}
+
+	/**
+	 * Méthode retournant la version persistante (immuable) du plateau correspondant à l'état courant (voir {@link PlateauPersistant}).
+	 * Elle est construite lors du premier appel puis mise à jour à chaque décalage en partageant les données non modifiées :
+	 * les appels suivants ne font aucune copie.
+	 * @return La version courante du plateau.
+	 */
+	public PlateauPersistant getInstantanePlateau() {
+		if (instantanePlateau==null)
+			instantanePlateau=new PlateauPersistant(this);
+		else
+			instantanePlateau=instantanePlateau.avecMasqueHorsPlateau(pieceHorsPlateau.getMasqueSorties());
+		return instantanePlateau;
+	}
+
+	/**
+	 * Méthode retournant le tableau des masques des sorties des pièces indexé par numéro de case (il ne doit pas être modifié).
+	 * @return Le tableau des masques.
+	 */
+	byte[] getMasquesParCase() {
+		return masqueParCase;
+	}
+
+	/**
+	 * Méthode retournant le tableau des cases des objets indexé par identifiant (il ne doit pas être modifié).
+	 * @return Le tableau des cases des objets.
+	 */
+	int[] getCasesParObjet() {
+		return caseParObjet;
+	}
+
+	/**
+	 * Méthode retournant le tableau des cases des joueurs indexé par identifiant (il ne doit pas être modifié).
+	 * @return Le tableau des cases des joueurs.
+	 */
+	int[] getCasesParJoueur() {
+		return caseParJoueur;
+	}
+
+	/**
+	 * Méthode retournant le prochain objet à récupérer par un joueur (voir {@link Joueur#prochainObjetARecuperer(ArrayList)}).
+	 * @param joueur Un joueur du jeu.
+	 * @return Le prochain objet à récupérer par le joueur ou null si tous ses objets ont été récupérés.
+	 */
+	public Objet prochainObjetARecuperer(final Joueur joueur) {
+		final int id=prochainObjet[joueur.getId()];
+		return (id==-1)?null:objetsParId[id];
+	}
+
+	/**
+	 * Méthode permettant de déplacer un joueur à une nouvelle position.
+	 * Aucun autre joueur ne doit se trouver à cette position. Le joueur reçoit une copie de la position donnée.
+	 * @param joueur Un joueur du jeu.
+	 * @param position La nouvelle position du joueur (non null).
+	 */
+	public void deplacerJoueur(final Joueur joueur,final PositionPlateau position) {
+		joueurParCase[joueur.getPosition().getNumCase()]=-1;
+		joueur.setPosition(new PositionPlateau(position));
+		joueurParCase[position.getNumCase()]=joueur.getId();
+		caseParJoueur[joueur.getId()]=position.getNumCase();
+	}
+
+	/**
+	 * Méthode permettant de mettre un objet comme récupéré (voir {@link Objet#setRecupere()}).
+	 * @param objet Un objet non récupéré du jeu.
+	 */
+	public void recupererObjet(final Objet objet) {
+		objetParCase[objet.getPosition().getNumCase()]=-1;
+		caseParObjet[objet.getId()]=-1;
+		objet.setRecupere();
+		avancerProchainObjet(objet.getIdJoueur());
+	}
+
+	/**
+	 * Méthode calculant un chemin de pièces entre deux positions à partir des pièces du plateau
+	 * (voir {@link Piece#calculerChemin(PositionPlateau, PositionPlateau, ArrayList)}).
+	 * La stratégie est choisie selon la taille du plateau (voir {@link StrategieChemin#ADAPTATIVE}). Dans le cas d'un parcours en largeur,
+	 * celui-ci est conservé dans un cache jusqu'à la prochaine modification du plateau :
+	 * les chemins calculés vers une même position (par exemple pour plusieurs positions initiales) ne le refont pas.
+	 * @param positionInitiale La position initiale.
+	 * @param positionFinale La position finale.
+	 * @return Un chemin de pièces entre la position initiale et la position finale ou null si un chemin n'existe pas.
+	 */
+	public ArrayList<Piece> calculerChemin(final PositionPlateau positionInitiale,final PositionPlateau positionFinale) {
+		return calculerChemin(positionInitiale,positionFinale,StrategieChemin.ADAPTATIVE);
+	}
+
+	/**
+	 * Méthode calculant un plus court chemin de pièces entre deux positions selon une stratégie donnée (voir {@link StrategieChemin}).
+	 * Seuls les parcours en largeur sont conservés dans le cache des chemins ; les autres stratégies réutilisent les mêmes tableaux d'un calcul à l'autre.
+	 * @param positionInitiale La position initiale.
+	 * @param positionFinale La position finale.
+	 * @param strategie La stratégie de calcul.
+	 * @return Un chemin de pièces entre la position initiale et la position finale ou null si un chemin n'existe pas.
+	 */
+	public ArrayList<Piece> calculerChemin(final PositionPlateau positionInitiale,final PositionPlateau positionFinale,final StrategieChemin strategie) {
+		final ArrayList<Piece> chemin=new ArrayList<Piece>();
+		return calculerChemin(positionInitiale,positionFinale,strategie,chemin)?chemin:null;
+	}
+
+	/**
+	 * Méthode calculant un chemin de pièces entre deux positions (voir {@link #calculerChemin(PositionPlateau, PositionPlateau)})
+	 * dans une liste fournie, vidée au préalable : en réutilisant la même liste d'un calcul à l'autre, aucun objet n'est créé.
+	 * @param positionInitiale La position initiale.
+	 * @param positionFinale La position finale.
+	 * @param chemin La liste recevant le chemin de pièces entre la position initiale et la position finale.
+	 * @return true si et seulement si un chemin existe.
+	 */
+	public boolean calculerChemin(final PositionPlateau positionInitiale,final PositionPlateau positionFinale,final ArrayList<Piece> chemin) {
+		return calculerChemin(positionInitiale,positionFinale,StrategieChemin.ADAPTATIVE,chemin);
+	}
+
+	/**
+	 * Méthode calculant un plus court chemin de pièces entre deux positions selon une stratégie donnée
+	 * (voir {@link #calculerChemin(PositionPlateau, PositionPlateau, StrategieChemin)}) dans une liste fournie, vidée au préalable.
+	 * @param positionInitiale La position initiale.
+	 * @param positionFinale La position finale.
+	 * @param strategie La stratégie de calcul.
+	 * @param chemin La liste recevant le chemin de pièces entre la position initiale et la position finale.
+	 * @return true si et seulement si un chemin existe.
+	 */
+	public boolean calculerChemin(final PositionPlateau positionInitiale,final PositionPlateau positionFinale,final StrategieChemin strategie,final ArrayList<Piece> chemin) {
+		if ((rechercheChemin==null)&&(strategie.choisir(pieceParCase.length)!=StrategieChemin.LARGEUR))
+			rechercheChemin=new RechercheChemin(pieceParCase.length);
+		return Piece.calculerChemin(positionInitiale,positionFinale,pieceParCase,strategie,cacheChemins,rechercheChemin,null,chemin);
+	}
+
+	/**
+	 * Méthode retournant, parmi les positions accessibles depuis la position d'un joueur et non occupées par un autre joueur,
+	 * la plus proche (au sens de la distance de Manhattan) d'une position cible. En cas d'égalité, la position la plus proche du joueur
+	 * (en longueur de chemin) puis celle ayant le plus petit numéro de case est retenue.
+	 * Seule l'accessibilité est utile : les cases accessibles sont obtenues niveau par niveau par propagation sur les plans de connexions
+	 * du plateau (voir {@link PlansConnexions#etendreParcours(long[], long[])}), sans calcul de chemin.
+	 * @param joueur Un joueur du jeu.
+	 * @param positionCible La position cible.
+	 * @return La position la plus proche de la position cible (la position du joueur si aucune autre ne convient).
+	 */
+	public PositionPlateau positionLibreAccessibleLaPlusProche(final Joueur joueur,final PositionPlateau positionCible) {
+		final int nbColonnes=configuration.getNbColonnes();
+		final int caseJoueur=joueur.getPosition().getNumCase();
+		if (plansConnexions==null)
+			plansConnexions=new PlansConnexions(configuration.getNbLignes(),nbColonnes);
+		plansConnexions.calculer(masqueParCase);
+		final long[] accessibles=plansConnexions.creerEnsembleCases();
+		final long[] niveau=plansConnexions.creerEnsembleCases();
+		plansConnexions.commencerParcours(caseJoueur,accessibles,niveau);
+		int meilleureCase=caseJoueur;
+		int meilleureDistance=Integer.MAX_VALUE;
+		do {
+			for (int mot=0;mot<niveau.length;mot++)
+				for (long bits=niveau[mot];bits!=0;bits&=bits-1) {
+					final int numCase=(mot<<6)+Long.numberOfTrailingZeros(bits);
+					if ((joueurParCase[numCase]==-1)||(numCase==caseJoueur)) {
+						final int distance=Math.abs(numCase/nbColonnes-positionCible.getNumLigne())+Math.abs(numCase%nbColonnes-positionCible.getNumColonne());
+						if (distance<meilleureDistance) {
+							meilleureCase=numCase;
+							meilleureDistance=distance;
+						}
+					}
+				}
+		} while (plansConnexions.etendreParcours(accessibles,niveau)>0);
+		return new PositionPlateau(meilleureCase/nbColonnes,meilleureCase%nbColonnes,configuration);
+	}
+
+	/**
+	 * Méthode retournant la version du plateau : elle est incrémentée à chaque décalage, à chaque rotation de la pièce hors plateau
+	 * et à chaque réindexation (voir {@link #reindexer()}).
+	 * @return La version du plateau.
+	 */
+	public long getVersion() {
+		return cacheChemins.getVersion();
+	}
+
+	/**
+	 * Méthode retournant le nombre de calculs de chemins dont le parcours a été trouvé dans le cache.
+	 * @return Le nombre de succès du cache des chemins.
+	 */
+	public long getNbSuccesCacheChemins() {
+		return cacheChemins.getNbSucces();
+	}
+
+	/**
+	 * Méthode retournant le nombre de calculs de chemins dont le parcours a dû être effectué.
+	 * @return Le nombre d'échecs du cache des chemins.
+	 */
+	public long getNbEchecsCacheChemins() {
+		return cacheChemins.getNbEchecs();
+	}
+
+	/**
+	 * Méthode effectuant une rotation dans le sens des aiguilles d'une montre de la pièce hors plateau (voir {@link Piece#rotationner()}).
+	 * La version du plateau est incrémentée.
+	 * @return La pièce hors plateau.
+	 */
+	public Piece rotationnerPieceHorsPlateau() {
+		pieceHorsPlateau.rotationner();
+		cacheChemins.changerVersion();
+		return pieceHorsPlateau;
+	}
+
 	/**
 	 * Méthode effectuant l'insertion de la pièce hors plateau sur une ligne ou d'une colonne du plateau selon une direction.
 	 * Les pièces, les objets et les joueurs sont décalés selon les règles du jeu.
 	 * La pièce sortie devient la nouvelle pièce hors plateau (position null).
+	 * Seules les cases de la ligne ou de la colonne sont parcourues.
 	 * @param direction La direction du décalage.
 	 * @param numLigOuCol Le numéro de la ligne ou de la colonne dans laquelle se fait l'insertion de la pièce hors plateau.
 	 */
 	public void effectuerInsertionPieceHorsPlateau(final Direction direction,final int numLigOuCol) {
-		@SuppressWarnings("unchecked")
-		final ArrayList<Positionnable> objetsSel=Positionnable.extraireSurLigOuCol((ArrayList<Positionnable>)(ArrayList<?>)objets,direction,numLigOuCol);
-		Positionnable.decalerPositions(objetsSel, direction);
-		@SuppressWarnings("unchecked")
-		final ArrayList<Positionnable> piecesSel=Positionnable.extraireSurLigOuCol((ArrayList<Positionnable>)(ArrayList<?>)pieces,direction,numLigOuCol);
-		Positionnable.decalerPositions(piecesSel, direction);
-		@SuppressWarnings("unchecked")
-		final ArrayList<Positionnable> joueursSel=Positionnable.extraireSurLigOuCol((ArrayList<Positionnable>)(ArrayList<?>)joueurs,direction,numLigOuCol);
-		Positionnable.decalerPositions(joueursSel, direction);
-		final Piece pieceHorsPlateau=Piece.pieceHorsPlateau(pieces);
-		Piece nouvellePieceHorsPlateau=null;
-		switch (direction) {
-		case HAUT : 
-			nouvellePieceHorsPlateau=(Piece)Positionnable.elementAt(piecesSel,0, numLigOuCol);
-			break;
-		case BAS : 
-			nouvellePieceHorsPlateau=(Piece)Positionnable.elementAt(piecesSel,PositionPlateau.NB_LIGS_PLATEAU-1, numLigOuCol);
-			break;
-		case DROITE : 
-			nouvellePieceHorsPlateau=(Piece)Positionnable.elementAt(piecesSel,numLigOuCol,0);
-			break;
-		case GAUCHE :
-			nouvellePieceHorsPlateau=(Piece)Positionnable.elementAt(piecesSel,numLigOuCol,PositionPlateau.NB_COLS_PLATEAU-1);
-			break;
+		final long debut=Metriques.ACTIVEES?System.nanoTime():0;
+		final DecalageJFR evenement=DecalageJFR.demarrer();
+		if (instantanePlateau!=null)
+			instantanePlateau=instantanePlateau.avecMasqueHorsPlateau(pieceHorsPlateau.getMasqueSorties()).decaler(direction,numLigOuCol);
+		final int nbCasesDecalees=casesDansLeSensDuDecalage(direction,numLigOuCol);
+		final int[] cases=casesDecalage;
+		final int derniere=cases[nbCasesDecalees-1];
+		for (int i=0;i<nbCasesDecalees;i++) {
+			final int numCase=cases[i];
+			pieceParCase[numCase].getPosition().decaler(direction);
+			if (objetParCase[numCase]!=-1)
+				objetsParId[objetParCase[numCase]].getPosition().decaler(direction);
+			if (joueurParCase[numCase]!=-1)
+				joueursParId[joueurParCase[numCase]].getPosition().decaler(direction);
+		}
+		final Piece nouvellePieceHorsPlateau=pieceParCase[derniere];
+		final int objetSortant=objetParCase[derniere];
+		final int joueurSortant=joueurParCase[derniere];
+		for (int i=nbCasesDecalees-1;i>0;i--) {
+			pieceParCase[cases[i]]=pieceParCase[cases[i-1]];
+			masqueParCase[cases[i]]=masqueParCase[cases[i-1]];
+			objetParCase[cases[i]]=objetParCase[cases[i-1]];
+			joueurParCase[cases[i]]=joueurParCase[cases[i-1]];
 		}
 		pieceHorsPlateau.setPosition(nouvellePieceHorsPlateau.getPosition());
 		nouvellePieceHorsPlateau.setPosition(null);
+		pieceParCase[cases[0]]=pieceHorsPlateau;
+		masqueParCase[cases[0]]=(byte)pieceHorsPlateau.getMasqueSorties();
+		objetParCase[cases[0]]=objetSortant;
+		joueurParCase[cases[0]]=joueurSortant;
+		pieceHorsPlateau=nouvellePieceHorsPlateau;
+		for (int i=0;i<nbCasesDecalees;i++) {
+			final int numCase=cases[i];
+			if (objetParCase[numCase]!=-1)
+				caseParObjet[objetParCase[numCase]]=numCase;
+			if (joueurParCase[numCase]!=-1)
+				caseParJoueur[joueurParCase[numCase]]=numCase;
+		}
+		cacheChemins.changerVersion();
+		if (evenement!=null)
+			evenement.terminer(direction,numLigOuCol);
+		if (Metriques.ACTIVEES)
+			Metriques.enregistrer(Mesure.DECALAGE,debut);
 	}
-	
+
+	/**
+	 * Méthode retournant les numéros des cases d'une ligne ou d'une colonne ordonnés dans le sens d'un décalage :
+	 * l'élément de la case d'indice i se retrouve, après décalage, dans la case d'indice i+1 et celui de la dernière case
+	 * se retrouve dans la première.
+	 * @param direction La direction du décalage.
+	 * @param numLigOuCol Le numéro de la ligne ou de la colonne du décalage.
+	 * @return Le nombre de cases de la ligne ou de la colonne, dont les numéros sont placés au début de {@link #casesDecalage}.
+	 */
+	private int casesDansLeSensDuDecalage(final Direction direction,final int numLigOuCol) {
+		final int nbLignes=configuration.getNbLignes();
+		final int nbColonnes=configuration.getNbColonnes();
+		final boolean colonne=(direction==Direction.HAUT)||(direction==Direction.BAS);
+		final int nbCases=colonne?nbLignes:nbColonnes;
+		final int[] cases=casesDecalage;
+		for (int i=0;i<nbCases;i++)
+			switch (direction) {
+			case HAUT:
+				cases[i]=i*nbColonnes+numLigOuCol;
+				break;
+			case BAS:
+				cases[i]=(nbLignes-1-i)*nbColonnes+numLigOuCol;
+				break;
+			case DROITE:
+				cases[i]=numLigOuCol*nbColonnes+i;
+				break;
+			case GAUCHE:
+				cases[i]=numLigOuCol*nbColonnes+nbColonnes-1-i;
+				break;
+			}
+		return nbCases;
+	}
+
 	/**
 	 * Methode retournant une copie des éléments du jeu.
 	 */
@@ -159,8 +669,8 @@ public class ElementsJeu {
 			objets.add((Objet)objet.clone());
 		for (Joueur joueur : this.joueurs)
 			joueurs.add((Joueur)joueur.clone());
-		return new ElementsJeu(pieces,objets,joueurs);
+		return new ElementsJeu(configuration,pieces,objets,joueurs);
 	}
-	
-	
+
+
 }
@@ -0,0 +1,380 @@
+package dedale.elements;
+
+/**
+ * Une instance de cette classe correspond à l'état d'une partie simulé lors de la recherche d'un coup par un joueur ordinateur :
+ * un plateau compact (voir {@link PlateauCompact}), la case de chaque joueur et de chaque objet et le prochain objet
+ * à récupérer par chaque joueur. Un coup peut être joué puis annulé sans aucune création d'objet.
+ * <br>
+ * Un coup est codé dans un entier : le nombre de rotations (2 bits), l'ordinal de la direction du décalage (2 bits),
+ * le numéro de la ligne ou de la colonne décalée (9 bits) et le numéro de la case de destination (17 bits).
+ * Une instance ne doit être utilisée que par un seul thread (voir {@link #EtatRecherche(EtatRecherche)}).
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+class EtatRecherche {
+	/**
+	 * Les directions de décalage.
+	 */
+	static final private Direction[] DIRECTIONS=Direction.values();
+
+	/**
+	 * Le plateau simulé.
+	 */
+	final private PlateauCompact plateau;
+
+	/**
+	 * Le nombre d'objets que doit récupérer chaque joueur.
+	 */
+	final private int nbObjetsParJoueur;
+
+	/**
+	 * Les cases des joueurs par identifiant.
+	 */
+	final private int[] casesJoueurs;
+
+	/**
+	 * Les cases des objets par identifiant (-1 pour un objet récupéré).
+	 */
+	final private int[] casesObjets;
+
+	/**
+	 * L'identifiant du prochain objet à récupérer par chaque joueur (-1 lorsque le joueur a tout récupéré).
+	 */
+	final private int[] prochainObjet;
+
+	/**
+	 * Les tableaux utilisés par les parcours en largeur.
+	 */
+	final private int[] distances,file;
+
+	/**
+	 * Les plans de connexions du plateau simulé (voir {@link #objetCibleAccessible(int)}).
+	 */
+	final private PlansConnexions plansConnexions;
+
+	/**
+	 * Les ensembles de cases utilisés par la propagation (les cases accessibles et le dernier niveau atteint).
+	 */
+	final private long[] accessibles,niveau;
+
+	/**
+	 * Les cases occupées par un joueur.
+	 */
+	final private boolean[] occupees;
+
+	/**
+	 * Pour chaque coup joué (par profondeur), le masque de la pièce hors plateau avant le coup,
+	 * la case du joueur après le décalage et l'objet récupéré (-1 si aucun).
+	 */
+	final private int[] masquesAvant,casesAvantDeplacement,objetsRecuperes;
+
+	/**
+	 * Constructeur permettant de créer l'état correspondant aux éléments du jeu.
+	 * @param elementsJeu Les éléments du jeu.
+	 * @param profondeurMax La profondeur maximale (en nombre de coups joués simultanément).
+	 */
+	EtatRecherche(final ElementsJeu elementsJeu,final int profondeurMax) {
+		plateau=new PlateauCompact(elementsJeu);
+		nbObjetsParJoueur=elementsJeu.getConfiguration().getNbObjetsParJoueur();
+		casesJoueurs=elementsJeu.getCasesParJoueur().clone();
+		prochainObjet=new int[casesJoueurs.length];
+		for (int idJoueur=0;idJoueur<prochainObjet.length;idJoueur++)
+			prochainObjet[idJoueur]=elementsJeu.getIdProchainObjet(idJoueur);
+		casesObjets=elementsJeu.getCasesParObjet().clone();
+		distances=new int[plateau.getNbCases()];
+		file=new int[plateau.getNbCases()];
+		plansConnexions=new PlansConnexions(plateau.getNbLignes(),plateau.getNbColonnes());
+		accessibles=plansConnexions.creerEnsembleCases();
+		niveau=plansConnexions.creerEnsembleCases();
+		occupees=new boolean[plateau.getNbCases()];
+		masquesAvant=new int[profondeurMax];
+		casesAvantDeplacement=new int[profondeurMax];
+		objetsRecuperes=new int[profondeurMax];
+	}
+
+	/**
+	 * Constructeur permettant de créer une copie d'un état (pour un autre thread).
+	 * @param etat L'état à copier.
+	 */
+	EtatRecherche(final EtatRecherche etat) {
+		plateau=new PlateauCompact(etat.plateau);
+		nbObjetsParJoueur=etat.nbObjetsParJoueur;
+		casesJoueurs=etat.casesJoueurs.clone();
+		casesObjets=etat.casesObjets.clone();
+		prochainObjet=etat.prochainObjet.clone();
+		distances=new int[etat.distances.length];
+		file=new int[etat.file.length];
+		plansConnexions=new PlansConnexions(plateau.getNbLignes(),plateau.getNbColonnes());
+		accessibles=plansConnexions.creerEnsembleCases();
+		niveau=plansConnexions.creerEnsembleCases();
+		occupees=new boolean[etat.occupees.length];
+		masquesAvant=new int[etat.masquesAvant.length];
+		casesAvantDeplacement=new int[etat.casesAvantDeplacement.length];
+		objetsRecuperes=new int[etat.objetsRecuperes.length];
+	}
+
+	/**
+	 * Méthode indiquant si un état peut être copié dans celui-ci (voir {@link #copier(EtatRecherche)}) :
+	 * mêmes dimensions du plateau, même nombre de joueurs et d'objets et même profondeur maximale.
+	 * @param etat L'état à comparer.
+	 * @return true si l'état peut être copié dans celui-ci.
+	 */
+	boolean estCompatible(final EtatRecherche etat) {
+		return (etat.plateau.getNbLignes()==plateau.getNbLignes())&&(etat.plateau.getNbColonnes()==plateau.getNbColonnes())
+				&&(etat.casesJoueurs.length==casesJoueurs.length)&&(etat.casesObjets.length==casesObjets.length)
+				&&(etat.nbObjetsParJoueur==nbObjetsParJoueur)&&(etat.masquesAvant.length==masquesAvant.length);
+	}
+
+	/**
+	 * Méthode remplaçant cet état par une copie d'un état compatible (voir {@link #estCompatible(EtatRecherche)}), sans créer d'objet :
+	 * les tableaux de cet état sont réutilisés.
+	 * Dans le cas où l'état n'est pas compatible, une Exception de type IllegalArgumentException est levée.
+	 * @param etat L'état à copier.
+	 */
+	void copier(final EtatRecherche etat) {
+		if (!estCompatible(etat))
+			throw new IllegalArgumentException("L'état à copier n'est pas compatible !");
+		plateau.copier(etat.plateau);
+		System.arraycopy(etat.casesJoueurs,0,casesJoueurs,0,casesJoueurs.length);
+		System.arraycopy(etat.casesObjets,0,casesObjets,0,casesObjets.length);
+		System.arraycopy(etat.prochainObjet,0,prochainObjet,0,prochainObjet.length);
+	}
+
+	/**
+	 * Méthode retournant le plateau simulé.
+	 * @return Le plateau simulé.
+	 */
+	PlateauCompact getPlateau() {
+		return plateau;
+	}
+
+	/**
+	 * Méthode retournant le nombre de joueurs.
+	 * @return Le nombre de joueurs.
+	 */
+	int getNbJoueurs() {
+		return casesJoueurs.length;
+	}
+
+	/**
+	 * Méthode retournant la case d'un joueur.
+	 * @param idJoueur L'identifiant du joueur.
+	 * @return La case du joueur.
+	 */
+	int getCaseJoueur(final int idJoueur) {
+		return casesJoueurs[idJoueur];
+	}
+
+	/**
+	 * Méthode retournant la case du prochain objet à récupérer par un joueur.
+	 * @param idJoueur L'identifiant du joueur.
+	 * @return La case de l'objet ou -1 si le joueur a tout récupéré.
+	 */
+	int getCaseObjetCible(final int idJoueur) {
+		return prochainObjet[idJoueur]==-1?-1:casesObjets[prochainObjet[idJoueur]];
+	}
+
+	/**
+	 * Méthode retournant le nombre d'objets déjà récupérés par un joueur.
+	 * @param idJoueur L'identifiant du joueur.
+	 * @return Le nombre d'objets récupérés.
+	 */
+	int getNbObjetsRecuperes(final int idJoueur) {
+		return prochainObjet[idJoueur]==-1?nbObjetsParJoueur:prochainObjet[idJoueur]-idJoueur*nbObjetsParJoueur;
+	}
+
+	/**
+	 * Méthode indiquant si un joueur a récupéré tous ses objets.
+	 * @param idJoueur L'identifiant du joueur.
+	 * @return true si le joueur a gagné.
+	 */
+	boolean aGagne(final int idJoueur) {
+		return prochainObjet[idJoueur]==-1;
+	}
+
+	/**
+	 * Méthode indiquant si le prochain objet d'un joueur est accessible depuis sa case sur le plateau simulé.
+	 * Seule l'accessibilité est utile : elle est obtenue par propagation sur les plans de connexions du plateau
+	 * (voir {@link PlansConnexions#etendreParcours(long[], long[])}), arrêtée dès que la case de l'objet est atteinte.
+	 * @param idJoueur L'identifiant du joueur.
+	 * @return true si l'objet est accessible.
+	 */
+	boolean objetCibleAccessible(final int idJoueur) {
+		final int cible=getCaseObjetCible(idJoueur);
+		if (cible==-1)
+			return false;
+		plansConnexions.calculer(plateau);
+		plansConnexions.commencerParcours(casesJoueurs[idJoueur],accessibles,niveau);
+		do {
+			if (PlansConnexions.contient(accessibles,cible))
+				return true;
+		} while (plansConnexions.etendreParcours(accessibles,niveau)>0);
+		return false;
+	}
+
+	/**
+	 * Méthode générant les coups d'un joueur : pour chaque orientation distincte de la pièce hors plateau
+	 * (voir {@link PlateauCompact#rotationsDistinctes(int)}) et chaque décalage,
+	 * la destination retenue est le prochain objet du joueur s'il est accessible ou, à défaut, la case accessible et libre
+	 * la plus proche de cet objet (comme pour {@link JoueurOrdiN3}).
+	 * La clé de chaque coup (plus petite pour un meilleur coup) combine l'écart entre la destination et l'objet et la mobilité.
+	 * @param idJoueur L'identifiant du joueur.
+	 * @param coups Le tableau recevant les coups.
+	 * @param cles Le tableau recevant les clés des coups.
+	 * @return Le nombre de coups générés.
+	 */
+	int genererCoups(final int idJoueur,final int[] coups,final long[] cles) {
+		final int nbColonnes=plateau.getNbColonnes();
+		final int masqueInitial=plateau.getMasqueHorsPlateau();
+		int nbCoups=0;
+		for (int nbRotations : PlateauCompact.rotationsDistinctes(masqueInitial))
+			for (Direction direction : DIRECTIONS) {
+				final int nbLigOuCol=((direction==Direction.HAUT)||(direction==Direction.BAS))?nbColonnes:plateau.getNbLignes();
+				for (int numLigOuCol=0;numLigOuCol<nbLigOuCol;numLigOuCol++) {
+					plateau.setMasqueHorsPlateau(PlateauCompact.rotationner(masqueInitial,nbRotations));
+					plateau.decaler(direction,numLigOuCol);
+					for (int id=0;id<casesJoueurs.length;id++)
+						if (id!=idJoueur)
+							occupees[plateau.caseApresDecalage(casesJoueurs[id],direction,numLigOuCol)]=true;
+					final int depart=plateau.caseApresDecalage(casesJoueurs[idJoueur],direction,numLigOuCol);
+					final int caseObjet=getCaseObjetCible(idJoueur);
+					final int cible=caseObjet==-1?depart:plateau.caseApresDecalage(caseObjet,direction,numLigOuCol);
+					final int nbAccessibles=plateau.parcourirEnLargeur(depart,distances,file);
+					int ecart=Integer.MAX_VALUE;
+					int destination=depart;
+					for (int i=0;i<nbAccessibles;i++) {
+						final int numCase=file[i];
+						if (occupees[numCase])
+							continue;
+						final int ecartCase=Math.abs(numCase/nbColonnes-cible/nbColonnes)+Math.abs(numCase%nbColonnes-cible%nbColonnes);
+						if (ecartCase<ecart) {
+							ecart=ecartCase;
+							destination=numCase;
+						}
+					}
+					for (int id=0;id<casesJoueurs.length;id++)
+						if (id!=idJoueur)
+							occupees[plateau.caseApresDecalage(casesJoueurs[id],direction,numLigOuCol)]=false;
+					plateau.annulerDecalage(direction,numLigOuCol);
+					coups[nbCoups]=coder(nbRotations,direction,numLigOuCol,destination);
+					cles[nbCoups]=((long)ecart<<32)-nbAccessibles;
+					nbCoups++;
+				}
+			}
+		plateau.setMasqueHorsPlateau(masqueInitial);
+		return nbCoups;
+	}
+
+	/**
+	 * Méthode jouant un coup d'un joueur (rotation, décalage, déplacement et éventuelle récupération d'un objet).
+	 * @param idJoueur L'identifiant du joueur.
+	 * @param coup Le coup (voir {@link #coder(int, Direction, int, int)}).
+	 * @param profondeur La profondeur du coup (utilisée pour son annulation).
+	 */
+	void jouer(final int idJoueur,final int coup,final int profondeur) {
+		final Direction direction=direction(coup);
+		final int numLigOuCol=numLigneOuColonne(coup);
+		masquesAvant[profondeur]=plateau.getMasqueHorsPlateau();
+		plateau.rotationnerPieceHorsPlateau(nbRotations(coup));
+		plateau.decaler(direction,numLigOuCol);
+		for (int id=0;id<casesJoueurs.length;id++)
+			casesJoueurs[id]=plateau.caseApresDecalage(casesJoueurs[id],direction,numLigOuCol);
+		for (int id=0;id<casesObjets.length;id++)
+			if (casesObjets[id]!=-1)
+				casesObjets[id]=plateau.caseApresDecalage(casesObjets[id],direction,numLigOuCol);
+		casesAvantDeplacement[profondeur]=casesJoueurs[idJoueur];
+		final int destination=destination(coup);
+		casesJoueurs[idJoueur]=destination;
+		final int objet=prochainObjet[idJoueur];
+		if ((objet!=-1)&&(casesObjets[objet]==destination)) {
+			casesObjets[objet]=-1;
+			prochainObjet[idJoueur]=(objet+1<(idJoueur+1)*nbObjetsParJoueur)?objet+1:-1;
+			objetsRecuperes[profondeur]=objet;
+		} else
+			objetsRecuperes[profondeur]=-1;
+	}
+
+	/**
+	 * Méthode annulant le dernier coup joué à une profondeur donnée.
+	 * @param idJoueur L'identifiant du joueur ayant joué le coup.
+	 * @param coup Le coup.
+	 * @param profondeur La profondeur du coup.
+	 */
+	void annuler(final int idJoueur,final int coup,final int profondeur) {
+		final Direction direction=direction(coup);
+		final Direction opposee=DIRECTIONS[(direction.ordinal()+2)%4];
+		final int numLigOuCol=numLigneOuColonne(coup);
+		final int objet=objetsRecuperes[profondeur];
+		if (objet!=-1) {
+			casesObjets[objet]=destination(coup);
+			prochainObjet[idJoueur]=objet;
+		}
+		casesJoueurs[idJoueur]=casesAvantDeplacement[profondeur];
+		for (int id=0;id<casesJoueurs.length;id++)
+			casesJoueurs[id]=plateau.caseApresDecalage(casesJoueurs[id],opposee,numLigOuCol);
+		for (int id=0;id<casesObjets.length;id++)
+			if (casesObjets[id]!=-1)
+				casesObjets[id]=plateau.caseApresDecalage(casesObjets[id],opposee,numLigOuCol);
+		plateau.annulerDecalage(direction,numLigOuCol);
+		plateau.setMasqueHorsPlateau(masquesAvant[profondeur]);
+	}
+
+	/**
+	 * Méthode codant un coup dans un entier.
+	 * @param nbRotations Le nombre de rotations de la pièce hors plateau (entre 0 et 3).
+	 * @param direction La direction du décalage.
+	 * @param numLigOuCol Le numéro de la ligne ou de la colonne décalée.
+	 * @param destination Le numéro de la case de destination.
+	 * @return Le coup codé.
+	 */
+	static int coder(final int nbRotations,final Direction direction,final int numLigOuCol,final int destination) {
+		return nbRotations|(direction.ordinal()<<2)|(numLigOuCol<<4)|(destination<<13);
+	}
+
+	/**
+	 * Méthode retournant le nombre de rotations d'un coup codé.
+	 * @param coup Le coup codé.
+	 * @return Le nombre de rotations.
+	 */
+	static int nbRotations(final int coup) {
+		return coup&3;
+	}
+
+	/**
+	 * Méthode retournant la direction du décalage d'un coup codé.
+	 * @param coup Le coup codé.
+	 * @return La direction du décalage.
+	 */
+	static Direction direction(final int coup) {
+		return DIRECTIONS[(coup>>>2)&3];
+	}
+
+	/**
+	 * Méthode retournant le numéro de la ligne ou de la colonne décalée d'un coup codé.
+	 * @param coup Le coup codé.
+	 * @return Le numéro de la ligne ou de la colonne.
+	 */
+	static int numLigneOuColonne(final int coup) {
+		return (coup>>>4)&0x1FF;
+	}
+
+	/**
+	 * Méthode retournant la case de destination d'un coup codé.
+	 * @param coup Le coup codé.
+	 * @return Le numéro de la case de destination.
+	 */
+	static int destination(final int coup) {
+		return coup>>>13;
+	}
+
+	/**
+	 * Méthode convertissant un coup codé en coup de jeu.
+	 * @param coup Le coup codé.
+	 * @return Le coup de jeu correspondant.
+	 */
+	CoupJeu versCoupJeu(final int coup) {
+		final int nbColonnes=plateau.getNbColonnes();
+		return new CoupJeu(nbRotations(coup),direction(coup),numLigneOuColonne(coup),destination(coup)/nbColonnes,destination(coup)%nbColonnes);
+	}
+}
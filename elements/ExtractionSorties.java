@@ -0,0 +1,19 @@
+package dedale.elements;
+
+/**
+ * Interface spécifiant l'extraction des plans des sorties utilisée par {@link PlansConnexions} : pour chaque direction,
+ * le bit c du plan vaut 1 si et seulement si la pièce de la case c a une sortie dans cette direction.
+ * Elle permet de brancher, lorsque la plateforme le permet, une implémentation vectorielle (classe ExtractionSortiesVectorielle
+ * du répertoire de sources facultatif vectoriel) à la place du calcul par entiers longs de {@link PlansConnexions}.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+interface ExtractionSorties {
+	/**
+	 * Méthode remplissant les plans des sorties à partir des masques des sorties des pièces par case.
+	 * @param masques Les masques des sorties par numéro de case.
+	 * @param sorties Les plans des sorties par direction (haut, droite, bas, gauche), de (masques.length+63)/64 entiers longs chacun.
+	 */
+	public void extraire(final byte[] masques,final long[][] sorties);
+}
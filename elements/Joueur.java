@@ -5,8 +5,9 @@ import java.util.Objects;
 
 /**
  * La classe Joueur est une classe abstraite permettant de représenter des joueurs (humains ou ordinateurs).
- * Chaque joueur possède un identifiant : l'entier 0, 1 ou 2. Cette identifiant détermine la position à laquelle doit jouer le joueur : 0 pour le premier joueur qui doit jouer,
- * 1 pour le deuxième joueur qui doit jouer et 3 pour le dernier joueur qui doit jouer.
+ * Chaque joueur possède un identifiant : un entier compris entre 0 et {@link ConfigurationJeu#getNbJoueurs()}-1 (l'entier 0, 1 ou 2 avec la configuration par défaut).
+ * Cette identifiant détermine la position à laquelle doit jouer le joueur : 0 pour le premier joueur qui doit jouer,
+ * 1 pour le deuxième joueur qui doit jouer et ainsi de suite jusqu'au dernier joueur qui doit jouer.
  * L'identifiant du joueur détermine également quels sont les objets qu'il doit ramasser (voir la classe ({@link dedale.elements.Objet}).
  * <br>
  * Chaque joueur possède également un pseudo qui doit avoir au moins 3 caractères et au plus 10 caractères.
@@ -22,7 +23,7 @@ import java.util.Objects;
  */
 public abstract class Joueur extends Positionnable {
 	/**
-	 * Le nombre de joueurs du jeu.
+	 * Le nombre de joueurs du jeu avec la configuration par défaut.
 	 */
 	public static final int NB_JOUEURS=3;
 	/**
@@ -41,6 +42,7 @@ public abstract class Joueur extends Positionnable {
 	/**
 	 * Constructeur permettant de créer un nouveau joueur avec un identifiant, un pseudo, une position, un booléen pour indiquer si
 	 * c'est son tour de jouer et sa nature.
+	 * La validité de l'identifiant est déterminée à partir de la configuration de la partie associée à la position.
 	 * Dans le cas où l'identifiant ou le pseudo du joueur ne sont pas valides ou dans le cas où la position vaut null ou n'est pas valide,
 	 * une Exception de type IllegalArgumentExcpetion est levée.
 	 * @param id L'identifiant du joueur.
@@ -50,7 +52,7 @@ public abstract class Joueur extends Positionnable {
 	 */
 	protected Joueur(final int id,final String pseudo,final PositionPlateau position,final boolean estASonTourDeJouer) {
 		super(position);
-		if ((id<0)||(id>=NB_JOUEURS))
+		if ((id<0)||(id>=position.getConfiguration().getNbJoueurs()))
 			throw new IllegalArgumentException("L'identifiant du joueur n'est pas valide !");
 		if ((pseudo.length()<3)||(pseudo.length()>10))
 			throw new IllegalArgumentException("Le pseudo d'un joueur doit avoir au moins 3 caractères et au plus 8 caractères !");
@@ -116,7 +118,8 @@ public abstract class Joueur extends Positionnable {
 	 * @return Le prochain objet à récupérer.
 	 */
 	public Objet prochainObjetARecuperer(final ArrayList<Objet> objets) {
-		return Objet.objetNonRecupere(objets,id*(Objet.NB_OBJETS/3),(id+1)*(Objet.NB_OBJETS/3)-1);
+		final int nbObjetsParJoueur=getPosition().getConfiguration().getNbObjetsParJoueur();
+		return Objet.objetNonRecupere(objets,id*nbObjetsParJoueur,(id+1)*nbObjetsParJoueur-1);
 	}
 	/**
 	 * Retourne une représentation textuelle du joueur.
@@ -187,21 +190,23 @@ public abstract class Joueur extends Positionnable {
 	 * Le joueur identifié par id se trouve à l'index id du tableau retourné.
 	 * @param joueurs Les joueurs à positionner.
 	 * @param pieces L'ensemble des pièces à partir desquelles sont extraites les positions utilisées pour le placement des joueurs. Un pièce peut avoir une position null.
+	 * @param configuration La configuration de la partie (dont le générateur aléatoire est utilisé).
 	 */
-	public static void positionnerJoueurs(final ArrayList<Joueur> joueurs,final ArrayList<Piece> pieces) {
-		final int max=PositionPlateau.NB_LIGS_PLATEAU*PositionPlateau.NB_COLS_PLATEAU;
+	public static void positionnerJoueurs(final ArrayList<Joueur> joueurs,final ArrayList<Piece> pieces,final ConfigurationJeu configuration) {
+		final int max=configuration.getNbCases();
+		final int nbColonnes=configuration.getNbColonnes();
 		final boolean[] possible=new boolean[max];
 		for (int i=0;i<max;i++)
 			possible[i]=true;
 		for (Piece piece : pieces)
 			if ((piece.getPosition()!=null)&&(piece.getNbSorties())==0)
-				possible[piece.getPosition().getNumLigne()*PositionPlateau.NB_COLS_PLATEAU+piece.getPosition().getNumColonne()]=false;
+				possible[piece.getPosition().getNumLigne()*nbColonnes+piece.getPosition().getNumColonne()]=false;
 		for (Joueur joueur:joueurs) {
-			int pos=Util.genererAleatoirementEntier(max-1);
+			int pos=configuration.genererAleatoirementEntier(max-1);
 			for (int j=0;j<max;j++) {
 				if (possible[pos]) {
 					possible[pos]=false;
-					joueur.setPosition(new PositionPlateau(pos/PositionPlateau.NB_COLS_PLATEAU,pos%PositionPlateau.NB_COLS_PLATEAU));
+					joueur.setPosition(new PositionPlateau(pos/nbColonnes,pos%nbColonnes,configuration));
 					break;
 				}else
 					pos=(pos+1)%max;
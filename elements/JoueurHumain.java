@@ -25,7 +25,7 @@ public class JoueurHumain extends Joueur {
 	}
 
 	/**
-	 * Méthode retournant un nouveau tableau de {@link dedale.elements.Joueur#NB_JOUEURS} nouveaux joueurs humains avec des identifiants différents (de 0 à ({@link dedale.elements.Joueur#NB_JOUEURS})-1).
+	 * Méthode retournant un nouveau tableau de {@link dedale.elements.ConfigurationJeu#getNbJoueurs()} nouveaux joueurs humains avec des identifiants différents (de 0 à ({@link dedale.elements.ConfigurationJeu#getNbJoueurs()})-1).
 	 * Seul le joueur identifié par 0 aura son booléen indiquant que c'est son tour à jouer à true.
 	 * Les pseudos des différents joueurs sont donnés par un tableau donné en paramètre.
 	 * Chaque joueur est placé aléatoirement à une position de une des pièces (données en paramètre).
@@ -35,13 +35,14 @@ public class JoueurHumain extends Joueur {
 	 * Le joueur identifié par id se trouve à l'index id du tableau retourné.
 	 * @param pseudos Un tableau contenant les pseudos des joueurs.
 	 * @param pieces L'ensemble des pièces à partir desquelles sont extraites les positions utilisées pour le placement des joueurs.
+	 * @param configuration La configuration de la partie.
 	 * @return Un nouveau tableau de joueurs.
 	 */
-	public static ArrayList<Joueur> nouveauxJoueursHumains(final String[] pseudos,final ArrayList<Piece> pieces) {
-		final ArrayList<Joueur> joueurs=new ArrayList<Joueur>(NB_JOUEURS);
-		for (int i=0;i<NB_JOUEURS;i++)
-			joueurs.add(new JoueurHumain(i,pseudos[i],new PositionPlateau(0,0),i==0));
-		Joueur.positionnerJoueurs(joueurs, pieces);
+	public static ArrayList<Joueur> nouveauxJoueursHumains(final String[] pseudos,final ArrayList<Piece> pieces,final ConfigurationJeu configuration) {
+		final ArrayList<Joueur> joueurs=new ArrayList<Joueur>(configuration.getNbJoueurs());
+		for (int i=0;i<configuration.getNbJoueurs();i++)
+			joueurs.add(new JoueurHumain(i,pseudos[i],new PositionPlateau(0,0,configuration),i==0));
+		Joueur.positionnerJoueurs(joueurs, pieces, configuration);
 		return joueurs;
 	}
 
@@ -7,6 +7,16 @@ package dedale.elements;
  * @version 3.0 (24/02/23)
  */
 abstract public class JoueurOrdi extends Joueur {
+	/**
+	 * Le nombre de noeuds (coups ou positions) explorés lors du dernier calcul de coup.
+	 */
+	private long nbNoeudsExplores;
+
+	/**
+	 * La profondeur (en nombre de coups) atteinte lors du dernier calcul de coup.
+	 */
+	private int profondeurRecherche;
+
 	/**
 	 * Constructeur permettant de créer un nouveau joueur ordinateur avec un identifiant, un pseudo, une position et un booléen pour indiquer si
 	 * c'est son tour de jouer.
@@ -30,5 +40,37 @@ abstract public class JoueurOrdi extends Joueur {
 	 */
 	abstract public CoupJeu calculerCoup(ElementsJeu elementsJeu);
 
+	/**
+	 * Méthode retournant le nombre de noeuds (coups ou positions) explorés lors du dernier calcul de coup.
+	 * @return Le nombre de noeuds explorés (0 pour un joueur ne faisant aucune recherche).
+	 */
+	public long getNbNoeudsExplores() {
+		return nbNoeudsExplores;
+	}
+
+	/**
+	 * Méthode permettant à un joueur ordinateur d'indiquer le nombre de noeuds explorés lors de son dernier calcul de coup.
+	 * @param nbNoeudsExplores Le nombre de noeuds explorés.
+	 */
+	protected void setNbNoeudsExplores(final long nbNoeudsExplores) {
+		this.nbNoeudsExplores=nbNoeudsExplores;
+	}
+
+	/**
+	 * Méthode retournant la profondeur (en nombre de coups) atteinte lors du dernier calcul de coup.
+	 * @return La profondeur atteinte (0 pour un joueur ne faisant aucune recherche).
+	 */
+	public int getProfondeurRecherche() {
+		return profondeurRecherche;
+	}
+
+	/**
+	 * Méthode permettant à un joueur ordinateur d'indiquer la profondeur atteinte lors de son dernier calcul de coup.
+	 * @param profondeurRecherche La profondeur atteinte.
+	 */
+	protected void setProfondeurRecherche(final int profondeurRecherche) {
+		this.profondeurRecherche=profondeurRecherche;
+	}
+
 
 }
@@ -31,31 +31,32 @@ public class JoueurOrdiN2 extends JoueurOrdi {
 	 * @return Le coup calculé que souhaite jouer le joueur Ordinateur.
 	 */
 	public CoupJeu calculerCoup(ElementsJeu elementsJeu) {
-		final int nbRotations=Util.genererAleatoirementEntier(3);
-		final int direction=Util.genererAleatoirementEntier(3);
+		final ConfigurationJeu configuration=elementsJeu.getConfiguration();
+		final int nbRotations=configuration.genererAleatoirementEntier(3);
+		final int direction=configuration.genererAleatoirementEntier(3);
 		Direction directionDecalage=null;
 		int numLigOuColDec=-1;
 		switch (direction){
 		case 0:
 			directionDecalage=Direction.HAUT;
-			numLigOuColDec=Util.genererAleatoirementEntier(PositionPlateau.NB_COLS_PLATEAU-1);
+			numLigOuColDec=configuration.genererAleatoirementEntier(configuration.getNbColonnes()-1);
 			break;
 		case	1:
 			directionDecalage=Direction.BAS;
-			numLigOuColDec=Util.genererAleatoirementEntier(PositionPlateau.NB_COLS_PLATEAU-1);
+			numLigOuColDec=configuration.genererAleatoirementEntier(configuration.getNbColonnes()-1);
 			break;
 		case 2:
 			directionDecalage=Direction.GAUCHE;
-			numLigOuColDec=Util.genererAleatoirementEntier(PositionPlateau.NB_LIGS_PLATEAU-1);
+			numLigOuColDec=configuration.genererAleatoirementEntier(configuration.getNbLignes()-1);
 			break;
 		case 3: 
 			directionDecalage=Direction.DROITE;
-			numLigOuColDec=Util.genererAleatoirementEntier(PositionPlateau.NB_LIGS_PLATEAU-1);
+			numLigOuColDec=configuration.genererAleatoirementEntier(configuration.getNbLignes()-1);
 			break;
 		}
 		// Les deux lignes à modifier
-		final int numLigne=Util.genererAleatoirementEntier(PositionPlateau.NB_LIGS_PLATEAU-1);
-		final int numColonne=Util.genererAleatoirementEntier(PositionPlateau.NB_COLS_PLATEAU-1);
+		final int numLigne=configuration.genererAleatoirementEntier(configuration.getNbLignes()-1);
+		final int numColonne=configuration.genererAleatoirementEntier(configuration.getNbColonnes()-1);
 	
 		return new CoupJeu(nbRotations,directionDecalage,numLigOuColDec,numLigne,numColonne);
 	}
@@ -0,0 +1,110 @@
+package dedale.elements;
+
+/**
+ * Cette classe correspond aux joueurs ordinateurs de niveau 3.
+ * Ils calculent leur coup de façon gloutonne : pour chaque orientation distincte de la pièce hors plateau et chaque décalage possible,
+ * le plateau obtenu est simulé sur une représentation compacte (voir {@link PlateauCompact}) et un parcours en largeur
+ * à partir de la position du joueur détermine les cases accessibles. Le coup retenu est celui permettant d'atteindre le prochain
+ * objet à récupérer ou, à défaut, la case accessible (et libre) la plus proche de cet objet ; à égalité,
+ * le coup laissant au joueur le plus grand nombre de cases accessibles (mobilité) est préféré.
+ * <br>
+ * Le calcul ne crée aucun objet par coup simulé : il peut ainsi servir de politique de simulation pour des joueurs plus coûteux.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public class JoueurOrdiN3 extends JoueurOrdi {
+	/**
+	 * Les directions de décalage.
+	 */
+	static final private Direction[] DIRECTIONS=Direction.values();
+
+	/**
+	 * Constructeur permettant de créer un nouveau joueur ordinateur avec un identifiant, un pseudo, une position et un booléen pour indiquer si
+	 * c'est son tour de jouer.
+	 * Dans le cas où l'identifiant ou le pseudo du joueur ne sont pas valides ou dans le cas où la position vaut null,
+	 * une Exception de type IllegalArgumentExcpetion est levée.
+	 * Si l'identifiant du joueur est 0 alors le booléen indiquant que c'est son tour est mis à true, dans le cas contraire il est mis à false.
+	 * @param id L'identifiant du joueur.
+	 * @param pseudo Le pseudo du joueur.
+	 * @param position La position du joueur.
+	 * @param estASonTourDeJouer Un booléen indiquant si c'est à son tour.
+	 */
+	public JoueurOrdiN3(final int id,final String pseudo,final PositionPlateau position,final boolean estASonTourDeJouer) {
+		super(id,pseudo,position,estASonTourDeJouer);
+	}
+
+	/**
+	 * Méthode qui calcule le meilleur coup au sens glouton (voir la description de la classe).
+	 * @param elementsJeu Les éléments du jeu.
+	 * @return Le coup calculé que souhaite jouer le joueur Ordinateur.
+	 */
+	@Override
+	public CoupJeu calculerCoup(final ElementsJeu elementsJeu) {
+		final PlateauCompact plateau=new PlateauCompact(elementsJeu);
+		final int nbCases=plateau.getNbCases();
+		final int nbColonnes=plateau.getNbColonnes();
+		final int idObjet=elementsJeu.getIdProchainObjet(id);
+		final int caseObjet=idObjet==-1?-1:elementsJeu.getCaseObjet(idObjet);
+		final int caseJoueur=elementsJeu.getCaseJoueur(id);
+		final int[] casesAutresJoueurs=new int[elementsJeu.getConfiguration().getNbJoueurs()-1];
+		int nbAutresJoueurs=0;
+		for (int idJoueur=0;idJoueur<=casesAutresJoueurs.length;idJoueur++)
+			if (idJoueur!=id)
+				casesAutresJoueurs[nbAutresJoueurs++]=elementsJeu.getCaseJoueur(idJoueur);
+		final int[] distances=new int[nbCases];
+		final int[] file=new int[nbCases];
+		final boolean[] occupees=new boolean[nbCases];
+		final int masqueInitial=plateau.getMasqueHorsPlateau();
+		int meilleurEcart=Integer.MAX_VALUE;
+		int meilleureMobilite=-1;
+		CoupJeu meilleurCoup=null;
+		long nbNoeuds=0;
+		for (int nbRotations : PlateauCompact.rotationsDistinctes(masqueInitial)) {
+			for (Direction direction : DIRECTIONS) {
+				final int nbLigOuCol=((direction==Direction.HAUT)||(direction==Direction.BAS))?nbColonnes:plateau.getNbLignes();
+				for (int numLigOuCol=0;numLigOuCol<nbLigOuCol;numLigOuCol++) {
+					plateau.setMasqueHorsPlateau(PlateauCompact.rotationner(masqueInitial,nbRotations));
+					plateau.decaler(direction,numLigOuCol);
+					nbNoeuds++;
+					for (int i=0;i<nbAutresJoueurs;i++)
+						occupees[plateau.caseApresDecalage(casesAutresJoueurs[i],direction,numLigOuCol)]=true;
+					final int depart=plateau.caseApresDecalage(caseJoueur,direction,numLigOuCol);
+					final int cible=caseObjet==-1?depart:plateau.caseApresDecalage(caseObjet,direction,numLigOuCol);
+					final int nbAccessibles=plateau.parcourirEnLargeur(depart,distances,file);
+					int ecart=Integer.MAX_VALUE;
+					int destination=depart;
+					for (int i=0;i<nbAccessibles;i++) {
+						final int numCase=file[i];
+						if (occupees[numCase])
+							continue;
+						final int ecartCase=Math.abs(numCase/nbColonnes-cible/nbColonnes)+Math.abs(numCase%nbColonnes-cible%nbColonnes);
+						if (ecartCase<ecart) {
+							ecart=ecartCase;
+							destination=numCase;
+						}
+					}
+					if ((ecart<meilleurEcart)||((ecart==meilleurEcart)&&(nbAccessibles>meilleureMobilite))) {
+						meilleurEcart=ecart;
+						meilleureMobilite=nbAccessibles;
+						meilleurCoup=new CoupJeu(nbRotations,direction,numLigOuCol,destination/nbColonnes,destination%nbColonnes);
+					}
+					for (int i=0;i<nbAutresJoueurs;i++)
+						occupees[plateau.caseApresDecalage(casesAutresJoueurs[i],direction,numLigOuCol)]=false;
+					plateau.annulerDecalage(direction,numLigOuCol);
+				}
+			}
+		}
+		setNbNoeudsExplores(nbNoeuds);
+		setProfondeurRecherche(1);
+		return meilleurCoup;
+	}
+
+	/**
+	 * Méthode retournant une copie du joueur.
+	 */
+	@Override
+	protected Object clone() throws CloneNotSupportedException {
+		return new JoueurOrdiN3(id,pseudo,(PositionPlateau)getPosition().clone(),this.estASonTourDeJouer());
+	}
+}
@@ -0,0 +1,523 @@
+package dedale.elements;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Cette classe correspond aux joueurs ordinateurs de niveau 4.
+ * Ils calculent leur coup par une recherche tenant compte des adversaires : après chacun de ses coups, les joueurs suivants
+ * répondent en cherchant à atteindre leur propre prochain objet (leurs réponses les plus probables, au sens de {@link JoueurOrdiN3},
+ * sont considérées comme équiprobables). La valeur d'un coup est donc une espérance (expectimax) : un décalage qui permet
+ * à un adversaire d'atteindre son objet est pénalisé.
+ * <br>
+ * La recherche procède par approfondissement itératif dans la limite du temps accordé par la configuration de la partie
+ * (voir {@link ConfigurationJeu#getTempsCalculMaxMs()}) : le coup retenu est celui de la dernière profondeur entièrement explorée.
+ * Les coups de la racine sont ordonnés selon les valeurs obtenues à l'itération précédente, les autres selon leur clé gloutonne.
+ * Les branches inutiles sont élaguées (alpha-bêta aux noeuds du joueur, Star1 aux noeuds des adversaires) et les coups
+ * de la racine sont explorés en parallèle sur tous les coeurs.
+ * <br>
+ * L'arbre exploré est conservé d'une itération à l'autre, hors du tas (voir {@link StockNoeuds}) : aux noeuds du joueur,
+ * les coups déjà évalués sont explorés en premier selon leur dernière valeur. Un stock de noeuds est créé pour chaque calcul de coup
+ * et fermé à la fin de celui-ci : toute sa mémoire est alors rendue au système d'un seul coup.
+ * <br>
+ * Les états simulés et les tableaux de coups des tâches parallèles sont eux aussi conservés d'un calcul de coup à l'autre
+ * (ils ne sont recréés que si la configuration de la partie change) : un joueur ne doit donc calculer qu'un coup à la fois.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public class JoueurOrdiN4 extends JoueurOrdi {
+	/**
+	 * La valeur d'une partie gagnée (les évaluations sont comprises entre -BORNE et BORNE), la valeur de cette constante est {@value}.
+	 */
+	static final private int BORNE=1000000;
+
+	/**
+	 * La valeur d'un objet récupéré dans l'évaluation, la valeur de cette constante est {@value}.
+	 */
+	static final private int VALEUR_OBJET=1000;
+
+	/**
+	 * La pénalité lorsque le prochain objet du joueur suivant lui est accessible, la valeur de cette constante est {@value}.
+	 */
+	static final private int VALEUR_MENACE=600;
+
+	/**
+	 * La valeur d'une case d'écart entre un joueur et son prochain objet, la valeur de cette constante est {@value}.
+	 */
+	static final private int VALEUR_ECART=10;
+
+	/**
+	 * Le nombre maximal de réponses considérées pour un adversaire, la valeur de cette constante est {@value}.
+	 */
+	static final private int NB_REPONSES_MAX=3;
+
+	/**
+	 * La profondeur maximale (en nombre de coups) de la recherche, la valeur de cette constante est {@value}.
+	 */
+	static final private int PROFONDEUR_MAX=32;
+
+	/**
+	 * Le nombre de noeuds entre deux vérifications du temps écoulé, la valeur de cette constante est {@value}.
+	 */
+	static final private int PERIODE_VERIFICATION=256;
+
+	/**
+	 * Le nombre maximal de noeuds de l'arbre conservé (16 octets par noeud), la valeur de cette constante est {@value}.
+	 */
+	static final private int NB_NOEUDS_ARBRE_MAX=1<<21;
+
+	/**
+	 * L'arbre de la recherche en cours (null en dehors d'un calcul de coup).
+	 */
+	private StockNoeuds arbre;
+
+	/**
+	 * Les recherches des tâches parallèles, une par coeur (null tant qu'aucun coup n'a été calculé).
+	 */
+	private Recherche[] recherches;
+
+	/**
+	 * Les coups de la racine (générés puis ordonnés), leurs clés, leurs valeurs, leurs valeurs à l'itération en cours et leurs noeuds dans l'arbre.
+	 */
+	private int[] coups,valeurs,valeursIteration,noeuds;
+	private long[] cles;
+
+	/**
+	 * L'indice du prochain coup de la racine à explorer au cours de l'itération en cours.
+	 */
+	final private AtomicInteger prochainCoup=new AtomicInteger();
+
+	/**
+	 * La meilleure valeur obtenue pour un coup de la racine au cours de l'itération en cours.
+	 */
+	final private AtomicInteger alpha=new AtomicInteger();
+
+	/**
+	 * L'instant (System.nanoTime) à partir duquel la recherche en cours doit s'arrêter.
+	 */
+	private volatile long echeanceNs;
+
+	/**
+	 * Un booléen indiquant que la recherche en cours a été interrompue faute de temps.
+	 */
+	private volatile boolean interrompue;
+
+	/**
+	 * Constructeur permettant de créer un nouveau joueur ordinateur avec un identifiant, un pseudo, une position et un booléen pour indiquer si
+	 * c'est son tour de jouer.
+	 * Dans le cas où l'identifiant ou le pseudo du joueur ne sont pas valides ou dans le cas où la position vaut null,
+	 * une Exception de type IllegalArgumentExcpetion est levée.
+	 * Si l'identifiant du joueur est 0 alors le booléen indiquant que c'est son tour est mis à true, dans le cas contraire il est mis à false.
+	 * @param id L'identifiant du joueur.
+	 * @param pseudo Le pseudo du joueur.
+	 * @param position La position du joueur.
+	 * @param estASonTourDeJouer Un booléen indiquant si c'est à son tour.
+	 */
+	public JoueurOrdiN4(final int id,final String pseudo,final PositionPlateau position,final boolean estASonTourDeJouer) {
+		super(id,pseudo,position,estASonTourDeJouer);
+	}
+
+	/**
+	 * Méthode qui calcule un coup par approfondissement itératif (voir la description de la classe).
+	 * @param elementsJeu Les éléments du jeu.
+	 * @return Le coup calculé que souhaite jouer le joueur Ordinateur.
+	 */
+	@Override
+	public CoupJeu calculerCoup(final ElementsJeu elementsJeu) {
+		return calculerCoup(elementsJeu,PROFONDEUR_MAX);
+	}
+
+	/**
+	 * Méthode qui calcule un coup par approfondissement itératif jusqu'à une profondeur donnée (voir {@link BudgetAllocation#CALCUL_COUP_N4}).
+	 * @param elementsJeu Les éléments du jeu.
+	 * @param profondeurMax La profondeur maximale de la recherche (entre 1 et {@value #PROFONDEUR_MAX}).
+	 * @return Le coup calculé que souhaite jouer le joueur Ordinateur.
+	 */
+	CoupJeu calculerCoup(final ElementsJeu elementsJeu,final int profondeurMax) {
+		try (StockNoeuds stock=new StockNoeuds(NB_NOEUDS_ARBRE_MAX)) {
+			arbre=stock;
+			return rechercher(elementsJeu,profondeurMax);
+		} finally {
+			arbre=null;
+		}
+	}
+
+	/**
+	 * Méthode effectuant la recherche par approfondissement itératif dans l'arbre du calcul de coup en cours.
+	 * @param elementsJeu Les éléments du jeu.
+	 * @param profondeurMax La profondeur maximale de la recherche.
+	 * @return Le coup retenu.
+	 */
+	private CoupJeu rechercher(final ElementsJeu elementsJeu,final int profondeurMax) {
+		echeanceNs=System.nanoTime()+elementsJeu.getConfiguration().getTempsCalculMaxMs()*1000000L;
+		interrompue=false;
+		final EtatRecherche racine=new EtatRecherche(elementsJeu,PROFONDEUR_MAX+1);
+		preparerRecherches(racine);
+		final int nbCoups=racine.genererCoups(id,coups,cles);
+		trierSelonCles(coups,cles,nbCoups);
+		final int premierNoeudRacine=arbre.allouer(coups,nbCoups);
+		for (int i=0;i<nbCoups;i++)
+			noeuds[i]=premierNoeudRacine==-1?-1:premierNoeudRacine+i;
+		int meilleurCoup=coups[0];
+		int profondeurAtteinte=0;
+		for (int profondeur=1;profondeur<=profondeurMax;profondeur++) {
+			final int profondeurIteration=profondeur;
+			prochainCoup.set(0);
+			alpha.set(-BORNE-1);
+			IntStream.range(0,recherches.length).parallel().forEach(numRecherche -> recherches[numRecherche].explorerRacine(profondeurIteration,nbCoups));
+			if (interrompue)
+				break;
+			System.arraycopy(valeursIteration,0,valeurs,0,nbCoups);
+			trierSelonValeurs(coups,valeurs,noeuds,nbCoups);
+			meilleurCoup=coups[0];
+			profondeurAtteinte=profondeur;
+			if ((valeurs[0]>=BORNE-PROFONDEUR_MAX)||(valeurs[0]<=-BORNE+PROFONDEUR_MAX)||(System.nanoTime()>=echeanceNs))
+				break;
+		}
+		long nbNoeuds=0;
+		for (Recherche recherche : recherches)
+			nbNoeuds+=recherche.nbNoeuds;
+		setNbNoeudsExplores(nbNoeuds);
+		setProfondeurRecherche(profondeurAtteinte);
+		return racine.versCoupJeu(meilleurCoup);
+	}
+
+	/**
+	 * Méthode préparant les recherches des tâches parallèles et les tableaux des coups de la racine pour un calcul de coup :
+	 * ils ne sont créés que lors du premier calcul ou si la configuration de la partie a changé, sinon l'état de la racine
+	 * est simplement copié dans l'état de chaque recherche.
+	 * @param racine L'état de la racine.
+	 */
+	private void preparerRecherches(final EtatRecherche racine) {
+		final int nbCoupsMax=nbCoupsMax(racine.getPlateau());
+		if ((recherches==null)||(!recherches[0].etat.estCompatible(racine))) {
+			recherches=new Recherche[Runtime.getRuntime().availableProcessors()];
+			for (int i=0;i<recherches.length;i++)
+				recherches[i]=new Recherche(new EtatRecherche(racine),nbCoupsMax);
+			coups=new int[nbCoupsMax];
+			cles=new long[nbCoupsMax];
+			valeurs=new int[nbCoupsMax];
+			valeursIteration=new int[nbCoupsMax];
+			noeuds=new int[nbCoupsMax];
+		}
+		else
+			for (Recherche recherche : recherches)
+				recherche.etat.copier(racine);
+		for (Recherche recherche : recherches) {
+			recherche.nbNoeuds=0;
+			recherche.nbNoeudsDepuisVerification=0;
+		}
+	}
+
+	/**
+	 * Méthode retournant le nombre maximal de coups d'un joueur sur un plateau.
+	 * @param plateau Le plateau.
+	 * @return Le nombre maximal de coups.
+	 */
+	static private int nbCoupsMax(final PlateauCompact plateau) {
+		return 4*2*(plateau.getNbLignes()+plateau.getNbColonnes());
+	}
+
+	/**
+	 * Méthode triant les coups selon leur clé croissante (tri stable par insertion, le tableau des clés est trié de la même façon).
+	 * @param coups Les coups.
+	 * @param cles Les clés des coups.
+	 * @param nbCoups Le nombre de coups.
+	 */
+	static private void trierSelonCles(final int[] coups,final long[] cles,final int nbCoups) {
+		for (int i=1;i<nbCoups;i++) {
+			final int coup=coups[i];
+			final long cle=cles[i];
+			int j=i-1;
+			while ((j>=0)&&(cles[j]>cle)) {
+				coups[j+1]=coups[j];
+				cles[j+1]=cles[j];
+				j--;
+			}
+			coups[j+1]=coup;
+			cles[j+1]=cle;
+		}
+	}
+
+	/**
+	 * Méthode triant les coups selon leur valeur décroissante (tri stable, les tableaux des valeurs et des noeuds sont triés de la même façon).
+	 * @param coups Les coups.
+	 * @param valeurs Les valeurs des coups.
+	 * @param noeuds Les noeuds de l'arbre correspondant aux coups.
+	 * @param nbCoups Le nombre de coups.
+	 */
+	static private void trierSelonValeurs(final int[] coups,final int[] valeurs,final int[] noeuds,final int nbCoups) {
+		for (int i=1;i<nbCoups;i++) {
+			final int coup=coups[i];
+			final int valeur=valeurs[i];
+			final int noeud=noeuds[i];
+			int j=i-1;
+			while ((j>=0)&&(valeurs[j]<valeur)) {
+				coups[j+1]=coups[j];
+				valeurs[j+1]=valeurs[j];
+				noeuds[j+1]=noeuds[j];
+				j--;
+			}
+			coups[j+1]=coup;
+			valeurs[j+1]=valeur;
+			noeuds[j+1]=noeud;
+		}
+	}
+
+	/**
+	 * Une instance de cette classe correspond à la recherche réalisée par une tâche parallèle : son propre état simulé
+	 * et ses propres tableaux de coups par profondeur. Les noeuds de l'arbre qu'elle parcourt ne sont visités par aucune autre tâche
+	 * au cours d'une même itération (chaque coup de la racine n'est exploré que par une tâche).
+	 */
+	private class Recherche {
+		/**
+		 * L'état simulé.
+		 */
+		final EtatRecherche etat;
+
+		/**
+		 * Les coups, leurs clés et leurs indices de génération (l'indice de leur noeud parmi les enfants) par profondeur.
+		 */
+		final int[][] coups;
+		final long[][] cles;
+		final int[][] indices;
+
+		/**
+		 * Le nombre de noeuds explorés par cette recherche depuis le début du calcul du coup.
+		 */
+		long nbNoeuds;
+
+		/**
+		 * Le nombre de noeuds explorés depuis la dernière vérification du temps écoulé.
+		 */
+		int nbNoeudsDepuisVerification;
+
+		/**
+		 * Constructeur.
+		 * @param etat L'état simulé propre au thread.
+		 * @param nbCoupsMax Le nombre maximal de coups d'un joueur.
+		 */
+		Recherche(final EtatRecherche etat,final int nbCoupsMax) {
+			this.etat=etat;
+			coups=new int[PROFONDEUR_MAX+1][nbCoupsMax];
+			cles=new long[PROFONDEUR_MAX+1][nbCoupsMax];
+			indices=new int[PROFONDEUR_MAX+1][nbCoupsMax];
+		}
+
+		/**
+		 * Méthode explorant, jusqu'à ce qu'il n'en reste plus, les coups de la racine non encore pris par une autre tâche
+		 * et enregistrant leur valeur pour l'itération en cours.
+		 * Chaque coup est exploré avec la borne inférieure alpha-1, alpha étant la meilleure valeur déjà obtenue par une tâche :
+		 * une valeur supérieure ou égale à alpha est exacte et une valeur inférieure, qui n'est qu'un majorant, est strictement inférieure
+		 * à la valeur exacte d'un autre coup. Un coup réfuté ne peut donc jamais être classé devant le meilleur coup, quel que soit l'ordre
+		 * dans lequel les tâches terminent.
+		 * @param profondeur La profondeur de l'itération.
+		 * @param nbCoups Le nombre de coups de la racine.
+		 */
+		void explorerRacine(final int profondeur,final int nbCoups) {
+			final int[] coupsRacine=JoueurOrdiN4.this.coups;
+			for (int i=prochainCoup.getAndIncrement();i<nbCoups;i=prochainCoup.getAndIncrement()) {
+				etat.jouer(id,coupsRacine[i],0);
+				final int valeur=etat.aGagne(id)?BORNE:valeur(profondeur-1,1,alpha.get()-1,BORNE+1,noeuds[i]);
+				etat.annuler(id,coupsRacine[i],0);
+				if ((!interrompue)&&(noeuds[i]!=-1))
+					arbre.visiter(noeuds[i],valeur);
+				valeursIteration[i]=valeur;
+				alpha.accumulateAndGet(valeur,Math::max);
+			}
+		}
+
+		/**
+		 * Méthode comptant un noeud et vérifiant périodiquement le temps écoulé.
+		 * @return true si la recherche doit s'arrêter.
+		 */
+		boolean compterNoeud() {
+			nbNoeuds++;
+			if (++nbNoeudsDepuisVerification>=PERIODE_VERIFICATION) {
+				nbNoeudsDepuisVerification=0;
+				if (System.nanoTime()>=echeanceNs)
+					interrompue=true;
+			}
+			return interrompue;
+		}
+
+		/**
+		 * Méthode retournant la valeur (du point de vue du joueur) de l'état simulé.
+		 * @param profondeurRestante Le nombre de coups restant à explorer.
+		 * @param ply Le nombre de coups déjà joués depuis la racine (le joueur devant jouer s'en déduit).
+		 * @param alpha La borne inférieure de la fenêtre de recherche.
+		 * @param beta La borne supérieure de la fenêtre de recherche.
+		 * @param noeud Le noeud de l'arbre correspondant à l'état (-1 si l'arbre est plein).
+		 * @return La valeur de l'état (ou une borne lorsqu'elle sort de la fenêtre).
+		 */
+		int valeur(final int profondeurRestante,final int ply,final int alpha,final int beta,final int noeud) {
+			if (compterNoeud())
+				return 0;
+			final int idJoueur=(id+ply)%etat.getNbJoueurs();
+			if (profondeurRestante==0)
+				return evaluer(idJoueur);
+			final int[] coupsPly=coups[ply];
+			final long[] clesPly=cles[ply];
+			final int[] indicesPly=indices[ply];
+			final int nbCoups=etat.genererCoups(idJoueur,coupsPly,clesPly);
+			for (int i=0;i<nbCoups;i++)
+				indicesPly[i]=i;
+			int premierEnfant=-1;
+			if (noeud!=-1) {
+				premierEnfant=arbre.getPremierEnfant(noeud);
+				if (premierEnfant==-1) {
+					premierEnfant=arbre.allouer(coupsPly,nbCoups);
+					if (premierEnfant!=-1)
+						arbre.setPremierEnfant(noeud,premierEnfant);
+				}
+			}
+			if (idJoueur==id)
+				return valeurMax(coupsPly,clesPly,indicesPly,nbCoups,premierEnfant,profondeurRestante,ply,alpha,beta);
+			return valeurAdversaire(idJoueur,coupsPly,clesPly,indicesPly,nbCoups,premierEnfant,profondeurRestante,ply,alpha,beta);
+		}
+
+		/**
+		 * Méthode retournant le noeud de l'arbre correspondant à un coup.
+		 * @param premierEnfant Le premier enfant du noeud courant (-1 s'il n'a pas été développé).
+		 * @param indicesPly Les indices de génération des coups.
+		 * @param n L'indice du coup.
+		 * @return Le noeud du coup ou -1.
+		 */
+		private int enfant(final int premierEnfant,final int[] indicesPly,final int n) {
+			return premierEnfant==-1?-1:premierEnfant+indicesPly[n];
+		}
+
+		/**
+		 * Méthode retournant la valeur d'un noeud où le joueur doit jouer (maximum des valeurs de ses coups, élagage alpha-bêta).
+		 */
+		private int valeurMax(final int[] coupsPly,final long[] clesPly,final int[] indicesPly,final int nbCoups,final int premierEnfant,final int profondeurRestante,final int ply,int alpha,final int beta) {
+			if (premierEnfant!=-1)
+				for (int i=0;i<nbCoups;i++)
+					if (arbre.getNbVisites(premierEnfant+i)>0)
+						clesPly[i]=Long.MIN_VALUE+BORNE+1-arbre.getValeur(premierEnfant+i);
+			int meilleure=-BORNE-1;
+			for (int n=0;n<nbCoups;n++) {
+				int meilleurIndice=n;
+				for (int i=n+1;i<nbCoups;i++)
+					if (clesPly[i]<clesPly[meilleurIndice])
+						meilleurIndice=i;
+				echanger(coupsPly,clesPly,indicesPly,n,meilleurIndice);
+				final int enfant=enfant(premierEnfant,indicesPly,n);
+				etat.jouer(id,coupsPly[n],ply);
+				final int valeur=etat.aGagne(id)?BORNE-ply:valeur(profondeurRestante-1,ply+1,Math.max(alpha,meilleure),beta,enfant);
+				etat.annuler(id,coupsPly[n],ply);
+				if (interrompue)
+					return 0;
+				if (enfant!=-1)
+					arbre.visiter(enfant,valeur);
+				meilleure=Math.max(meilleure,valeur);
+				if (meilleure>=beta)
+					return meilleure;
+			}
+			return meilleure;
+		}
+
+		/**
+		 * Méthode retournant la valeur d'un noeud où un adversaire doit jouer : moyenne des valeurs de ses réponses les plus probables
+		 * (celles ayant le plus petit écart à son objet), avec élagage Star1.
+		 */
+		private int valeurAdversaire(final int idJoueur,final int[] coupsPly,final long[] clesPly,final int[] indicesPly,final int nbCoups,final int premierEnfant,final int profondeurRestante,final int ply,final int alpha,final int beta) {
+			int nbReponses=0;
+			for (int n=0;(n<nbCoups)&&(nbReponses<NB_REPONSES_MAX);n++) {
+				int meilleurIndice=n;
+				for (int i=n+1;i<nbCoups;i++)
+					if (clesPly[i]<clesPly[meilleurIndice])
+						meilleurIndice=i;
+				echanger(coupsPly,clesPly,indicesPly,n,meilleurIndice);
+				if ((n>0)&&((clesPly[n]>>>32)!=(clesPly[0]>>>32)))
+					break;
+				nbReponses++;
+			}
+			long somme=0;
+			for (int n=0;n<nbReponses;n++) {
+				final int restantes=nbReponses-1-n;
+				final long alphaEnfant=(long)nbReponses*alpha-somme-(long)restantes*BORNE;
+				final long betaEnfant=(long)nbReponses*beta-somme+(long)restantes*BORNE;
+				final int enfant=enfant(premierEnfant,indicesPly,n);
+				etat.jouer(idJoueur,coupsPly[n],ply);
+				final int valeur=etat.aGagne(idJoueur)?-BORNE+ply:valeur(profondeurRestante-1,ply+1,
+						(int)Math.max(-BORNE-1,alphaEnfant),(int)Math.min(BORNE+1,betaEnfant),enfant);
+				etat.annuler(idJoueur,coupsPly[n],ply);
+				if (interrompue)
+					return 0;
+				if (enfant!=-1)
+					arbre.visiter(enfant,valeur);
+				somme+=valeur;
+				if (somme-(long)restantes*BORNE>=(long)nbReponses*beta)
+					return (int)((somme-(long)restantes*BORNE)/nbReponses);
+				if (somme+(long)restantes*BORNE<=(long)nbReponses*alpha)
+					return (int)((somme+(long)restantes*BORNE)/nbReponses);
+			}
+			return (int)(somme/nbReponses);
+		}
+
+		/**
+		 * Méthode évaluant l'état simulé du point de vue du joueur : ses objets récupérés et son écart à son prochain objet
+		 * comparés à ceux du meilleur adversaire, le joueur devant jouer étant pénalisé (ou favorisé) si son objet lui est accessible.
+		 * @param idJoueurSuivant L'identifiant du joueur devant jouer.
+		 * @return La valeur de l'état.
+		 */
+		private int evaluer(final int idJoueurSuivant) {
+			int meilleurAdversaire=Integer.MIN_VALUE;
+			int valeurJoueur=0;
+			for (int idJoueur=0;idJoueur<etat.getNbJoueurs();idJoueur++) {
+				int valeur=VALEUR_OBJET*etat.getNbObjetsRecuperes(idJoueur)-VALEUR_ECART*ecart(idJoueur);
+				if ((idJoueur==idJoueurSuivant)&&etat.objetCibleAccessible(idJoueur))
+					valeur+=VALEUR_MENACE;
+				if (idJoueur==id)
+					valeurJoueur=valeur;
+				else
+					meilleurAdversaire=Math.max(meilleurAdversaire,valeur);
+			}
+			return meilleurAdversaire==Integer.MIN_VALUE?valeurJoueur:valeurJoueur-meilleurAdversaire;
+		}
+
+		/**
+		 * Méthode retournant l'écart (distance de Manhattan) entre un joueur et son prochain objet.
+		 * @param idJoueur L'identifiant du joueur.
+		 * @return L'écart (0 si le joueur a tout récupéré).
+		 */
+		private int ecart(final int idJoueur) {
+			final int cible=etat.getCaseObjetCible(idJoueur);
+			if (cible==-1)
+				return 0;
+			final int nbColonnes=etat.getPlateau().getNbColonnes();
+			final int numCase=etat.getCaseJoueur(idJoueur);
+			return Math.abs(numCase/nbColonnes-cible/nbColonnes)+Math.abs(numCase%nbColonnes-cible%nbColonnes);
+		}
+	}
+
+	/**
+	 * Méthode échangeant deux coups (et leurs clés et indices de génération).
+	 * @param coups Les coups.
+	 * @param cles Les clés.
+	 * @param indices Les indices de génération.
+	 * @param i L'indice du premier coup.
+	 * @param j L'indice du second coup.
+	 */
+	static private void echanger(final int[] coups,final long[] cles,final int[] indices,final int i,final int j) {
+		final int coup=coups[i];
+		coups[i]=coups[j];
+		coups[j]=coup;
+		final long cle=cles[i];
+		cles[i]=cles[j];
+		cles[j]=cle;
+		final int indice=indices[i];
+		indices[i]=indices[j];
+		indices[j]=indice;
+	}
+
+	/**
+	 * Méthode retournant une copie du joueur.
+	 */
+	@Override
+	protected Object clone() throws CloneNotSupportedException {
+		return new JoueurOrdiN4(id,pseudo,(PositionPlateau)getPosition().clone(),this.estASonTourDeJouer());
+	}
+}
@@ -5,9 +5,11 @@ import java.util.Objects;
 
 /**
  * Une instance de la classe Objet permet de représenter un objet à récupérer dans le jeu.
- * Un jeu concerne {@link #NB_OBJETS} objets (forcément un multiple de 3). Chaque objet possède un identifiant compris au sens large entre
- * 0 et {@link #NB_OBJETS}-1.
+ * Un jeu concerne N objets où N correspond à {@link ConfigurationJeu#getNbObjets()} ({@link #NB_OBJETS} avec la configuration par défaut).
+ * Chaque objet possède un identifiant compris au sens large entre 0 et N-1.
  * <br>
+ * Avec K le nombre d'objets par joueur ({@link ConfigurationJeu#getNbObjetsParJoueur()}), les objets ayant un identifiant entre
+ * i*K et (i+1)*K-1 devront être récupérés par le joueur identifié par i. Par exemple, avec la configuration par défaut :
  * <ul>
  * <li>Les objets ayant un identifiant entre 0 et ({@link #NB_OBJETS}/3)-1 devront être récupérés par le premier joueur (le joueur identifié par 0),</li>
  * <li>les objets ayant un identifiant entre {@link #NB_OBJETS}/3 et ({@link #NB_OBJETS}*2/3)-1  devront être récupérés par le second joueur (le joueur identifié par 1) et</li>
@@ -22,7 +24,7 @@ import java.util.Objects;
  */
 public class Objet extends Positionnable {
 	/**
-	 * Le nombre d'objets du jeu, la valeur de cette constante est {@value}.
+	 * Le nombre d'objets du jeu avec la configuration par défaut, la valeur de cette constante est {@value}.
 	 */
 	public static final int NB_OBJETS=36;
 
@@ -31,17 +33,37 @@ public class Objet extends Positionnable {
 	 */
 	final private int id;
 
+	/**
+	 * L'identifiant du joueur propriétaire de l'objet.
+	 */
+	final private int idJoueur;
+
 	/**
 	 * Constructeur permettant de créer un nouvel objet avec un identifiant et une position.
+	 * Le joueur propriétaire de l'objet est déterminé à partir de la configuration de la partie associée à la position.
 	 * Dans le cas où l'identifiant de l'objet n'est pas valide ou la position vaut null, une Exception de type IllegalArgumentExcpetion est levée.
 	 * @param id L'identifiant de l'objet.
 	 * @param position La position initial de l'objet sur le plateau.
 	 */
 	public Objet(final int id,final PositionPlateau position) {
 		super(position);
-		if ((id<0)||(id>=NB_OBJETS))
+		final ConfigurationJeu configuration=position.getConfiguration();
+		if ((id<0)||(id>=configuration.getNbObjets()))
 			throw new IllegalArgumentException("L'identifiant de l'objet n'est pas valide !");
 		this.id=id;
+		this.idJoueur=id/configuration.getNbObjetsParJoueur();
+	}
+
+	/**
+	 * Constructeur permettant de créer une copie d'un objet (récupéré ou non).
+	 * @param objet L'objet à copier.
+	 */
+	private Objet(final Objet objet) {
+		super();
+		this.id=objet.id;
+		this.idJoueur=objet.idJoueur;
+		if (objet.getPosition()!=null)
+			setPosition((PositionPlateau)objet.getPosition().clone());
 	}
 
 	/**
@@ -68,10 +90,10 @@ public class Objet extends Positionnable {
 
 	/**
 	 * Méthode retournant l'identifiant du joueur propriétaire de l'objet (celui qui doit récupéré l'objet).
-	 * @return L'identifiant du joueur propriétaire de l'objet (l'entier 0, 1 ou 2).
+	 * @return L'identifiant du joueur propriétaire de l'objet (un entier compris entre 0 et {@link ConfigurationJeu#getNbJoueurs()}-1).
 	 */
 	public int getIdJoueur() {
-		return id/(NB_OBJETS/3);
+		return idJoueur;
 	}
 	/**
 	 * Méthode retournant true si et seulement si deux objets ont le même identifiant (ils sont considérés égaux).
@@ -138,24 +160,28 @@ public class Objet extends Positionnable {
 	}
 
 	/**
-	 * Méthode retournant un nouveau tableau de {@link dedale.elements.Objet#NB_OBJETS} nouveaux objets avec des identifiants compris (au sens large) entre 0 et {@link dedale.elements.Objet#NB_OBJETS}-1.
+	 * Méthode retournant un nouveau tableau de {@link dedale.elements.ConfigurationJeu#getNbObjets()} nouveaux objets avec des identifiants compris (au sens large) entre 0 et {@link dedale.elements.ConfigurationJeu#getNbObjets()}-1.
 	 * Deux objets sont placés à deux positions différentes.
 	 * L'objet identifié par id se trouve à l'index id du tableau retourné.
+	 * Le générateur aléatoire de la partie est utilisé.
+	 * @param configuration La configuration de la partie.
 	 * @return Le tableau d'objets généré.
 	 */
-	public static ArrayList<Objet> nouveauxObjets() {
-		final int max=PositionPlateau.NB_LIGS_PLATEAU*PositionPlateau.NB_COLS_PLATEAU;
-		final ArrayList<Objet> objets=new ArrayList<Objet>(NB_OBJETS);
+	public static ArrayList<Objet> nouveauxObjets(final ConfigurationJeu configuration) {
+		final int max=configuration.getNbCases();
+		final int nbObjets=configuration.getNbObjets();
+		final int nbColonnes=configuration.getNbColonnes();
+		final ArrayList<Objet> objets=new ArrayList<Objet>(nbObjets);
 		final boolean[] possible=new boolean[max];
 		for (int i=0;i<max;i++)
 			possible[i]=true;
 		int pos;
-		for (int i=0;i<NB_OBJETS;i++) {
-			pos=Util.genererAleatoirementEntier(max-1);
+		for (int i=0;i<nbObjets;i++) {
+			pos=configuration.genererAleatoirementEntier(max-1);
 			for (int j=0;j<max;j++) {
 				if (possible[pos]) {
 					possible[pos]=false;
-					objets.add(new Objet(i,new PositionPlateau(pos/PositionPlateau.NB_COLS_PLATEAU,pos%PositionPlateau.NB_COLS_PLATEAU)));
+					objets.add(new Objet(i,new PositionPlateau(pos/nbColonnes,pos%nbColonnes,configuration)));
 					break;
 				}else
 					pos=(pos+1)%max;
@@ -165,11 +191,11 @@ public class Objet extends Positionnable {
 	}
 
 	/**
-	 * Méthode retournant une copie de l'objet.
+	 * Méthode retournant une copie de l'objet (qu'il soit récupéré ou non).
 	 */
 	@Override
 	protected Object clone() throws CloneNotSupportedException {
-		return new Objet(id,(PositionPlateau)getPosition().clone());
+		return new Objet(this);
 	}
 
 
@@ -1,6 +1,11 @@
 package dedale.elements;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+
+import dedale.mesures.CalculCheminJFR;
+import dedale.mesures.Mesure;
+import dedale.mesures.Metriques;
 
 /**
  * Une instance de cette classe permet de représenter une pièce unitaire du labyrinthe.
@@ -18,10 +23,15 @@ import java.util.ArrayList;
  */
 public class Piece extends Positionnable {
 	/**
-	 * Une nombre entier pour générer aléatoirement une sortie d'une pièce.
+	 * Les différentes directions.
 	 */
-	static private int PROB_SORTIE=60;
-	
+	static final private Direction[] DIRECTIONS=Direction.values();
+
+	/**
+	 * Les directions des cases voisines d'une case, ordonnées par numéro de case croissant.
+	 */
+	static final private Direction[] DIRECTIONS_PAR_CASE_CROISSANTE= {Direction.BAS,Direction.GAUCHE,Direction.DROITE,Direction.HAUT};
+
 	/**
 	 * Un booléen indiquant s'il est possible de sortir de la pièce par le haut.
 	 */
@@ -63,40 +73,21 @@ public class Piece extends Positionnable {
 	}
 
 	/**
-	 * Créer une nouvelle pièce avec des sorties générées aléatoirement à partir d'une probabilité qu'une sortie soit présente
-	 * ou non. Cette probabilité est donnée par un nombre entier compris entre 49 et 99 (49 pour une probabilité de 0.5 et 
-	 * 99 pour une probabilité de 1.0). Si la probabilité donnée n'est pas valable, la valeur de {@link Piece#PROB_SORTIE} sera utilisée.
+	 * Créer une nouvelle pièce avec des sorties générées aléatoirement à partir de la probabilité qu'une sortie soit présente
+	 * ou non donnée par la configuration de la partie (voir {@link ConfigurationJeu#getProbSortie()}).
+	 * Le générateur aléatoire de la partie est utilisé.
 	 * La position de la nouvelle pièce vaudra null.
-	 * @param probSortie Un entier indiquant une certaine probabilité pour la génération d'une sortie (ramenée sur 99).
+	 * @param configuration La configuration de la partie.
 	 */
-	public Piece(int probSortie) {
-		if ((probSortie<49)||(probSortie>99))
-			probSortie=PROB_SORTIE;
-		this.sortieHaut=Util.genererAleatoirementEntier(99)<=probSortie;
-		this.sortieDroite=Util.genererAleatoirementEntier(99)<=probSortie;
-		this.sortieBas=Util.genererAleatoirementEntier(99)<=probSortie;
-		this.sortieGauche=Util.genererAleatoirementEntier(99)<=probSortie;
+	public Piece(final ConfigurationJeu configuration) {
+		final int probSortie=configuration.getProbSortie();
+		this.sortieHaut=configuration.genererAleatoirementEntier(99)<=probSortie;
+		this.sortieDroite=configuration.genererAleatoirementEntier(99)<=probSortie;
+		this.sortieBas=configuration.genererAleatoirementEntier(99)<=probSortie;
+		this.sortieGauche=configuration.genererAleatoirementEntier(99)<=probSortie;
 		nbSorties=(sortieHaut?1:0)+(sortieDroite?1:0)+(sortieBas?1:0)+(sortieGauche?1:0);
 	}
 
-	/**
-	 * Créer une nouvelle pièce avec des sorties générées aléatoirement à partir d'une probabilité de {@link Piece#PROB_SORTIE} (voir autre constructeur).
-	 * La position de la nouvelle pièce vaudra null.
-	 */
-	public Piece() {
-		this(PROB_SORTIE);
-	}
-	
-	/**
-	 * Méthode permettant de changer la valeur de {@link Piece#PROB_SORTIE} correspondant à la probabilité qu'une sortie soit générée ou non.
-	 * Le nombre entier donné en paramètre doit être compris entre 49 et 99 (49 pour une probabilité de 0.5 et 
-	 * 99 pour une probabilité de 1.0). Si la probabilité donnée n'est pas valable, aucun changement est effectué.
-	 * @param probSortie Un nombre entier compris (au sens large) entre 49 et 99.
-	 */
-	static public void changerProbSortie(final int probSortie) {
-		if ((probSortie>=49)&&(probSortie<=99))
-			PROB_SORTIE=probSortie;
-	}
 	/**
 	 * Cette méthode indique s'il existe une sortie dans la direction donnée en paramètre.
 	 * @param direction La direction pour laquelle on souhaite savoir s'il y a une sortie.
@@ -112,6 +103,26 @@ public class Piece extends Positionnable {
 		return false;
 	}
 
+	/**
+	 * Méthode retournant les sorties de la pièce sous la forme d'un masque de bits : le bit de rang i correspond à la sortie
+	 * dans la direction d'ordinal i (1 pour le haut, 2 pour la droite, 4 pour le bas et 8 pour la gauche).
+	 * Une rotation dans le sens des aiguilles d'une montre correspond à une rotation d'un bit vers la gauche sur 4 bits.
+	 * @return Un masque compris entre 0 et 15.
+	 */
+	public int getMasqueSorties() {
+		return (sortieHaut?1:0)|(sortieDroite?2:0)|(sortieBas?4:0)|(sortieGauche?8:0);
+	}
+
+	/**
+	 * Méthode retournant les nombres de rotations donnant des orientations distinctes de la pièce (calculés une fois pour toutes
+	 * pour chaque combinaison de sorties, voir {@link PlateauCompact#rotationsDistinctes(int)}) :
+	 * 1 pour une pièce sans sortie ou à 4 sorties, 2 pour une pièce droite et 4 sinon.
+	 * @return Les nombres de rotations distincts, en commençant par 0.
+	 */
+	public int[] getRotationsDistinctes() {
+		return PlateauCompact.rotationsDistinctes(getMasqueSorties()).clone();
+	}
+
 	/**
 	 * Méthode indiquant si la pièce est hors plateau, c'est-à-dire si sa position le nombre de sorties de la pièce.
 	 * @return the nbSorties Le nombre de sorties de la pièce.
@@ -189,20 +200,21 @@ public class Piece extends Positionnable {
 	}
 
 	/**
-	 * Méthode générant un ensemble de ({@link PositionPlateau#NB_LIGS_PLATEAU}x{@link PositionPlateau#NB_COLS_PLATEAU})+1 pièces.
+	 * Méthode générant un ensemble de ({@link ConfigurationJeu#getNbLignes()}x{@link ConfigurationJeu#getNbColonnes()})+1 pièces.
 	 * L'ensemble généré contient une seule pièce avec une position null et une et une seule pièce 
 	 * pour chaque position possible sur le plateau. Les sorties de chaque pièce sont générées aléatoirement.
 	 * 
+	 * @param configuration La configuration de la partie.
 	 * @return Un tableau contenant l'ensemble des pièces générées.
 	 */
-	static public ArrayList<Piece> nouvellesPieces(){
+	static public ArrayList<Piece> nouvellesPieces(final ConfigurationJeu configuration){
 		final ArrayList<Piece> pieces=new ArrayList<Piece>();
-		pieces.add(new Piece());
+		pieces.add(new Piece(configuration));
 		Piece piece;
-		for (int i=0;i<PositionPlateau.NB_LIGS_PLATEAU;i++)
-			for (int j=0;j<PositionPlateau.NB_COLS_PLATEAU;j++) {
-				piece=new Piece();
-				piece.setPosition(new PositionPlateau(i,j));
+		for (int i=0;i<configuration.getNbLignes();i++)
+			for (int j=0;j<configuration.getNbColonnes();j++) {
+				piece=new Piece(configuration);
+				piece.setPosition(new PositionPlateau(i,j,configuration));
 				pieces.add(piece);
 			}
 		return pieces;
@@ -228,62 +240,214 @@ public class Piece extends Positionnable {
 	 * Dans le cas contraire un tableau non null de pièces du tableau donné en paramètre est retourné.
 	 * Le chemin à suivre correspond aux pièces de ce tableau à suivre dans l'ordre.
 	 * La première pièce du tableau retourné est à la position initiale et la dernière à la position finale.
+	 * Le chemin retourné est un plus court chemin : un parcours en largeur est effectué à partir de la position finale
+	 * puis, à chaque pas depuis la position initiale, la pièce suivante est celle (parmi les pièces les plus proches de la position finale)
+	 * ayant le plus petit numéro de case (numéro de ligne*nombre de colonnes+numéro de colonne).
+	 * Le coût du calcul est proportionnel au nombre de cases du plateau.
 	 * @param positionInitiale La position initiale.
 	 * @param positionFinale La position finale.
 	 * @param pieces L'ensemble des pièces à partir duquel le chemin peut être construit. Il ne doit pas y avoir deux pièces à une même position non null dans l'ensemble.
 	 * @return Un chemin de pièces entre la position initiale et la position finale ou si un chemin n'existe pas.
 	 */
 	static public ArrayList<Piece> calculerChemin(final PositionPlateau positionInitiale, final PositionPlateau positionFinale,final ArrayList<Piece> pieces) {
-		@SuppressWarnings("unchecked")
-		final Piece pieceFinale=(Piece)Positionnable.elementAt((ArrayList<Positionnable>)((ArrayList<?>)pieces), positionFinale.getNumLigne(),positionFinale.getNumColonne());		
-		if (pieceFinale==null)
-			return null;
-		final int[][] longueurs=new int[PositionPlateau.NB_LIGS_PLATEAU][PositionPlateau.NB_COLS_PLATEAU];
-		final Piece[][] piecesAccessibles=new Piece[PositionPlateau.NB_LIGS_PLATEAU][PositionPlateau.NB_COLS_PLATEAU];
-		final PositionPlateau[][] positionsPrecedentes=new PositionPlateau[PositionPlateau.NB_LIGS_PLATEAU][PositionPlateau.NB_COLS_PLATEAU];
-		for (int i=0;i<longueurs.length;i++)
-			for (int j=0;j<longueurs[0].length;j++) {
-				longueurs[i][j]=-1;
-				piecesAccessibles[i][j]=null;
-				positionsPrecedentes[i][j]=null;
+		return calculerChemin(positionInitiale,positionFinale,pieces,StrategieChemin.LARGEUR,null);
+	}
+
+	/**
+	 * Méthode permettant de calculer un plus court chemin de pièces entre deux positions selon une stratégie donnée
+	 * (voir {@link #calculerChemin(PositionPlateau, PositionPlateau, ArrayList)} et {@link StrategieChemin}).
+	 * @param positionInitiale La position initiale.
+	 * @param positionFinale La position finale.
+	 * @param pieces L'ensemble des pièces à partir duquel le chemin peut être construit. Il ne doit pas y avoir deux pièces à une même position non null dans l'ensemble.
+	 * @param strategie La stratégie de calcul.
+	 * @param nbCasesExplorees Un tableau dont le premier élément reçoit le nombre de cases explorées par le calcul ou null.
+	 * @return Un plus court chemin de pièces entre la position initiale et la position finale ou null si un chemin n'existe pas.
+	 */
+	static public ArrayList<Piece> calculerChemin(final PositionPlateau positionInitiale, final PositionPlateau positionFinale,final ArrayList<Piece> pieces,final StrategieChemin strategie,final int[] nbCasesExplorees) {
+		final ConfigurationJeu configuration=positionFinale.getConfiguration();
+		final int nbColonnes=configuration.getNbColonnes();
+		final Piece[] grille=new Piece[configuration.getNbCases()];
+		for (Piece piece : pieces)
+			if ((piece!=null)&&(piece.getPosition()!=null)) {
+				final int numCase=piece.getPosition().getNumLigne()*nbColonnes+piece.getPosition().getNumColonne();
+				if (grille[numCase]==null)
+					grille[numCase]=piece;
+			}
+		final ArrayList<Piece> chemin=new ArrayList<Piece>();
+		return calculerChemin(positionInitiale,positionFinale,grille,strategie,null,null,nbCasesExplorees,chemin)?chemin:null;
+	}
+
+	/**
+	 * Méthode permettant de calculer un chemin de pièces entre deux positions à partir des pièces du plateau indexées par numéro de case
+	 * (voir {@link #calculerChemin(PositionPlateau, PositionPlateau, ArrayList)}).
+	 * @param positionInitiale La position initiale.
+	 * @param positionFinale La position finale.
+	 * @param grille Les pièces du plateau indexées par numéro de case (numéro de ligne*nombre de colonnes+numéro de colonne).
+	 * @return Un chemin de pièces entre la position initiale et la position finale ou null si un chemin n'existe pas.
+	 */
+	static ArrayList<Piece> calculerChemin(final PositionPlateau positionInitiale, final PositionPlateau positionFinale,final Piece[] grille) {
+		final ArrayList<Piece> chemin=new ArrayList<Piece>();
+		return calculerChemin(positionInitiale,positionFinale,grille,StrategieChemin.LARGEUR,null,null,null,chemin)?chemin:null;
+	}
+
+	/**
+	 * Méthode permettant de calculer un chemin de pièces entre deux positions à partir des pièces du plateau indexées par numéro de case
+	 * selon une stratégie donnée. Pour un parcours en largeur, celui-ci est éventuellement obtenu d'un cache (voir {@link CacheChemins}).
+	 * Le chemin est placé dans une liste fournie, ce qui permet de réutiliser la même liste d'un calcul à l'autre.
+	 * @param positionInitiale La position initiale.
+	 * @param positionFinale La position finale.
+	 * @param grille Les pièces du plateau indexées par numéro de case (numéro de ligne*nombre de colonnes+numéro de colonne).
+	 * @param strategie La stratégie de calcul (voir {@link StrategieChemin#choisir(int)}).
+	 * @param cache Le cache des parcours correspondant à la grille ou null pour effectuer le parcours.
+	 * @param recherche Les tableaux réutilisés par les recherches bidirectionnelle et A* (voir {@link RechercheChemin}) ou null pour les créer.
+	 * @param nbCasesExplorees Un tableau dont le premier élément reçoit le nombre de cases explorées par le calcul ou null.
+	 * @param chemin La liste recevant le chemin de pièces entre la position initiale et la position finale (elle est vidée au préalable).
+	 * @return true si et seulement si un chemin existe.
+	 */
+	static boolean calculerChemin(final PositionPlateau positionInitiale, final PositionPlateau positionFinale,final Piece[] grille,
+			final StrategieChemin strategie,final CacheChemins cache,final RechercheChemin recherche,final int[] nbCasesExplorees,final ArrayList<Piece> chemin) {
+		final long debut=Metriques.ACTIVEES?System.nanoTime():0;
+		final CalculCheminJFR evenement=CalculCheminJFR.demarrer();
+		final int nbColonnes=positionFinale.getConfiguration().getNbColonnes();
+		final int caseInitiale=positionInitiale.getNumLigne()*nbColonnes+positionInitiale.getNumColonne();
+		final int caseFinale=positionFinale.getNumLigne()*nbColonnes+positionFinale.getNumColonne();
+		final StrategieChemin strategieChoisie=strategie.choisir(grille.length);
+		int nbExplorees=0;
+		boolean trouve=false;
+		chemin.clear();
+		if ((grille[caseInitiale]!=null)&&(grille[caseFinale]!=null))
+			switch (strategieChoisie) {
+			case BIDIRECTIONNELLE:
+			case A_ETOILE:
+				final RechercheChemin rechercheChemin=recherche==null?new RechercheChemin(grille.length):recherche;
+				trouve=(strategieChoisie==StrategieChemin.A_ETOILE)?rechercheChemin.calculerAEtoile(caseInitiale,caseFinale,grille,nbColonnes,chemin):
+					rechercheChemin.calculerBidirectionnelle(caseInitiale,caseFinale,grille,nbColonnes,chemin);
+				nbExplorees=rechercheChemin.getNbCasesExplorees();
+				break;
+			default:
+				final int[] longueurs=cache==null?parcourirEnLargeur(caseFinale,grille,nbColonnes):cache.longueursVers(caseFinale,grille,nbColonnes);
+				nbExplorees=longueurs[grille.length];
+				trouve=reconstruireChemin(caseInitiale,longueurs,grille,nbColonnes,chemin);
+				break;
 			}
-		PositionPlateau position=pieceFinale.getPosition();
-		longueurs[position.getNumLigne()][position.getNumColonne()]=0;
-		piecesAccessibles[position.getNumLigne()][position.getNumColonne()]=pieceFinale;
-		int num=0;
-		boolean changement=true;
-		while (changement) {
-			changement=false;
-			for (int i=0;i<longueurs.length;i++)
-				for (int j=0;j<longueurs[0].length;j++) 
-					if (longueurs[i][j]==num) {
-						Piece piece=piecesAccessibles[i][j];
-						ArrayList<Piece> accessibles=piece.piecesDirectementAccessibles(pieces);
-						for (Piece p : accessibles) {
-							position=p.getPosition();
-							int lig=position.getNumLigne();
-							int col=position.getNumColonne();
-							if (longueurs[lig][col]==-1) {
-								changement=true;
-								positionsPrecedentes[lig][col]=piece.getPosition();
-								piecesAccessibles[lig][col]=p;
-								longueurs[lig][col]=num+1;
-							}
-						}
+		if (nbCasesExplorees!=null)
+			nbCasesExplorees[0]=nbExplorees;
+		if (evenement!=null) {
+			evenement.definirNbCasesAccessibles(nbExplorees);
+			evenement.terminer(strategieChoisie,chemin.size());
+		}
+		if (Metriques.ACTIVEES)
+			Metriques.enregistrer(Mesure.CALCUL_CHEMIN,debut);
+		return trouve;
+	}
+
+	/**
+	 * Méthode effectuant un parcours en largeur à partir d'une case (la position finale d'un chemin).
+	 * @param caseFinale Le numéro de la case de départ du parcours (elle doit contenir une pièce).
+	 * @param grille Les pièces du plateau indexées par numéro de case.
+	 * @param nbColonnes Le nombre de colonnes du plateau.
+	 * @return Un tableau de grille.length+1 éléments : pour chaque case, la longueur du plus court chemin jusqu'à la case de départ
+	 * (-1 si elle n'est pas accessible) puis, dans le dernier élément, le nombre de cases accessibles.
+	 */
+	static int[] parcourirEnLargeur(final int caseFinale,final Piece[] grille,final int nbColonnes) {
+		final int nbCases=grille.length;
+		final int[] longueurs=new int[nbCases+1];
+		Arrays.fill(longueurs,0,nbCases,-1);
+		final int[] file=new int[nbCases];
+		int debut=0;
+		int fin=0;
+		longueurs[caseFinale]=0;
+		file[fin++]=caseFinale;
+		while (debut<fin) {
+			final int numCase=file[debut++];
+			for (Direction direction : DIRECTIONS) {
+				final int voisine=caseVoisineAccessible(grille,numCase,direction,nbColonnes);
+				if ((voisine!=-1)&&(longueurs[voisine]==-1)) {
+					longueurs[voisine]=longueurs[numCase]+1;
+					file[fin++]=voisine;
 				}
-		num++;
+			}
+		}
+		longueurs[nbCases]=fin;
+		return longueurs;
+	}
+
+	/**
+	 * Méthode reconstruisant un chemin à partir d'un parcours en largeur depuis la position finale
+	 * (voir {@link #parcourirEnLargeur(int, Piece[], int)}) : à chaque pas, la pièce suivante est celle, parmi les pièces
+	 * plus proches d'un pas de la position finale, ayant le plus petit numéro de case.
+	 * @param caseInitiale Le numéro de la case initiale.
+	 * @param longueurs Le résultat du parcours en largeur.
+	 * @param grille Les pièces du plateau indexées par numéro de case.
+	 * @param nbColonnes Le nombre de colonnes du plateau.
+	 * @param chemin La liste (vide) recevant le chemin de pièces.
+	 * @return true si et seulement si la case initiale est accessible.
+	 */
+	static private boolean reconstruireChemin(final int caseInitiale,final int[] longueurs,final Piece[] grille,final int nbColonnes,final ArrayList<Piece> chemin) {
+		int numCase=caseInitiale;
+		if (longueurs[numCase]==-1)
+			return false;
+		chemin.ensureCapacity(longueurs[numCase]+1);
+		chemin.add(grille[numCase]);
+		while (longueurs[numCase]>0) {
+			for (Direction direction : DIRECTIONS_PAR_CASE_CROISSANTE) {
+				final int voisine=caseVoisineAccessible(grille,numCase,direction,nbColonnes);
+				if ((voisine!=-1)&&(longueurs[voisine]==longueurs[numCase]-1)) {
+					numCase=voisine;
+					break;
+				}
+			}
+			chemin.add(grille[numCase]);
+		}
+		return true;
+	}
+
+	/**
+	 * Méthode retournant le numéro de la case voisine d'une case dans une direction donnée lorsque la pièce de cette case voisine
+	 * est directement accessible à partir de la pièce de la case (voir {@link #estDirectementAccessible(Piece)}).
+	 * @param grille Les pièces du plateau indexées par numéro de case (numéro de ligne*nombre de colonnes+numéro de colonne).
+	 * @param numCase Le numéro d'une case contenant une pièce.
+	 * @param direction La direction de la case voisine.
+	 * @param nbColonnes Le nombre de colonnes du plateau.
+	 * @return Le numéro de la case voisine ou -1 si elle n'existe pas ou si sa pièce n'est pas directement accessible.
+	 */
+	static int caseVoisineAccessible(final Piece[] grille,final int numCase,final Direction direction,final int nbColonnes) {
+		final Piece piece=grille[numCase];
+		int voisine=-1;
+		switch (direction) {
+		case HAUT:
+			if (piece.sortieHaut&&(numCase+nbColonnes<grille.length))
+				voisine=numCase+nbColonnes;
+			break;
+		case BAS:
+			if (piece.sortieBas&&(numCase>=nbColonnes))
+				voisine=numCase-nbColonnes;
+			break;
+		case DROITE:
+			if (piece.sortieDroite&&(numCase%nbColonnes!=nbColonnes-1))
+				voisine=numCase+1;
+			break;
+		case GAUCHE:
+			if (piece.sortieGauche&&(numCase%nbColonnes!=0))
+				voisine=numCase-1;
+			break;
+		}
+		if ((voisine==-1)||(grille[voisine]==null)||(! grille[voisine].getSortie(opposee(direction))))
+			return -1;
+		return voisine;
+	}
+
+	/**
+	 * Méthode retournant la direction opposée à une direction.
+	 * @param direction Une direction.
+	 * @return La direction opposée.
+	 */
+	static private Direction opposee(final Direction direction) {
+		switch (direction) {
+		case HAUT: return Direction.BAS;
+		case DROITE: return Direction.GAUCHE;
+		case BAS: return Direction.HAUT;
+		default: return Direction.DROITE;
 		}
-		num=longueurs[positionInitiale.getNumLigne()][positionInitiale.getNumColonne()];
-		if (num==-1)
-			return null;
-		ArrayList<Piece> chemin=new ArrayList<Piece>();
-		Piece piece;
-		position=positionInitiale;
-		do {
-			piece=piecesAccessibles[position.getNumLigne()][position.getNumColonne()];
-			chemin.add(piece);
-			position=positionsPrecedentes[position.getNumLigne()][position.getNumColonne()];
-		}while (position!=null);
-		return chemin;
 	}
 }
@@ -0,0 +1,472 @@
+package dedale.elements;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Une instance de cette classe correspond aux plans de connexions d'un plateau compact : pour chaque direction
+ * ({@link PlateauCompact#HAUT}, {@link PlateauCompact#DROITE}, {@link PlateauCompact#BAS} et {@link PlateauCompact#GAUCHE}),
+ * un ensemble de bits indexé par numéro de case dont le bit c vaut 1 si et seulement si la pièce de la case c communique
+ * avec sa voisine dans cette direction (voir {@link PlateauCompact#caseVoisineAccessible(int, int)}).
+ * <br>
+ * Les plans sont calculés pour toutes les cases à la fois, 64 cases par opération : les sorties de chaque direction sont
+ * rangées dans un plan (les masques de 8 cases consécutives étant lus et regroupés ensemble), puis le plan des sorties vers le bas, décalé d'une ligne, est combiné (et logique) avec celui des sorties vers le haut,
+ * et le plan des sorties vers la gauche, décalé d'une colonne, avec celui des sorties vers la droite (hors dernière colonne).
+ * Un plateau 8x12 tient ainsi dans deux entiers longs par plan. Le calcul case par case (voir {@link #calculerScalaire(PlateauCompact)})
+ * donne le même résultat et sert de référence.
+ * <br>
+ * Lorsque la JVM est lancée avec l'option --add-modules jdk.incubator.vector et que la classe facultative ExtractionSortiesVectorielle
+ * (répertoire de sources vectoriel, compilé à part) est présente, l'extraction des plans des sorties utilise l'API vectorielle ;
+ * sinon, elle regroupe les masques par entiers longs
+ * (voir {@link #calculerParMots(PlateauCompact)}). La combinaison des plans est la même dans les deux cas (voir {@link #estVectoriel()}).
+ * <br>
+ * Une instance est réutilisable : après la création, le calcul des plans d'un plateau de même taille ne crée aucun objet,
+ * ce qui permet d'évaluer les connexions d'un grand nombre de plateaux candidats.
+ * <br>
+ * Les plans permettent aussi de calculer l'ensemble des cases accessibles depuis une case par propagation parallèle
+ * (voir {@link #calculerAccessibles(int, long[])}) : à chaque étape, les cases du dernier niveau atteint, restreintes aux cases
+ * communiquant dans une direction, sont décalées dans cette direction, jusqu'à ce que plus aucune case ne soit ajoutée.
+ * Chaque étape traite 64 cases par opération au lieu de chaque case accessible d'un parcours en largeur ;
+ * les étapes successives correspondent aux niveaux du parcours en largeur (voir {@link #etendreParcours(long[], long[])}),
+ * ce qui suffit lorsque seules l'accessibilité ou la longueur des chemins sont utiles, et non les chemins eux-mêmes.
+ * Un ensemble de cases est un tableau d'entiers longs dont le bit c vaut 1 si la case c appartient à l'ensemble (voir {@link #creerEnsembleCases()}).
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public class PlansConnexions {
+	/**
+	 * L'accès aux masques des sorties de 8 cases consécutives sous la forme d'un entier long (la première case dans l'octet de poids faible).
+	 */
+	static final private VarHandle HUIT_MASQUES=MethodHandles.byteArrayViewVarHandle(long[].class,ByteOrder.LITTLE_ENDIAN);
+
+	/**
+	 * Le bit de poids faible de chacun des 8 octets d'un entier long.
+	 */
+	static final private long BITS_DE_POIDS_FAIBLE=0x0101010101010101L;
+
+	/**
+	 * Le multiplicateur rassemblant dans l'octet de poids fort les bits de poids faible des 8 octets d'un entier long
+	 * (le bit de l'octet i devient le bit 56+i).
+	 */
+	static final private long MULTIPLICATEUR_REGROUPEMENT=0x0102040810204080L;
+
+	/**
+	 * Le nom du module de l'API vectorielle, la valeur de cette constante est {@value}.
+	 */
+	static final private String MODULE_VECTORIEL="jdk.incubator.vector";
+
+	/**
+	 * Le nom de la classe facultative d'extraction vectorielle (répertoire de sources vectoriel), la valeur de cette constante est {@value}.
+	 */
+	static final private String CLASSE_VECTORIELLE="dedale.elements.ExtractionSortiesVectorielle";
+
+	/**
+	 * L'extraction des plans des sorties par regroupement des masques par entiers longs (toujours disponible).
+	 */
+	static final private ExtractionSorties EXTRACTION_PAR_MOTS=PlansConnexions::extraireParMots;
+
+	/**
+	 * L'extraction des plans des sorties utilisée par {@link #calculer(PlateauCompact)} : vectorielle si le module est chargé, par entiers longs sinon.
+	 */
+	static final private ExtractionSorties EXTRACTION=chargerExtraction();
+
+	/**
+	 * Le nombre de lignes du plateau.
+	 */
+	final private int nbLignes;
+
+	/**
+	 * Le nombre de colonnes du plateau.
+	 */
+	final private int nbColonnes;
+
+	/**
+	 * Le nombre de cases du plateau.
+	 */
+	final private int nbCases;
+
+	/**
+	 * Le nombre d'entiers longs d'un plan.
+	 */
+	final private int nbMots;
+
+	/**
+	 * Le masque des bits correspondant à des cases dans le dernier entier long d'un plan.
+	 */
+	final private long masqueDernierMot;
+
+	/**
+	 * Le plan des cases qui ne sont pas dans la dernière colonne.
+	 */
+	final private long[] horsDerniereColonne;
+
+	/**
+	 * Les plans des sorties par direction (haut, droite, bas, gauche).
+	 */
+	final private long[][] sorties;
+
+	/**
+	 * Les plans des connexions par direction (haut, droite, bas, gauche).
+	 */
+	final private long[][] connexions;
+
+	/**
+	 * Les ensembles de cases utilisés par la propagation (le dernier niveau et les voisines trouvées).
+	 */
+	final private long[] niveau,voisines;
+
+	/**
+	 * Les indices du premier et du dernier entier long non nuls du dernier niveau de la propagation en cours.
+	 */
+	private int premierMotNiveau,dernierMotNiveau;
+
+	/**
+	 * Constructeur permettant de créer les plans de connexions (vides) d'un plateau d'une taille donnée.
+	 * @param nbLignes Le nombre de lignes.
+	 * @param nbColonnes Le nombre de colonnes.
+	 */
+	public PlansConnexions(final int nbLignes,final int nbColonnes) {
+		if ((nbLignes<=0)||(nbColonnes<=0))
+			throw new IllegalArgumentException("Taille de plateau invalide !");
+		this.nbLignes=nbLignes;
+		this.nbColonnes=nbColonnes;
+		nbCases=nbLignes*nbColonnes;
+		nbMots=(nbCases+63)>>>6;
+		masqueDernierMot=((nbCases&63)==0)?-1L:(1L<<(nbCases&63))-1;
+		horsDerniereColonne=new long[nbMots];
+		for (int numCase=0;numCase<nbCases;numCase++)
+			if (numCase%nbColonnes!=nbColonnes-1)
+				horsDerniereColonne[numCase>>>6]|=1L<<numCase;
+		sorties=new long[4][nbMots];
+		connexions=new long[4][nbMots];
+		niveau=new long[nbMots];
+		voisines=new long[nbMots];
+	}
+
+	/**
+	 * Constructeur permettant de créer et de calculer les plans de connexions d'un plateau compact.
+	 * @param plateau Le plateau compact.
+	 */
+	public PlansConnexions(final PlateauCompact plateau) {
+		this(plateau.getNbLignes(),plateau.getNbColonnes());
+		calculer(plateau);
+	}
+
+	/**
+	 * Méthode retournant le nombre de lignes du plateau.
+	 * @return Le nombre de lignes.
+	 */
+	public int getNbLignes() {
+		return nbLignes;
+	}
+
+	/**
+	 * Méthode retournant le nombre de colonnes du plateau.
+	 * @return Le nombre de colonnes.
+	 */
+	public int getNbColonnes() {
+		return nbColonnes;
+	}
+
+	/**
+	 * Méthode indiquant si l'extraction des plans des sorties utilise l'API vectorielle (module jdk.incubator.vector chargé).
+	 * @return true si et seulement si {@link #calculer(PlateauCompact)} utilise l'API vectorielle.
+	 */
+	static public boolean estVectoriel() {
+		return EXTRACTION!=EXTRACTION_PAR_MOTS;
+	}
+
+	/**
+	 * Méthode calculant les plans de connexions d'un plateau compact par opérations sur 64 cases à la fois
+	 * (l'extraction des sorties étant vectorielle si possible, voir {@link #estVectoriel()}).
+	 * @param plateau Le plateau compact (de même taille que les plans).
+	 */
+	public void calculer(final PlateauCompact plateau) {
+		verifierTaille(plateau);
+		calculer(plateau.getMasques(),EXTRACTION);
+	}
+
+	/**
+	 * Méthode calculant les plans de connexions d'un plateau compact par opérations sur 64 cases à la fois,
+	 * l'extraction des sorties regroupant toujours les masques par entiers longs (sans l'API vectorielle).
+	 * @param plateau Le plateau compact (de même taille que les plans).
+	 */
+	public void calculerParMots(final PlateauCompact plateau) {
+		verifierTaille(plateau);
+		calculer(plateau.getMasques(),EXTRACTION_PAR_MOTS);
+	}
+
+	/**
+	 * Méthode calculant les plans de connexions à partir des masques des sorties des pièces par case
+	 * (voir {@link ElementsJeu#getMasquesParCase()}).
+	 * @param masques Les masques des sorties par numéro de case (autant que de cases).
+	 */
+	void calculer(final byte[] masques) {
+		calculer(masques,EXTRACTION);
+	}
+
+	/**
+	 * Méthode calculant les plans de connexions à partir des masques des sorties des pièces par case avec une extraction donnée.
+	 * @param masques Les masques des sorties par numéro de case (autant que de cases).
+	 * @param extraction L'extraction des plans des sorties.
+	 */
+	private void calculer(final byte[] masques,final ExtractionSorties extraction) {
+		if (masques.length!=nbCases)
+			throw new IllegalArgumentException("Le plateau n'a pas la taille des plans de connexions !");
+		extraction.extraire(masques,sorties);
+		decalerBits(sorties[2],-nbColonnes,connexions[0]);
+		decalerBits(sorties[3],-1,connexions[1]);
+		for (int mot=0;mot<nbMots;mot++) {
+			connexions[0][mot]&=sorties[0][mot];
+			connexions[1][mot]&=sorties[1][mot]&horsDerniereColonne[mot];
+		}
+		decalerBits(connexions[0],nbColonnes,connexions[2]);
+		decalerBits(connexions[1],1,connexions[3]);
+	}
+
+	/**
+	 * Méthode remplissant les plans des sorties en lisant les masques de 8 cases consécutives à la fois
+	 * et en regroupant leurs bits par multiplication (voir {@link ExtractionSorties#extraire(byte[], long[][])}).
+	 * @param masques Les masques des sorties par numéro de case.
+	 * @param sorties Les plans des sorties par direction.
+	 */
+	static private void extraireParMots(final byte[] masques,final long[][] sorties) {
+		final int nbCases=masques.length;
+		for (int mot=0;mot<sorties[0].length;mot++) {
+			final int debut=mot<<6;
+			final int fin=Math.min(debut+64,nbCases);
+			long haut=0;
+			long droite=0;
+			long bas=0;
+			long gauche=0;
+			int numCase=debut;
+			for (;numCase+8<=fin;numCase+=8) {
+				final long huitMasques=(long)HUIT_MASQUES.get(masques,numCase);
+				final int bit=numCase-debut;
+				haut|=regrouper(huitMasques)<<bit;
+				droite|=regrouper(huitMasques>>>1)<<bit;
+				bas|=regrouper(huitMasques>>>2)<<bit;
+				gauche|=regrouper(huitMasques>>>3)<<bit;
+			}
+			for (;numCase<fin;numCase++) {
+				final long masque=masques[numCase];
+				final int bit=numCase-debut;
+				haut|=(masque&1)<<bit;
+				droite|=((masque>>>1)&1)<<bit;
+				bas|=((masque>>>2)&1)<<bit;
+				gauche|=((masque>>>3)&1)<<bit;
+			}
+			sorties[0][mot]=haut;
+			sorties[1][mot]=droite;
+			sorties[2][mot]=bas;
+			sorties[3][mot]=gauche;
+		}
+	}
+
+	/**
+	 * Méthode choisissant l'extraction des plans des sorties : si le module jdk.incubator.vector est chargé dans la couche de démarrage
+	 * (option --add-modules jdk.incubator.vector), l'extraction vectorielle est chargée par réflexion ;
+	 * si le module est absent ou si la classe facultative n'a pas été compilée, l'extraction par entiers longs est utilisée.
+	 * @return L'extraction des plans des sorties.
+	 */
+	static private ExtractionSorties chargerExtraction() {
+		if (!ModuleLayer.boot().findModule(MODULE_VECTORIEL).isPresent())
+			return EXTRACTION_PAR_MOTS;
+		try {
+			return (ExtractionSorties)Class.forName(CLASSE_VECTORIELLE).getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException|LinkageError e) {
+			return EXTRACTION_PAR_MOTS;
+		}
+	}
+
+	/**
+	 * Méthode calculant les plans de connexions d'un plateau compact case par case (voir {@link PlateauCompact#caseVoisineAccessible(int, int)}).
+	 * Le résultat est identique à celui de {@link #calculer(PlateauCompact)}.
+	 * @param plateau Le plateau compact (de même taille que les plans).
+	 */
+	public void calculerScalaire(final PlateauCompact plateau) {
+		verifierTaille(plateau);
+		for (long[] plan : connexions)
+			Arrays.fill(plan,0);
+		for (int numCase=0;numCase<nbCases;numCase++)
+			for (int i=0;i<4;i++)
+				if (plateau.caseVoisineAccessible(numCase,1<<i)!=-1)
+					connexions[i][numCase>>>6]|=1L<<numCase;
+	}
+
+	/**
+	 * Méthode retournant le masque des directions dans lesquelles une case communique avec sa voisine.
+	 * @param numCase Le numéro de la case.
+	 * @return Le masque des directions (combinaison de {@link PlateauCompact#HAUT}, {@link PlateauCompact#DROITE}, {@link PlateauCompact#BAS} et {@link PlateauCompact#GAUCHE}).
+	 */
+	public int getMasqueConnexions(final int numCase) {
+		final int mot=numCase>>>6;
+		return (int)(((connexions[0][mot]>>>numCase)&1)|(((connexions[1][mot]>>>numCase)&1)<<1)
+				|(((connexions[2][mot]>>>numCase)&1)<<2)|(((connexions[3][mot]>>>numCase)&1)<<3));
+	}
+
+	/**
+	 * Méthode testant si une case communique avec sa voisine dans une direction.
+	 * @param numCase Le numéro de la case.
+	 * @param direction Le masque de la direction ({@link PlateauCompact#HAUT}, {@link PlateauCompact#DROITE}, {@link PlateauCompact#BAS} ou {@link PlateauCompact#GAUCHE}).
+	 * @return true si et seulement si la case communique avec sa voisine dans cette direction.
+	 */
+	public boolean estConnectee(final int numCase,final int direction) {
+		return (getMasqueConnexions(numCase)&direction)!=0;
+	}
+
+	/**
+	 * Méthode créant un ensemble de cases vide de la taille des plans.
+	 * @return L'ensemble de cases.
+	 */
+	public long[] creerEnsembleCases() {
+		return new long[nbMots];
+	}
+
+	/**
+	 * Méthode testant si une case appartient à un ensemble de cases.
+	 * @param cases L'ensemble de cases.
+	 * @param numCase Le numéro de la case.
+	 * @return true si et seulement si la case appartient à l'ensemble.
+	 */
+	static public boolean contient(final long[] cases,final int numCase) {
+		return ((cases[numCase>>>6]>>>numCase)&1)!=0;
+	}
+
+	/**
+	 * Méthode commençant une propagation à partir d'une case : l'ensemble des cases accessibles et le niveau courant
+	 * ne contiennent que la case de départ (niveau 0).
+	 * @param caseDepart Le numéro de la case de départ.
+	 * @param accessibles L'ensemble recevant les cases accessibles (voir {@link #creerEnsembleCases()}).
+	 * @param dernierNiveau L'ensemble recevant le niveau courant.
+	 */
+	public void commencerParcours(final int caseDepart,final long[] accessibles,final long[] dernierNiveau) {
+		Arrays.fill(accessibles,0,nbMots,0);
+		Arrays.fill(dernierNiveau,0,nbMots,0);
+		accessibles[caseDepart>>>6]=1L<<caseDepart;
+		dernierNiveau[caseDepart>>>6]=1L<<caseDepart;
+		premierMotNiveau=caseDepart>>>6;
+		dernierMotNiveau=caseDepart>>>6;
+	}
+
+	/**
+	 * Méthode effectuant une étape de propagation : le niveau suivant est formé des cases communiquant avec une case du dernier niveau
+	 * qui ne sont pas encore accessibles (ce sont les cases à distance n+1 de la case de départ lorsque le dernier niveau est le niveau n),
+	 * puis il est ajouté aux cases accessibles. Les plans doivent avoir été calculés.
+	 * Seuls les entiers longs voisins de ceux du dernier niveau sont examinés : le dernier niveau doit être celui du dernier appel
+	 * de {@link #commencerParcours(int, long[], long[])} ou de cette méthode sur ces plans.
+	 * @param accessibles L'ensemble des cases accessibles (complété).
+	 * @param dernierNiveau Le dernier niveau (remplacé par le niveau suivant).
+	 * @return Le nombre de cases du niveau suivant (0 lorsque la propagation est terminée).
+	 */
+	public int etendreParcours(final long[] accessibles,final long[] dernierNiveau) {
+		final long[] haut=connexions[0];
+		final long[] droite=connexions[1];
+		final long[] bas=connexions[2];
+		final long[] gauche=connexions[3];
+		final int nbMotsLigne=nbColonnes>>>6;
+		final int nbBitsLigne=nbColonnes&63;
+		final int premierMot=Math.max(0,premierMotNiveau-nbMotsLigne-1);
+		final int dernierMot=Math.min(nbMots-1,dernierMotNiveau+nbMotsLigne+1);
+		for (int mot=premierMot;mot<=dernierMot;mot++) {
+			long trouvees=((dernierNiveau[mot]&droite[mot])<<1)|((dernierNiveau[mot]&gauche[mot])>>>1);
+			if (mot>0)
+				trouvees|=(dernierNiveau[mot-1]&droite[mot-1])>>>63;
+			if (mot+1<nbMots)
+				trouvees|=(dernierNiveau[mot+1]&gauche[mot+1])<<63;
+			final int dessous=mot-nbMotsLigne;
+			if (dessous>=0) {
+				trouvees|=(dernierNiveau[dessous]&haut[dessous])<<nbBitsLigne;
+				if ((nbBitsLigne!=0)&&(dessous>=1))
+					trouvees|=(dernierNiveau[dessous-1]&haut[dessous-1])>>>(64-nbBitsLigne);
+			}
+			final int dessus=mot+nbMotsLigne;
+			if (dessus<nbMots) {
+				trouvees|=(dernierNiveau[dessus]&bas[dessus])>>>nbBitsLigne;
+				if ((nbBitsLigne!=0)&&(dessus+1<nbMots))
+					trouvees|=(dernierNiveau[dessus+1]&bas[dessus+1])<<(64-nbBitsLigne);
+			}
+			voisines[mot]=trouvees;
+		}
+		int nbNouvelles=0;
+		premierMotNiveau=nbMots;
+		dernierMotNiveau=-1;
+		for (int mot=premierMot;mot<=dernierMot;mot++) {
+			final long nouvelles=voisines[mot]&~accessibles[mot];
+			dernierNiveau[mot]=nouvelles;
+			accessibles[mot]|=nouvelles;
+			if (nouvelles!=0) {
+				nbNouvelles+=Long.bitCount(nouvelles);
+				premierMotNiveau=Math.min(premierMotNiveau,mot);
+				dernierMotNiveau=mot;
+			}
+		}
+		return nbNouvelles;
+	}
+
+	/**
+	 * Méthode calculant l'ensemble des cases accessibles depuis une case par propagation jusqu'à ce que plus aucune case ne soit ajoutée.
+	 * Les plans doivent avoir été calculés.
+	 * @param caseDepart Le numéro de la case de départ.
+	 * @param accessibles L'ensemble recevant les cases accessibles (voir {@link #creerEnsembleCases()}).
+	 * @return Le nombre de cases accessibles (case de départ comprise).
+	 */
+	public int calculerAccessibles(final int caseDepart,final long[] accessibles) {
+		commencerParcours(caseDepart,accessibles,niveau);
+		int nbAccessibles=1;
+		int nbNouvelles;
+		while ((nbNouvelles=etendreParcours(accessibles,niveau))>0)
+			nbAccessibles+=nbNouvelles;
+		return nbAccessibles;
+	}
+
+	/**
+	 * Méthode rassemblant les bits de poids faible des 8 octets d'un entier long.
+	 * @param huitMasques Les 8 octets.
+	 * @return Un entier dont le bit i est le bit de poids faible de l'octet i.
+	 */
+	static private long regrouper(final long huitMasques) {
+		return ((huitMasques&BITS_DE_POIDS_FAIBLE)*MULTIPLICATEUR_REGROUPEMENT)>>>56;
+	}
+
+	/**
+	 * Méthode vérifiant qu'un plateau compact a la taille des plans.
+	 * @param plateau Le plateau compact.
+	 */
+	private void verifierTaille(final PlateauCompact plateau) {
+		if ((plateau.getNbLignes()!=nbLignes)||(plateau.getNbColonnes()!=nbColonnes))
+			throw new IllegalArgumentException("Le plateau n'a pas la taille des plans de connexions !");
+	}
+
+	/**
+	 * Méthode décalant un plan de n cases : le bit c de la destination reçoit le bit c-n de la source (0 en dehors du plateau).
+	 * La source et la destination peuvent être le même tableau.
+	 * @param source Le plan à décaler.
+	 * @param n Le décalage en nombre de cases (positif vers les numéros de case croissants).
+	 * @param destination Le plan recevant le résultat.
+	 */
+	private void decalerBits(final long[] source,final int n,final long[] destination) {
+		final int nbMotsDecales=Math.abs(n)>>>6;
+		final int nbBits=Math.abs(n)&63;
+		if (n>=0)
+			for (int mot=nbMots-1;mot>=0;mot--) {
+				final int origine=mot-nbMotsDecales;
+				long valeur=(origine>=0)?source[origine]<<nbBits:0;
+				if ((nbBits!=0)&&(origine>=1))
+					valeur|=source[origine-1]>>>(64-nbBits);
+				destination[mot]=valeur;
+			}
+		else
+			for (int mot=0;mot<nbMots;mot++) {
+				final int origine=mot+nbMotsDecales;
+				long valeur=(origine<nbMots)?source[origine]>>>nbBits:0;
+				if ((nbBits!=0)&&(origine+1<nbMots))
+					valeur|=source[origine+1]<<(64-nbBits);
+				destination[mot]=valeur;
+			}
+		destination[nbMots-1]&=masqueDernierMot;
+	}
+}
@@ -0,0 +1,371 @@
+package dedale.elements;
+
+import java.util.Arrays;
+
+/**
+ * Une instance de cette classe correspond à une représentation compacte du plateau destinée aux calculs des joueurs ordinateurs :
+ * les sorties de chaque pièce sont codées dans un masque de bits (voir {@link Piece#getMasqueSorties()}) rangé dans un tableau
+ * indexé par numéro de case (numéro de ligne*nombre de colonnes+numéro de colonne).
+ * Contrairement aux éléments du jeu, un décalage ou une rotation ne crée aucun objet, ce qui permet d'en simuler un grand nombre.
+ * Un décalage peut être annulé par le décalage inverse (voir {@link #annulerDecalage(Direction, int)}).
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public class PlateauCompact {
+	/**
+	 * Le masque d'une sortie vers le haut, la valeur de cette constante est {@value}.
+	 */
+	static final public int HAUT=1;
+
+	/**
+	 * Le masque d'une sortie vers la droite, la valeur de cette constante est {@value}.
+	 */
+	static final public int DROITE=2;
+
+	/**
+	 * Le masque d'une sortie vers le bas, la valeur de cette constante est {@value}.
+	 */
+	static final public int BAS=4;
+
+	/**
+	 * Le masque d'une sortie vers la gauche, la valeur de cette constante est {@value}.
+	 */
+	static final public int GAUCHE=8;
+
+	/**
+	 * Pour chaque masque de sorties, les nombres de rotations (entre 0 et 3) donnant des orientations distinctes de la pièce :
+	 * une seule pour une pièce sans sortie ou à 4 sorties, deux pour une pièce droite (sorties opposées), quatre sinon.
+	 */
+	static final private int[][] ROTATIONS_DISTINCTES=new int[16][];
+
+	static {
+		for (int masque=0;masque<16;masque++) {
+			int nbRotations=1;
+			while ((nbRotations<4)&&(rotationner(masque,nbRotations)!=masque))
+				nbRotations++;
+			ROTATIONS_DISTINCTES[masque]=new int[nbRotations];
+			for (int i=0;i<nbRotations;i++)
+				ROTATIONS_DISTINCTES[masque][i]=i;
+		}
+	}
+
+	/**
+	 * Le nombre de lignes du plateau.
+	 */
+	final private int nbLignes;
+
+	/**
+	 * Le nombre de colonnes du plateau.
+	 */
+	final private int nbColonnes;
+
+	/**
+	 * Les masques des sorties des pièces par numéro de case.
+	 */
+	final private byte[] masques;
+
+	/**
+	 * Le masque des sorties de la pièce hors plateau.
+	 */
+	private int masqueHorsPlateau;
+
+	/**
+	 * Constructeur permettant de créer la représentation compacte du plateau des éléments du jeu.
+	 * @param elementsJeu Les éléments du jeu.
+	 */
+	public PlateauCompact(final ElementsJeu elementsJeu) {
+		final ConfigurationJeu configuration=elementsJeu.getConfiguration();
+		nbLignes=configuration.getNbLignes();
+		nbColonnes=configuration.getNbColonnes();
+		masques=elementsJeu.getMasquesParCase().clone();
+		masqueHorsPlateau=elementsJeu.getPieceHorsPlateau().getMasqueSorties();
+	}
+
+	/**
+	 * Constructeur permettant de créer un plateau compact à partir de ses données (voir {@link PlateauPersistant#versPlateauCompact()}).
+	 * @param nbLignes Le nombre de lignes.
+	 * @param nbColonnes Le nombre de colonnes.
+	 * @param masques Les masques des sorties des pièces par case (le tableau n'est pas copié).
+	 * @param masqueHorsPlateau Le masque des sorties de la pièce hors plateau.
+	 */
+	PlateauCompact(final int nbLignes,final int nbColonnes,final byte[] masques,final int masqueHorsPlateau) {
+		this.nbLignes=nbLignes;
+		this.nbColonnes=nbColonnes;
+		this.masques=masques;
+		this.masqueHorsPlateau=masqueHorsPlateau;
+	}
+
+	/**
+	 * Constructeur permettant de créer une copie d'un plateau compact.
+	 * @param plateau Le plateau à copier.
+	 */
+	public PlateauCompact(final PlateauCompact plateau) {
+		nbLignes=plateau.nbLignes;
+		nbColonnes=plateau.nbColonnes;
+		masques=plateau.masques.clone();
+		masqueHorsPlateau=plateau.masqueHorsPlateau;
+	}
+
+	/**
+	 * Méthode remplaçant le contenu du plateau par celui d'un autre plateau de mêmes dimensions, sans créer de tableau.
+	 * Dans le cas où les dimensions sont différentes, une Exception de type IllegalArgumentException est levée.
+	 * @param plateau Le plateau à copier.
+	 */
+	void copier(final PlateauCompact plateau) {
+		if ((plateau.nbLignes!=nbLignes)||(plateau.nbColonnes!=nbColonnes))
+			throw new IllegalArgumentException("Les plateaux n'ont pas les mêmes dimensions !");
+		System.arraycopy(plateau.masques,0,masques,0,masques.length);
+		masqueHorsPlateau=plateau.masqueHorsPlateau;
+	}
+
+	/**
+	 * Méthode retournant le nombre de lignes du plateau.
+	 * @return Le nombre de lignes.
+	 */
+	public int getNbLignes() {
+		return nbLignes;
+	}
+
+	/**
+	 * Méthode retournant le nombre de colonnes du plateau.
+	 * @return Le nombre de colonnes.
+	 */
+	public int getNbColonnes() {
+		return nbColonnes;
+	}
+
+	/**
+	 * Méthode retournant le nombre de cases du plateau.
+	 * @return Le nombre de cases.
+	 */
+	public int getNbCases() {
+		return masques.length;
+	}
+
+	/**
+	 * Méthode retournant le masque des sorties de la pièce d'une case.
+	 * @param numCase Le numéro de la case.
+	 * @return Le masque des sorties.
+	 */
+	public int getMasque(final int numCase) {
+		return masques[numCase];
+	}
+
+	/**
+	 * Méthode retournant le tableau des masques des sorties des pièces indexé par numéro de case (il ne doit pas être modifié).
+	 * @return Le tableau des masques.
+	 */
+	byte[] getMasques() {
+		return masques;
+	}
+
+	/**
+	 * Méthode retournant le masque des sorties de la pièce hors plateau.
+	 * @return Le masque des sorties.
+	 */
+	public int getMasqueHorsPlateau() {
+		return masqueHorsPlateau;
+	}
+
+	/**
+	 * Méthode permettant de changer le masque des sorties de la pièce hors plateau (par exemple pour annuler une rotation).
+	 * @param masqueHorsPlateau Le nouveau masque des sorties.
+	 */
+	public void setMasqueHorsPlateau(final int masqueHorsPlateau) {
+		this.masqueHorsPlateau=masqueHorsPlateau;
+	}
+
+	/**
+	 * Méthode effectuant un certain nombre de rotations de la pièce hors plateau dans le sens des aiguilles d'une montre.
+	 * @param nbRotations Le nombre de rotations.
+	 */
+	public void rotationnerPieceHorsPlateau(final int nbRotations) {
+		masqueHorsPlateau=rotationner(masqueHorsPlateau,nbRotations);
+	}
+
+	/**
+	 * Méthode insérant la pièce hors plateau en décalant une ligne ou une colonne
+	 * (voir {@link ElementsJeu#effectuerInsertionPieceHorsPlateau(Direction, int)}).
+	 * La pièce sortant du plateau devient la pièce hors plateau.
+	 * @param direction La direction du décalage.
+	 * @param numLigOuCol Le numéro de la ligne ou de la colonne décalée.
+	 */
+	public void decaler(final Direction direction,final int numLigOuCol) {
+		final int longueur=longueurDecalage(direction);
+		int precedente=masqueHorsPlateau;
+		for (int i=0;i<longueur;i++) {
+			final int numCase=caseDansLeSensDuDecalage(direction,numLigOuCol,i);
+			final int courante=masques[numCase];
+			masques[numCase]=(byte)precedente;
+			precedente=courante;
+		}
+		masqueHorsPlateau=precedente;
+	}
+
+	/**
+	 * Méthode annulant un décalage : la pièce hors plateau est réinsérée à l'autre extrémité de la ligne ou de la colonne.
+	 * Après l'annulation, la pièce hors plateau est celle qui avait été insérée.
+	 * @param direction La direction du décalage à annuler.
+	 * @param numLigOuCol Le numéro de la ligne ou de la colonne décalée.
+	 */
+	public void annulerDecalage(final Direction direction,final int numLigOuCol) {
+		decaler(opposee(direction),numLigOuCol);
+	}
+
+	/**
+	 * Méthode retournant le numéro de la case occupée après un décalage par l'élément (joueur ou objet) d'une case.
+	 * Comme pour les éléments du jeu, l'élément de la case sortante revient au début de la ligne ou de la colonne.
+	 * @param numCase Le numéro de la case de l'élément avant le décalage.
+	 * @param direction La direction du décalage.
+	 * @param numLigOuCol Le numéro de la ligne ou de la colonne décalée.
+	 * @return Le numéro de la case de l'élément après le décalage.
+	 */
+	public int caseApresDecalage(final int numCase,final Direction direction,final int numLigOuCol) {
+		final int numLigne=numCase/nbColonnes;
+		final int numColonne=numCase%nbColonnes;
+		switch (direction) {
+		case HAUT:
+			return numColonne!=numLigOuCol?numCase:((numLigne+1)%nbLignes)*nbColonnes+numColonne;
+		case BAS:
+			return numColonne!=numLigOuCol?numCase:((numLigne+nbLignes-1)%nbLignes)*nbColonnes+numColonne;
+		case DROITE:
+			return numLigne!=numLigOuCol?numCase:numLigne*nbColonnes+(numColonne+1)%nbColonnes;
+		default:
+			return numLigne!=numLigOuCol?numCase:numLigne*nbColonnes+(numColonne+nbColonnes-1)%nbColonnes;
+		}
+	}
+
+	/**
+	 * Méthode retournant le numéro de la case voisine d'une case dans une direction donnée lorsque les pièces des deux cases
+	 * communiquent (voir {@link Piece#estDirectementAccessible(Piece)}).
+	 * @param numCase Le numéro de la case.
+	 * @param direction Le masque de la direction de la case voisine ({@link #HAUT}, {@link #DROITE}, {@link #BAS} ou {@link #GAUCHE}).
+	 * @return Le numéro de la case voisine ou -1 si elle n'existe pas ou n'est pas directement accessible.
+	 */
+	public int caseVoisineAccessible(final int numCase,final int direction) {
+		final int masque=masques[numCase];
+		if ((masque&direction)==0)
+			return -1;
+		int voisine=-1;
+		switch (direction) {
+		case HAUT:
+			if (numCase+nbColonnes<masques.length)
+				voisine=numCase+nbColonnes;
+			break;
+		case BAS:
+			if (numCase>=nbColonnes)
+				voisine=numCase-nbColonnes;
+			break;
+		case DROITE:
+			if (numCase%nbColonnes!=nbColonnes-1)
+				voisine=numCase+1;
+			break;
+		case GAUCHE:
+			if (numCase%nbColonnes!=0)
+				voisine=numCase-1;
+			break;
+		}
+		if ((voisine==-1)||((masques[voisine]&rotationner(direction,2))==0))
+			return -1;
+		return voisine;
+	}
+
+	/**
+	 * Méthode réalisant un parcours en largeur à partir d'une case : distances[c] reçoit la longueur du plus court chemin
+	 * entre la case de départ et la case c (-1 si la case n'est pas accessible) et file reçoit, dans ses premiers éléments,
+	 * les cases accessibles dans l'ordre de leur découverte.
+	 * @param caseDepart Le numéro de la case de départ.
+	 * @param distances Un tableau d'au moins {@link #getNbCases()} éléments.
+	 * @param file Un tableau d'au moins {@link #getNbCases()} éléments.
+	 * @return Le nombre de cases accessibles (case de départ comprise).
+	 */
+	public int parcourirEnLargeur(final int caseDepart,final int[] distances,final int[] file) {
+		Arrays.fill(distances,0,masques.length,-1);
+		int debut=0;
+		int fin=0;
+		distances[caseDepart]=0;
+		file[fin++]=caseDepart;
+		while (debut<fin) {
+			final int numCase=file[debut++];
+			for (int direction=HAUT;direction<=GAUCHE;direction<<=1) {
+				final int voisine=caseVoisineAccessible(numCase,direction);
+				if ((voisine!=-1)&&(distances[voisine]==-1)) {
+					distances[voisine]=distances[numCase]+1;
+					file[fin++]=voisine;
+				}
+			}
+		}
+		return fin;
+	}
+
+	/**
+	 * Méthode retournant le masque des sorties d'une pièce après un certain nombre de rotations dans le sens des aiguilles d'une montre
+	 * (rotation des 4 bits du masque vers la gauche).
+	 * @param masque Le masque des sorties.
+	 * @param nbRotations Le nombre de rotations.
+	 * @return Le masque des sorties après les rotations.
+	 */
+	static public int rotationner(final int masque,final int nbRotations) {
+		final int n=nbRotations&3;
+		return ((masque<<n)|(masque>>>(4-n)))&0xF;
+	}
+
+	/**
+	 * Méthode retournant les nombres de rotations (dans le sens des aiguilles d'une montre) donnant des orientations distinctes
+	 * d'une pièce : les autres nombres de rotations redonnent l'une de ces orientations et peuvent être ignorés lors de la génération des coups.
+	 * Le tableau retourné est partagé et ne doit pas être modifié.
+	 * @param masque Le masque des sorties de la pièce.
+	 * @return Les nombres de rotations distincts, en commençant par 0 (1, 2 ou 4 éléments).
+	 */
+	static public int[] rotationsDistinctes(final int masque) {
+		return ROTATIONS_DISTINCTES[masque];
+	}
+
+	/**
+	 * Méthode retournant le nombre de cases d'une ligne (ou d'une colonne) décalée dans une direction.
+	 * @param direction La direction du décalage.
+	 * @return Le nombre de cases décalées.
+	 */
+	private int longueurDecalage(final Direction direction) {
+		return ((direction==Direction.HAUT)||(direction==Direction.BAS))?nbLignes:nbColonnes;
+	}
+
+	/**
+	 * Méthode retournant le numéro de la case d'indice i d'une ligne ou d'une colonne, les cases étant ordonnées dans le sens du décalage.
+	 * @param direction La direction du décalage.
+	 * @param numLigOuCol Le numéro de la ligne ou de la colonne.
+	 * @param i L'indice de la case.
+	 * @return Le numéro de la case.
+	 */
+	private int caseDansLeSensDuDecalage(final Direction direction,final int numLigOuCol,final int i) {
+		switch (direction) {
+		case HAUT:
+			return i*nbColonnes+numLigOuCol;
+		case BAS:
+			return (nbLignes-1-i)*nbColonnes+numLigOuCol;
+		case DROITE:
+			return numLigOuCol*nbColonnes+i;
+		default:
+			return numLigOuCol*nbColonnes+nbColonnes-1-i;
+		}
+	}
+
+	/**
+	 * Méthode retournant la direction opposée d'une direction.
+	 * @param direction Une direction.
+	 * @return La direction opposée.
+	 */
+	static private Direction opposee(final Direction direction) {
+		switch (direction) {
+		case HAUT:
+			return Direction.BAS;
+		case BAS:
+			return Direction.HAUT;
+		case DROITE:
+			return Direction.GAUCHE;
+		default:
+			return Direction.DROITE;
+		}
+	}
+}
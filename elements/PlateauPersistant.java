@@ -0,0 +1,366 @@
+package dedale.elements;
+
+/**
+ * Une instance de cette classe correspond à une version immuable du plateau réduite aux sorties des pièces :
+ * les masques des sorties (voir {@link Piece#getMasqueSorties()}) des cases et celui de la pièce hors plateau.
+ * Un décalage ou une rotation de la pièce hors plateau ne modifie pas la version mais en crée une nouvelle
+ * qui partage avec elle toutes les données non modifiées : conserver une version (pour un arbre de recherche, un historique
+ * ou un spectateur) revient donc à conserver une référence.
+ * <br>
+ * Les cases sont regroupées en tuiles de 4x4 cases, chaque tuile étant codée dans un long (4 bits par case).
+ * Les tuiles sont rangées dans un arbre quaternaire indexé par (ligne de tuiles, colonne de tuiles) : chaque nœud interne
+ * est un tableau de 4 sous-arbres (quadrants) et chaque feuille un tableau de 2x2 tuiles ; les quadrants hors du plateau sont nuls.
+ * Les lignes et les colonnes jouent donc le même rôle.
+ * <ul>
+ * <li>Un décalage de ligne copie les ⌈nbColonnes/4⌉ tuiles de la ligne modifiée et les nœuds qui y mènent, soit O(nbColonnes/4) nœuds de 4 éléments.</li>
+ * <li>Un décalage de colonne copie de même les ⌈nbLignes/4⌉ tuiles de la colonne modifiée et les nœuds qui y mènent.</li>
+ * <li>Une rotation de la pièce hors plateau partage tout l'arbre.</li>
+ * </ul>
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public final class PlateauPersistant {
+	/**
+	 * Le nombre de lignes ou de colonnes de cases d'une tuile, la valeur de cette constante est {@value}.
+	 */
+	static final private int TAILLE_TUILE=4;
+
+	/**
+	 * Le nombre de lignes du plateau.
+	 */
+	final private int nbLignes;
+
+	/**
+	 * Le nombre de colonnes du plateau.
+	 */
+	final private int nbColonnes;
+
+	/**
+	 * La hauteur de l'arbre des tuiles : la racine couvre 2^hauteur lignes et colonnes de tuiles (hauteur au moins égale à 1).
+	 */
+	final private int hauteur;
+
+	/**
+	 * La racine de l'arbre des tuiles. Un nœud de niveau k&gt;1 est un Object[4] dont l'élément 2*((lt&gt;&gt;(k-1))&amp;1)+((ct&gt;&gt;(k-1))&amp;1)
+	 * contient le quadrant de la tuile (lt,ct) ; un nœud de niveau 1 est un long[4] dont l'élément 2*(lt&amp;1)+(ct&amp;1) est la tuile.
+	 * La tuile (lt,ct) contient, à partir du bit 4*(4*(l%4)+c%4), le masque de la case (l,c) avec l/4=lt et c/4=ct.
+	 * Les nœuds peuvent être partagés entre plusieurs versions et ne sont jamais modifiés.
+	 */
+	final private Object racine;
+
+	/**
+	 * Le masque des sorties de la pièce hors plateau.
+	 */
+	final private int masqueHorsPlateau;
+
+	/**
+	 * Constructeur permettant de créer une version du plateau à partir des éléments du jeu.
+	 * @param elementsJeu Les éléments du jeu.
+	 */
+	public PlateauPersistant(final ElementsJeu elementsJeu) {
+		nbLignes=elementsJeu.getConfiguration().getNbLignes();
+		nbColonnes=elementsJeu.getConfiguration().getNbColonnes();
+		final int nbTuilesMax=(Math.max(nbLignes,nbColonnes)+TAILLE_TUILE-1)/TAILLE_TUILE;
+		hauteur=Math.max(1,32-Integer.numberOfLeadingZeros(nbTuilesMax-1));
+		racine=construire(elementsJeu.getMasquesParCase(),hauteur,0,0);
+		masqueHorsPlateau=elementsJeu.getPieceHorsPlateau().getMasqueSorties();
+	}
+
+	/**
+	 * Constructeur privé permettant de créer une version à partir de ses données (partagées).
+	 * @param nbLignes Le nombre de lignes.
+	 * @param nbColonnes Le nombre de colonnes.
+	 * @param hauteur La hauteur de l'arbre des tuiles.
+	 * @param racine La racine de l'arbre des tuiles.
+	 * @param masqueHorsPlateau Le masque de la pièce hors plateau.
+	 */
+	private PlateauPersistant(final int nbLignes,final int nbColonnes,final int hauteur,final Object racine,final int masqueHorsPlateau) {
+		this.nbLignes=nbLignes;
+		this.nbColonnes=nbColonnes;
+		this.hauteur=hauteur;
+		this.racine=racine;
+		this.masqueHorsPlateau=masqueHorsPlateau;
+	}
+
+	/**
+	 * Méthode construisant le sous-arbre couvrant un carré de tuiles.
+	 * @param masques Les masques des sorties des cases.
+	 * @param niveau Le niveau du sous-arbre (il couvre 2^niveau lignes et colonnes de tuiles).
+	 * @param ligneTuile La ligne de tuiles du coin du carré.
+	 * @param colonneTuile La colonne de tuiles du coin du carré.
+	 * @return Le sous-arbre ou null si le carré est hors du plateau.
+	 */
+	private Object construire(final byte[] masques,final int niveau,final int ligneTuile,final int colonneTuile) {
+		if ((ligneTuile*TAILLE_TUILE>=nbLignes)||(colonneTuile*TAILLE_TUILE>=nbColonnes))
+			return null;
+		final int moitie=1<<(niveau-1);
+		if (niveau==1) {
+			final long[] tuiles=new long[4];
+			for (int quadrant=0;quadrant<4;quadrant++)
+				tuiles[quadrant]=construireTuile(masques,ligneTuile+(quadrant>>1),colonneTuile+(quadrant&1));
+			return tuiles;
+		}
+		final Object[] quadrants=new Object[4];
+		for (int quadrant=0;quadrant<4;quadrant++)
+			quadrants[quadrant]=construire(masques,niveau-1,ligneTuile+(quadrant>>1)*moitie,colonneTuile+(quadrant&1)*moitie);
+		return quadrants;
+	}
+
+	/**
+	 * Méthode codant une tuile à partir des masques des sorties des cases.
+	 * @param masques Les masques des sorties des cases.
+	 * @param ligneTuile La ligne de tuiles.
+	 * @param colonneTuile La colonne de tuiles.
+	 * @return La tuile (0 si elle est hors du plateau).
+	 */
+	private long construireTuile(final byte[] masques,final int ligneTuile,final int colonneTuile) {
+		long tuile=0;
+		for (int numLigne=ligneTuile*TAILLE_TUILE;numLigne<Math.min(nbLignes,(ligneTuile+1)*TAILLE_TUILE);numLigne++)
+			for (int numColonne=colonneTuile*TAILLE_TUILE;numColonne<Math.min(nbColonnes,(colonneTuile+1)*TAILLE_TUILE);numColonne++)
+				tuile|=((long)masques[numLigne*nbColonnes+numColonne])<<decalageBits(numLigne,numColonne);
+		return tuile;
+	}
+
+	/**
+	 * Méthode retournant le nombre de lignes du plateau.
+	 * @return Le nombre de lignes.
+	 */
+	public int getNbLignes() {
+		return nbLignes;
+	}
+
+	/**
+	 * Méthode retournant le nombre de colonnes du plateau.
+	 * @return Le nombre de colonnes.
+	 */
+	public int getNbColonnes() {
+		return nbColonnes;
+	}
+
+	/**
+	 * Méthode retournant le nombre de cases du plateau.
+	 * @return Le nombre de cases.
+	 */
+	public int getNbCases() {
+		return nbLignes*nbColonnes;
+	}
+
+	/**
+	 * Méthode retournant le masque des sorties de la pièce d'une case.
+	 * @param numCase Le numéro de la case (numéro de ligne*nombre de colonnes+numéro de colonne).
+	 * @return Le masque des sorties.
+	 */
+	public int getMasque(final int numCase) {
+		return getMasque(numCase/nbColonnes,numCase%nbColonnes);
+	}
+
+	/**
+	 * Méthode retournant le masque des sorties de la pièce d'une case.
+	 * @param numLigne Le numéro de ligne de la case.
+	 * @param numColonne Le numéro de colonne de la case.
+	 * @return Le masque des sorties.
+	 */
+	public int getMasque(final int numLigne,final int numColonne) {
+		final int ligneTuile=numLigne/TAILLE_TUILE;
+		final int colonneTuile=numColonne/TAILLE_TUILE;
+		Object noeud=racine;
+		for (int niveau=hauteur;niveau>1;niveau--)
+			noeud=((Object[])noeud)[quadrant(niveau,ligneTuile,colonneTuile)];
+		return (int)(((long[])noeud)[quadrant(1,ligneTuile,colonneTuile)]>>>decalageBits(numLigne,numColonne))&0xF;
+	}
+
+	/**
+	 * Méthode retournant le masque des sorties de la pièce hors plateau.
+	 * @return Le masque des sorties.
+	 */
+	public int getMasqueHorsPlateau() {
+		return masqueHorsPlateau;
+	}
+
+	/**
+	 * Méthode retournant la version du plateau dont la pièce hors plateau a un masque donné (toutes les cases sont partagées).
+	 * @param masqueHorsPlateau Le masque des sorties de la pièce hors plateau.
+	 * @return La version correspondante (cette version si le masque est inchangé).
+	 */
+	public PlateauPersistant avecMasqueHorsPlateau(final int masqueHorsPlateau) {
+		if (masqueHorsPlateau==this.masqueHorsPlateau)
+			return this;
+		return new PlateauPersistant(nbLignes,nbColonnes,hauteur,racine,masqueHorsPlateau);
+	}
+
+	/**
+	 * Méthode retournant la version du plateau après un certain nombre de rotations de la pièce hors plateau
+	 * dans le sens des aiguilles d'une montre (voir {@link PlateauCompact#rotationner(int, int)}).
+	 * @param nbRotations Le nombre de rotations.
+	 * @return La version après les rotations.
+	 */
+	public PlateauPersistant rotationnerPieceHorsPlateau(final int nbRotations) {
+		return avecMasqueHorsPlateau(PlateauCompact.rotationner(masqueHorsPlateau,nbRotations));
+	}
+
+	/**
+	 * Méthode retournant la version du plateau après l'insertion de la pièce hors plateau sur une ligne ou une colonne
+	 * (voir {@link PlateauCompact#decaler(Direction, int)}). Cette version n'est pas modifiée :
+	 * seules les tuiles de la ligne ou de la colonne et les nœuds qui y mènent sont copiés.
+	 * @param direction La direction du décalage.
+	 * @param numLigOuCol Le numéro de la ligne ou de la colonne décalée.
+	 * @return La version après le décalage.
+	 */
+	public PlateauPersistant decaler(final Direction direction,final int numLigOuCol) {
+		final Decalage decalage=new Decalage(direction,numLigOuCol,masqueHorsPlateau);
+		final Object nouvelleRacine=decalage.copier(racine,hauteur,0,0);
+		return new PlateauPersistant(nbLignes,nbColonnes,hauteur,nouvelleRacine,decalage.precedente);
+	}
+
+	/**
+	 * Méthode retournant une copie modifiable de cette version du plateau.
+	 * @return Le plateau compact correspondant.
+	 */
+	public PlateauCompact versPlateauCompact() {
+		final byte[] masques=new byte[getNbCases()];
+		copierMasques(racine,hauteur,0,0,masques);
+		return new PlateauCompact(nbLignes,nbColonnes,masques,masqueHorsPlateau);
+	}
+
+	/**
+	 * Méthode recopiant les masques des cases d'un sous-arbre.
+	 * @param noeud Le sous-arbre (éventuellement nul).
+	 * @param niveau Le niveau du sous-arbre.
+	 * @param ligneTuile La ligne de tuiles du coin du carré couvert.
+	 * @param colonneTuile La colonne de tuiles du coin du carré couvert.
+	 * @param masques Les masques des cases à remplir.
+	 */
+	private void copierMasques(final Object noeud,final int niveau,final int ligneTuile,final int colonneTuile,final byte[] masques) {
+		if (noeud==null)
+			return;
+		if (niveau==1) {
+			final long[] tuiles=(long[])noeud;
+			for (int quadrant=0;quadrant<4;quadrant++) {
+				final int numLigneMin=(ligneTuile+(quadrant>>1))*TAILLE_TUILE;
+				final int numColonneMin=(colonneTuile+(quadrant&1))*TAILLE_TUILE;
+				for (int numLigne=numLigneMin;numLigne<Math.min(nbLignes,numLigneMin+TAILLE_TUILE);numLigne++)
+					for (int numColonne=numColonneMin;numColonne<Math.min(nbColonnes,numColonneMin+TAILLE_TUILE);numColonne++)
+						masques[numLigne*nbColonnes+numColonne]=(byte)((tuiles[quadrant]>>>decalageBits(numLigne,numColonne))&0xF);
+			}
+			return;
+		}
+		final int moitie=1<<(niveau-1);
+		for (int quadrant=0;quadrant<4;quadrant++)
+			copierMasques(((Object[])noeud)[quadrant],niveau-1,ligneTuile+(quadrant>>1)*moitie,colonneTuile+(quadrant&1)*moitie,masques);
+	}
+
+	/**
+	 * Méthode retournant l'indice, dans un nœud d'un niveau donné, du quadrant contenant une tuile.
+	 * @param niveau Le niveau du nœud.
+	 * @param ligneTuile La ligne de tuiles.
+	 * @param colonneTuile La colonne de tuiles.
+	 * @return L'indice du quadrant (entre 0 et 3).
+	 */
+	static private int quadrant(final int niveau,final int ligneTuile,final int colonneTuile) {
+		return (((ligneTuile>>(niveau-1))&1)<<1)|((colonneTuile>>(niveau-1))&1);
+	}
+
+	/**
+	 * Méthode retournant la position, dans sa tuile, du premier des 4 bits du masque d'une case.
+	 * @param numLigne Le numéro de ligne de la case.
+	 * @param numColonne Le numéro de colonne de la case.
+	 * @return Le rang du premier bit du masque dans le long de la tuile.
+	 */
+	static private int decalageBits(final int numLigne,final int numColonne) {
+		return 4*(TAILLE_TUILE*(numLigne%TAILLE_TUILE)+numColonne%TAILLE_TUILE);
+	}
+
+	/**
+	 * Une instance de cette classe interne correspond à un décalage en cours : elle copie les nœuds traversés par la ligne
+	 * ou la colonne décalée, dans l'ordre de l'insertion, en propageant le masque de la pièce poussée d'une case à la suivante.
+	 * @author Damlencourt Valentin
+	 * @since 6.0 (19/10/26)
+	 * @version 6.0 (19/10/26)
+	 */
+	private final class Decalage {
+		/**
+		 * Vrai si une colonne est décalée, faux si c'est une ligne.
+		 */
+		final private boolean colonne;
+
+		/**
+		 * Vrai si les cases sont parcourues par numéros croissants (décalage vers le haut ou vers la droite).
+		 */
+		final private boolean croissant;
+
+		/**
+		 * Le numéro de la ligne ou de la colonne décalée.
+		 */
+		final private int numLigOuCol;
+
+		/**
+		 * Le masque de la pièce poussée dans la prochaine case (la pièce hors plateau à la fin du décalage).
+		 */
+		private int precedente;
+
+		/**
+		 * Constructeur permettant de préparer un décalage.
+		 * @param direction La direction du décalage.
+		 * @param numLigOuCol Le numéro de la ligne ou de la colonne décalée.
+		 * @param masqueHorsPlateau Le masque de la pièce hors plateau insérée.
+		 */
+		private Decalage(final Direction direction,final int numLigOuCol,final int masqueHorsPlateau) {
+			colonne=(direction==Direction.HAUT)||(direction==Direction.BAS);
+			croissant=(direction==Direction.HAUT)||(direction==Direction.DROITE);
+			this.numLigOuCol=numLigOuCol;
+			precedente=masqueHorsPlateau;
+		}
+
+		/**
+		 * Méthode copiant un sous-arbre traversé par la ligne ou la colonne décalée.
+		 * @param noeud Le sous-arbre.
+		 * @param niveau Le niveau du sous-arbre.
+		 * @param ligneTuile La ligne de tuiles du coin du carré couvert.
+		 * @param colonneTuile La colonne de tuiles du coin du carré couvert.
+		 * @return La copie modifiée du sous-arbre.
+		 */
+		private Object copier(final Object noeud,final int niveau,final int ligneTuile,final int colonneTuile) {
+			final int tuileFixe=numLigOuCol/TAILLE_TUILE;
+			final int moitie=1<<(niveau-1);
+			final int moitieFixe=colonne?((tuileFixe>>(niveau-1))&1):(((tuileFixe>>(niveau-1))&1)<<1);
+			if (niveau==1) {
+				final long[] tuiles=((long[])noeud).clone();
+				for (int i=0;i<2;i++) {
+					final int quadrant=moitieFixe|(colonne?(croissant?i:1-i)<<1:(croissant?i:1-i));
+					tuiles[quadrant]=decalerTuile(tuiles[quadrant],ligneTuile+(quadrant>>1),colonneTuile+(quadrant&1));
+				}
+				return tuiles;
+			}
+			final Object[] quadrants=((Object[])noeud).clone();
+			for (int i=0;i<2;i++) {
+				final int quadrant=moitieFixe|(colonne?(croissant?i:1-i)<<1:(croissant?i:1-i));
+				if (quadrants[quadrant]!=null)
+					quadrants[quadrant]=copier(quadrants[quadrant],niveau-1,ligneTuile+(quadrant>>1)*moitie,colonneTuile+(quadrant&1)*moitie);
+			}
+			return quadrants;
+		}
+
+		/**
+		 * Méthode décalant les cases d'une tuile situées sur la ligne ou la colonne décalée.
+		 * @param tuile La tuile.
+		 * @param ligneTuile La ligne de tuiles.
+		 * @param colonneTuile La colonne de tuiles.
+		 * @return La tuile après le décalage (inchangée si elle est hors du plateau).
+		 */
+		private long decalerTuile(long tuile,final int ligneTuile,final int colonneTuile) {
+			final int debut=(colonne?ligneTuile:colonneTuile)*TAILLE_TUILE;
+			final int fin=Math.min(colonne?nbLignes:nbColonnes,debut+TAILLE_TUILE);
+			if ((colonne?colonneTuile*TAILLE_TUILE>=nbColonnes:ligneTuile*TAILLE_TUILE>=nbLignes)||(debut>=fin))
+				return tuile;
+			for (int i=0;i<fin-debut;i++) {
+				final int position=croissant?debut+i:fin-1-i;
+				final int decalage=colonne?decalageBits(position,numLigOuCol):decalageBits(numLigOuCol,position);
+				final int courante=(int)(tuile>>>decalage)&0xF;
+				tuile=(tuile&~(0xFL<<decalage))|(((long)precedente)<<decalage);
+				precedente=courante;
+			}
+			return tuile;
+		}
+	}
+}
@@ -4,14 +4,15 @@ import java.util.Objects;
 
 /**
  * Une instance de la classe PositionPlateau permet de représenter une position d'un élément sur le plateau de jeu.
- * Chaque position est définie par un couple d'entiers (numéro de ligne,numéro de colonne).
+ * Chaque position est définie par un couple d'entiers (numéro de ligne,numéro de colonne) et est relative au plateau
+ * d'une partie, dont les dimensions sont données par la configuration de cette partie ({@link ConfigurationJeu}).
  * <ul>
- * <li>Un numéro de ligne valide est un entier compris (au sens large) entre 0 et {@link NB_LIGS_PLATEAU}-1.</li>
- * <li>Un numéro de colonne valide est un entier compris (au sens large) entre 0 et {@link NB_COLS_PLATEAU}-1.</li>
+ * <li>Un numéro de ligne valide est un entier compris (au sens large) entre 0 et {@link ConfigurationJeu#getNbLignes()}-1.</li>
+ * <li>Un numéro de colonne valide est un entier compris (au sens large) entre 0 et {@link ConfigurationJeu#getNbColonnes()}-1.</li>
  * <li>Le numéro de ligne 0 correspond à la ligne la plus basse du plateau.</li>
  * <li>Le numéro de colonne 0 correspond à la colonne la plus à gauche du plateau.</li>
- * <li>Le numéro de ligne {@link NB_LIGS_PLATEAU}-1 correspond à la ligne la plus haute du plateau.</li>
- * <li>Le numéro de colonne {@link NB_COLS_PLATEAU}-1 correspond à la colonne la plus à droite du plateau.</li>
+ * <li>Le numéro de ligne {@link ConfigurationJeu#getNbLignes()}-1 correspond à la ligne la plus haute du plateau.</li>
+ * <li>Le numéro de colonne {@link ConfigurationJeu#getNbColonnes()}-1 correspond à la colonne la plus à droite du plateau.</li>
  * </ul>
  * @author Damlencourt Valentin
  * @since 1.0 (22/02/23)
@@ -19,15 +20,26 @@ import java.util.Objects;
  */
 public class PositionPlateau {
 	/**
-	 * Le nombre de lignes d'un plateau, la valeur de cette constante est {@value}.
+	 * Le nombre de lignes d'un plateau par défaut, la valeur de cette constante est {@value}.
 	 */
 	static final public int NB_LIGS_PLATEAU=8;
 
 	/**
-	 * Le nombre de colonnes d'un plateau, la valeur de cette constante est {@value}.
+	 * Le nombre de colonnes d'un plateau par défaut, la valeur de cette constante est {@value}.
 	 */
 	static final public int NB_COLS_PLATEAU=12;
 
+	/**
+	 * La configuration par défaut utilisée par le constructeur sans configuration (voir {@link #PositionPlateau(int, int)}) :
+	 * seules ses dimensions sont utilisées.
+	 */
+	static final private ConfigurationJeu CONFIGURATION_PAR_DEFAUT=new ConfigurationJeu();
+
+	/**
+	 * La configuration de la partie à laquelle appartient la position (elle donne les dimensions du plateau).
+	 */
+	final private ConfigurationJeu configuration;
+
 	/**
 	 * Le numéro de ligne de la position sur le plateau.
 	 */
@@ -43,20 +55,44 @@ public class PositionPlateau {
 	 * Dans le cas où le numéro de ligne ou le numéro de colonne n'est pas valide une Exception de type IllegalArgumentExcpetion est levée.
 	 * @param numLigne Le numéro de ligne de la position.
 	 * @param numColonne Le numéro de colonne de la position.
+	 * @param configuration La configuration de la partie (donnant les dimensions du plateau).
 	 */
-	public PositionPlateau(final int numLigne,final int numColonne) {
+	public PositionPlateau(final int numLigne,final int numColonne,final ConfigurationJeu configuration) {
 		super();
+		this.configuration=configuration;
 		testerPosition(numLigne,numColonne);
 		this.numLigne = numLigne;
 		this.numColonne = numColonne;
 	}
 
+	/**
+	 * Constructeur permettant de créer une nouvelle position sur un plateau ayant les dimensions par défaut
+	 * ({@link #NB_LIGS_PLATEAU} lignes et {@link #NB_COLS_PLATEAU} colonnes).
+	 * Dans le cas où le numéro de ligne ou le numéro de colonne n'est pas valide une Exception de type IllegalArgumentExcpetion est levée.
+	 * @param numLigne Le numéro de ligne de la position.
+	 * @param numColonne Le numéro de colonne de la position.
+	 * @deprecated Une position est relative au plateau d'une partie : utiliser {@link #PositionPlateau(int, int, ConfigurationJeu)}
+	 * avec la configuration de la partie (ce constructeur ne convient qu'à un plateau de dimensions par défaut).
+	 */
+	@Deprecated
+	public PositionPlateau(final int numLigne,final int numColonne) {
+		this(numLigne,numColonne,CONFIGURATION_PAR_DEFAUT);
+	}
+
 	/**
 	 * Constructeur permettant de créer une nouvelle position à partir d'une position existante. 
 	 * @param position Une position.
 	 */
 	public PositionPlateau(final PositionPlateau position) {
-		this(position.numLigne,position.numColonne);
+		this(position.numLigne,position.numColonne,position.configuration);
+	}
+
+	/**
+	 * Retourne la configuration de la partie à laquelle appartient la position.
+	 * @return La configuration de la partie.
+	 */
+	public ConfigurationJeu getConfiguration() {
+		return configuration;
 	}
 
 	/**
@@ -95,6 +131,15 @@ public class PositionPlateau {
 		this.numColonne = numColonne;
 	}
 
+	/**
+	 * Retourne le numéro de la case correspondant à la position (numéro de ligne*nombre de colonnes+numéro de colonne).
+	 * Les cases sont ainsi numérotées de 0 à {@link ConfigurationJeu#getNbCases()}-1.
+	 * @return Le numéro de la case correspondant à la position.
+	 */
+	public int getNumCase() {
+		return numLigne*configuration.getNbColonnes()+numColonne;
+	}
+
 	/**
 	 * Retourne true si et seulement si la position et la position passée en paramètre représente la même position.
 	 */
@@ -135,8 +180,8 @@ public class PositionPlateau {
 	 * @param numLigne Un numéro de ligne.
 	 * @param numColonne Un numéro de colonne.
 	 */
-	private static void testerPosition(final int numLigne,final int numColonne){
-		if ((numLigne<0)||(numLigne>=NB_LIGS_PLATEAU)||(numColonne<0)||(numColonne>=NB_COLS_PLATEAU))
+	private void testerPosition(final int numLigne,final int numColonne){
+		if ((numLigne<0)||(numLigne>=configuration.getNbLignes())||(numColonne<0)||(numColonne>=configuration.getNbColonnes()))
 			throw new IllegalArgumentException("Le numéro de ligne et/ou le numéro de colonne ne sont pas valides : numéro de ligne "+numLigne+" et numéro de colonne "+numColonne+" !");
 	}
 
@@ -149,20 +194,20 @@ public class PositionPlateau {
 	public void decaler(final Direction direction) {
 		switch (direction) {
 		case HAUT: 
-			if (++numLigne==NB_LIGS_PLATEAU)
+			if (++numLigne==configuration.getNbLignes())
 				numLigne=0;
 			break;
 		case BAS: 
 			if (--numLigne==-1)
-				numLigne=NB_LIGS_PLATEAU-1;
+				numLigne=configuration.getNbLignes()-1;
 			break;
 		case DROITE:
-			if (++numColonne==NB_COLS_PLATEAU)
+			if (++numColonne==configuration.getNbColonnes())
 				numColonne=0;
 			break;
 		case GAUCHE:
 			if (--numColonne==-1)
-				numColonne=NB_COLS_PLATEAU-1;
+				numColonne=configuration.getNbColonnes()-1;
 		}
 	}
 
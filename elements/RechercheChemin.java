@@ -0,0 +1,268 @@
+package dedale.elements;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Classe regroupant les stratégies de calcul d'un plus court chemin autres que le parcours en largeur depuis la position finale
+ * (voir {@link StrategieChemin}). Les recherches portent sur les pièces du plateau indexées par numéro de case
+ * (numéro de ligne*nombre de colonnes+numéro de colonne) et ne parcourent, en général, qu'une partie des cases accessibles.
+ * Une instance conserve ses tableaux d'une recherche à l'autre : une case n'est considérée comme atteinte que si sa marque
+ * vaut le numéro de la recherche en cours, si bien qu'aucun tableau n'est créé ni réinitialisé et qu'une recherche a un coût
+ * proportionnel au nombre de cases explorées. Une instance ne doit être utilisée que par un seul thread.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+final class RechercheChemin {
+	/**
+	 * Les directions dans l'ordre de leur déclaration.
+	 */
+	static final private Direction[] DIRECTIONS=Direction.values();
+
+	/**
+	 * Le nombre de cases du plateau.
+	 */
+	final private int nbCases;
+
+	/**
+	 * Pour chaque côté (0 depuis la case initiale, 1 depuis la case finale), le numéro de la dernière recherche ayant atteint chaque case.
+	 * Pour l'algorithme A*, le côté 1 indique les cases explorées.
+	 */
+	final private int[][] marques;
+
+	/**
+	 * Pour chaque côté, la distance de chaque case atteinte à la case de départ du côté (valable uniquement pour une case marquée).
+	 */
+	final private int[][] distances;
+
+	/**
+	 * Pour chaque côté, la case précédant chaque case atteinte (valable uniquement pour une case marquée).
+	 */
+	final private int[][] precedentes;
+
+	/**
+	 * Pour chaque côté, la file du parcours en largeur.
+	 */
+	final private int[][] files;
+
+	/**
+	 * Pour chaque côté, l'indice du début et de la fin de la file.
+	 */
+	final private int[] debuts,fins;
+
+	/**
+	 * La pile des cases de l'estimation courante et la liste des cases de l'estimation suivante de l'algorithme A* (agrandies si nécessaire).
+	 */
+	private int[] pile,suivantes;
+
+	/**
+	 * Le numéro de la recherche en cours.
+	 */
+	private int numRecherche;
+
+	/**
+	 * Le nombre de cases explorées par la dernière recherche.
+	 */
+	private int nbCasesExplorees;
+
+	/**
+	 * Constructeur permettant de créer les tableaux des recherches sur un plateau.
+	 * @param nbCases Le nombre de cases du plateau.
+	 */
+	RechercheChemin(final int nbCases) {
+		this.nbCases=nbCases;
+		marques=new int[2][nbCases];
+		distances=new int[2][nbCases];
+		precedentes=new int[2][nbCases];
+		files=new int[2][nbCases];
+		debuts=new int[2];
+		fins=new int[2];
+		pile=new int[16];
+		suivantes=new int[16];
+	}
+
+	/**
+	 * Méthode retournant le nombre de cases explorées par la dernière recherche.
+	 * @return Le nombre de cases explorées.
+	 */
+	int getNbCasesExplorees() {
+		return nbCasesExplorees;
+	}
+
+	/**
+	 * Méthode commençant une nouvelle recherche : aucune case n'est plus marquée.
+	 * Les marques ne sont remises à zéro que lorsque le numéro de recherche atteint sa valeur maximale.
+	 */
+	private void commencerRecherche() {
+		if (numRecherche==Integer.MAX_VALUE) {
+			Arrays.fill(marques[0],0);
+			Arrays.fill(marques[1],0);
+			numRecherche=0;
+		}
+		numRecherche++;
+		nbCasesExplorees=0;
+	}
+
+	/**
+	 * Méthode calculant un plus court chemin par deux parcours en largeur simultanés, l'un depuis la case initiale et l'autre depuis la case finale.
+	 * À chaque étape, un niveau complet du front le plus petit est étendu ; la recherche s'arrête à la fin du premier niveau
+	 * au cours duquel les deux parcours se rejoignent (la meilleure jonction de ce niveau donne un plus court chemin).
+	 * Le nombre de cases explorées est ensuite donné par {@link #getNbCasesExplorees()}.
+	 * @param caseInitiale Le numéro de la case initiale.
+	 * @param caseFinale Le numéro de la case finale.
+	 * @param grille Les pièces du plateau indexées par numéro de case.
+	 * @param nbColonnes Le nombre de colonnes du plateau.
+	 * @param chemin La liste (vide) recevant un plus court chemin de pièces entre la case initiale et la case finale.
+	 * @return true si et seulement si un chemin existe.
+	 */
+	boolean calculerBidirectionnelle(final int caseInitiale,final int caseFinale,final Piece[] grille,final int nbColonnes,final ArrayList<Piece> chemin) {
+		commencerRecherche();
+		final int marque=numRecherche;
+		marques[0][caseInitiale]=marque;
+		marques[1][caseFinale]=marque;
+		distances[0][caseInitiale]=0;
+		distances[1][caseFinale]=0;
+		debuts[0]=debuts[1]=0;
+		fins[0]=fins[1]=1;
+		files[0][0]=caseInitiale;
+		files[1][0]=caseFinale;
+		int nbExplorees=0;
+		int meilleureLongueur=(caseInitiale==caseFinale)?0:Integer.MAX_VALUE;
+		int jonctionInitiale=caseInitiale;
+		int jonctionFinale=caseFinale;
+		while ((meilleureLongueur==Integer.MAX_VALUE)&&(debuts[0]<fins[0])&&(debuts[1]<fins[1])) {
+			final int cote=(fins[0]-debuts[0]<=fins[1]-debuts[1])?0:1;
+			final int[] atteintes=marques[cote];
+			final int[] atteintesAutre=marques[1-cote];
+			final int[] distance=distances[cote];
+			final int[] distanceAutre=distances[1-cote];
+			final int[] file=files[cote];
+			final int niveau=distance[file[debuts[cote]]];
+			while ((debuts[cote]<fins[cote])&&(distance[file[debuts[cote]]]==niveau)) {
+				final int numCase=file[debuts[cote]++];
+				nbExplorees++;
+				for (Direction direction : DIRECTIONS) {
+					final int voisine=Piece.caseVoisineAccessible(grille,numCase,direction,nbColonnes);
+					if (voisine==-1)
+						continue;
+					if (atteintes[voisine]!=marque) {
+						atteintes[voisine]=marque;
+						distance[voisine]=niveau+1;
+						precedentes[cote][voisine]=numCase;
+						file[fins[cote]++]=voisine;
+					}
+					if ((atteintesAutre[voisine]==marque)&&(niveau+1+distanceAutre[voisine]<meilleureLongueur)) {
+						meilleureLongueur=niveau+1+distanceAutre[voisine];
+						jonctionInitiale=(cote==0)?numCase:voisine;
+						jonctionFinale=(cote==0)?voisine:numCase;
+					}
+				}
+			}
+		}
+		nbCasesExplorees=nbExplorees;
+		if (meilleureLongueur==Integer.MAX_VALUE)
+			return false;
+		chemin.ensureCapacity(meilleureLongueur+1);
+		for (int numCase=jonctionInitiale;numCase!=caseInitiale;numCase=precedentes[0][numCase])
+			chemin.add(grille[numCase]);
+		chemin.add(grille[caseInitiale]);
+		Collections.reverse(chemin);
+		if (jonctionFinale!=jonctionInitiale) {
+			int numCase=jonctionFinale;
+			for (;numCase!=caseFinale;numCase=precedentes[1][numCase])
+				chemin.add(grille[numCase]);
+			chemin.add(grille[caseFinale]);
+		}
+		return true;
+	}
+
+	/**
+	 * Méthode calculant un plus court chemin avec l'algorithme A* guidé par la distance de Manhattan jusqu'à la case finale.
+	 * Tous les déplacements ayant un coût de 1, l'estimation f=g+h d'une case voisine vaut f ou f+2 : les cases sont donc conservées
+	 * dans une pile pour l'estimation courante (les cases les plus profondes sont ainsi explorées en premier) et
+	 * dans une liste pour l'estimation suivante, sans file de priorité.
+	 * Le nombre de cases explorées est ensuite donné par {@link #getNbCasesExplorees()}.
+	 * @param caseInitiale Le numéro de la case initiale.
+	 * @param caseFinale Le numéro de la case finale.
+	 * @param grille Les pièces du plateau indexées par numéro de case.
+	 * @param nbColonnes Le nombre de colonnes du plateau.
+	 * @param chemin La liste (vide) recevant un plus court chemin de pièces entre la case initiale et la case finale.
+	 * @return true si et seulement si un chemin existe.
+	 */
+	boolean calculerAEtoile(final int caseInitiale,final int caseFinale,final Piece[] grille,final int nbColonnes,final ArrayList<Piece> chemin) {
+		commencerRecherche();
+		final int marque=numRecherche;
+		final int ligneFinale=caseFinale/nbColonnes;
+		final int colonneFinale=caseFinale%nbColonnes;
+		final int[] atteintes=marques[0];
+		final int[] explorees=marques[1];
+		final int[] longueurs=distances[0];
+		final int[] precedentes=this.precedentes[0];
+		int[] pile=this.pile;
+		int[] suivantes=this.suivantes;
+		int taillePile=0;
+		int nbSuivantes=0;
+		atteintes[caseInitiale]=marque;
+		longueurs[caseInitiale]=0;
+		pile[taillePile++]=caseInitiale;
+		int estimation=Math.abs(caseInitiale/nbColonnes-ligneFinale)+Math.abs(caseInitiale%nbColonnes-colonneFinale);
+		int nbExplorees=0;
+		boolean trouve=false;
+		while (!trouve) {
+			if (taillePile==0) {
+				if (nbSuivantes==0)
+					break;
+				final int[] echange=pile;
+				pile=suivantes;
+				suivantes=echange;
+				taillePile=nbSuivantes;
+				nbSuivantes=0;
+				estimation+=2;
+				continue;
+			}
+			final int numCase=pile[--taillePile];
+			if (explorees[numCase]==marque)
+				continue;
+			if (longueurs[numCase]+Math.abs(numCase/nbColonnes-ligneFinale)+Math.abs(numCase%nbColonnes-colonneFinale)!=estimation)
+				continue;
+			explorees[numCase]=marque;
+			nbExplorees++;
+			if (numCase==caseFinale) {
+				trouve=true;
+				break;
+			}
+			for (Direction direction : DIRECTIONS) {
+				final int voisine=Piece.caseVoisineAccessible(grille,numCase,direction,nbColonnes);
+				if ((voisine==-1)||(explorees[voisine]==marque)||((atteintes[voisine]==marque)&&(longueurs[voisine]<=longueurs[numCase]+1)))
+					continue;
+				atteintes[voisine]=marque;
+				longueurs[voisine]=longueurs[numCase]+1;
+				precedentes[voisine]=numCase;
+				final int estimationVoisine=longueurs[voisine]+Math.abs(voisine/nbColonnes-ligneFinale)+Math.abs(voisine%nbColonnes-colonneFinale);
+				if (estimationVoisine==estimation) {
+					if (taillePile==pile.length)
+						pile=Arrays.copyOf(pile,2*pile.length);
+					pile[taillePile++]=voisine;
+				}
+				else {
+					if (nbSuivantes==suivantes.length)
+						suivantes=Arrays.copyOf(suivantes,2*suivantes.length);
+					suivantes[nbSuivantes++]=voisine;
+				}
+			}
+		}
+		this.pile=pile;
+		this.suivantes=suivantes;
+		nbCasesExplorees=nbExplorees;
+		if (!trouve)
+			return false;
+		chemin.ensureCapacity(longueurs[caseFinale]+1);
+		for (int numCase=caseFinale;numCase!=caseInitiale;numCase=precedentes[numCase])
+			chemin.add(grille[numCase]);
+		chemin.add(grille[caseInitiale]);
+		Collections.reverse(chemin);
+		return true;
+	}
+}
@@ -0,0 +1,238 @@
+package dedale.elements;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Une instance de cette classe correspond à un stock de noeuds d'un arbre de recherche conservé hors du tas
+ * (mémoire directe, voir {@link ByteBuffer#allocateDirect(int)}) : le ramasse-miettes n'a ainsi jamais à parcourir l'arbre,
+ * quelle que soit sa taille.
+ * <br>
+ * Un noeud est un enregistrement de {@value #TAILLE_NOEUD} octets : l'indice de son premier enfant (-1 s'il n'a pas été développé),
+ * le coup qui y mène (codé comme dans {@link EtatRecherche}, c'est-à-dire la modification du plateau depuis le noeud parent),
+ * sa dernière valeur et son nombre de visites. Les enfants d'un noeud sont alloués ensemble et sont donc contigus.
+ * <br>
+ * La mémoire est réservée par blocs de {@value #NB_NOEUDS_PAR_BLOC} noeuds, à la demande, dans la limite d'un nombre maximal de noeuds.
+ * Les noeuds sont alloués comme dans une arène (par incrément d'un compteur, y compris depuis plusieurs threads) et libérés tous ensemble
+ * par {@link #close()}, qui rend immédiatement la mémoire des blocs au système sans attendre le ramasse-miettes
+ * (lorsque la JVM ne le permet pas, les blocs sont seulement abandonnés et libérés par le ramasse-miettes).
+ * Un stock est donc créé pour une recherche et fermé à la fin de celle-ci ; il ne doit plus être utilisé une fois fermé.
+ * Deux threads ne doivent pas modifier un même noeud simultanément.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+final class StockNoeuds implements AutoCloseable {
+	/**
+	 * La taille en octets d'un noeud, la valeur de cette constante est {@value}.
+	 */
+	static final int TAILLE_NOEUD=16;
+
+	/**
+	 * Le nombre de noeuds d'un bloc de mémoire, la valeur de cette constante est {@value}.
+	 */
+	static final int NB_NOEUDS_PAR_BLOC=1<<16;
+
+	/**
+	 * Les positions des champs d'un noeud dans son enregistrement.
+	 */
+	static final private int PREMIER_ENFANT=0,COUP=4,VALEUR=8,NB_VISITES=12;
+
+	/**
+	 * La méthode libérant immédiatement la mémoire d'un bloc (sun.misc.Unsafe.invokeCleaner), null si la JVM ne la fournit pas.
+	 */
+	static final private MethodHandle LIBERATION=trouverLiberation();
+
+	/**
+	 * Les blocs de mémoire (null tant qu'ils n'ont pas été réservés).
+	 */
+	final private AtomicReferenceArray<ByteBuffer> blocs;
+
+	/**
+	 * Le nombre de noeuds alloués depuis la dernière réinitialisation.
+	 */
+	final private AtomicInteger nbNoeuds=new AtomicInteger();
+
+	/**
+	 * Le nombre maximal de noeuds.
+	 */
+	final private int nbNoeudsMax;
+
+	/**
+	 * Constructeur permettant de créer un stock vide (aucune mémoire n'est réservée).
+	 * @param nbNoeudsMax Le nombre maximal de noeuds (strictement positif).
+	 */
+	StockNoeuds(final int nbNoeudsMax) {
+		if (nbNoeudsMax<=0)
+			throw new IllegalArgumentException("Le nombre maximal de noeuds doit être strictement positif !");
+		this.nbNoeudsMax=nbNoeudsMax;
+		blocs=new AtomicReferenceArray<ByteBuffer>((nbNoeudsMax+NB_NOEUDS_PAR_BLOC-1)/NB_NOEUDS_PAR_BLOC);
+	}
+
+	/**
+	 * Méthode allouant des noeuds contigus, sans enfant, sans visite et de valeur nulle.
+	 * @param coups Les coups menant aux noeuds (un noeud par coup).
+	 * @param nb Le nombre de noeuds à allouer (les nb premiers coups sont utilisés).
+	 * @return L'indice du premier noeud alloué ou -1 si le stock est plein.
+	 */
+	int allouer(final int[] coups,final int nb) {
+		final int premier=nbNoeuds.getAndAdd(nb);
+		if ((premier<0)||(premier>nbNoeudsMax-nb)) {
+			nbNoeuds.getAndAdd(-nb);
+			return -1;
+		}
+		for (int i=0;i<nb;i++) {
+			final int noeud=premier+i;
+			final ByteBuffer bloc=bloc(noeud);
+			final int position=position(noeud);
+			bloc.putInt(position+PREMIER_ENFANT,-1);
+			bloc.putInt(position+COUP,coups[i]);
+			bloc.putInt(position+VALEUR,0);
+			bloc.putInt(position+NB_VISITES,0);
+		}
+		return premier;
+	}
+
+	/**
+	 * Méthode libérant tous les noeuds et rendant la mémoire des blocs réservés au système.
+	 */
+	@Override
+	public void close() {
+		nbNoeuds.set(nbNoeudsMax);
+		for (int numBloc=0;numBloc<blocs.length();numBloc++) {
+			final ByteBuffer bloc=blocs.getAndSet(numBloc,null);
+			if ((bloc!=null)&&(LIBERATION!=null))
+				try {
+					LIBERATION.invokeExact(bloc);
+				} catch (Throwable e) {
+					throw new IllegalStateException("La mémoire d'un bloc n'a pas pu être libérée !",e);
+				}
+		}
+	}
+
+	/**
+	 * Méthode retournant l'indice du premier enfant d'un noeud.
+	 * @param noeud L'indice du noeud.
+	 * @return L'indice du premier enfant ou -1 si le noeud n'a pas été développé.
+	 */
+	int getPremierEnfant(final int noeud) {
+		return bloc(noeud).getInt(position(noeud)+PREMIER_ENFANT);
+	}
+
+	/**
+	 * Méthode modifiant l'indice du premier enfant d'un noeud.
+	 * @param noeud L'indice du noeud.
+	 * @param premierEnfant L'indice du premier enfant.
+	 */
+	void setPremierEnfant(final int noeud,final int premierEnfant) {
+		bloc(noeud).putInt(position(noeud)+PREMIER_ENFANT,premierEnfant);
+	}
+
+	/**
+	 * Méthode retournant le coup menant à un noeud.
+	 * @param noeud L'indice du noeud.
+	 * @return Le coup codé.
+	 */
+	int getCoup(final int noeud) {
+		return bloc(noeud).getInt(position(noeud)+COUP);
+	}
+
+	/**
+	 * Méthode retournant la dernière valeur d'un noeud.
+	 * @param noeud L'indice du noeud.
+	 * @return La valeur du noeud.
+	 */
+	int getValeur(final int noeud) {
+		return bloc(noeud).getInt(position(noeud)+VALEUR);
+	}
+
+	/**
+	 * Méthode retournant le nombre de visites d'un noeud.
+	 * @param noeud L'indice du noeud.
+	 * @return Le nombre de visites.
+	 */
+	int getNbVisites(final int noeud) {
+		return bloc(noeud).getInt(position(noeud)+NB_VISITES);
+	}
+
+	/**
+	 * Méthode enregistrant une visite d'un noeud et la valeur obtenue.
+	 * @param noeud L'indice du noeud.
+	 * @param valeur La valeur du noeud.
+	 */
+	void visiter(final int noeud,final int valeur) {
+		final ByteBuffer bloc=bloc(noeud);
+		final int position=position(noeud);
+		bloc.putInt(position+VALEUR,valeur);
+		bloc.putInt(position+NB_VISITES,bloc.getInt(position+NB_VISITES)+1);
+	}
+
+	/**
+	 * Méthode retournant le nombre de noeuds alloués depuis la dernière réinitialisation.
+	 * @return Le nombre de noeuds.
+	 */
+	int getNbNoeuds() {
+		return Math.min(nbNoeuds.get(),nbNoeudsMax);
+	}
+
+	/**
+	 * Méthode retournant le nombre d'octets de mémoire directe réservés.
+	 * @return Le nombre d'octets réservés.
+	 */
+	long getNbOctetsReserves() {
+		long nbOctets=0;
+		for (int i=0;i<blocs.length();i++)
+			if (blocs.get(i)!=null)
+				nbOctets+=blocs.get(i).capacity();
+		return nbOctets;
+	}
+
+	/**
+	 * Méthode retournant le bloc contenant un noeud, en le réservant si nécessaire.
+	 * @param noeud L'indice du noeud.
+	 * @return Le bloc du noeud.
+	 */
+	private ByteBuffer bloc(final int noeud) {
+		final int numBloc=noeud/NB_NOEUDS_PAR_BLOC;
+		ByteBuffer bloc=blocs.get(numBloc);
+		if (bloc==null)
+			synchronized (blocs) {
+				bloc=blocs.get(numBloc);
+				if (bloc==null) {
+					bloc=ByteBuffer.allocateDirect(NB_NOEUDS_PAR_BLOC*TAILLE_NOEUD).order(ByteOrder.nativeOrder());
+					blocs.set(numBloc,bloc);
+				}
+			}
+		return bloc;
+	}
+
+	/**
+	 * Méthode recherchant la méthode de libération immédiate de la mémoire d'un bloc (sun.misc.Unsafe.invokeCleaner, module jdk.unsupported).
+	 * @return La méthode, de type (ByteBuffer)void, ou null si elle n'est pas disponible.
+	 */
+	static private MethodHandle trouverLiberation() {
+		try {
+			final Class<?> classe=Class.forName("sun.misc.Unsafe");
+			final Field instance=classe.getDeclaredField("theUnsafe");
+			instance.setAccessible(true);
+			return MethodHandles.lookup().findVirtual(classe,"invokeCleaner",MethodType.methodType(void.class,ByteBuffer.class)).bindTo(instance.get(null));
+		} catch (ReflectiveOperationException|RuntimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Méthode retournant la position d'un noeud dans son bloc.
+	 * @param noeud L'indice du noeud.
+	 * @return La position en octets.
+	 */
+	static private int position(final int noeud) {
+		return (noeud%NB_NOEUDS_PAR_BLOC)*TAILLE_NOEUD;
+	}
+}
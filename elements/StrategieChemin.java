@@ -0,0 +1,50 @@
+package dedale.elements;
+
+import java.util.ArrayList;
+
+/**
+ * Une énumération correspondant aux différentes stratégies de calcul d'un chemin entre deux positions
+ * (voir {@link Piece#calculerChemin(PositionPlateau, PositionPlateau, ArrayList, StrategieChemin, int[])}).
+ * Toutes les stratégies retournent un plus court chemin mais, lorsque plusieurs plus courts chemins existent, pas nécessairement le même.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public enum StrategieChemin {
+	/**
+	 * Parcours en largeur depuis la position finale : toutes les cases accessibles depuis la position finale sont explorées.
+	 */
+	LARGEUR,
+	/**
+	 * Parcours en largeur simultanés depuis les deux positions, le plus petit front étant étendu en premier,
+	 * jusqu'à ce qu'ils se rejoignent.
+	 */
+	BIDIRECTIONNELLE,
+	/**
+	 * Algorithme A* guidé par la distance de Manhattan (le plateau n'est pas torique pour les déplacements,
+	 * cette heuristique ne surestime donc jamais la longueur d'un chemin).
+	 */
+	A_ETOILE,
+	/**
+	 * Choix de la stratégie selon le nombre de cases du plateau (voir {@link #choisir(int)}).
+	 */
+	ADAPTATIVE;
+
+	/**
+	 * Le nombre de cases à partir duquel la stratégie adaptative utilise l'algorithme A*, la valeur de cette constante est {@value}.
+	 * En deçà, le parcours en largeur (dont le résultat peut être conservé en cache) est aussi rapide.
+	 */
+	static final public int NB_CASES_MIN_A_ETOILE=1024;
+
+	/**
+	 * Méthode retournant la stratégie effectivement utilisée pour un plateau d'un nombre de cases donné.
+	 * @param nbCases Le nombre de cases du plateau.
+	 * @return La stratégie elle-même si elle n'est pas adaptative, sinon {@link #LARGEUR} pour un plateau de moins de
+	 * {@link #NB_CASES_MIN_A_ETOILE} cases et {@link #A_ETOILE} au-delà.
+	 */
+	public StrategieChemin choisir(final int nbCases) {
+		if (this!=ADAPTATIVE)
+			return this;
+		return (nbCases<NB_CASES_MIN_A_ETOILE)?LARGEUR:A_ETOILE;
+	}
+}
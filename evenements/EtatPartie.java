@@ -0,0 +1,144 @@
+package dedale.evenements;
+
+import dedale.elements.ElementsJeu;
+import dedale.elements.Piece;
+import dedale.elements.PlateauPersistant;
+
+/**
+ * Événement correspondant à un instantané complet de l'état d'une partie.
+ * Il est publié au début de la partie puis à chaque changement de tour afin que les abonnés arrivés en cours de partie
+ * (ou ayant perdu des événements) puissent reconstruire l'état du jeu.
+ * Les cases sont numérotées de 0 à nbLignes*nbColonnes-1 (numéro de ligne*nombre de colonnes+numéro de colonne).
+ * Le plateau n'est pas copié : l'instantané conserve la version persistante courante (voir {@link ElementsJeu#getInstantanePlateau()}).
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public class EtatPartie extends EvenementJeu {
+	/**
+	 * Le nombre de lignes du plateau.
+	 */
+	final private int nbLignes;
+
+	/**
+	 * Le nombre de colonnes du plateau.
+	 */
+	final private int nbColonnes;
+
+	/**
+	 * La version (immuable et partagée) du plateau : les masques des sorties des pièces et de la pièce hors plateau.
+	 */
+	final private PlateauPersistant plateau;
+
+	/**
+	 * Les numéros de case des objets par identifiant (-1 pour un objet récupéré).
+	 */
+	final private int[] casesObjets;
+
+	/**
+	 * Les numéros de case des joueurs par identifiant.
+	 */
+	final private int[] casesJoueurs;
+
+	/**
+	 * Constructeur permettant de créer un instantané des éléments du jeu.
+	 * @param idJoueur L'identifiant du joueur devant jouer.
+	 * @param elementsJeu Les éléments du jeu.
+	 */
+	public EtatPartie(final int idJoueur,final ElementsJeu elementsJeu) {
+		super(idJoueur);
+		nbLignes=elementsJeu.getConfiguration().getNbLignes();
+		nbColonnes=elementsJeu.getConfiguration().getNbColonnes();
+		plateau=elementsJeu.getInstantanePlateau();
+		casesObjets=new int[elementsJeu.getObjets().size()];
+		for (int idObjet=0;idObjet<casesObjets.length;idObjet++)
+			casesObjets[idObjet]=elementsJeu.getCaseObjet(idObjet);
+		casesJoueurs=new int[elementsJeu.getJoueurs().size()];
+		for (int i=0;i<casesJoueurs.length;i++)
+			casesJoueurs[i]=elementsJeu.getCaseJoueur(i);
+	}
+
+	/**
+	 * Méthode retournant le nombre de lignes du plateau.
+	 * @return Le nombre de lignes.
+	 */
+	public int getNbLignes() {
+		return nbLignes;
+	}
+
+	/**
+	 * Méthode retournant le nombre de colonnes du plateau.
+	 * @return Le nombre de colonnes.
+	 */
+	public int getNbColonnes() {
+		return nbColonnes;
+	}
+
+	/**
+	 * Méthode retournant le masque des sorties de la pièce d'une case.
+	 * @param numCase Le numéro de la case.
+	 * @return Le masque des sorties (voir {@link Piece#getMasqueSorties()}).
+	 */
+	public int getMasqueSorties(final int numCase) {
+		return plateau.getMasque(numCase);
+	}
+
+	/**
+	 * Méthode retournant le masque des sorties de la pièce hors plateau.
+	 * @return Le masque des sorties (voir {@link Piece#getMasqueSorties()}).
+	 */
+	public int getMasqueSortiesHorsPlateau() {
+		return plateau.getMasqueHorsPlateau();
+	}
+
+	/**
+	 * Méthode retournant la version du plateau de l'instantané (partagée avec les éléments du jeu, sans copie).
+	 * @return La version du plateau.
+	 */
+	public PlateauPersistant getPlateau() {
+		return plateau;
+	}
+
+	/**
+	 * Méthode retournant le nombre d'objets de la partie.
+	 * @return Le nombre d'objets.
+	 */
+	public int getNbObjets() {
+		return casesObjets.length;
+	}
+
+	/**
+	 * Méthode retournant le numéro de la case d'un objet.
+	 * @param idObjet L'identifiant de l'objet.
+	 * @return Le numéro de la case de l'objet ou -1 si l'objet a été récupéré.
+	 */
+	public int getCaseObjet(final int idObjet) {
+		return casesObjets[idObjet];
+	}
+
+	/**
+	 * Méthode retournant le nombre de joueurs de la partie.
+	 * @return Le nombre de joueurs.
+	 */
+	public int getNbJoueurs() {
+		return casesJoueurs.length;
+	}
+
+	/**
+	 * Méthode retournant le numéro de la case d'un joueur.
+	 * @param idJoueur L'identifiant du joueur.
+	 * @return Le numéro de la case du joueur.
+	 */
+	public int getCaseJoueur(final int idJoueur) {
+		return casesJoueurs[idJoueur];
+	}
+
+	/**
+	 * Retourne une représentation textuelle de l'événement.
+	 */
+	@Override
+	public String toString() {
+		return "EtatPartie [idJoueur=" + getIdJoueur() + ", nbLignes=" + nbLignes + ", nbColonnes=" + nbColonnes
+				+ ", nbObjets=" + casesObjets.length + ", nbJoueurs=" + casesJoueurs.length + "]";
+	}
+}
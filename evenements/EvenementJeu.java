@@ -0,0 +1,31 @@
+package dedale.evenements;
+
+/**
+ * Cette classe correspond aux événements d'une partie, c'est-à-dire aux changements de l'état du jeu.
+ * Un événement est immuable : il peut être transmis sans copie à plusieurs abonnés s'exécutant dans d'autres threads.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+abstract public class EvenementJeu {
+	/**
+	 * L'identifiant du joueur à l'origine de l'événement.
+	 */
+	final private int idJoueur;
+
+	/**
+	 * Constructeur permettant de créer un événement à partir de l'identifiant du joueur à l'origine de l'événement.
+	 * @param idJoueur L'identifiant du joueur.
+	 */
+	protected EvenementJeu(final int idJoueur) {
+		this.idJoueur=idJoueur;
+	}
+
+	/**
+	 * Méthode retournant l'identifiant du joueur à l'origine de l'événement.
+	 * @return L'identifiant du joueur.
+	 */
+	public int getIdJoueur() {
+		return idJoueur;
+	}
+}
@@ -0,0 +1,130 @@
+package dedale.evenements;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Une instance de cette classe correspond au flux des événements d'une partie.
+ * Les événements sont publiés par le gestionnaire de jeu et transmis de façon asynchrone à chaque abonné
+ * (voir {@link java.util.concurrent.Flow}) : les abonnés s'exécutent dans des threads dédiés et ne ralentissent jamais le thread du jeu.
+ * Ces threads sont partagés par tous les flux (ils sont créés à la demande et s'arrêtent après une minute d'inactivité) :
+ * un flux ne réserve donc aucun thread et sa fermeture (voir {@link #close()}), à la fin de la partie, suffit à libérer ses ressources.
+ * <br>
+ * Chaque abonné dispose d'un tampon de taille bornée ({@link #TAILLE_TAMPON_DEFAUT} par défaut). La publication ne bloque jamais :
+ * lorsque le tampon d'un abonné trop lent est plein, l'événement est abandonné pour cet abonné uniquement
+ * et comptabilisé (voir {@link #getNbEvenementsAbandonnes()}). Un abonné qui ne peut se permettre de perdre des événements
+ * doit donc traiter rapidement chaque événement (par exemple en le copiant dans sa propre file).
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public class FluxEvenementsJeu implements AutoCloseable {
+	/**
+	 * La taille par défaut du tampon de chaque abonné, la valeur de cette constante est {@value}.
+	 */
+	static final public int TAILLE_TAMPON_DEFAUT=256;
+
+	/**
+	 * Les threads (démons) dans lesquels s'exécutent les abonnés de tous les flux.
+	 */
+	static final private ExecutorService EXECUTEUR=Executors.newCachedThreadPool(tache -> {
+		final Thread thread=new Thread(tache,"dedale-evenements");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * L'éditeur transmettant les événements aux abonnés.
+	 */
+	final private SubmissionPublisher<EvenementJeu> editeur;
+
+	/**
+	 * Le nombre d'événements abandonnés (un événement abandonné pour n abonnés compte n fois).
+	 */
+	final private LongAdder nbEvenementsAbandonnes=new LongAdder();
+
+	/**
+	 * Constructeur permettant de créer un flux dont le tampon de chaque abonné a une taille donnée.
+	 * Dans le cas où la taille n'est pas strictement positive, une Exception de type IllegalArgumentExcpetion est levée.
+	 * @param tailleTampon La taille du tampon de chaque abonné.
+	 */
+	public FluxEvenementsJeu(final int tailleTampon) {
+		if (tailleTampon<=0)
+			throw new IllegalArgumentException("La taille du tampon doit être strictement positive !");
+		editeur=new SubmissionPublisher<EvenementJeu>(EXECUTEUR,tailleTampon);
+	}
+
+	/**
+	 * Constructeur permettant de créer un flux avec la taille de tampon par défaut.
+	 */
+	public FluxEvenementsJeu() {
+		this(TAILLE_TAMPON_DEFAUT);
+	}
+
+	/**
+	 * Méthode permettant d'abonner un abonné au flux. L'abonné reçoit les événements publiés après son abonnement
+	 * en fonction de ses demandes (voir {@link Flow.Subscription#request(long)}).
+	 * @param abonne L'abonné.
+	 */
+	public void abonner(final Flow.Subscriber<? super EvenementJeu> abonne) {
+		editeur.subscribe(abonne);
+	}
+
+	/**
+	 * Méthode permettant d'abonner une simple action au flux : elle sera appelée pour chaque événement publié après son abonnement.
+	 * @param action L'action à appeler pour chaque événement.
+	 */
+	public void abonner(final Consumer<? super EvenementJeu> action) {
+		editeur.consume(action);
+	}
+
+	/**
+	 * Méthode publiant un événement auprès de tous les abonnés sans jamais bloquer.
+	 * @param evenement L'événement à publier.
+	 */
+	public void publier(final EvenementJeu evenement) {
+		if (editeur.isClosed())
+			return;
+		editeur.offer(evenement,(abonne,evenementAbandonne) -> {
+			nbEvenementsAbandonnes.increment();
+			return false;
+		});
+	}
+
+	/**
+	 * Méthode retournant le nombre d'abonnés du flux.
+	 * @return Le nombre d'abonnés.
+	 */
+	public int getNbAbonnes() {
+		return editeur.getNumberOfSubscribers();
+	}
+
+	/**
+	 * Méthode retournant le nombre d'événements abandonnés parce que le tampon d'un abonné était plein.
+	 * @return Le nombre d'événements abandonnés.
+	 */
+	public long getNbEvenementsAbandonnes() {
+		return nbEvenementsAbandonnes.sum();
+	}
+
+	/**
+	 * Méthode fermant le flux : les abonnés sont prévenus (voir {@link Flow.Subscriber#onComplete()}) une fois
+	 * les événements de leur tampon traités, et plus aucun événement n'est publié. Les threads partagés ne sont pas arrêtés.
+	 */
+	@Override
+	public void close() {
+		editeur.close();
+	}
+
+	/**
+	 * Méthode indiquant si le flux est fermé.
+	 * @return true si et seulement si le flux a été fermé.
+	 */
+	public boolean estFerme() {
+		return editeur.isClosed();
+	}
+}
@@ -0,0 +1,76 @@
+package dedale.evenements;
+
+import dedale.elements.PositionPlateau;
+
+/**
+ * Événement correspondant au déplacement d'un joueur d'une case à une autre (le long d'un chemin).
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public class JoueurDeplace extends EvenementJeu {
+	/**
+	 * Les numéros de ligne et de colonne de la case quittée par le joueur.
+	 */
+	final private int numLigneDepart,numColonneDepart;
+
+	/**
+	 * Les numéros de ligne et de colonne de la case atteinte par le joueur.
+	 */
+	final private int numLigneArrivee,numColonneArrivee;
+
+	/**
+	 * Constructeur permettant de créer l'événement à partir des positions de départ et d'arrivée du joueur.
+	 * @param idJoueur L'identifiant du joueur déplacé.
+	 * @param depart La position quittée par le joueur.
+	 * @param arrivee La position atteinte par le joueur.
+	 */
+	public JoueurDeplace(final int idJoueur,final PositionPlateau depart,final PositionPlateau arrivee) {
+		super(idJoueur);
+		numLigneDepart=depart.getNumLigne();
+		numColonneDepart=depart.getNumColonne();
+		numLigneArrivee=arrivee.getNumLigne();
+		numColonneArrivee=arrivee.getNumColonne();
+	}
+
+	/**
+	 * Méthode retournant le numéro de la ligne de la case quittée.
+	 * @return Le numéro de la ligne de départ.
+	 */
+	public int getNumLigneDepart() {
+		return numLigneDepart;
+	}
+
+	/**
+	 * Méthode retournant le numéro de la colonne de la case quittée.
+	 * @return Le numéro de la colonne de départ.
+	 */
+	public int getNumColonneDepart() {
+		return numColonneDepart;
+	}
+
+	/**
+	 * Méthode retournant le numéro de la ligne de la case atteinte.
+	 * @return Le numéro de la ligne d'arrivée.
+	 */
+	public int getNumLigneArrivee() {
+		return numLigneArrivee;
+	}
+
+	/**
+	 * Méthode retournant le numéro de la colonne de la case atteinte.
+	 * @return Le numéro de la colonne d'arrivée.
+	 */
+	public int getNumColonneArrivee() {
+		return numColonneArrivee;
+	}
+
+	/**
+	 * Retourne une représentation textuelle de l'événement.
+	 */
+	@Override
+	public String toString() {
+		return "JoueurDeplace [idJoueur=" + getIdJoueur() + ", depart=(" + numLigneDepart + "," + numColonneDepart
+				+ "), arrivee=(" + numLigneArrivee + "," + numColonneArrivee + ")]";
+	}
+}
@@ -0,0 +1,57 @@
+package dedale.evenements;
+
+import dedale.elements.Direction;
+
+/**
+ * Événement correspondant au décalage d'une ligne ou d'une colonne par l'insertion de la pièce hors plateau.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public class LigneDecalee extends EvenementJeu {
+	/**
+	 * La direction du décalage.
+	 */
+	final private Direction direction;
+
+	/**
+	 * Le numéro de la ligne ou de la colonne décalée.
+	 */
+	final private int numLigneOuColonne;
+
+	/**
+	 * Constructeur permettant de créer l'événement à partir de la direction et du numéro de la ligne ou de la colonne décalée.
+	 * @param idJoueur L'identifiant du joueur ayant réalisé le décalage.
+	 * @param direction La direction du décalage.
+	 * @param numLigneOuColonne Le numéro de la ligne ou de la colonne décalée.
+	 */
+	public LigneDecalee(final int idJoueur,final Direction direction,final int numLigneOuColonne) {
+		super(idJoueur);
+		this.direction=direction;
+		this.numLigneOuColonne=numLigneOuColonne;
+	}
+
+	/**
+	 * Méthode retournant la direction du décalage.
+	 * @return La direction du décalage.
+	 */
+	public Direction getDirection() {
+		return direction;
+	}
+
+	/**
+	 * Méthode retournant le numéro de la ligne ou de la colonne décalée.
+	 * @return Le numéro de la ligne ou de la colonne.
+	 */
+	public int getNumLigneOuColonne() {
+		return numLigneOuColonne;
+	}
+
+	/**
+	 * Retourne une représentation textuelle de l'événement.
+	 */
+	@Override
+	public String toString() {
+		return "LigneDecalee [idJoueur=" + getIdJoueur() + ", direction=" + direction + ", numLigneOuColonne=" + numLigneOuColonne + "]";
+	}
+}
@@ -0,0 +1,40 @@
+package dedale.evenements;
+
+/**
+ * Événement correspondant à la récupération d'un objet par un joueur.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public class ObjetRecupere extends EvenementJeu {
+	/**
+	 * L'identifiant de l'objet récupéré.
+	 */
+	final private int idObjet;
+
+	/**
+	 * Constructeur permettant de créer l'événement à partir de l'identifiant de l'objet récupéré.
+	 * @param idJoueur L'identifiant du joueur ayant récupéré l'objet.
+	 * @param idObjet L'identifiant de l'objet récupéré.
+	 */
+	public ObjetRecupere(final int idJoueur,final int idObjet) {
+		super(idJoueur);
+		this.idObjet=idObjet;
+	}
+
+	/**
+	 * Méthode retournant l'identifiant de l'objet récupéré.
+	 * @return L'identifiant de l'objet.
+	 */
+	public int getIdObjet() {
+		return idObjet;
+	}
+
+	/**
+	 * Retourne une représentation textuelle de l'événement.
+	 */
+	@Override
+	public String toString() {
+		return "ObjetRecupere [idJoueur=" + getIdJoueur() + ", idObjet=" + idObjet + "]";
+	}
+}
@@ -0,0 +1,25 @@
+package dedale.evenements;
+
+/**
+ * Événement correspondant à la fin de la partie : le joueur à l'origine de l'événement a récupéré tous ses objets.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public class PartieGagnee extends EvenementJeu {
+	/**
+	 * Constructeur permettant de créer l'événement à partir de l'identifiant du joueur gagnant.
+	 * @param idJoueur L'identifiant du joueur gagnant.
+	 */
+	public PartieGagnee(final int idJoueur) {
+		super(idJoueur);
+	}
+
+	/**
+	 * Retourne une représentation textuelle de l'événement.
+	 */
+	@Override
+	public String toString() {
+		return "PartieGagnee [idJoueur=" + getIdJoueur() + "]";
+	}
+}
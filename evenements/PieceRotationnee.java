@@ -0,0 +1,57 @@
+package dedale.evenements;
+
+import dedale.elements.Direction;
+import dedale.elements.Piece;
+
+/**
+ * Événement correspondant à la rotation de la pièce hors plateau.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public class PieceRotationnee extends EvenementJeu {
+	/**
+	 * Les sorties de la pièce hors plateau après la rotation (dans l'ordre haut, droite, bas et gauche).
+	 */
+	final private boolean sortieHaut,sortieDroite,sortieBas,sortieGauche;
+
+	/**
+	 * Constructeur permettant de créer l'événement à partir de la pièce hors plateau rotationnée.
+	 * @param idJoueur L'identifiant du joueur ayant rotationné la pièce.
+	 * @param pieceHorsPlateau La pièce hors plateau après la rotation.
+	 */
+	public PieceRotationnee(final int idJoueur,final Piece pieceHorsPlateau) {
+		super(idJoueur);
+		sortieHaut=pieceHorsPlateau.getSortie(Direction.HAUT);
+		sortieDroite=pieceHorsPlateau.getSortie(Direction.DROITE);
+		sortieBas=pieceHorsPlateau.getSortie(Direction.BAS);
+		sortieGauche=pieceHorsPlateau.getSortie(Direction.GAUCHE);
+	}
+
+	/**
+	 * Méthode retournant un booléen indiquant si la pièce hors plateau possède une sortie dans une direction après la rotation.
+	 * @param direction La direction de la sortie.
+	 * @return true si la pièce possède une sortie dans cette direction, false sinon.
+	 */
+	public boolean getSortie(final Direction direction) {
+		switch (direction) {
+		case HAUT:
+			return sortieHaut;
+		case DROITE:
+			return sortieDroite;
+		case BAS:
+			return sortieBas;
+		default:
+			return sortieGauche;
+		}
+	}
+
+	/**
+	 * Retourne une représentation textuelle de l'événement.
+	 */
+	@Override
+	public String toString() {
+		return "PieceRotationnee [idJoueur=" + getIdJoueur() + ", sortieHaut=" + sortieHaut + ", sortieDroite=" + sortieDroite
+				+ ", sortieBas=" + sortieBas + ", sortieGauche=" + sortieGauche + "]";
+	}
+}
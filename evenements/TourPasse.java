@@ -0,0 +1,40 @@
+package dedale.evenements;
+
+/**
+ * Événement correspondant au passage du tour d'un joueur au joueur suivant.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public class TourPasse extends EvenementJeu {
+	/**
+	 * L'identifiant du joueur devant maintenant jouer.
+	 */
+	final private int idJoueurSuivant;
+
+	/**
+	 * Constructeur permettant de créer l'événement à partir des identifiants des deux joueurs concernés.
+	 * @param idJoueur L'identifiant du joueur dont le tour est terminé.
+	 * @param idJoueurSuivant L'identifiant du joueur devant maintenant jouer.
+	 */
+	public TourPasse(final int idJoueur,final int idJoueurSuivant) {
+		super(idJoueur);
+		this.idJoueurSuivant=idJoueurSuivant;
+	}
+
+	/**
+	 * Méthode retournant l'identifiant du joueur devant maintenant jouer.
+	 * @return L'identifiant du joueur suivant.
+	 */
+	public int getIdJoueurSuivant() {
+		return idJoueurSuivant;
+	}
+
+	/**
+	 * Retourne une représentation textuelle de l'événement.
+	 */
+	@Override
+	public String toString() {
+		return "TourPasse [idJoueur=" + getIdJoueur() + ", idJoueurSuivant=" + idJoueurSuivant + "]";
+	}
+}
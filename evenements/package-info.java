@@ -0,0 +1,8 @@
+/**
+ * Paquetage contenant les événements typés correspondant aux changements de l'état d'une partie ainsi que le flux
+ * (non bloquant) permettant de les publier auprès d'abonnés (interface graphique, journal, métriques, spectateurs...).
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+package dedale.evenements;
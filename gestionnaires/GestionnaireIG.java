@@ -4,12 +4,21 @@ import java.util.ArrayList;
 
 import dedale.elements.Direction;
 import dedale.elements.ElementsJeu;
+import dedale.elements.Joueur;
+import dedale.elements.Objet;
+import dedale.elements.Piece;
 import dedale.elements.PositionPlateau;
 /**
  * Interface spécifiant les différentes méthodes attendues d'un gestionnaire gérant l'interface graphique.
+ * Les méthodes de notification de changements (signalerXXX) indiquent précisément la partie du jeu modifiée afin que la vue
+ * puisse ne redessiner que les régions concernées. Par défaut, elles réalisent une mise à jour complète de l'affichage
+ * (ou rien lorsque la mise à jour est déjà réalisée par une autre méthode appelée par le gestionnaire de jeu).
+ * Les délais transmis sont des délais de l'interface graphique, déjà convertis par le planificateur du gestionnaire de jeu
+ * (voir {@link Planificateur#convertirDelai(int)}) ; {@link Jeu} planifie lui-même les étapes des coups des joueurs ordinateurs
+ * et n'utilise donc pas les méthodes realiserDemandeXXX.
  * @author Damlencourt Valentin
  * @since 4.0 (26/02/23)
- * @version 4.0 (26/02/23)
+ * @version 6.0 (19/10/26)
  */
 public interface GestionnaireIG {
 	/**
@@ -17,6 +26,15 @@ public interface GestionnaireIG {
 	 */
 	public void lancerVueParametrage();
 
+	/**
+	 * Méthode permettant de charger les ressources de la vue (sons, images) qui ne sont pas nécessaires à la vue de paramétrage.
+	 * Elle est appelée par le gestionnaire de jeu dans un thread d'arrière-plan, après l'affichage de la vue de paramétrage :
+	 * une implémentation ne doit donc pas modifier directement les éléments affichés (seulement préparer les ressources).
+	 * Par défaut, rien n'est fait (les ressources sont alors chargées lors de leur première utilisation).
+	 */
+	default public void prechargerRessources() {
+	}
+
 	/**
 	 * Méthode permettant d'afficher la vue correspondant au jeu.
 	 * @param elementsJeu Les éléments du jeu à visualiser.
@@ -27,6 +45,55 @@ public interface GestionnaireIG {
 	 * Méthode permettant de mettre à jour l'affichage du jeu (c'est-à-dire la vue du jeu). 
 	 */
 	public void mettreAJourAffichageJeu();
+
+	/**
+	 * Méthode signalant que la pièce hors plateau a été rotationnée (seule cette pièce a changé).
+	 * Par défaut, une mise à jour complète de l'affichage est réalisée.
+	 * @param pieceHorsPlateau La pièce hors plateau rotationnée.
+	 */
+	default public void signalerPieceHorsPlateauRotationnee(final Piece pieceHorsPlateau) {
+		mettreAJourAffichageJeu();
+	}
+
+	/**
+	 * Méthode signalant qu'une ligne ou une colonne a été décalée : seules les cases de cette ligne ou de cette colonne
+	 * (pièces, objets et joueurs) ainsi que la pièce hors plateau ont changé.
+	 * Par défaut, une mise à jour complète de l'affichage est réalisée.
+	 * @param direction La direction du décalage.
+	 * @param numLigOuCol Le numéro de la ligne ou de la colonne décalée.
+	 */
+	default public void signalerLigneOuColonneDecalee(final Direction direction,final int numLigOuCol) {
+		mettreAJourAffichageJeu();
+	}
+
+	/**
+	 * Méthode signalant qu'un joueur a été déplacé : seules la case quittée et la case atteinte ont changé.
+	 * Par défaut, rien n'est réalisé car l'affichage est mis à jour par {@link #animerChemin(ArrayList, int)}.
+	 * @param joueur Le joueur déplacé (à sa nouvelle position).
+	 * @param anciennePosition La position quittée par le joueur.
+	 */
+	default public void signalerDeplacementJoueur(final Joueur joueur,final PositionPlateau anciennePosition) {
+	}
+
+	/**
+	 * Méthode signalant qu'un objet a été récupéré : seule la case où se trouvait l'objet a changé.
+	 * L'objet n'ayant plus de position une fois récupéré, cette case est donnée par la position qu'il occupait auparavant.
+	 * Par défaut, rien n'est réalisé car l'affichage est mis à jour par {@link #enleverCheminEtSelection()}.
+	 * @param objet L'objet récupéré.
+	 * @param anciennePosition La position de l'objet avant sa récupération.
+	 */
+	default public void signalerObjetRecupere(final Objet objet,final PositionPlateau anciennePosition) {
+	}
+
+	/**
+	 * Méthode signalant que le tour est passé d'un joueur à un autre : seules les informations de ces deux joueurs ont changé.
+	 * Par défaut, une mise à jour complète de l'affichage est réalisée.
+	 * @param joueurPrecedent Le joueur dont le tour est terminé.
+	 * @param joueurSuivant Le joueur devant jouer.
+	 */
+	default public void signalerChangementJoueur(final Joueur joueurPrecedent,final Joueur joueurSuivant) {
+		mettreAJourAffichageJeu();
+	}
 	
 	
 	/**
@@ -62,6 +129,19 @@ public interface GestionnaireIG {
 	 */
 	public void definirEtAfficherChemin(final ArrayList<PositionPlateau> chemin,final int delai);
 	
+	/**
+	 * Méthode permettant d'animer en une seule fois le déplacement du joueur devant jouer le long d'un chemin.
+	 * La position du joueur dans les éléments du jeu est déjà celle de la fin du chemin : la vue interpole le joueur
+	 * le long du chemin puis appelle une seule fois la méthode GestionnaireJeu.gererDeplacementSurChemin à la fin de l'animation.
+	 * Par défaut, le chemin est défini et affiché par {@link #definirEtAfficherChemin(ArrayList, int)} avec un délai
+	 * correspondant à la durée de l'animation (le joueur est alors directement affiché à la fin du chemin).
+	 * @param chemin Le chemin à animer (de la position de départ du joueur à sa position d'arrivée).
+	 * @param delaiParCase La durée en millisecondes du passage d'une case à la suivante. Ce délai doit être strictement supérieure à 0.
+	 */
+	default public void animerChemin(final ArrayList<PositionPlateau> chemin,final int delaiParCase) {
+		definirEtAfficherChemin(chemin,Math.max(1,chemin.size())*delaiParCase);
+	}
+
 	/**
 	 * Méthode enlevant le chemin affiché et une sélection de ligne ou de colonne.
 	 * Une mise à jour de l'affichage du jeu est systématiquement réalisée.
@@ -0,0 +1,369 @@
+package dedale.gestionnaires;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import dedale.elements.Direction;
+import dedale.elements.ElementsJeu;
+import dedale.elements.Joueur;
+import dedale.elements.Objet;
+import dedale.elements.Piece;
+import dedale.elements.PositionPlateau;
+
+/**
+ * Une instance de cette classe correspond à un gestionnaire d'interface graphique sans affichage, conservé en mémoire,
+ * permettant de faire jouer des parties complètes par le gestionnaire de jeu (par exemple {@link Jeu}) sans JavaFX :
+ * pour des tests de non-régression ou des mesures de performances.
+ * <br>
+ * Le gestionnaire partage le planificateur virtuel du gestionnaire de jeu (voir {@link PlanificateurVirtuel}) :
+ * les demandes différées (fin d'un chemin, demandes simulées) ne sont pas exécutées au cours de l'appel du gestionnaire de jeu
+ * mais confiées au planificateur, qui les exécute une à une sans jamais attendre.
+ * <br>
+ * Chaque appel reçu du gestionnaire de jeu et chaque demande exécutée peuvent être enregistrés, avec l'instant virtuel
+ * et l'instant réel correspondants (voir {@link #getAppels()}).
+ * Les attentes de clics (joueurs humains) sont seulement enregistrées : les demandes d'un joueur humain doivent être faites
+ * directement auprès du gestionnaire de jeu.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public class GestionnaireIGMemoire implements GestionnaireIG {
+	/**
+	 * Une instance de cette classe correspond à un appel enregistré.
+	 */
+	static final public class Appel {
+		/**
+		 * Le nom de la méthode appelée.
+		 */
+		final private String nom;
+
+		/**
+		 * Les paramètres de l'appel.
+		 */
+		final private Object[] parametres;
+
+		/**
+		 * L'instant virtuel de l'appel en millisecondes.
+		 */
+		final private long instantVirtuelMs;
+
+		/**
+		 * L'instant réel de l'appel en nanosecondes depuis la création du gestionnaire.
+		 */
+		final private long instantReelNs;
+
+		/**
+		 * Constructeur privé permettant de créer un appel.
+		 * @param nom Le nom de la méthode appelée.
+		 * @param parametres Les paramètres de l'appel.
+		 * @param instantVirtuelMs L'instant virtuel de l'appel.
+		 * @param instantReelNs L'instant réel de l'appel.
+		 */
+		private Appel(final String nom,final Object[] parametres,final long instantVirtuelMs,final long instantReelNs) {
+			this.nom=nom;
+			this.parametres=parametres;
+			this.instantVirtuelMs=instantVirtuelMs;
+			this.instantReelNs=instantReelNs;
+		}
+
+		/**
+		 * Méthode retournant le nom de la méthode appelée.
+		 * @return Le nom de la méthode.
+		 */
+		public String getNom() {
+			return nom;
+		}
+
+		/**
+		 * Méthode retournant les paramètres de l'appel.
+		 * @return Une copie des paramètres.
+		 */
+		public Object[] getParametres() {
+			return parametres.clone();
+		}
+
+		/**
+		 * Méthode retournant l'instant virtuel de l'appel (toujours 0 si les délais sont ignorés).
+		 * @return L'instant virtuel en millisecondes.
+		 */
+		public long getInstantVirtuelMs() {
+			return instantVirtuelMs;
+		}
+
+		/**
+		 * Méthode retournant l'instant réel de l'appel.
+		 * @return L'instant réel en nanosecondes depuis la création du gestionnaire.
+		 */
+		public long getInstantReelNs() {
+			return instantReelNs;
+		}
+
+		@Override
+		public String toString() {
+			final StringBuilder texte=new StringBuilder();
+			texte.append(instantVirtuelMs).append(" ms : ").append(nom).append('(');
+			for (int i=0;i<parametres.length;i++) {
+				if (i>0)
+					texte.append(',');
+				texte.append((parametres[i] instanceof Object[])?Arrays.toString((Object[])parametres[i]):parametres[i]);
+			}
+			return texte.append(')').toString();
+		}
+	}
+
+	/**
+	 * Le gestionnaire de jeu auquel sont transmises les demandes.
+	 */
+	final private GestionnaireJeu jeu;
+
+	/**
+	 * Le planificateur partagé avec le gestionnaire de jeu.
+	 */
+	final private PlanificateurVirtuel planificateur;
+
+	/**
+	 * Indique si les appels sont enregistrés.
+	 */
+	final private boolean enregistrement;
+
+	/**
+	 * Les appels enregistrés.
+	 */
+	final private ArrayList<Appel> appels=new ArrayList<Appel>();
+
+	/**
+	 * L'instant réel de création du gestionnaire (origine des instants réels).
+	 */
+	final private long origineNs=System.nanoTime();
+
+	/**
+	 * Les éléments du jeu de la partie en cours (null avant le lancement de la vue du jeu).
+	 */
+	private ElementsJeu elementsJeu;
+
+	/**
+	 * Indique si la partie est terminée (un gagnant a été affiché).
+	 */
+	private boolean partieTerminee;
+
+	/**
+	 * Constructeur permettant de créer un gestionnaire pour un gestionnaire de jeu utilisant un planificateur virtuel donné.
+	 * Dans le cas où le gestionnaire de jeu ou le planificateur est null, une Exception de type IllegalArgumentException est levée.
+	 * @param jeu Le gestionnaire de jeu auquel transmettre les demandes.
+	 * @param planificateur Le planificateur du gestionnaire de jeu (voir {@link Jeu#Jeu(dedale.elements.ConfigurationJeu, Planificateur)}).
+	 * @param enregistrement true pour enregistrer les appels.
+	 */
+	public GestionnaireIGMemoire(final GestionnaireJeu jeu,final PlanificateurVirtuel planificateur,final boolean enregistrement) {
+		if (jeu==null)
+			throw new IllegalArgumentException("Le gestionnaire de jeu ne doit pas être null !");
+		if (planificateur==null)
+			throw new IllegalArgumentException("Le planificateur ne doit pas être null !");
+		this.jeu=jeu;
+		this.planificateur=planificateur;
+		this.enregistrement=enregistrement;
+	}
+
+	/**
+	 * Constructeur permettant de créer un gestionnaire enregistrant les appels.
+	 * @param jeu Le gestionnaire de jeu auquel transmettre les demandes.
+	 * @param planificateur Le planificateur du gestionnaire de jeu.
+	 */
+	public GestionnaireIGMemoire(final GestionnaireJeu jeu,final PlanificateurVirtuel planificateur) {
+		this(jeu,planificateur,true);
+	}
+
+	/**
+	 * Méthode lançant le jeu avec ce gestionnaire (voir {@link GestionnaireJeu#lancerJeu(GestionnaireIG)}) puis une partie
+	 * (comme la vue de paramétrage après la saisie des paramètres) et l'exécutant
+	 * jusqu'à ce qu'aucune demande ne soit en attente (fin de la partie ou attente d'un joueur humain).
+	 * @param pseudos Les pseudos des joueurs.
+	 * @param natures Les natures des joueurs (voir {@link GestionnaireJeu#gererParametres(String[], String[], int)}).
+	 * @param probSortie La probabilité de génération d'une sortie.
+	 * @return Ce gestionnaire.
+	 */
+	public GestionnaireIGMemoire jouerPartie(final String[] pseudos,final String[] natures,final int probSortie) {
+		jeu.lancerJeu(this);
+		enregistrer("gererParametres",pseudos.clone(),natures.clone(),probSortie);
+		jeu.gererParametres(pseudos,natures,probSortie);
+		planificateur.executer(Integer.MAX_VALUE);
+		return this;
+	}
+
+	/**
+	 * Méthode retournant les éléments du jeu de la partie en cours.
+	 * @return Les éléments du jeu ou null si la vue du jeu n'a pas été lancée.
+	 */
+	public ElementsJeu getElementsJeu() {
+		return elementsJeu;
+	}
+
+	/**
+	 * Méthode permettant de savoir si la partie est terminée.
+	 * @return true si et seulement si un gagnant a été affiché.
+	 */
+	public boolean isPartieTerminee() {
+		return partieTerminee;
+	}
+
+	/**
+	 * Méthode retournant les appels enregistrés, dans leur ordre chronologique.
+	 * @return Les appels enregistrés (liste non modifiable, vide si l'enregistrement est désactivé).
+	 */
+	public List<Appel> getAppels() {
+		return Collections.unmodifiableList(appels);
+	}
+
+	/**
+	 * Méthode retournant le nombre d'appels enregistrés d'une méthode.
+	 * @param nom Le nom de la méthode.
+	 * @return Le nombre d'appels.
+	 */
+	public int compterAppels(final String nom) {
+		int nb=0;
+		for (Appel appel : appels)
+			if (appel.nom.equals(nom))
+				nb++;
+		return nb;
+	}
+
+	/**
+	 * Méthode enregistrant un appel si l'enregistrement est activé.
+	 * @param nom Le nom de la méthode appelée.
+	 * @param parametres Les paramètres de l'appel.
+	 */
+	private void enregistrer(final String nom,final Object... parametres) {
+		if (enregistrement)
+			appels.add(new Appel(nom,parametres,planificateur.getInstantMs(),System.nanoTime()-origineNs));
+	}
+
+	/**
+	 * Méthode confiant une demande au planificateur : elle sera enregistrée puis exécutée à son échéance.
+	 * Dans le cas où le délai n'est pas strictement positif, une Exception de type IllegalArgumentException est levée.
+	 * @param delai Le délai de la demande en millisecondes.
+	 * @param nom Le nom de la méthode du gestionnaire de jeu appelée.
+	 * @param action L'action réalisant la demande.
+	 * @param parametres Les paramètres de la demande.
+	 */
+	private void differer(final int delai,final String nom,final Runnable action,final Object... parametres) {
+		if (delai<=0)
+			throw new IllegalArgumentException("Le délai doit être strictement positif : "+delai+" !");
+		planificateur.planifier(delai,() -> {
+			enregistrer(nom,parametres);
+			action.run();
+		});
+	}
+
+	@Override
+	public void lancerVueParametrage() {
+		enregistrer("lancerVueParametrage");
+	}
+
+	@Override
+	public void lancerVueJeu(final ElementsJeu elementsJeu) {
+		enregistrer("lancerVueJeu");
+		this.elementsJeu=elementsJeu;
+		partieTerminee=false;
+	}
+
+	@Override
+	public void mettreAJourAffichageJeu() {
+		enregistrer("mettreAJourAffichageJeu");
+	}
+
+	@Override
+	public void signalerPieceHorsPlateauRotationnee(final Piece pieceHorsPlateau) {
+		enregistrer("signalerPieceHorsPlateauRotationnee",pieceHorsPlateau.getMasqueSorties());
+	}
+
+	@Override
+	public void signalerLigneOuColonneDecalee(final Direction direction,final int numLigOuCol) {
+		enregistrer("signalerLigneOuColonneDecalee",direction,numLigOuCol);
+	}
+
+	@Override
+	public void signalerDeplacementJoueur(final Joueur joueur,final PositionPlateau anciennePosition) {
+		enregistrer("signalerDeplacementJoueur",joueur.getId(),anciennePosition.getNumCase(),joueur.getPosition().getNumCase());
+	}
+
+	/**
+	 * Méthode enregistrant la récupération d'un objet après avoir vérifié la case signalée :
+	 * l'objet doit être récupéré et la case doit être celle qu'il occupait, c'est-à-dire celle du joueur auquel il appartient.
+	 * Dans le cas contraire, une Exception de type IllegalArgumentException est levée.
+	 * @param objet L'objet récupéré.
+	 * @param anciennePosition La position de l'objet avant sa récupération.
+	 */
+	@Override
+	public void signalerObjetRecupere(final Objet objet,final PositionPlateau anciennePosition) {
+		if (!objet.estRecupere())
+			throw new IllegalArgumentException("L'objet signalé n'a pas été récupéré !");
+		if (anciennePosition==null)
+			throw new IllegalArgumentException("La position de l'objet avant sa récupération ne doit pas être null !");
+		final Joueur joueur=Joueur.joueurAvecId(elementsJeu.getJoueurs(),objet.getIdJoueur());
+		if (anciennePosition.getNumCase()!=joueur.getPosition().getNumCase())
+			throw new IllegalArgumentException("La case signalée ("+anciennePosition.getNumCase()+") n'est pas celle de l'objet récupéré ("
+					+joueur.getPosition().getNumCase()+") !");
+		enregistrer("signalerObjetRecupere",objet.getId(),anciennePosition.getNumCase());
+	}
+
+	@Override
+	public void signalerChangementJoueur(final Joueur joueurPrecedent,final Joueur joueurSuivant) {
+		enregistrer("signalerChangementJoueur",joueurPrecedent.getId(),joueurSuivant.getId());
+	}
+
+	@Override
+	public void stopperTouteAttenteClic() {
+		enregistrer("stopperTouteAttenteClic");
+	}
+
+	@Override
+	public void attendreClicRotationOuDecalage(final int delai) {
+		enregistrer("attendreClicRotationOuDecalage",delai);
+	}
+
+	@Override
+	public void attendreClicPositionPlateau(final int delai) {
+		enregistrer("attendreClicPositionPlateau",delai);
+	}
+
+	@Override
+	public void definirEtAfficherChemin(final ArrayList<PositionPlateau> chemin,final int delai) {
+		enregistrer("definirEtAfficherChemin",chemin.size(),delai);
+		differer(delai,"gererDeplacementSurChemin",() -> jeu.gererDeplacementSurChemin(chemin),chemin.size());
+	}
+
+	@Override
+	public void enleverCheminEtSelection() {
+		enregistrer("enleverCheminEtSelection");
+	}
+
+	@Override
+	public void afficherFinAvecGagnant() {
+		enregistrer("afficherFinAvecGagnant");
+		partieTerminee=true;
+	}
+
+	@Override
+	public void realiserDemandeRotation(final int delai) {
+		enregistrer("realiserDemandeRotation",delai);
+		differer(delai,"gererDemandeRotation",() -> jeu.gererDemandeRotation());
+	}
+
+	@Override
+	public void realiserDemandeDecalage(final Direction direction,final int numLigOuCol,final int delai) {
+		enregistrer("realiserDemandeDecalage",direction,numLigOuCol,delai);
+		differer(delai,"gererDemandeDecalage",() -> jeu.gererDemandeDecalage(direction,numLigOuCol),direction,numLigOuCol);
+	}
+
+	@Override
+	public void realiserDemandeDeplacement(final int numLig,final int numCol,final int delai) {
+		enregistrer("realiserDemandeDeplacement",numLig,numCol,delai);
+		differer(delai,"gererDemandeDeplacement",() -> jeu.gererDemandeDeplacement(numLig,numCol),numLig,numCol);
+	}
+
+	@Override
+	public void jouerSon(final int numSon) {
+		enregistrer("jouerSon",numSon);
+	}
+}
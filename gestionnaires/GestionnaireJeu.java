@@ -45,6 +45,7 @@ public interface GestionnaireJeu {
 	
 	/**
 	 * Méthode qui sera epplée systématiquement lorsque la définition et l'affichage d'un chemin a été demandé auprès de la vude du jeu.
+	 * Lorsque le chemin a été animé (voir GestionnaireIG.animerChemin), elle n'est appelée qu'une seule fois, à la fin de l'animation.
 	 * @param chemin Le chemin qui a été auparavant demandé à être défini et affiché.
 	 */
 	public void gererDeplacementSurChemin(ArrayList<PositionPlateau> chemin);
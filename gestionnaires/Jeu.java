@@ -1,7 +1,9 @@
 package dedale.gestionnaires;
 
 import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import dedale.elements.ConfigurationJeu;
 import dedale.elements.CoupJeu;
 import dedale.elements.Direction;
 import dedale.elements.ElementsJeu;
@@ -10,35 +12,82 @@ import dedale.elements.JoueurHumain;
 import dedale.elements.JoueurOrdi;
 import dedale.elements.JoueurOrdiN1;
 import dedale.elements.JoueurOrdiN2;
+import dedale.elements.JoueurOrdiN3;
+import dedale.elements.JoueurOrdiN4;
 import dedale.elements.Objet;
 import dedale.elements.Piece;
+import dedale.elements.PlateauCompact;
 import dedale.elements.PositionPlateau;
-import dedale.elements.Positionnable;
+import dedale.evenements.EtatPartie;
+import dedale.evenements.FluxEvenementsJeu;
+import dedale.evenements.JoueurDeplace;
+import dedale.evenements.LigneDecalee;
+import dedale.evenements.ObjetRecupere;
+import dedale.evenements.PartieGagnee;
+import dedale.evenements.PieceRotationnee;
+import dedale.evenements.TourPasse;
+import dedale.mesures.Mesure;
+import dedale.mesures.Metriques;
+import dedale.mesures.RechercheOrdiJFR;
+import dedale.mesures.TourJFR;
 /**
  * Cette classe correspond aux gestionnaires de jeu.
  * @author Damlencourt Valentin
  * @since 4.0 (26/02/23)
- * @version 5.0 (26/02/23)
+ * @version 6.0 (19/10/26)
  */
 
 public class Jeu implements GestionnaireJeu {
 	/**
-	 * Le temps entre deux déplacements du joueur sur le plateau.
+	 * Le temps entre deux déplacements du joueur sur le plateau (durée de l'animation du passage d'une case à la suivante).
 	 */
 	private static final int TEMPS_DEPLACEMENT_MS=100;
 	/**
 	 * Le delai pour lancement d'une simulation de coup.
 	 */
 	private static final int DELAI_SIMULATION_MS=500;
+	/**
+	 * Le délai à partir duquel la vue du jeu attend un clic d'un joueur humain.
+	 */
+	private static final int DELAI_ATTENTE_CLIC_MS=10;
+	/**
+	 * Indique si les classes du moteur ont déjà été chargées (voir {@link #prechargerMoteur()}).
+	 */
+	private static final AtomicBoolean MOTEUR_PRECHARGE=new AtomicBoolean();
 	/**
 	 * Le gestionnaire de l'interface graphique du jeu.
 	 */
 	private GestionnaireIG ig;
+
+	/**
+	 * La configuration de la partie gérée.
+	 */
+	final private ConfigurationJeu configuration;
+
+	/**
+	 * Le planificateur des actions différées et des délais de la partie.
+	 */
+	final private Planificateur planificateur;
 	
 	/**
 	 * Le coup de jeu d'un ordinateur.
 	 */
 	private CoupJeu coupJeuOrdi;
+
+	/**
+	 * Le nombre d'octets alloués par le thread du jeu au début du tour en cours (utilisé uniquement si les métriques sont activées).
+	 */
+	private long octetsAllouesDebutTour;
+
+	/**
+	 * L'événement JFR correspondant au tour en cours (null si l'événement n'est pas activé ou hors d'un tour).
+	 */
+	private TourJFR evenementTour;
+
+	/**
+	 * Le flux des événements de la partie, fermé à la fin de celle-ci.
+	 */
+	final private FluxEvenementsJeu fluxEvenements=new FluxEvenementsJeu();
 	
 	/**
 	 * Méthode retournant le joueur qui doit jouer.
@@ -53,71 +102,138 @@ public class Jeu implements GestionnaireJeu {
 	 * @param position La position à tester.
 	 * @return true si et seulement si un joueur se trouve à la position donnée en paramètre. 
 	 */
-	@SuppressWarnings("unchecked")
 	private boolean joueurAt(final PositionPlateau position) {
-		return Positionnable.elementAt((ArrayList<Positionnable>)(ArrayList<?>)elementsJeu.getJoueurs(),position.getNumLigne(),position.getNumColonne())!=null;
+		return elementsJeu.joueurAt(position.getNumLigne(),position.getNumColonne())!=null;
 	}
 	/**
 	 * Les éléments du jeu.
 	 */
 	private ElementsJeu elementsJeu;
+
+	/**
+	 * Constructeur permettant de créer un gestionnaire de jeu pour une partie ayant une configuration donnée et dont le temps
+	 * est géré par un planificateur donné.
+	 * Dans le cas où le planificateur est null, une Exception de type IllegalArgumentException est levée.
+	 * @param configuration La configuration de la partie.
+	 * @param planificateur Le planificateur (temps réel pour l'interface graphique, accéléré ou virtuel).
+	 */
+	public Jeu(final ConfigurationJeu configuration,final Planificateur planificateur) {
+		if (planificateur==null)
+			throw new IllegalArgumentException("Le planificateur ne doit pas être null !");
+		this.configuration=configuration;
+		this.planificateur=planificateur;
+	}
+
+	/**
+	 * Constructeur permettant de créer un gestionnaire de jeu pour une partie ayant une configuration donnée, en temps réel.
+	 * Les actions différées sont exécutées par le thread du planificateur : une interface graphique doit donc plutôt fournir
+	 * un planificateur les exécutant dans son propre thread (voir {@link PlanificateurTempsReel}).
+	 * @param configuration La configuration de la partie.
+	 */
+	public Jeu(final ConfigurationJeu configuration) {
+		this(configuration,new PlanificateurTempsReel(Runnable::run));
+	}
+
+	/**
+	 * Constructeur permettant de créer un gestionnaire de jeu pour une partie ayant la configuration par défaut.
+	 */
+	public Jeu() {
+		this(new ConfigurationJeu());
+	}
+
+	/**
+	 * Méthode retournant le flux des événements de la partie, auquel peuvent s'abonner l'interface graphique,
+	 * un journal, les métriques ou des spectateurs sans ralentir le jeu.
+	 * @return Le flux des événements de la partie.
+	 */
+	public FluxEvenementsJeu getFluxEvenements() {
+		return fluxEvenements;
+	}
+
+	/**
+	 * Méthode retournant le planificateur des actions différées et des délais de la partie.
+	 * @return Le planificateur.
+	 */
+	public Planificateur getPlanificateur() {
+		return planificateur;
+	}
+
 	@Override
 	public void lancerJeu(final GestionnaireIG ig) {
 		this.ig=ig;
 		ig.lancerVueParametrage();
+		final Thread prechargement=new Thread(() -> {
+			ig.prechargerRessources();
+			prechargerMoteur();
+		},"dedale-prechargement");
+		prechargement.setDaemon(true);
+		prechargement.setPriority(Thread.MIN_PRIORITY);
+		prechargement.start();
+	}
+
+	/**
+	 * Méthode chargeant les classes du moteur pendant la saisie des paramètres : des éléments de jeu sont générés avec
+	 * une configuration distincte de celle de la partie (dont le générateur aléatoire n'est donc pas utilisé).
+	 * Le chargement n'est réalisé qu'une seule fois par exécution de l'application.
+	 */
+	static private void prechargerMoteur() {
+		if (MOTEUR_PRECHARGE.getAndSet(true))
+			return;
+		final ElementsJeu elementsJeu=new ElementsJeu(new ConfigurationJeu());
+		new PlateauCompact(elementsJeu).parcourirEnLargeur(0,new int[elementsJeu.getConfiguration().getNbCases()],new int[elementsJeu.getConfiguration().getNbCases()]);
 	}
 
 	@Override
 	public void gererParametres(final String[] pseudos,final String[] natures,final int probSortie) {
-		Piece.changerProbSortie(probSortie);
+		final long debut=Metriques.ACTIVEES?System.nanoTime():0;
+		configuration.changerProbSortie(probSortie);
 		final ArrayList<Joueur> joueurs=new ArrayList<Joueur>();
-		for (int i=0;i<Joueur.NB_JOUEURS;i++) {
+		for (int i=0;i<configuration.getNbJoueurs();i++) {
 			Joueur joueur;
 			if ((natures[i]).equals("Humain"))
-				joueur=new JoueurHumain(i,pseudos[i],new PositionPlateau(0,0),i==0);
+				joueur=new JoueurHumain(i,pseudos[i],new PositionPlateau(0,0,configuration),i==0);
 			else if ((natures[i]).equals("Ordi N1"))
-				joueur=new JoueurOrdiN1(i,pseudos[i],new PositionPlateau(0,0),i==0);
+				joueur=new JoueurOrdiN1(i,pseudos[i],new PositionPlateau(0,0,configuration),i==0);
+			else if ((natures[i]).equals("Ordi N3"))
+				joueur=new JoueurOrdiN3(i,pseudos[i],new PositionPlateau(0,0,configuration),i==0);
+			else if ((natures[i]).equals("Ordi N4"))
+				joueur=new JoueurOrdiN4(i,pseudos[i],new PositionPlateau(0,0,configuration),i==0);
 			else
-				joueur=new JoueurOrdiN2(i,pseudos[i],new PositionPlateau(0,0),i==0);
+				joueur=new JoueurOrdiN2(i,pseudos[i],new PositionPlateau(0,0,configuration),i==0);
 			joueurs.add(joueur);
 		}
-		elementsJeu=new ElementsJeu(joueurs);
+		elementsJeu=new ElementsJeu(configuration,joueurs);
 		ig.lancerVueJeu(elementsJeu);
 		final Joueur joueurEnCours=joueurDevantJouer();
+		publierEtatPartie(joueurEnCours);
+		debuterTour();
 		if (joueurEnCours instanceof JoueurHumain)
-			ig.attendreClicRotationOuDecalage(10);
-		else {
-			coupJeuOrdi=((JoueurOrdi)joueurEnCours).calculerCoup(elementsJeu);
-			if (coupJeuOrdi.getNombreRotations()>0) {
-				coupJeuOrdi.decNombreRotations();
-				ig.realiserDemandeRotation(DELAI_SIMULATION_MS);
-			} else {
-				ig.realiserDemandeDecalage(coupJeuOrdi.getDirection(),coupJeuOrdi.getNumLigneOuColonneDec(), DELAI_SIMULATION_MS);
-			}
-		}
+			ig.attendreClicRotationOuDecalage(planificateur.convertirDelai(DELAI_ATTENTE_CLIC_MS));
+		else
+			lancerCoupOrdi((JoueurOrdi)joueurEnCours);
+		if (Metriques.ACTIVEES)
+			Metriques.enregistrer(Mesure.GESTION_PARAMETRES,debut);
 	}
 
 	@Override
 	public void gererDemandeRotation() {
+		final long debut=Metriques.ACTIVEES?System.nanoTime():0;
 		ig.stopperTouteAttenteClic();
-		final Piece piece=Piece.pieceHorsPlateau(elementsJeu.getPieces());
-		piece.rotationner();
-		ig.mettreAJourAffichageJeu();
+		final Piece piece=elementsJeu.rotationnerPieceHorsPlateau();
+		ig.signalerPieceHorsPlateauRotationnee(piece);
+		fluxEvenements.publier(new PieceRotationnee(joueurDevantJouer().getId(),piece));
 		final Joueur joueurEnCours=joueurDevantJouer();
 		if (joueurEnCours instanceof JoueurHumain)
-			ig.attendreClicRotationOuDecalage(10);
-		else {
-			if (coupJeuOrdi.getNombreRotations()>0) {
-				coupJeuOrdi.decNombreRotations();
-				ig.realiserDemandeRotation(DELAI_SIMULATION_MS);
-			}else {
-				ig.realiserDemandeDecalage(coupJeuOrdi.getDirection(),coupJeuOrdi.getNumLigneOuColonneDec(), DELAI_SIMULATION_MS);
-			}
-		}
+			ig.attendreClicRotationOuDecalage(planificateur.convertirDelai(DELAI_ATTENTE_CLIC_MS));
+		else
+			poursuivreCoupOrdi();
+		if (Metriques.ACTIVEES)
+			Metriques.enregistrer(Mesure.GESTION_ROTATION,debut);
 	}
 
 	@Override
 	public void gererDemandeDecalage(final Direction direction,final int numLigOuCol) {
+		final long debut=Metriques.ACTIVEES?System.nanoTime():0;
 		ig.stopperTouteAttenteClic();
 		elementsJeu.effectuerInsertionPieceHorsPlateau(direction, numLigOuCol);
 		/*
@@ -146,84 +262,145 @@ public class Jeu implements GestionnaireJeu {
 		pieceHorsPlateau.setPosition(nouvellePieceHorsPlateau.getPosition());
 		nouvellePieceHorsPlateau.setPosition(null);
 		*/
-		ig.mettreAJourAffichageJeu();
+		ig.signalerLigneOuColonneDecalee(direction,numLigOuCol);
+		fluxEvenements.publier(new LigneDecalee(joueurDevantJouer().getId(),direction,numLigOuCol));
 		if (joueurDevantJouer() instanceof JoueurHumain)
-			ig.attendreClicPositionPlateau(10);
+			ig.attendreClicPositionPlateau(planificateur.convertirDelai(DELAI_ATTENTE_CLIC_MS));
 		final Joueur joueurEnCours=joueurDevantJouer();
 		if (joueurEnCours instanceof JoueurHumain)
-			ig.attendreClicPositionPlateau(10);
-		else 
-			ig.realiserDemandeDeplacement(coupJeuOrdi.getNumLigneDep(), coupJeuOrdi.getNumColonneDep(),DELAI_SIMULATION_MS);
+			ig.attendreClicPositionPlateau(planificateur.convertirDelai(DELAI_ATTENTE_CLIC_MS));
+		else {
+			final int numLigne=coupJeuOrdi.getNumLigneDep();
+			final int numColonne=coupJeuOrdi.getNumColonneDep();
+			planificateur.planifier(DELAI_SIMULATION_MS,() -> gererDemandeDeplacement(numLigne,numColonne));
+		}
+		if (Metriques.ACTIVEES)
+			Metriques.enregistrer(Mesure.GESTION_DECALAGE,debut);
 	}
 
 	@Override
 	public void gererDemandeDeplacement(final int numLig,final int numCol) {
+		final long debut=Metriques.ACTIVEES?System.nanoTime():0;
 		ig.stopperTouteAttenteClic();
 		final Joueur joueurEnCours=joueurDevantJouer();
 		final PositionPlateau positionActuelle=joueurEnCours.getPosition();
-		final PositionPlateau positionDestination=new PositionPlateau(numLig,numCol);
-		ArrayList<Piece> cheminPieces=Piece.calculerChemin(positionActuelle,positionDestination,elementsJeu.getPieces());
-		if (cheminPieces==null) {
-			positionDestination.setNumLigne(positionActuelle.getNumLigne());
-			positionDestination.setNumColonne(positionActuelle.getNumColonne());
+		PositionPlateau positionDestination=new PositionPlateau(numLig,numCol,configuration);
+		ArrayList<Piece> cheminPieces=elementsJeu.calculerChemin(positionActuelle,positionDestination);
+		if ((cheminPieces==null)||((joueurAt(positionDestination))&&(positionDestination.getNumCase()!=positionActuelle.getNumCase()))) {
+			positionDestination=elementsJeu.positionLibreAccessibleLaPlusProche(joueurEnCours,positionDestination);
+			cheminPieces=elementsJeu.calculerChemin(positionActuelle,positionDestination);
 		}
-		if (joueurAt(positionDestination))
-			for (Piece piece : elementsJeu.getPieces())
-				
-				if ((piece.getPosition()!=null)&&(! piece.auMemeEndroit(joueurEnCours))) {
-					if ((!joueurAt(piece.getPosition()))&&(Piece.calculerChemin(positionActuelle, piece.getPosition(), elementsJeu.getPieces())!=null)) {
-						positionDestination.setNumLigne(piece.getPosition().getNumLigne());
-						positionDestination.setNumColonne(piece.getPosition().getNumColonne());
-						break;
-					}
-				}
-		cheminPieces=Piece.calculerChemin(positionActuelle,positionDestination,elementsJeu.getPieces());
 		final ArrayList<PositionPlateau> cheminPositions=new ArrayList<PositionPlateau>();
 		for (Piece piece : cheminPieces)
 			cheminPositions.add((PositionPlateau)piece.getPosition().clone());
-		ig.definirEtAfficherChemin(cheminPositions,TEMPS_DEPLACEMENT_MS);
+		final PositionPlateau anciennePosition=(PositionPlateau)positionActuelle.clone();
+		elementsJeu.deplacerJoueur(joueurEnCours,positionDestination);
+		ig.signalerDeplacementJoueur(joueurEnCours,anciennePosition);
+		fluxEvenements.publier(new JoueurDeplace(joueurEnCours.getId(),anciennePosition,positionDestination));
+		ig.animerChemin(cheminPositions,planificateur.convertirDelai(TEMPS_DEPLACEMENT_MS));
+		if (Metriques.ACTIVEES)
+			Metriques.enregistrer(Mesure.GESTION_DEPLACEMENT,debut);
 	}
 
 
 	@Override
 	public void gererDeplacementSurChemin(ArrayList<PositionPlateau> chemin) {
+		final long debut=Metriques.ACTIVEES?System.nanoTime():0;
 		final Joueur joueurEnCours=joueurDevantJouer();
-		if (chemin.size()==0) {
-			Objet objet=joueurEnCours.prochainObjetARecuperer(elementsJeu.getObjets());
-			if (joueurEnCours.auMemeEndroit(objet)) {
-				objet.setRecupere();
-				ig.jouerSon(3);
-			}
-			ig.enleverCheminEtSelection();
-			if (joueurEnCours.prochainObjetARecuperer(elementsJeu.getObjets())==null) {
-				ig.afficherFinAvecGagnant();
-				return;
-			}
+		Objet objet=elementsJeu.prochainObjetARecuperer(joueurEnCours);
+		if (joueurEnCours.auMemeEndroit(objet)) {
+			final PositionPlateau positionObjet=objet.getPosition();
+			elementsJeu.recupererObjet(objet);
+			ig.signalerObjetRecupere(objet,positionObjet);
+			fluxEvenements.publier(new ObjetRecupere(joueurEnCours.getId(),objet.getId()));
+			ig.jouerSon(3);
+		}
+		ig.enleverCheminEtSelection();
+		terminerTour();
+		if (elementsJeu.prochainObjetARecuperer(joueurEnCours)==null) {
+			ig.afficherFinAvecGagnant();
+			fluxEvenements.publier(new PartieGagnee(joueurEnCours.getId()));
+			fluxEvenements.close();
+		}
+		else {
 			joueurEnCours.setEstASonTourDeJouer(false);
-			Joueur joueurSuivant=Joueur.joueurAvecId(elementsJeu.getJoueurs(), (joueurEnCours.getId()+1)%Joueur.NB_JOUEURS);
+			Joueur joueurSuivant=Joueur.joueurAvecId(elementsJeu.getJoueurs(), (joueurEnCours.getId()+1)%configuration.getNbJoueurs());
 			joueurSuivant.setEstASonTourDeJouer(true);
-			ig.mettreAJourAffichageJeu();
+			ig.signalerChangementJoueur(joueurEnCours,joueurSuivant);
+			fluxEvenements.publier(new TourPasse(joueurEnCours.getId(),joueurSuivant.getId()));
+			publierEtatPartie(joueurSuivant);
+			debuterTour();
 			if (joueurSuivant instanceof JoueurHumain) {
 				coupJeuOrdi=null;
-				ig.attendreClicRotationOuDecalage(10);
-			}
-			else {
-				coupJeuOrdi=((JoueurOrdi)joueurSuivant).calculerCoup(elementsJeu);
-				if (coupJeuOrdi.getNombreRotations()>0) {
-					coupJeuOrdi.decNombreRotations();
-					ig.realiserDemandeRotation(DELAI_SIMULATION_MS);
-				}else {
-					ig.realiserDemandeDecalage(coupJeuOrdi.getDirection(),coupJeuOrdi.getNumLigneOuColonneDec(), DELAI_SIMULATION_MS);
-				}
+				ig.attendreClicRotationOuDecalage(planificateur.convertirDelai(DELAI_ATTENTE_CLIC_MS));
 			}
-		}else {
-			PositionPlateau premierePosition=chemin.remove(0);
-			joueurEnCours.setPosition(premierePosition);
-			ig.definirEtAfficherChemin(chemin,TEMPS_DEPLACEMENT_MS);
+			else
+				lancerCoupOrdi((JoueurOrdi)joueurSuivant);
+		}
+		if (Metriques.ACTIVEES)
+			Metriques.enregistrer(Mesure.GESTION_DEPLACEMENT_SUR_CHEMIN,debut);
+	}
+
+	/**
+	 * Méthode calculant le coup d'un joueur ordinateur puis lançant sa première étape (rotation ou décalage).
+	 * @param joueur Le joueur ordinateur devant jouer.
+	 */
+	private void lancerCoupOrdi(final JoueurOrdi joueur) {
+		final long debut=Metriques.ACTIVEES?System.nanoTime():0;
+		final RechercheOrdiJFR evenement=RechercheOrdiJFR.demarrer();
+		coupJeuOrdi=joueur.calculerCoup(elementsJeu);
+		if (evenement!=null)
+			evenement.terminer(joueur.getId(),coupJeuOrdi,joueur.getNbNoeudsExplores(),joueur.getProfondeurRecherche());
+		if (Metriques.ACTIVEES) {
+			Metriques.enregistrer(Mesure.CALCUL_COUP,debut);
+			Metriques.ajouterNoeudsExplores(joueur.getNbNoeudsExplores());
 		}
+		poursuivreCoupOrdi();
+	}
 
+	/**
+	 * Méthode lançant l'étape suivante du coup d'un joueur ordinateur : une rotation s'il en reste à faire, le décalage sinon.
+	 */
+	private void poursuivreCoupOrdi() {
+		if (coupJeuOrdi.getNombreRotations()>0) {
+			coupJeuOrdi.decNombreRotations();
+			planificateur.planifier(DELAI_SIMULATION_MS,this::gererDemandeRotation);
+		}else {
+			final Direction direction=coupJeuOrdi.getDirection();
+			final int numLigneOuColonne=coupJeuOrdi.getNumLigneOuColonneDec();
+			planificateur.planifier(DELAI_SIMULATION_MS,() -> gererDemandeDecalage(direction,numLigneOuColonne));
+		}
 	}
 
+	/**
+	 * Méthode publiant un instantané complet de la partie (pour les abonnés arrivés en cours de partie),
+	 * uniquement si le flux des événements a des abonnés.
+	 * @param joueurEnCours Le joueur devant jouer.
+	 */
+	private void publierEtatPartie(final Joueur joueurEnCours) {
+		if (fluxEvenements.getNbAbonnes()>0)
+			fluxEvenements.publier(new EtatPartie(joueurEnCours.getId(),elementsJeu));
+	}
 
+	/**
+	 * Méthode appelée au début du tour du joueur devant jouer.
+	 */
+	private void debuterTour() {
+		final Joueur joueurEnCours=joueurDevantJouer();
+		evenementTour=TourJFR.demarrer(joueurEnCours.getId(),joueurEnCours.getClass().getSimpleName());
+		if (Metriques.ACTIVEES)
+			octetsAllouesDebutTour=Metriques.octetsAllouesParThreadCourant();
+	}
 
+	/**
+	 * Méthode appelée à la fin du tour du joueur devant jouer (avant de passer au joueur suivant).
+	 */
+	private void terminerTour() {
+		if (evenementTour!=null) {
+			evenementTour.terminer();
+			evenementTour=null;
+		}
+		if (Metriques.ACTIVEES)
+			Metriques.enregistrerAllocationsTour(octetsAllouesDebutTour);
+	}
 }
@@ -0,0 +1,35 @@
+package dedale.gestionnaires;
+
+/**
+ * Interface spécifiant les méthodes attendues d'un planificateur : le gestionnaire de jeu lui confie toutes les actions différées
+ * (étapes du coup d'un joueur ordinateur) et lui fait convertir les délais transmis à l'interface graphique (animations, attentes de clics).
+ * Le même gestionnaire de jeu peut ainsi faire jouer une partie affichée en temps réel, accélérée
+ * (voir {@link PlanificateurTempsReel}) ou en temps virtuel, sans aucune attente (voir {@link PlanificateurVirtuel}).
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public interface Planificateur {
+	/**
+	 * Méthode planifiant l'exécution d'une action après un certain délai de jeu.
+	 * @param delaiMs Le délai de jeu en millisecondes. Ce délai doit être positif ou nul.
+	 * @param action L'action à exécuter.
+	 */
+	public void planifier(final int delaiMs,final Runnable action);
+
+	/**
+	 * Méthode retournant l'instant de jeu courant, c'est-à-dire le temps de jeu écoulé depuis la création du planificateur.
+	 * @return L'instant de jeu en millisecondes.
+	 */
+	public long getInstantMs();
+
+	/**
+	 * Méthode convertissant un délai de jeu en délai à transmettre à l'interface graphique.
+	 * Par défaut, le délai est inchangé.
+	 * @param delaiMs Le délai de jeu en millisecondes (strictement positif).
+	 * @return Le délai correspondant en millisecondes (strictement positif).
+	 */
+	default public int convertirDelai(final int delaiMs) {
+		return delaiMs;
+	}
+}
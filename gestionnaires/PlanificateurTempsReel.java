@@ -0,0 +1,96 @@
+package dedale.gestionnaires;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Une instance de cette classe correspond à un planificateur en temps réel, éventuellement accéléré d'un certain facteur
+ * (par exemple pour des démonstrations) : un délai de jeu d est attendu pendant d/facteur millisecondes.
+ * <br>
+ * Les attentes sont réalisées par un unique thread (démon) partagé par tous les planificateurs, puis chaque action est confiée
+ * à l'exécuteur du planificateur : pour l'interface graphique, un exécuteur transmettant l'action au thread de l'affichage
+ * (par exemple Platform::runLater avec JavaFX) afin que le gestionnaire de jeu ne soit utilisé que depuis ce thread.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public class PlanificateurTempsReel implements Planificateur {
+	/**
+	 * Classe contenant le thread réalisant les attentes, créé à la première planification.
+	 */
+	static final private class Attentes {
+		/**
+		 * Le service réalisant les attentes.
+		 */
+		static final ScheduledExecutorService SERVICE=Executors.newSingleThreadScheduledExecutor(tache -> {
+			final Thread thread=new Thread(tache,"dedale-planificateur");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * L'exécuteur des actions.
+	 */
+	final private Executor executeur;
+
+	/**
+	 * Le facteur d'accélération du temps.
+	 */
+	final private double facteur;
+
+	/**
+	 * L'instant réel de création du planificateur en nanosecondes.
+	 */
+	final private long origineNs=System.nanoTime();
+
+	/**
+	 * Constructeur permettant de créer un planificateur accéléré.
+	 * Dans le cas où l'exécuteur est null ou le facteur n'est pas strictement positif, une Exception de type IllegalArgumentException est levée.
+	 * @param executeur L'exécuteur des actions.
+	 * @param facteur Le facteur d'accélération du temps (1 pour le temps réel, 10 pour un jeu 10 fois plus rapide).
+	 */
+	public PlanificateurTempsReel(final Executor executeur,final double facteur) {
+		if (executeur==null)
+			throw new IllegalArgumentException("L'exécuteur ne doit pas être null !");
+		if (!(facteur>0))
+			throw new IllegalArgumentException("Le facteur d'accélération doit être strictement positif : "+facteur+" !");
+		this.executeur=executeur;
+		this.facteur=facteur;
+	}
+
+	/**
+	 * Constructeur permettant de créer un planificateur en temps réel.
+	 * @param executeur L'exécuteur des actions.
+	 */
+	public PlanificateurTempsReel(final Executor executeur) {
+		this(executeur,1);
+	}
+
+	/**
+	 * Méthode retournant le facteur d'accélération du temps.
+	 * @return Le facteur d'accélération.
+	 */
+	public double getFacteur() {
+		return facteur;
+	}
+
+	@Override
+	public void planifier(final int delaiMs,final Runnable action) {
+		if (delaiMs<0)
+			throw new IllegalArgumentException("Le délai doit être positif ou nul : "+delaiMs+" !");
+		Attentes.SERVICE.schedule(() -> executeur.execute(action),Math.round(delaiMs*1000/facteur),TimeUnit.MICROSECONDS);
+	}
+
+	@Override
+	public long getInstantMs() {
+		return Math.round((System.nanoTime()-origineNs)*facteur/1000000);
+	}
+
+	@Override
+	public int convertirDelai(final int delaiMs) {
+		return (int)Math.max(1,Math.round(delaiMs/facteur));
+	}
+}
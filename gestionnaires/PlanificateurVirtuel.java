@@ -0,0 +1,128 @@
+package dedale.gestionnaires;
+
+import java.util.PriorityQueue;
+
+/**
+ * Une instance de cette classe correspond à un planificateur en temps virtuel : les actions ne sont jamais attendues
+ * mais placées dans une file et exécutées une à une par {@link #executer(int)}, dans l'ordre de leur échéance
+ * (puis de leur planification), l'instant de jeu avançant directement jusqu'à chaque échéance.
+ * Les actions planifiées au cours d'une action sont exécutées après elle : la pile d'appels n'augmente donc pas au fil d'une partie.
+ * Les délais peuvent aussi être ignorés : les actions sont alors exécutées dans leur ordre de planification et l'instant de jeu reste nul.
+ * <br>
+ * Un tel planificateur n'est utilisable que depuis un seul thread : celui qui appelle {@link #executer(int)}.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public class PlanificateurVirtuel implements Planificateur {
+	/**
+	 * Une instance de cette classe correspond à une action en attente d'exécution.
+	 */
+	static final private class ActionPlanifiee implements Comparable<ActionPlanifiee> {
+		/**
+		 * L'instant de jeu à partir duquel l'action peut être exécutée.
+		 */
+		final private long echeanceMs;
+
+		/**
+		 * Le numéro d'ordre de l'action (départage les actions de même échéance).
+		 */
+		final private long numero;
+
+		/**
+		 * L'action.
+		 */
+		final private Runnable action;
+
+		/**
+		 * Constructeur permettant de créer une action planifiée.
+		 * @param echeanceMs L'échéance de l'action.
+		 * @param numero Le numéro d'ordre de l'action.
+		 * @param action L'action.
+		 */
+		private ActionPlanifiee(final long echeanceMs,final long numero,final Runnable action) {
+			this.echeanceMs=echeanceMs;
+			this.numero=numero;
+			this.action=action;
+		}
+
+		@Override
+		public int compareTo(final ActionPlanifiee autre) {
+			if (echeanceMs!=autre.echeanceMs)
+				return Long.compare(echeanceMs,autre.echeanceMs);
+			return Long.compare(numero,autre.numero);
+		}
+	}
+
+	/**
+	 * Indique si les délais sont simulés (true) ou ignorés (false).
+	 */
+	final private boolean delaisSimules;
+
+	/**
+	 * Les actions en attente d'exécution.
+	 */
+	final private PriorityQueue<ActionPlanifiee> actions=new PriorityQueue<ActionPlanifiee>();
+
+	/**
+	 * L'instant de jeu courant en millisecondes.
+	 */
+	private long instantMs;
+
+	/**
+	 * Le nombre d'actions planifiées (numéro d'ordre de la prochaine action).
+	 */
+	private long nbActionsPlanifiees;
+
+	/**
+	 * Constructeur permettant de créer un planificateur simulant ou ignorant les délais.
+	 * @param delaisSimules true pour simuler les délais, false pour les ignorer.
+	 */
+	public PlanificateurVirtuel(final boolean delaisSimules) {
+		this.delaisSimules=delaisSimules;
+	}
+
+	/**
+	 * Constructeur permettant de créer un planificateur simulant les délais.
+	 */
+	public PlanificateurVirtuel() {
+		this(true);
+	}
+
+	@Override
+	public void planifier(final int delaiMs,final Runnable action) {
+		if (delaiMs<0)
+			throw new IllegalArgumentException("Le délai doit être positif ou nul : "+delaiMs+" !");
+		actions.add(new ActionPlanifiee(delaisSimules?instantMs+delaiMs:instantMs,nbActionsPlanifiees++,action));
+	}
+
+	@Override
+	public long getInstantMs() {
+		return instantMs;
+	}
+
+	/**
+	 * Méthode exécutant les actions en attente, y compris celles planifiées au cours de l'exécution.
+	 * @param nbActionsMax Le nombre maximal d'actions à exécuter.
+	 * @return Le nombre d'actions exécutées.
+	 */
+	public int executer(final int nbActionsMax) {
+		int nbExecutees=0;
+		while ((nbExecutees<nbActionsMax)&&(!actions.isEmpty())) {
+			final ActionPlanifiee action=actions.poll();
+			if (action.echeanceMs>instantMs)
+				instantMs=action.echeanceMs;
+			action.action.run();
+			nbExecutees++;
+		}
+		return nbExecutees;
+	}
+
+	/**
+	 * Méthode retournant le nombre d'actions en attente d'exécution.
+	 * @return Le nombre d'actions en attente.
+	 */
+	public int getNbActionsEnAttente() {
+		return actions.size();
+	}
+}
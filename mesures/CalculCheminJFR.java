@@ -0,0 +1,77 @@
+package dedale.mesures;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Un événement JFR (Java Flight Recorder) correspondant au calcul d'un chemin entre deux positions.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+@Name("dedale.CalculChemin")
+@Label("Calcul d'un chemin")
+@Category("Dédale")
+@Description("Le calcul d'un chemin entre deux positions du plateau.")
+public class CalculCheminJFR extends jdk.jfr.Event {
+	/**
+	 * Le type de l'événement, permettant de savoir si un enregistrement en cours l'a activé.
+	 */
+	static final private EventType TYPE=EventType.getEventType(CalculCheminJFR.class);
+
+	/**
+	 * Le nombre de pièces du chemin (0 si aucun chemin n'existe).
+	 */
+	@Label("Longueur du chemin")
+	int longueur;
+
+	/**
+	 * Le nombre de cases explorées lors du calcul (toutes les cases accessibles depuis la position finale pour un parcours en largeur).
+	 */
+	@Label("Cases accessibles")
+	int nbCasesAccessibles;
+
+	/**
+	 * La stratégie de calcul utilisée.
+	 */
+	@Label("Stratégie")
+	String strategie;
+
+	/**
+	 * Méthode créant et démarrant l'événement uniquement si un enregistrement en cours l'a activé.
+	 * Aucun objet n'est ainsi alloué lorsque JFR n'enregistre pas cet événement.
+	 * @return L'événement démarré ou null si l'événement n'est pas activé.
+	 */
+	public static CalculCheminJFR demarrer() {
+		if (!TYPE.isEnabled())
+			return null;
+		final CalculCheminJFR evenement=new CalculCheminJFR();
+		evenement.begin();
+		return evenement;
+	}
+
+	/**
+	 * Méthode permettant d'indiquer le nombre de cases explorées lors du calcul.
+	 * @param nbCasesAccessibles Le nombre de cases explorées.
+	 */
+	public void definirNbCasesAccessibles(final int nbCasesAccessibles) {
+		this.nbCasesAccessibles=nbCasesAccessibles;
+	}
+
+	/**
+	 * Méthode terminant l'événement et l'enregistrant s'il doit l'être.
+	 * @param strategie La stratégie de calcul utilisée.
+	 * @param longueur Le nombre de pièces du chemin (0 si aucun chemin n'existe).
+	 */
+	public void terminer(final Object strategie,final int longueur) {
+		end();
+		if (shouldCommit()) {
+			this.strategie=String.valueOf(strategie);
+			this.longueur=longueur;
+			commit();
+		}
+	}
+}
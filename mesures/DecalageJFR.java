@@ -0,0 +1,63 @@
+package dedale.mesures;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Un événement JFR (Java Flight Recorder) correspondant à l'insertion de la pièce hors plateau (décalage d'une ligne ou d'une colonne).
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+@Name("dedale.Decalage")
+@Label("Décalage")
+@Category("Dédale")
+@Description("L'insertion de la pièce hors plateau (décalage d'une ligne ou d'une colonne).")
+public class DecalageJFR extends jdk.jfr.Event {
+	/**
+	 * Le type de l'événement, permettant de savoir si un enregistrement en cours l'a activé.
+	 */
+	static final private EventType TYPE=EventType.getEventType(DecalageJFR.class);
+
+	/**
+	 * La direction du décalage.
+	 */
+	@Label("Direction")
+	String direction;
+
+	/**
+	 * Le numéro de la ligne ou de la colonne décalée.
+	 */
+	@Label("Ligne ou colonne")
+	int numLigneOuColonne;
+
+	/**
+	 * Méthode créant et démarrant l'événement uniquement si un enregistrement en cours l'a activé.
+	 * Aucun objet n'est ainsi alloué lorsque JFR n'enregistre pas cet événement.
+	 * @return L'événement démarré ou null si l'événement n'est pas activé.
+	 */
+	public static DecalageJFR demarrer() {
+		if (!TYPE.isEnabled())
+			return null;
+		final DecalageJFR evenement=new DecalageJFR();
+		evenement.begin();
+		return evenement;
+	}
+
+	/**
+	 * Méthode terminant l'événement et l'enregistrant s'il doit l'être.
+	 * @param direction La direction du décalage.
+	 * @param numLigneOuColonne Le numéro de la ligne ou de la colonne décalée.
+	 */
+	public void terminer(final Object direction,final int numLigneOuColonne) {
+		end();
+		if (shouldCommit()) {
+			this.direction=String.valueOf(direction);
+			this.numLigneOuColonne=numLigneOuColonne;
+			commit();
+		}
+	}
+}
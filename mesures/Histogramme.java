@@ -0,0 +1,156 @@
+package dedale.mesures;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Une instance de cette classe permet d'enregistrer sans verrou une distribution de valeurs positives (des durées en nanosecondes
+ * ou des nombres d'octets par exemple).
+ * Les valeurs sont réparties dans des intervalles de largeur croissante (échelle logarithmique subdivisée linéairement) :
+ * les valeurs strictement inférieures à {@link #NB_SOUS_INTERVALLES} sont exactes et les autres sont connues à
+ * 1/{@link #NB_SOUS_INTERVALLES} près. L'enregistrement d'une valeur se fait en temps constant et sans allocation.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public class Histogramme {
+	/**
+	 * Le nombre de sous-intervalles par puissance de 2, la valeur de cette constante est {@value}.
+	 */
+	static final public int NB_SOUS_INTERVALLES=16;
+
+	/**
+	 * Le nombre de bits correspondant au nombre de sous-intervalles.
+	 */
+	static final private int BITS_SOUS_INTERVALLES=4;
+
+	/**
+	 * Le nombre total d'intervalles (suffisant pour toutes les valeurs positives d'un long).
+	 */
+	static final private int NB_INTERVALLES=(64-BITS_SOUS_INTERVALLES)*NB_SOUS_INTERVALLES;
+
+	/**
+	 * Le nombre de valeurs enregistrées par intervalle.
+	 */
+	final private AtomicLongArray comptes=new AtomicLongArray(NB_INTERVALLES);
+
+	/**
+	 * Le nombre de valeurs enregistrées.
+	 */
+	final private AtomicLong nbValeurs=new AtomicLong();
+
+	/**
+	 * La somme des valeurs enregistrées.
+	 */
+	final private AtomicLong somme=new AtomicLong();
+
+	/**
+	 * La plus grande valeur enregistrée.
+	 */
+	final private AtomicLong maximum=new AtomicLong();
+
+	/**
+	 * Méthode retournant l'indice de l'intervalle contenant une valeur.
+	 * @param valeur Une valeur positive.
+	 * @return L'indice de l'intervalle contenant la valeur.
+	 */
+	static private int indice(final long valeur) {
+		if (valeur<NB_SOUS_INTERVALLES)
+			return (int)valeur;
+		final int exposant=63-Long.numberOfLeadingZeros(valeur);
+		final int sousIntervalle=(int)(valeur>>>(exposant-BITS_SOUS_INTERVALLES))&(NB_SOUS_INTERVALLES-1);
+		return (exposant-BITS_SOUS_INTERVALLES+1)*NB_SOUS_INTERVALLES+sousIntervalle;
+	}
+
+	/**
+	 * Méthode retournant la plus petite valeur d'un intervalle.
+	 * @param indice L'indice de l'intervalle.
+	 * @return La plus petite valeur de l'intervalle.
+	 */
+	static private long valeurMin(final int indice) {
+		if (indice<NB_SOUS_INTERVALLES)
+			return indice;
+		final int exposant=indice/NB_SOUS_INTERVALLES+BITS_SOUS_INTERVALLES-1;
+		return ((long)(NB_SOUS_INTERVALLES+indice%NB_SOUS_INTERVALLES))<<(exposant-BITS_SOUS_INTERVALLES);
+	}
+
+	/**
+	 * Méthode enregistrant une valeur. Une valeur négative est enregistrée comme la valeur 0.
+	 * @param valeur La valeur à enregistrer.
+	 */
+	public void enregistrer(long valeur) {
+		if (valeur<0)
+			valeur=0;
+		comptes.incrementAndGet(indice(valeur));
+		nbValeurs.incrementAndGet();
+		somme.addAndGet(valeur);
+		long max=maximum.get();
+		while ((valeur>max)&&(! maximum.compareAndSet(max,valeur)))
+			max=maximum.get();
+	}
+
+	/**
+	 * Méthode retournant le nombre de valeurs enregistrées.
+	 * @return Le nombre de valeurs enregistrées.
+	 */
+	public long getNbValeurs() {
+		return nbValeurs.get();
+	}
+
+	/**
+	 * Méthode retournant la moyenne des valeurs enregistrées.
+	 * @return La moyenne des valeurs enregistrées (0 si aucune valeur n'a été enregistrée).
+	 */
+	public double getMoyenne() {
+		final long nb=nbValeurs.get();
+		return (nb==0)?0:somme.get()/(double)nb;
+	}
+
+	/**
+	 * Méthode retournant la plus grande valeur enregistrée.
+	 * @return La plus grande valeur enregistrée (0 si aucune valeur n'a été enregistrée).
+	 */
+	public long getMaximum() {
+		return maximum.get();
+	}
+
+	/**
+	 * Méthode retournant une valeur approchée (par défaut) du centile demandé.
+	 * @param centile Un centile compris (au sens large) entre 0 et 100.
+	 * @return La borne inférieure de l'intervalle contenant le centile demandé (0 si aucune valeur n'a été enregistrée).
+	 */
+	public long getCentile(final double centile) {
+		final long nb=nbValeurs.get();
+		if (nb==0)
+			return 0;
+		final long rang=Math.max(1,(long)Math.ceil(nb*centile/100));
+		long cumul=0;
+		for (int i=0;i<NB_INTERVALLES;i++) {
+			cumul+=comptes.get(i);
+			if (cumul>=rang)
+				return valeurMin(i);
+		}
+		return maximum.get();
+	}
+
+	/**
+	 * Méthode remettant à zéro l'histogramme.
+	 * Les valeurs enregistrées pendant la remise à zéro peuvent être partiellement perdues.
+	 */
+	public void reinitialiser() {
+		for (int i=0;i<NB_INTERVALLES;i++)
+			comptes.set(i,0);
+		nbValeurs.set(0);
+		somme.set(0);
+		maximum.set(0);
+	}
+
+	/**
+	 * Retourne une représentation textuelle de l'histogramme (nombre de valeurs, moyenne, centiles 50, 90, 99 et maximum).
+	 */
+	@Override
+	public String toString() {
+		return "nb="+getNbValeurs()+" moy="+String.format("%.1f",getMoyenne())+" p50="+getCentile(50)+" p90="+getCentile(90)
+				+" p99="+getCentile(99)+" max="+getMaximum();
+	}
+}
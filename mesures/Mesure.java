@@ -0,0 +1,46 @@
+package dedale.mesures;
+
+/**
+ * Une énumération correspondant aux différents points du moteur dont la durée est mesurée (voir {@link Metriques}).
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public enum Mesure {
+	/**
+	 * Le calcul d'un chemin entre deux positions.
+	 */
+	CALCUL_CHEMIN,
+	/**
+	 * L'insertion de la pièce hors plateau (décalage d'une ligne ou d'une colonne).
+	 */
+	DECALAGE,
+	/**
+	 * Le calcul d'un coup par un joueur ordinateur.
+	 */
+	CALCUL_COUP,
+	/**
+	 * La gestion des paramètres de la partie par le gestionnaire de jeu.
+	 */
+	GESTION_PARAMETRES,
+	/**
+	 * La gestion d'une demande de rotation par le gestionnaire de jeu.
+	 */
+	GESTION_ROTATION,
+	/**
+	 * La gestion d'une demande de décalage par le gestionnaire de jeu.
+	 */
+	GESTION_DECALAGE,
+	/**
+	 * La gestion d'une demande de déplacement par le gestionnaire de jeu.
+	 */
+	GESTION_DEPLACEMENT,
+	/**
+	 * La gestion d'un déplacement sur un chemin par le gestionnaire de jeu.
+	 */
+	GESTION_DEPLACEMENT_SUR_CHEMIN,
+	/**
+	 * Le démarrage de l'application, du lancement de la JVM jusqu'à l'affichage de la vue de paramétrage.
+	 */
+	DEMARRAGE
+}
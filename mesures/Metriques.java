@@ -0,0 +1,236 @@
+package dedale.mesures;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Cette classe regroupe les métriques du moteur du jeu : un histogramme des durées (en nanosecondes) de chaque {@link Mesure}
+ * (dont le nombre de valeurs correspond au nombre d'appels), le nombre de noeuds explorés par les joueurs ordinateurs
+ * et un histogramme des octets alloués par tour de jeu.
+ * <br>
+ * Les métriques ne sont activées que si la propriété système {@value #PROPRIETE_ACTIVATION} vaut true.
+ * Les points de mesure testent la constante {@link #ACTIVEES} avant tout calcul : lorsqu'elles sont désactivées,
+ * ce test est éliminé par le compilateur à la volée et les métriques n'ont aucun coût.
+ * Lorsqu'elles sont activées, elles sont publiées en JMX (sous le nom {@value #NOM_JMX}) et, si la propriété système
+ * {@value #PROPRIETE_FICHIER} est définie, écrites dans le fichier correspondant à l'arrêt de l'application.
+ * <br>
+ * Exemple d'utilisation à un point de mesure :
+ * <pre>
+ * final long debut=Metriques.ACTIVEES?System.nanoTime():0;
+ * ...
+ * if (Metriques.ACTIVEES)
+ * 	Metriques.enregistrer(Mesure.DECALAGE,debut);
+ * </pre>
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public class Metriques {
+	/**
+	 * Le nom de la propriété système activant les métriques, la valeur de cette constante est {@value}.
+	 */
+	static final public String PROPRIETE_ACTIVATION="dedale.metriques";
+
+	/**
+	 * Le nom de la propriété système donnant le fichier dans lequel les métriques sont écrites à l'arrêt, la valeur de cette constante est {@value}.
+	 */
+	static final public String PROPRIETE_FICHIER="dedale.metriques.fichier";
+
+	/**
+	 * Le nom JMX sous lequel les métriques sont publiées, la valeur de cette constante est {@value}.
+	 */
+	static final public String NOM_JMX="dedale:type=Metriques";
+
+	/**
+	 * Un booléen indiquant si les métriques sont activées.
+	 */
+	static final public boolean ACTIVEES=Boolean.getBoolean(PROPRIETE_ACTIVATION);
+
+	/**
+	 * Les histogrammes des durées indexés par l'ordinal de la mesure.
+	 */
+	static final private Histogramme[] HISTOGRAMMES=new Histogramme[Mesure.values().length];
+
+	/**
+	 * L'histogramme des octets alloués par tour.
+	 */
+	static final private Histogramme ALLOCATIONS_PAR_TOUR=new Histogramme();
+
+	/**
+	 * Le nombre de noeuds explorés par les joueurs ordinateurs.
+	 */
+	static final private LongAdder NB_NOEUDS_EXPLORES=new LongAdder();
+
+	/**
+	 * Classe contenant le gestionnaire des threads de la JVM permettant de connaître les octets alloués (null si non disponible).
+	 * Il n'est obtenu qu'à la première utilisation afin de ne pas ralentir le démarrage de l'application.
+	 */
+	static final private class Threads {
+		/**
+		 * Le gestionnaire des threads.
+		 */
+		static final com.sun.management.ThreadMXBean THREADS;
+
+		static {
+			final java.lang.management.ThreadMXBean threads=ManagementFactory.getThreadMXBean();
+			if ((threads instanceof com.sun.management.ThreadMXBean)&&((com.sun.management.ThreadMXBean)threads).isThreadAllocatedMemorySupported())
+				THREADS=(com.sun.management.ThreadMXBean)threads;
+			else
+				THREADS=null;
+		}
+	}
+
+	static {
+		for (int i=0;i<HISTOGRAMMES.length;i++)
+			HISTOGRAMMES[i]=new Histogramme();
+		if (ACTIVEES) {
+			try {
+				ManagementFactory.getPlatformMBeanServer().registerMBean(new MetriquesJMX(),new ObjectName(NOM_JMX));
+			} catch (JMException e) {
+				System.err.println("Impossible de publier les métriques en JMX : "+e.getMessage());
+			}
+			final String fichier=System.getProperty(PROPRIETE_FICHIER);
+			if (fichier!=null)
+				Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+					try {
+						exporter(Paths.get(fichier));
+					} catch (IOException e) {
+						System.err.println("Impossible d'écrire les métriques dans "+fichier+" : "+e.getMessage());
+					}
+				}));
+		}
+	}
+
+	/**
+	 * Constructeur privé (classe utilitaire).
+	 */
+	private Metriques() {
+	}
+
+	/**
+	 * Méthode enregistrant la durée d'une mesure à partir de l'instant de son début.
+	 * @param mesure La mesure concernée.
+	 * @param debutNs L'instant de début (obtenu par System.nanoTime()).
+	 */
+	static public void enregistrer(final Mesure mesure,final long debutNs) {
+		HISTOGRAMMES[mesure.ordinal()].enregistrer(System.nanoTime()-debutNs);
+	}
+
+	/**
+	 * Méthode enregistrant une durée mesurée autrement qu'à partir de System.nanoTime() (par exemple la durée du démarrage).
+	 * @param mesure La mesure concernée.
+	 * @param dureeNs La durée en nanosecondes.
+	 */
+	static public void enregistrerDuree(final Mesure mesure,final long dureeNs) {
+		HISTOGRAMMES[mesure.ordinal()].enregistrer(dureeNs);
+	}
+
+	/**
+	 * Méthode ajoutant un nombre de noeuds explorés par un joueur ordinateur.
+	 * @param nbNoeuds Le nombre de noeuds explorés.
+	 */
+	static public void ajouterNoeudsExplores(final long nbNoeuds) {
+		NB_NOEUDS_EXPLORES.add(nbNoeuds);
+	}
+
+	/**
+	 * Méthode retournant le nombre d'octets alloués jusqu'à présent par le thread courant.
+	 * @return Le nombre d'octets alloués par le thread courant (0 si cette information n'est pas disponible).
+	 */
+	static public long octetsAllouesParThreadCourant() {
+		return (Threads.THREADS==null)?0:Threads.THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * Méthode retournant le nombre d'octets alloués jusqu'à présent par l'ensemble des threads vivants,
+	 * ce qui inclut les threads du pool utilisés par les calculs parallèles.
+	 * @return Le nombre d'octets alloués par les threads vivants (0 si cette information n'est pas disponible).
+	 */
+	static public long octetsAllouesParTousLesThreads() {
+		if (Threads.THREADS==null)
+			return 0;
+		long nbOctets=0;
+		for (long nbOctetsThread : Threads.THREADS.getThreadAllocatedBytes(Threads.THREADS.getAllThreadIds()))
+			if (nbOctetsThread>0)
+				nbOctets+=nbOctetsThread;
+		return nbOctets;
+	}
+
+	/**
+	 * Méthode enregistrant le nombre d'octets alloués par le thread courant pendant un tour.
+	 * @param octetsAuDebut Le nombre d'octets alloués par le thread courant au début du tour (voir {@link #octetsAllouesParThreadCourant()}).
+	 */
+	static public void enregistrerAllocationsTour(final long octetsAuDebut) {
+		ALLOCATIONS_PAR_TOUR.enregistrer(octetsAllouesParThreadCourant()-octetsAuDebut);
+	}
+
+	/**
+	 * Méthode retournant l'histogramme des durées d'une mesure.
+	 * @param mesure Une mesure.
+	 * @return L'histogramme des durées (en nanosecondes) de la mesure.
+	 */
+	static public Histogramme getHistogramme(final Mesure mesure) {
+		return HISTOGRAMMES[mesure.ordinal()];
+	}
+
+	/**
+	 * Méthode retournant l'histogramme des octets alloués par tour.
+	 * @return L'histogramme des octets alloués par tour.
+	 */
+	static public Histogramme getHistogrammeAllocationsParTour() {
+		return ALLOCATIONS_PAR_TOUR;
+	}
+
+	/**
+	 * Méthode retournant le nombre total de noeuds explorés par les joueurs ordinateurs.
+	 * @return Le nombre de noeuds explorés.
+	 */
+	static public long getNbNoeudsExplores() {
+		return NB_NOEUDS_EXPLORES.sum();
+	}
+
+	/**
+	 * Méthode retournant le nombre de noeuds explorés par seconde de calcul de coup, tous joueurs ordinateurs confondus
+	 * (le nombre total de noeuds explorés rapporté à la durée totale de la mesure {@link Mesure#CALCUL_COUP}).
+	 * @return Le nombre de noeuds explorés par seconde (0 si aucun coup n'a été calculé).
+	 */
+	static public double getNbNoeudsParSeconde() {
+		final Histogramme histogramme=getHistogramme(Mesure.CALCUL_COUP);
+		final double dureeNs=histogramme.getMoyenne()*histogramme.getNbValeurs();
+		return (dureeNs<=0)?0:getNbNoeudsExplores()*1e9/dureeNs;
+	}
+
+	/**
+	 * Méthode remettant à zéro toutes les métriques.
+	 */
+	static public void reinitialiser() {
+		for (Histogramme histogramme : HISTOGRAMMES)
+			histogramme.reinitialiser();
+		ALLOCATIONS_PAR_TOUR.reinitialiser();
+		NB_NOEUDS_EXPLORES.reset();
+	}
+
+	/**
+	 * Méthode écrivant les métriques dans un fichier texte (une ligne par mesure).
+	 * @param fichier Le chemin du fichier (remplacé s'il existe déjà).
+	 * @throws IOException Si une erreur survient lors de l'écriture.
+	 */
+	static public void exporter(final Path fichier) throws IOException {
+		try (PrintWriter sortie=new PrintWriter(Files.newBufferedWriter(fichier,StandardCharsets.UTF_8))) {
+			for (Mesure mesure : Mesure.values())
+				sortie.println(mesure+" (ns) : "+getHistogramme(mesure));
+			sortie.println("ALLOCATIONS_PAR_TOUR (octets) : "+ALLOCATIONS_PAR_TOUR);
+			sortie.println("NOEUDS_EXPLORES : "+getNbNoeudsExplores());
+			sortie.println("NOEUDS_PAR_SECONDE : "+Math.round(getNbNoeudsParSeconde()));
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package dedale.mesures;
+
+/**
+ * Adaptateur JMX des métriques du moteur, enregistré sous le nom {@link Metriques#NOM_JMX}.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public class MetriquesJMX implements MetriquesJMXMBean {
+	@Override
+	public String[] getResumes() {
+		final Mesure[] mesures=Mesure.values();
+		final String[] resumes=new String[mesures.length];
+		for (int i=0;i<mesures.length;i++)
+			resumes[i]=mesures[i]+" (ns) : "+Metriques.getHistogramme(mesures[i]);
+		return resumes;
+	}
+
+	@Override
+	public long getNbNoeudsExplores() {
+		return Metriques.getNbNoeudsExplores();
+	}
+
+	@Override
+	public double getNbNoeudsParSeconde() {
+		return Metriques.getNbNoeudsParSeconde();
+	}
+
+	@Override
+	public double getOctetsAllouesParTour() {
+		return Metriques.getHistogrammeAllocationsParTour().getMoyenne();
+	}
+
+	@Override
+	public void reinitialiser() {
+		Metriques.reinitialiser();
+	}
+}
@@ -0,0 +1,38 @@
+package dedale.mesures;
+
+/**
+ * Interface de gestion (JMX) permettant de consulter les métriques du moteur (voir {@link Metriques}).
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public interface MetriquesJMXMBean {
+	/**
+	 * Méthode retournant un résumé de chaque mesure (une chaîne par mesure).
+	 * @return Les résumés des mesures.
+	 */
+	public String[] getResumes();
+
+	/**
+	 * Méthode retournant le nombre total de noeuds explorés par les joueurs ordinateurs.
+	 * @return Le nombre total de noeuds explorés.
+	 */
+	public long getNbNoeudsExplores();
+
+	/**
+	 * Méthode retournant le nombre de noeuds explorés par seconde de calcul de coup par les joueurs ordinateurs.
+	 * @return Le nombre de noeuds explorés par seconde.
+	 */
+	public double getNbNoeudsParSeconde();
+
+	/**
+	 * Méthode retournant le nombre d'octets alloués en moyenne par tour.
+	 * @return Le nombre moyen d'octets alloués par tour.
+	 */
+	public double getOctetsAllouesParTour();
+
+	/**
+	 * Méthode remettant à zéro toutes les métriques.
+	 */
+	public void reinitialiser();
+}
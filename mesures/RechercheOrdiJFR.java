@@ -0,0 +1,79 @@
+package dedale.mesures;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Un événement JFR (Java Flight Recorder) correspondant au calcul d'un coup par un joueur ordinateur.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+@Name("dedale.RechercheOrdi")
+@Label("Recherche d'un coup")
+@Category("Dédale")
+@Description("Le calcul d'un coup par un joueur ordinateur.")
+public class RechercheOrdiJFR extends jdk.jfr.Event {
+	/**
+	 * Le type de l'événement, permettant de savoir si un enregistrement en cours l'a activé.
+	 */
+	static final private EventType TYPE=EventType.getEventType(RechercheOrdiJFR.class);
+
+	/**
+	 * L'identifiant du joueur.
+	 */
+	@Label("Identifiant du joueur")
+	int idJoueur;
+
+	/**
+	 * Le coup choisi.
+	 */
+	@Label("Coup choisi")
+	String coup;
+
+	/**
+	 * Le nombre de noeuds explorés.
+	 */
+	@Label("Noeuds explorés")
+	long nbNoeuds;
+
+	/**
+	 * La profondeur atteinte.
+	 */
+	@Label("Profondeur")
+	int profondeur;
+
+	/**
+	 * Méthode créant et démarrant l'événement uniquement si un enregistrement en cours l'a activé.
+	 * Aucun objet n'est ainsi alloué lorsque JFR n'enregistre pas cet événement.
+	 * @return L'événement démarré ou null si l'événement n'est pas activé.
+	 */
+	public static RechercheOrdiJFR demarrer() {
+		if (!TYPE.isEnabled())
+			return null;
+		final RechercheOrdiJFR evenement=new RechercheOrdiJFR();
+		evenement.begin();
+		return evenement;
+	}
+
+	/**
+	 * Méthode terminant l'événement et l'enregistrant s'il doit l'être.
+	 * @param idJoueur L'identifiant du joueur.
+	 * @param coup Le coup choisi.
+	 * @param nbNoeuds Le nombre de noeuds explorés.
+	 * @param profondeur La profondeur atteinte.
+	 */
+	public void terminer(final int idJoueur,final Object coup,final long nbNoeuds,final int profondeur) {
+		end();
+		if (shouldCommit()) {
+			this.idJoueur=idJoueur;
+			this.coup=String.valueOf(coup);
+			this.nbNoeuds=nbNoeuds;
+			this.profondeur=profondeur;
+			commit();
+		}
+	}
+}
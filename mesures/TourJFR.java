@@ -0,0 +1,63 @@
+package dedale.mesures;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Un événement JFR (Java Flight Recorder) correspondant au tour d'un joueur, du début de son tour jusqu'à la fin de son déplacement.
+ * Un enregistrement de ces événements peut être lancé avec l'option -XX:StartFlightRecording de la JVM puis analysé dans JDK Mission Control.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+@Name("dedale.Tour")
+@Label("Tour de jeu")
+@Category("Dédale")
+@Description("Le tour d'un joueur, du début de son tour jusqu'à la fin de son déplacement.")
+public class TourJFR extends jdk.jfr.Event {
+	/**
+	 * Le type de l'événement, permettant de savoir si un enregistrement en cours l'a activé.
+	 */
+	static final private EventType TYPE=EventType.getEventType(TourJFR.class);
+
+	/**
+	 * L'identifiant du joueur.
+	 */
+	@Label("Identifiant du joueur")
+	int idJoueur;
+
+	/**
+	 * La nature du joueur (nom de sa classe).
+	 */
+	@Label("Nature du joueur")
+	String natureJoueur;
+
+	/**
+	 * Méthode créant et démarrant l'événement correspondant au tour d'un joueur uniquement si un enregistrement en cours l'a activé.
+	 * Aucun objet n'est ainsi alloué lorsque JFR n'enregistre pas cet événement.
+	 * @param idJoueur L'identifiant du joueur.
+	 * @param natureJoueur La nature du joueur.
+	 * @return L'événement démarré ou null si l'événement n'est pas activé.
+	 */
+	public static TourJFR demarrer(final int idJoueur,final String natureJoueur) {
+		if (!TYPE.isEnabled())
+			return null;
+		final TourJFR evenement=new TourJFR();
+		evenement.idJoueur=idJoueur;
+		evenement.natureJoueur=natureJoueur;
+		evenement.begin();
+		return evenement;
+	}
+
+	/**
+	 * Méthode terminant l'événement et l'enregistrant s'il doit l'être.
+	 */
+	public void terminer() {
+		end();
+		if (shouldCommit())
+			commit();
+	}
+}
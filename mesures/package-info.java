@@ -0,0 +1,8 @@
+/**
+ * Paquetage contenant les classes permettant de mesurer le comportement du moteur du jeu (durées, nombres d'appels, allocations)
+ * ainsi que les événements JFR (Java Flight Recorder) émis par le moteur.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+package dedale.mesures;
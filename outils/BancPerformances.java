@@ -0,0 +1,194 @@
+package dedale.outils;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import dedale.elements.ConfigurationJeu;
+import dedale.elements.Direction;
+import dedale.elements.ElementsJeu;
+import dedale.elements.Joueur;
+import dedale.elements.JoueurOrdi;
+import dedale.elements.JoueurOrdiN2;
+import dedale.elements.Piece;
+import dedale.elements.PlansConnexions;
+import dedale.elements.PlateauCompact;
+import dedale.elements.PositionPlateau;
+import dedale.elements.StrategieChemin;
+import dedale.gestionnaires.GestionnaireIGMemoire;
+import dedale.gestionnaires.Jeu;
+import dedale.gestionnaires.PlanificateurVirtuel;
+
+/**
+ * Programme mesurant le coût des principales opérations du moteur (génération, calcul de chemin, décalage et calcul d'un coup)
+ * en fonction de la taille du plateau, puis celui d'une partie complète jouée sans affichage (voir {@link GestionnaireIGMemoire}). Les stratégies de calcul de chemin sont comparées, y compris en nombre moyen de cases explorées,
+ * ainsi que les calculs des connexions de plateaux candidats (un décalage simulé puis annulé) case par case, par plans avec l'extraction par entiers longs
+ * et, si le programme est lancé avec l'option --add-modules jdk.incubator.vector et la classe facultative du répertoire vectoriel compilée,
+ * par plans avec l'extraction vectorielle (voir {@link PlansConnexions})
+ * et ceux des cases accessibles depuis une case par parcours en largeur et par propagation sur les plans. Pour chaque taille, le temps moyen d'une opération est affiché en microsecondes
+ * ainsi que ce temps rapporté au nombre de cases du plateau (en nanosecondes par case).
+ * <br>
+ * Exemple de lancement : java dedale.outils.BancPerformances [nbRepetitions [probSortie]]
+ * (une probabilité de génération d'une sortie élevée, par exemple 90, donne des plateaux plus connexes sur lesquels l'écart entre stratégies est plus marqué).
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public class BancPerformances {
+	/**
+	 * Les tailles (nombre de lignes et nombre de colonnes) des plateaux mesurés.
+	 */
+	static final private int[][] TAILLES= {{8,12},{16,16},{32,32},{64,64},{128,128},{256,256}};
+
+	/**
+	 * Le nombre de répétitions par défaut de chaque mesure, la valeur de cette constante est {@value}.
+	 */
+	static final private int NB_REPETITIONS_DEFAUT=200;
+
+	/**
+	 * Le nombre total de cases des plateaux candidats dont les connexions sont calculées pour chaque taille (le nombre de candidats
+	 * est inversement proportionnel au nombre de cases afin que les petits plateaux soient mesurés une fois le code compilé),
+	 * la valeur de cette constante est {@value}.
+	 */
+	static final private int NB_CASES_CONNEXIONS=50000000;
+
+	/**
+	 * Les stratégies de calcul de chemin comparées (voir {@link StrategieChemin}).
+	 */
+	static final private StrategieChemin[] STRATEGIES= {StrategieChemin.LARGEUR,StrategieChemin.BIDIRECTIONNELLE,StrategieChemin.A_ETOILE};
+
+	/**
+	 * Les pseudos des joueurs des parties complètes mesurées.
+	 */
+	static final private String[] PSEUDOS_PARTIE= {"Banc1","Banc2","Banc3"};
+
+	/**
+	 * Les natures des joueurs des parties complètes mesurées.
+	 */
+	static final private String[] NATURES_PARTIE= {"Ordi N2","Ordi N2","Ordi N2"};
+
+	/**
+	 * Une opération mesurée par le banc.
+	 */
+	private interface Operation {
+		/**
+		 * Méthode exécutant une fois l'opération.
+		 * @param numRepetition Le numéro de la répétition.
+		 */
+		void executer(int numRepetition);
+	}
+
+	/**
+	 * Méthode mesurant le temps moyen (en nanosecondes) d'une opération après une phase de chauffe.
+	 * @param operation L'opération à mesurer.
+	 * @param nbRepetitions Le nombre de répétitions de la mesure.
+	 * @return Le temps moyen d'une exécution de l'opération en nanosecondes.
+	 */
+	static private double mesurer(final Operation operation,final int nbRepetitions) {
+		for (int i=0;i<nbRepetitions;i++)
+			operation.executer(i);
+		final long debut=System.nanoTime();
+		for (int i=0;i<nbRepetitions;i++)
+			operation.executer(i);
+		return (System.nanoTime()-debut)/(double)nbRepetitions;
+	}
+
+	/**
+	 * Méthode affichant une ligne de résultat.
+	 * @param nom Le nom de l'opération.
+	 * @param nbCases Le nombre de cases du plateau.
+	 * @param tempsNs Le temps moyen de l'opération en nanosecondes.
+	 */
+	static private void afficher(final String nom,final int nbCases,final double tempsNs) {
+		System.out.printf("  %-22s %12.2f us %10.2f ns/case%n",nom,tempsNs/1000,tempsNs/nbCases);
+	}
+
+	/**
+	 * Méthode lançant le banc de mesures.
+	 * @param args Éventuellement le nombre de répétitions de chaque mesure puis la probabilité de génération d'une sortie.
+	 */
+	public static void main(String[] args) {
+		final int nbRepetitions=(args.length>0)?Integer.parseInt(args[0]):NB_REPETITIONS_DEFAUT;
+		final int probSortie=(args.length>1)?Integer.parseInt(args[1]):ConfigurationJeu.PROB_SORTIE_DEFAUT;
+		for (int[] taille : TAILLES) {
+			final int nbLignes=taille[0];
+			final int nbColonnes=taille[1];
+			final ConfigurationJeu configuration=new ConfigurationJeu(probSortie,nbLignes,nbColonnes,Joueur.NB_JOUEURS,
+					ConfigurationJeu.NB_OBJETS_PAR_JOUEUR_DEFAUT,ConfigurationJeu.GRAINE_DEFAUT,ConfigurationJeu.TEMPS_CALCUL_MAX_MS_DEFAUT);
+			final int nbCases=configuration.getNbCases();
+			System.out.println("Plateau "+nbLignes+"x"+nbColonnes+" ("+nbCases+" cases)");
+			final int nbRep=Math.max(5,nbRepetitions*96/nbCases);
+			afficher("generation",nbCases,mesurer(i -> new ElementsJeu(configuration),nbRep));
+			final ElementsJeu elementsJeu=new ElementsJeu(configuration);
+			final Random generateur=new Random(0);
+			final ArrayList<PositionPlateau> positions=new ArrayList<PositionPlateau>();
+			for (int i=0;i<2*nbRep;i++)
+				positions.add(new PositionPlateau(generateur.nextInt(nbLignes),generateur.nextInt(nbColonnes),configuration));
+			afficher("calculerChemin",nbCases,mesurer(i -> Piece.calculerChemin(positions.get(2*i),positions.get(2*i+1),elementsJeu.getPieces()),nbRep));
+			for (StrategieChemin strategie : STRATEGIES) {
+				final long[] nbCasesExplorees=new long[1];
+				final int[] nbCasesExploreesCalcul=new int[1];
+				final double tempsNs=mesurer(i -> {
+					Piece.calculerChemin(positions.get(2*i),positions.get(2*i+1),elementsJeu.getPieces(),strategie,nbCasesExploreesCalcul);
+					nbCasesExplorees[0]+=nbCasesExploreesCalcul[0];
+				},nbRep);
+				afficher("chemin "+strategie.name().toLowerCase(),nbCases,tempsNs);
+				System.out.printf("  %-22s %12.1f cases explorées en moyenne%n","",nbCasesExplorees[0]/(2.0*nbRep));
+			}
+			final Direction[] directions=Direction.values();
+			afficher("decalage",nbCases,mesurer(i -> {
+				final Direction direction=directions[i%directions.length];
+				final int max=((direction==Direction.HAUT)||(direction==Direction.BAS))?nbColonnes:nbLignes;
+				elementsJeu.effectuerInsertionPieceHorsPlateau(direction,i%max);
+			},nbRep));
+			final PlateauCompact plateau=new PlateauCompact(elementsJeu);
+			final PlansConnexions plans=new PlansConnexions(nbLignes,nbColonnes);
+			final int nbCandidats=Math.max(100,NB_CASES_CONNEXIONS/nbCases);
+			final double tempsScalaireNs=mesurer(i -> {
+				final Direction direction=directions[i%directions.length];
+				final int numLigOuCol=i%(((direction==Direction.HAUT)||(direction==Direction.BAS))?nbColonnes:nbLignes);
+				plateau.decaler(direction,numLigOuCol);
+				plans.calculerScalaire(plateau);
+				plateau.annulerDecalage(direction,numLigOuCol);
+			},nbCandidats);
+			final double tempsPlansNs=mesurer(i -> {
+				final Direction direction=directions[i%directions.length];
+				final int numLigOuCol=i%(((direction==Direction.HAUT)||(direction==Direction.BAS))?nbColonnes:nbLignes);
+				plateau.decaler(direction,numLigOuCol);
+				plans.calculerParMots(plateau);
+				plateau.annulerDecalage(direction,numLigOuCol);
+			},nbCandidats);
+			afficher("connexions scalaire",nbCases,tempsScalaireNs);
+			afficher("connexions plans",nbCases,tempsPlansNs);
+			System.out.printf("  %-22s %12.2f x plus rapide%n","",tempsScalaireNs/tempsPlansNs);
+			if (PlansConnexions.estVectoriel()) {
+				final double tempsVectorielNs=mesurer(i -> {
+					final Direction direction=directions[i%directions.length];
+					final int numLigOuCol=i%(((direction==Direction.HAUT)||(direction==Direction.BAS))?nbColonnes:nbLignes);
+					plateau.decaler(direction,numLigOuCol);
+					plans.calculer(plateau);
+					plateau.annulerDecalage(direction,numLigOuCol);
+				},nbCandidats);
+				afficher("connexions vectoriel",nbCases,tempsVectorielNs);
+				System.out.printf("  %-22s %12.2f x plus rapide que les plans%n","",tempsPlansNs/tempsVectorielNs);
+			}
+			final int[] distances=new int[nbCases];
+			final int[] file=new int[nbCases];
+			final long[] accessibles=plans.creerEnsembleCases();
+			plans.calculer(plateau);
+			final double tempsLargeurNs=mesurer(i -> plateau.parcourirEnLargeur(i%nbCases,distances,file),nbCandidats);
+			final double tempsPropagationNs=mesurer(i -> plans.calculerAccessibles(i%nbCases,accessibles),nbCandidats);
+			afficher("accessibles largeur",nbCases,tempsLargeurNs);
+			afficher("accessibles plans",nbCases,tempsPropagationNs);
+			System.out.printf("  %-22s %12.2f x plus rapide%n","",tempsLargeurNs/tempsPropagationNs);
+			final JoueurOrdi joueur=new JoueurOrdiN2(0,"Banc",new PositionPlateau(0,0,configuration),true);
+			afficher("calculerCoup (N2)",nbCases,mesurer(i -> joueur.calculerCoup(elementsJeu),nbRep));
+		}
+		System.out.println("Parties complètes (configuration par défaut, sans affichage)");
+		final double tempsPartieNs=mesurer(i -> {
+			final PlanificateurVirtuel planificateur=new PlanificateurVirtuel(false);
+			new GestionnaireIGMemoire(new Jeu(new ConfigurationJeu(i),planificateur),planificateur,false)
+					.jouerPartie(PSEUDOS_PARTIE,NATURES_PARTIE,ConfigurationJeu.PROB_SORTIE_DEFAUT);
+		},Math.max(5,nbRepetitions/20));
+		System.out.printf("  %-22s %12.2f ms%n","partie (3 x N2)",tempsPartieNs/1000000);
+	}
+}
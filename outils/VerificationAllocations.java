@@ -0,0 +1,75 @@
+package dedale.outils;
+
+import java.util.function.IntConsumer;
+
+import dedale.elements.BudgetAllocation;
+import dedale.elements.ConfigurationJeu;
+import dedale.elements.ElementsJeu;
+import dedale.mesures.Metriques;
+
+/**
+ * Programme vérifiant que les opérations critiques du moteur respectent leur budget d'allocation (voir {@link BudgetAllocation}).
+ * Chaque opération est d'abord répétée afin d'être compilée, puis le nombre d'octets alloués par l'ensemble des threads
+ * (voir {@link Metriques#octetsAllouesParTousLesThreads()}, les calculs parallèles allouant aussi dans les threads du pool) est mesuré sur un grand nombre d'appels ; la mesure d'une opération vide
+ * est retranchée. Le programme affiche les octets alloués par appel et se termine avec le code 1 si un budget est dépassé
+ * (ou si la JVM ne permet pas la mesure).
+ * <br>
+ * Exemple de lancement : java dedale.outils.VerificationAllocations [nbRepetitions]
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public class VerificationAllocations {
+	/**
+	 * Le nombre de répétitions par défaut de chaque mesure (et de la phase de chauffe), la valeur de cette constante est {@value}.
+	 */
+	static final private int NB_REPETITIONS_DEFAUT=20000;
+
+	/**
+	 * La tolérance en octets par appel, la valeur de cette constante est {@value} : un objet créé occasionnellement
+	 * (par exemple lors d'une recompilation) ne doit pas faire échouer la vérification d'un budget nul.
+	 */
+	static final private double TOLERANCE_OCTETS=1;
+
+	/**
+	 * Méthode mesurant le nombre moyen d'octets alloués par un appel d'une opération après une phase de chauffe.
+	 * @param operation L'opération à mesurer.
+	 * @param nbRepetitions Le nombre de répétitions de la mesure.
+	 * @return Le nombre moyen d'octets alloués par appel.
+	 */
+	static private double mesurer(final IntConsumer operation,final int nbRepetitions) {
+		for (int i=0;i<nbRepetitions;i++)
+			operation.accept(i);
+		final long debut=Metriques.octetsAllouesParTousLesThreads();
+		for (int i=0;i<nbRepetitions;i++)
+			operation.accept(i);
+		return (Metriques.octetsAllouesParTousLesThreads()-debut)/(double)nbRepetitions;
+	}
+
+	/**
+	 * Méthode lançant la vérification.
+	 * @param args Éventuellement le nombre de répétitions de chaque mesure.
+	 */
+	public static void main(String[] args) {
+		final int nbRepetitions=(args.length>0)?Integer.parseInt(args[0]):NB_REPETITIONS_DEFAUT;
+		if (Metriques.octetsAllouesParThreadCourant()==0) {
+			System.out.println("La JVM ne permet pas de mesurer les octets alloués par thread");
+			System.exit(1);
+		}
+		final double octetsBase=mesurer(i -> {},nbRepetitions);
+		int nbDepassements=0;
+		for (BudgetAllocation budget : BudgetAllocation.values()) {
+			final ElementsJeu elementsJeu=new ElementsJeu(new ConfigurationJeu());
+			final double octetsParAppel=Math.max(0,mesurer(budget.preparer(elementsJeu),nbRepetitions)-octetsBase);
+			final boolean depasse=octetsParAppel>budget.getOctetsParAppelMax()+TOLERANCE_OCTETS;
+			if (depasse)
+				nbDepassements++;
+			System.out.printf("  %-26s %10.2f octets/appel (budget %6d) %s%n",budget,octetsParAppel,budget.getOctetsParAppelMax(),depasse?"DÉPASSÉ":"ok");
+		}
+		if (nbDepassements>0) {
+			System.out.println(nbDepassements+" budget(s) dépassé(s)");
+			System.exit(1);
+		}
+		System.out.println("Tous les budgets sont respectés");
+	}
+}
@@ -0,0 +1,727 @@
+package dedale.outils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import dedale.elements.ConfigurationJeu;
+import dedale.elements.Direction;
+import dedale.elements.ElementsJeu;
+import dedale.elements.Joueur;
+import dedale.elements.Objet;
+import dedale.elements.Piece;
+import dedale.elements.PlansConnexions;
+import dedale.elements.PlateauCompact;
+import dedale.elements.PlateauPersistant;
+import dedale.elements.PositionPlateau;
+import dedale.elements.StrategieChemin;
+
+/**
+ * Programme vérifiant que les implémentations optimisées du moteur se comportent exactement comme les algorithmes d'origine
+ * (insertion de la pièce hors plateau, rotation d'une pièce et calcul d'un chemin).
+ * <br>
+ * Les algorithmes d'origine sont recopiés ici, figés, sur une représentation volontairement naïve de l'état (les masques des sorties
+ * par case, la case de chaque objet et de chaque joueur). Pour chaque état initial (configuration tirée au hasard à partir d'une graine),
+ * une suite de coups aléatoires (rotations, insertions, déplacements de joueurs, récupérations d'objets) est appliquée à la référence,
+ * aux éléments du jeu, à un {@link PlateauCompact} et à un {@link PlateauPersistant}, et les états obtenus sont comparés après chaque coup,
+ * de même que les connexions entre cases voisines calculées par {@link PlansConnexions}.
+ * Des chemins entre cases tirées au hasard sont aussi calculés : le parcours en largeur (direct ou via le cache des éléments du jeu)
+ * doit donner exactement le chemin de référence, les autres stratégies un chemin valide de même longueur,
+ * et la position libre accessible la plus proche d'une case tirée au hasard (voir {@link ElementsJeu#positionLibreAccessibleLaPlusProche(Joueur, PositionPlateau)})
+ * doit être celle obtenue à partir du parcours de référence.
+ * <br>
+ * Les états initiaux sont vérifiés en parallèle. Les premières divergences sont affichées (avec la graine permettant de les reproduire)
+ * et le programme se termine avec le code 1 si au moins une divergence a été trouvée.
+ * <br>
+ * Exemple de lancement : java dedale.outils.VerificationDifferentielle [nbEtats [nbCoupsParEtat [graine]]]
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public class VerificationDifferentielle {
+	/**
+	 * Le nombre d'états initiaux par défaut, la valeur de cette constante est {@value}.
+	 */
+	static final private int NB_ETATS_DEFAUT=10000;
+
+	/**
+	 * Le nombre de coups par défaut appliqués à chaque état initial, la valeur de cette constante est {@value}.
+	 */
+	static final private int NB_COUPS_PAR_ETAT_DEFAUT=200;
+
+	/**
+	 * Le nombre maximal de divergences affichées, la valeur de cette constante est {@value}.
+	 */
+	static final private int NB_DIVERGENCES_AFFICHEES=20;
+
+	/**
+	 * Le nombre maximal de lignes ou de colonnes des plateaux générés, la valeur de cette constante est {@value}.
+	 * Un plateau sur huit est plus grand (jusqu'à 48x48) afin que la stratégie adaptative utilise l'algorithme A*.
+	 */
+	static final private int TAILLE_MAX=16;
+
+	/**
+	 * Les directions dans l'ordre de leur déclaration.
+	 */
+	static final private Direction[] DIRECTIONS=Direction.values();
+
+	/**
+	 * Les stratégies de calcul de chemin vérifiées en plus du parcours en largeur.
+	 */
+	static final private StrategieChemin[] STRATEGIES= {StrategieChemin.BIDIRECTIONNELLE,StrategieChemin.A_ETOILE};
+
+	/**
+	 * Le nombre de coups vérifiés.
+	 */
+	static final private LongAdder NB_COUPS=new LongAdder();
+
+	/**
+	 * Le nombre de chemins vérifiés.
+	 */
+	static final private LongAdder NB_CHEMINS=new LongAdder();
+
+	/**
+	 * Le nombre de divergences trouvées.
+	 */
+	static final private AtomicInteger NB_DIVERGENCES=new AtomicInteger();
+
+	/**
+	 * Les premières divergences trouvées.
+	 */
+	static final private ConcurrentLinkedQueue<String> DIVERGENCES=new ConcurrentLinkedQueue<String>();
+
+	/**
+	 * Une instance de cette classe correspond à l'état de référence d'une partie : la représentation naïve
+	 * sur laquelle sont appliqués les algorithmes d'origine.
+	 */
+	static final private class Reference {
+		/**
+		 * Le nombre de lignes du plateau.
+		 */
+		final int nbLignes;
+
+		/**
+		 * Le nombre de colonnes du plateau.
+		 */
+		final int nbColonnes;
+
+		/**
+		 * Les sorties (haut, droite, bas, gauche) de la pièce de chaque case.
+		 */
+		final boolean[][] sorties;
+
+		/**
+		 * Les sorties de la pièce hors plateau.
+		 */
+		boolean[] sortiesHorsPlateau;
+
+		/**
+		 * La case de chaque objet (-1 s'il a été récupéré).
+		 */
+		final int[] caseObjets;
+
+		/**
+		 * La case de chaque joueur.
+		 */
+		final int[] caseJoueurs;
+
+		/**
+		 * Constructeur permettant de créer l'état de référence correspondant aux éléments d'un jeu
+		 * (à partir des positions des pièces, des objets et des joueurs).
+		 * @param elementsJeu Les éléments du jeu.
+		 */
+		Reference(final ElementsJeu elementsJeu) {
+			nbLignes=elementsJeu.getConfiguration().getNbLignes();
+			nbColonnes=elementsJeu.getConfiguration().getNbColonnes();
+			sorties=new boolean[nbLignes*nbColonnes][];
+			for (Piece piece : elementsJeu.getPieces())
+				if (piece.getPosition()==null)
+					sortiesHorsPlateau=sortiesDe(piece);
+				else
+					sorties[piece.getPosition().getNumCase()]=sortiesDe(piece);
+			caseObjets=new int[elementsJeu.getObjets().size()];
+			for (Objet objet : elementsJeu.getObjets())
+				caseObjets[objet.getId()]=objet.estRecupere()?-1:objet.getPosition().getNumCase();
+			caseJoueurs=new int[elementsJeu.getJoueurs().size()];
+			for (Joueur joueur : elementsJeu.getJoueurs())
+				caseJoueurs[joueur.getId()]=joueur.getPosition().getNumCase();
+		}
+
+		/**
+		 * Méthode retournant les sorties d'une pièce.
+		 * @param piece La pièce.
+		 * @return Les sorties haut, droite, bas et gauche.
+		 */
+		static private boolean[] sortiesDe(final Piece piece) {
+			return new boolean[] {piece.getSortie(Direction.HAUT),piece.getSortie(Direction.DROITE),piece.getSortie(Direction.BAS),piece.getSortie(Direction.GAUCHE)};
+		}
+
+		/**
+		 * Méthode retournant le masque des sorties correspondant à des sorties (voir {@link Piece#getMasqueSorties()}).
+		 * @param sorties Les sorties haut, droite, bas et gauche.
+		 * @return Le masque des sorties.
+		 */
+		static int masque(final boolean[] sorties) {
+			return (sorties[0]?1:0)|(sorties[1]?2:0)|(sorties[2]?4:0)|(sorties[3]?8:0);
+		}
+
+		/**
+		 * Méthode de référence effectuant une rotation d'une pièce dans le sens des aiguilles d'une montre (algorithme d'origine de Piece.rotationner()).
+		 * @param sorties Les sorties haut, droite, bas et gauche de la pièce (modifiées).
+		 */
+		static void rotationner(final boolean[] sorties) {
+			final boolean ancienneSortieHaut=sorties[0];
+			sorties[0]=sorties[3];
+			sorties[3]=sorties[2];
+			sorties[2]=sorties[1];
+			sorties[1]=ancienneSortieHaut;
+		}
+
+		/**
+		 * Méthode de référence retournant la case atteinte par un élément décalé d'une case dans une direction, le plateau étant refermé sur lui-même
+		 * (algorithme d'origine de PositionPlateau.decaler(Direction)).
+		 * @param numCase La case de l'élément.
+		 * @param direction La direction du décalage.
+		 * @return La case atteinte.
+		 */
+		int decaler(final int numCase,final Direction direction) {
+			int numLigne=numCase/nbColonnes;
+			int numColonne=numCase%nbColonnes;
+			switch (direction) {
+			case HAUT:
+				if (++numLigne==nbLignes)
+					numLigne=0;
+				break;
+			case BAS:
+				if (--numLigne==-1)
+					numLigne=nbLignes-1;
+				break;
+			case DROITE:
+				if (++numColonne==nbColonnes)
+					numColonne=0;
+				break;
+			case GAUCHE:
+				if (--numColonne==-1)
+					numColonne=nbColonnes-1;
+			}
+			return numLigne*nbColonnes+numColonne;
+		}
+
+		/**
+		 * Méthode indiquant si une case se trouve sur la ligne ou la colonne d'un décalage.
+		 * @param numCase La case.
+		 * @param direction La direction du décalage.
+		 * @param numLigOuCol Le numéro de la ligne ou de la colonne.
+		 * @return true si et seulement si la case est décalée.
+		 */
+		boolean estDecalee(final int numCase,final Direction direction,final int numLigOuCol) {
+			if ((direction==Direction.HAUT)||(direction==Direction.BAS))
+				return numCase%nbColonnes==numLigOuCol;
+			return numCase/nbColonnes==numLigOuCol;
+		}
+
+		/**
+		 * Méthode de référence effectuant l'insertion de la pièce hors plateau (algorithme d'origine de ElementsJeu.effectuerInsertionPieceHorsPlateau) :
+		 * tous les éléments de la ligne ou de la colonne sont décalés, la pièce arrivée sur la case d'entrée devient la pièce hors plateau
+		 * et l'ancienne pièce hors plateau prend sa place.
+		 * @param direction La direction du décalage.
+		 * @param numLigOuCol Le numéro de la ligne ou de la colonne.
+		 */
+		void effectuerInsertion(final Direction direction,final int numLigOuCol) {
+			final boolean[][] anciennesSorties=sorties.clone();
+			for (int numCase=0;numCase<sorties.length;numCase++)
+				if (estDecalee(numCase,direction,numLigOuCol))
+					sorties[decaler(numCase,direction)]=anciennesSorties[numCase];
+			for (int i=0;i<caseObjets.length;i++)
+				if ((caseObjets[i]!=-1)&&(estDecalee(caseObjets[i],direction,numLigOuCol)))
+					caseObjets[i]=decaler(caseObjets[i],direction);
+			for (int i=0;i<caseJoueurs.length;i++)
+				if (estDecalee(caseJoueurs[i],direction,numLigOuCol))
+					caseJoueurs[i]=decaler(caseJoueurs[i],direction);
+			final int caseEntree;
+			switch (direction) {
+			case HAUT:
+				caseEntree=numLigOuCol;
+				break;
+			case BAS:
+				caseEntree=(nbLignes-1)*nbColonnes+numLigOuCol;
+				break;
+			case DROITE:
+				caseEntree=numLigOuCol*nbColonnes;
+				break;
+			default:
+				caseEntree=numLigOuCol*nbColonnes+nbColonnes-1;
+				break;
+			}
+			final boolean[] nouvellesSortiesHorsPlateau=sorties[caseEntree];
+			sorties[caseEntree]=sortiesHorsPlateau;
+			sortiesHorsPlateau=nouvellesSortiesHorsPlateau;
+		}
+
+		/**
+		 * Méthode de référence testant si une case est directement accessible depuis une autre (algorithme d'origine de Piece.estDirectementAccessible).
+		 * @param numCase La case de départ.
+		 * @param autreCase L'autre case.
+		 * @return true si et seulement si les cases sont adjacentes (sans passer par le bord) et leurs sorties concordent.
+		 */
+		boolean estDirectementAccessible(final int numCase,final int autreCase) {
+			final int numLigne=numCase/nbColonnes;
+			final int numColonne=numCase%nbColonnes;
+			final int autreLigne=autreCase/nbColonnes;
+			final int autreColonne=autreCase%nbColonnes;
+			final boolean adjacentes=((numLigne==autreLigne)&&(Math.abs(numColonne-autreColonne)==1))||((numColonne==autreColonne)&&(Math.abs(numLigne-autreLigne)==1));
+			if (!adjacentes)
+				return false;
+			final boolean[] s=sorties[numCase];
+			final boolean[] a=sorties[autreCase];
+			if ((numLigne==autreLigne+1)&&s[2]&&a[0])
+				return true;
+			if ((numLigne==autreLigne-1)&&s[0]&&a[2])
+				return true;
+			if ((numColonne==autreColonne+1)&&s[3]&&a[1])
+				return true;
+			return (numColonne==autreColonne-1)&&s[1]&&a[3];
+		}
+
+		/**
+		 * Méthode de référence calculant les longueurs des plus courts chemins vers une case finale et la case précédente de chaque case
+		 * sur son chemin (algorithme d'origine de Piece.calculerChemin : parcours par niveaux, les cases de chaque niveau étant examinées
+		 * dans l'ordre des numéros de case).
+		 * @param caseFinale La case finale.
+		 * @param precedentes Un tableau recevant la case suivante (vers la case finale) de chaque case accessible.
+		 * @return Les longueurs des chemins (-1 pour une case inaccessible).
+		 */
+		int[] parcourir(final int caseFinale,final int[] precedentes) {
+			final int[] longueurs=new int[sorties.length];
+			Arrays.fill(longueurs,-1);
+			longueurs[caseFinale]=0;
+			int num=0;
+			boolean changement=true;
+			while (changement) {
+				changement=false;
+				for (int numCase=0;numCase<sorties.length;numCase++)
+					if (longueurs[numCase]==num)
+						for (int voisine : new int[] {numCase-nbColonnes,numCase-1,numCase+1,numCase+nbColonnes})
+							if ((voisine>=0)&&(voisine<sorties.length)&&(estDirectementAccessible(numCase,voisine))&&(longueurs[voisine]==-1)) {
+								changement=true;
+								precedentes[voisine]=numCase;
+								longueurs[voisine]=num+1;
+							}
+				num++;
+			}
+			return longueurs;
+		}
+
+		/**
+		 * Méthode de référence calculant un chemin entre deux cases (algorithme d'origine de Piece.calculerChemin).
+		 * @param caseInitiale La case initiale.
+		 * @param caseFinale La case finale.
+		 * @return Les cases du chemin ou null si un chemin n'existe pas.
+		 */
+		int[] calculerChemin(final int caseInitiale,final int caseFinale) {
+			final int[] precedentes=new int[sorties.length];
+			final int[] longueurs=parcourir(caseFinale,precedentes);
+			if (longueurs[caseInitiale]==-1)
+				return null;
+			final int[] chemin=new int[longueurs[caseInitiale]+1];
+			int numCase=caseInitiale;
+			for (int i=0;i<chemin.length;i++) {
+				chemin[i]=numCase;
+				numCase=precedentes[numCase];
+			}
+			return chemin;
+		}
+	}
+
+	/**
+	 * Méthode enregistrant une divergence.
+	 * @param graine La graine de l'état initial.
+	 * @param numCoup Le numéro du coup.
+	 * @param message La description de la divergence.
+	 */
+	static private void signaler(final long graine,final int numCoup,final String message) {
+		if (NB_DIVERGENCES.incrementAndGet()<=NB_DIVERGENCES_AFFICHEES)
+			DIVERGENCES.add("graine "+graine+", coup "+numCoup+" : "+message);
+	}
+
+	/**
+	 * Méthode retournant une configuration tirée au hasard.
+	 * @param generateur Le générateur aléatoire.
+	 * @param graine La graine de la configuration.
+	 * @return La configuration.
+	 */
+	static private ConfigurationJeu configurationAleatoire(final Random generateur,final long graine) {
+		final int tailleMax=(generateur.nextInt(8)==0)?48:TAILLE_MAX;
+		final int nbLignes=ConfigurationJeu.TAILLE_MIN_PLATEAU+generateur.nextInt(tailleMax-ConfigurationJeu.TAILLE_MIN_PLATEAU+1);
+		final int nbColonnes=ConfigurationJeu.TAILLE_MIN_PLATEAU+generateur.nextInt(tailleMax-ConfigurationJeu.TAILLE_MIN_PLATEAU+1);
+		final int nbCases=nbLignes*nbColonnes;
+		final int nbJoueurs=1+generateur.nextInt(Math.min(4,nbCases));
+		final int nbObjetsParJoueur=1+generateur.nextInt(Math.min(6,nbCases/nbJoueurs));
+		return new ConfigurationJeu(49+generateur.nextInt(51),nbLignes,nbColonnes,nbJoueurs,nbObjetsParJoueur,graine,ConfigurationJeu.TEMPS_CALCUL_MAX_MS_DEFAUT);
+	}
+
+	/**
+	 * Méthode vérifiant une suite de coups aléatoires à partir d'un état initial.
+	 * @param graine La graine de l'état initial et des coups.
+	 * @param nbCoups Le nombre de coups.
+	 */
+	static private void verifierEtat(final long graine,final int nbCoups) {
+		final Random generateur=new Random(graine);
+		final ConfigurationJeu configuration=configurationAleatoire(generateur,graine);
+		final ElementsJeu elementsJeu=new ElementsJeu(configuration);
+		final Reference reference=new Reference(elementsJeu);
+		final PlateauCompact plateau=new PlateauCompact(elementsJeu);
+		PlateauPersistant version=new PlateauPersistant(elementsJeu);
+		final PlansConnexions plans=new PlansConnexions(configuration.getNbLignes(),configuration.getNbColonnes());
+		if ((!comparer(graine,0,reference,elementsJeu,plateau,version))||(!verifierConnexions(graine,0,reference,plateau,plans)))
+			return;
+		for (int numCoup=1;numCoup<=nbCoups;numCoup++) {
+			switch (generateur.nextInt(8)) {
+			case 0:
+			case 1:
+				final int nbRotations=1+generateur.nextInt(3);
+				for (int i=0;i<nbRotations;i++) {
+					Reference.rotationner(reference.sortiesHorsPlateau);
+					elementsJeu.rotationnerPieceHorsPlateau();
+				}
+				plateau.rotationnerPieceHorsPlateau(nbRotations);
+				version=version.rotationnerPieceHorsPlateau(nbRotations);
+				verifierRotation(graine,numCoup,generateur.nextInt(16),nbRotations);
+				break;
+			case 2:
+			case 3:
+			case 4:
+				final Direction direction=DIRECTIONS[generateur.nextInt(DIRECTIONS.length)];
+				final int numLigOuCol=generateur.nextInt(((direction==Direction.HAUT)||(direction==Direction.BAS))?reference.nbColonnes:reference.nbLignes);
+				reference.effectuerInsertion(direction,numLigOuCol);
+				elementsJeu.effectuerInsertionPieceHorsPlateau(direction,numLigOuCol);
+				plateau.decaler(direction,numLigOuCol);
+				version=version.decaler(direction,numLigOuCol);
+				break;
+			case 5:
+				deplacerJoueur(generateur,reference,elementsJeu);
+				break;
+			case 6:
+				recupererObjet(generateur,reference,elementsJeu);
+				break;
+			default:
+				break;
+			}
+			NB_COUPS.increment();
+			if ((!comparer(graine,numCoup,reference,elementsJeu,plateau,version))||(!verifierConnexions(graine,numCoup,reference,plateau,plans)))
+				return;
+			final int nbCases=configuration.getNbCases();
+			if (!verifierChemin(graine,numCoup,reference,elementsJeu,generateur.nextInt(nbCases),generateur.nextInt(nbCases)))
+				return;
+			if (!verifierPositionLibre(graine,numCoup,reference,elementsJeu,generateur.nextInt(reference.caseJoueurs.length),generateur.nextInt(nbCases)))
+				return;
+		}
+	}
+
+	/**
+	 * Méthode vérifiant la rotation d'une pièce isolée de masque donné.
+	 * @param graine La graine de l'état initial.
+	 * @param numCoup Le numéro du coup.
+	 * @param masque Le masque des sorties de la pièce.
+	 * @param nbRotations Le nombre de rotations.
+	 */
+	static private void verifierRotation(final long graine,final int numCoup,final int masque,final int nbRotations) {
+		final boolean[] sorties= {(masque&1)!=0,(masque&2)!=0,(masque&4)!=0,(masque&8)!=0};
+		final Piece piece=new Piece(sorties[0],sorties[1],sorties[2],sorties[3]);
+		for (int i=0;i<nbRotations;i++)
+			Reference.rotationner(sorties);
+		piece.rotationner(nbRotations);
+		final int attendu=Reference.masque(sorties);
+		if ((piece.getMasqueSorties()!=attendu)||(Reference.masque(new boolean[] {piece.getSortie(Direction.HAUT),piece.getSortie(Direction.DROITE),
+				piece.getSortie(Direction.BAS),piece.getSortie(Direction.GAUCHE)})!=attendu))
+			signaler(graine,numCoup,"rotation de "+masque+" x"+nbRotations+" : Piece donne "+piece.getMasqueSorties()+" au lieu de "+attendu);
+		if (PlateauCompact.rotationner(masque,nbRotations)!=attendu)
+			signaler(graine,numCoup,"rotation de "+masque+" x"+nbRotations+" : PlateauCompact donne "+PlateauCompact.rotationner(masque,nbRotations)+" au lieu de "+attendu);
+	}
+
+	/**
+	 * Méthode déplaçant un joueur tiré au hasard vers une case libre accessible tirée au hasard.
+	 * @param generateur Le générateur aléatoire.
+	 * @param reference L'état de référence.
+	 * @param elementsJeu Les éléments du jeu.
+	 */
+	static private void deplacerJoueur(final Random generateur,final Reference reference,final ElementsJeu elementsJeu) {
+		final int idJoueur=generateur.nextInt(reference.caseJoueurs.length);
+		final int[] longueurs=reference.parcourir(reference.caseJoueurs[idJoueur],new int[reference.sorties.length]);
+		final ArrayList<Integer> cases=new ArrayList<Integer>();
+		for (int numCase=0;numCase<longueurs.length;numCase++)
+			if (longueurs[numCase]>0) {
+				boolean libre=true;
+				for (int caseJoueur : reference.caseJoueurs)
+					libre&=(caseJoueur!=numCase);
+				if (libre)
+					cases.add(numCase);
+			}
+		if (cases.isEmpty())
+			return;
+		final int numCase=cases.get(generateur.nextInt(cases.size()));
+		reference.caseJoueurs[idJoueur]=numCase;
+		elementsJeu.deplacerJoueur(Joueur.joueurAvecId(elementsJeu.getJoueurs(),idJoueur),
+				new PositionPlateau(numCase/reference.nbColonnes,numCase%reference.nbColonnes,elementsJeu.getConfiguration()));
+	}
+
+	/**
+	 * Méthode récupérant un objet non récupéré tiré au hasard.
+	 * @param generateur Le générateur aléatoire.
+	 * @param reference L'état de référence.
+	 * @param elementsJeu Les éléments du jeu.
+	 */
+	static private void recupererObjet(final Random generateur,final Reference reference,final ElementsJeu elementsJeu) {
+		final int idObjet=generateur.nextInt(reference.caseObjets.length);
+		if (reference.caseObjets[idObjet]==-1)
+			return;
+		reference.caseObjets[idObjet]=-1;
+		elementsJeu.recupererObjet(Objet.objetAvecId(elementsJeu.getObjets(),idObjet));
+	}
+
+	/**
+	 * Méthode comparant l'état de référence à l'état des éléments du jeu et des plateaux optimisés.
+	 * @param graine La graine de l'état initial.
+	 * @param numCoup Le numéro du coup.
+	 * @param reference L'état de référence.
+	 * @param elementsJeu Les éléments du jeu.
+	 * @param plateau Le plateau compact.
+	 * @param version La version persistante du plateau.
+	 * @return true si et seulement si aucune divergence n'a été trouvée.
+	 */
+	static private boolean comparer(final long graine,final int numCoup,final Reference reference,final ElementsJeu elementsJeu,
+			final PlateauCompact plateau,final PlateauPersistant version) {
+		final PlateauPersistant instantane=elementsJeu.getInstantanePlateau();
+		for (int numCase=0;numCase<reference.sorties.length;numCase++) {
+			final int attendu=Reference.masque(reference.sorties[numCase]);
+			final Piece piece=elementsJeu.pieceAt(numCase/reference.nbColonnes,numCase%reference.nbColonnes);
+			if ((piece==null)||(piece.getPosition().getNumCase()!=numCase)||(piece.getMasqueSorties()!=attendu)||(elementsJeu.getMasqueSorties(numCase)!=attendu)
+					||(plateau.getMasque(numCase)!=attendu)||(version.getMasque(numCase)!=attendu)||(instantane.getMasque(numCase)!=attendu)) {
+				signaler(graine,numCoup,"case "+numCase+" : masque "+attendu+" attendu (pièce "+((piece==null)?null:piece.getMasqueSorties())
+						+", éléments "+elementsJeu.getMasqueSorties(numCase)+", compact "+plateau.getMasque(numCase)+", persistant "+version.getMasque(numCase)+")");
+				return false;
+			}
+		}
+		final int attendu=Reference.masque(reference.sortiesHorsPlateau);
+		if ((elementsJeu.getPieceHorsPlateau().getMasqueSorties()!=attendu)||(elementsJeu.getPieceHorsPlateau().getPosition()!=null)
+				||(plateau.getMasqueHorsPlateau()!=attendu)||(version.getMasqueHorsPlateau()!=attendu)||(instantane.getMasqueHorsPlateau()!=attendu)) {
+			signaler(graine,numCoup,"pièce hors plateau : masque "+attendu+" attendu");
+			return false;
+		}
+		for (Objet objet : elementsJeu.getObjets()) {
+			final int caseObjet=reference.caseObjets[objet.getId()];
+			if ((elementsJeu.getCaseObjet(objet.getId())!=caseObjet)||(objet.estRecupere()!=(caseObjet==-1))
+					||((caseObjet!=-1)&&(objet.getPosition().getNumCase()!=caseObjet))) {
+				signaler(graine,numCoup,"objet "+objet.getId()+" : case "+caseObjet+" attendue, "+elementsJeu.getCaseObjet(objet.getId())+" obtenue");
+				return false;
+			}
+		}
+		for (Joueur joueur : elementsJeu.getJoueurs()) {
+			final int caseJoueur=reference.caseJoueurs[joueur.getId()];
+			if ((elementsJeu.getCaseJoueur(joueur.getId())!=caseJoueur)||(joueur.getPosition().getNumCase()!=caseJoueur)) {
+				signaler(graine,numCoup,"joueur "+joueur.getId()+" : case "+caseJoueur+" attendue, "+elementsJeu.getCaseJoueur(joueur.getId())+" obtenue");
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Méthode comparant les connexions entre cases voisines calculées par des plans de connexions (par plans avec l'extraction courante, vectorielle si possible,
+	 * puis par entiers longs et enfin case par case)
+	 * à celles de la référence.
+	 * @param graine La graine de l'état initial.
+	 * @param numCoup Le numéro du coup.
+	 * @param reference L'état de référence.
+	 * @param plateau Le plateau compact.
+	 * @param plans Les plans de connexions (recalculés).
+	 * @return true si et seulement si aucune divergence n'a été trouvée.
+	 */
+	static private boolean verifierConnexions(final long graine,final int numCoup,final Reference reference,final PlateauCompact plateau,
+			final PlansConnexions plans) {
+		final int[] attendus=new int[reference.sorties.length];
+		for (int numCase=0;numCase<attendus.length;numCase++) {
+			final int[] voisines= {numCase+reference.nbColonnes,numCase+1,numCase-reference.nbColonnes,numCase-1};
+			for (int i=0;i<voisines.length;i++)
+				if ((voisines[i]>=0)&&(voisines[i]<attendus.length)&&(reference.estDirectementAccessible(numCase,voisines[i])))
+					attendus[numCase]|=1<<i;
+		}
+		final String[] calculs= {"PlansConnexions.calculer","PlansConnexions.calculerParMots","PlansConnexions.calculerScalaire"};
+		for (int calcul=0;calcul<calculs.length;calcul++) {
+			if (calcul==0)
+				plans.calculer(plateau);
+			else if (calcul==1)
+				plans.calculerParMots(plateau);
+			else
+				plans.calculerScalaire(plateau);
+			for (int numCase=0;numCase<attendus.length;numCase++)
+				if (plans.getMasqueConnexions(numCase)!=attendus[numCase]) {
+					signaler(graine,numCoup,"case "+numCase+" : connexions "+attendus[numCase]+" attendues, "+plans.getMasqueConnexions(numCase)
+							+" obtenues ("+calculs[calcul]+")");
+					return false;
+				}
+		}
+		return true;
+	}
+
+	/**
+	 * Méthode comparant les chemins calculés entre deux cases par les différentes implémentations au chemin de référence.
+	 * @param graine La graine de l'état initial.
+	 * @param numCoup Le numéro du coup.
+	 * @param reference L'état de référence.
+	 * @param elementsJeu Les éléments du jeu.
+	 * @param caseInitiale La case initiale.
+	 * @param caseFinale La case finale.
+	 * @return true si et seulement si aucune divergence n'a été trouvée.
+	 */
+	static private boolean verifierChemin(final long graine,final int numCoup,final Reference reference,final ElementsJeu elementsJeu,
+			final int caseInitiale,final int caseFinale) {
+		final ConfigurationJeu configuration=elementsJeu.getConfiguration();
+		final PositionPlateau positionInitiale=new PositionPlateau(caseInitiale/reference.nbColonnes,caseInitiale%reference.nbColonnes,configuration);
+		final PositionPlateau positionFinale=new PositionPlateau(caseFinale/reference.nbColonnes,caseFinale%reference.nbColonnes,configuration);
+		final int[] attendu=reference.calculerChemin(caseInitiale,caseFinale);
+		final String trajet=" de "+caseInitiale+" à "+caseFinale;
+		NB_CHEMINS.increment();
+		if (!identiques(attendu,Piece.calculerChemin(positionInitiale,positionFinale,elementsJeu.getPieces()))) {
+			signaler(graine,numCoup,"chemin"+trajet+" différent (Piece.calculerChemin)");
+			return false;
+		}
+		final boolean largeur=StrategieChemin.ADAPTATIVE.choisir(configuration.getNbCases())==StrategieChemin.LARGEUR;
+		final ArrayList<Piece> chemin=elementsJeu.calculerChemin(positionInitiale,positionFinale);
+		if (largeur?!identiques(attendu,chemin):!equivalents(reference,attendu,chemin,caseInitiale,caseFinale)) {
+			signaler(graine,numCoup,"chemin"+trajet+" différent (ElementsJeu.calculerChemin)");
+			return false;
+		}
+		for (StrategieChemin strategie : STRATEGIES) {
+			if (!equivalents(reference,attendu,Piece.calculerChemin(positionInitiale,positionFinale,elementsJeu.getPieces(),strategie,null),caseInitiale,caseFinale)) {
+				signaler(graine,numCoup,"chemin"+trajet+" invalide ou de longueur différente ("+strategie+")");
+				return false;
+			}
+			if (!equivalents(reference,attendu,elementsJeu.calculerChemin(positionInitiale,positionFinale,strategie),caseInitiale,caseFinale)) {
+				signaler(graine,numCoup,"chemin"+trajet+" invalide ou de longueur différente ("+strategie+", tableaux réutilisés)");
+				return false;
+			}
+		}
+		final PlateauCompact plateau=new PlateauCompact(elementsJeu);
+		final int[] distances=new int[configuration.getNbCases()];
+		plateau.parcourirEnLargeur(caseFinale,distances,new int[configuration.getNbCases()]);
+		if (distances[caseInitiale]!=((attendu==null)?-1:attendu.length-1)) {
+			signaler(graine,numCoup,"distance"+trajet+" différente (PlateauCompact.parcourirEnLargeur)");
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Méthode comparant les cases accessibles depuis un joueur (voir {@link PlansConnexions#calculerAccessibles(int, long[])})
+	 * et la position libre accessible la plus proche d'une case cible à celles obtenues à partir du parcours de référence :
+	 * parmi les cases accessibles depuis le joueur et non occupées par un autre joueur, la plus proche de la cible (distance de Manhattan),
+	 * puis la plus proche du joueur (longueur de chemin), puis celle de plus petit numéro.
+	 * @param graine La graine de l'état initial.
+	 * @param numCoup Le numéro du coup.
+	 * @param reference L'état de référence.
+	 * @param elementsJeu Les éléments du jeu.
+	 * @param idJoueur L'identifiant du joueur.
+	 * @param caseCible La case cible.
+	 * @return true si et seulement si aucune divergence n'a été trouvée.
+	 */
+	static private boolean verifierPositionLibre(final long graine,final int numCoup,final Reference reference,final ElementsJeu elementsJeu,
+			final int idJoueur,final int caseCible) {
+		final int caseJoueur=reference.caseJoueurs[idJoueur];
+		final int[] longueurs=reference.parcourir(caseJoueur,new int[reference.sorties.length]);
+		final PlansConnexions plans=new PlansConnexions(new PlateauCompact(elementsJeu));
+		final long[] accessibles=plans.creerEnsembleCases();
+		int nbAccessibles=plans.calculerAccessibles(caseJoueur,accessibles);
+		for (int numCase=0;numCase<longueurs.length;numCase++)
+			if ((longueurs[numCase]!=-1)!=PlansConnexions.contient(accessibles,numCase))
+				nbAccessibles=-1;
+		if ((nbAccessibles==-1)||(nbAccessibles!=(int)Arrays.stream(longueurs).filter(longueur -> longueur!=-1).count())) {
+			signaler(graine,numCoup,"cases accessibles depuis "+caseJoueur+" différentes (PlansConnexions.calculerAccessibles)");
+			return false;
+		}
+		int attendue=caseJoueur;
+		int meilleureDistance=Integer.MAX_VALUE;
+		for (int numCase=0;numCase<longueurs.length;numCase++) {
+			boolean occupee=false;
+			for (int id=0;id<reference.caseJoueurs.length;id++)
+				occupee|=(id!=idJoueur)&&(reference.caseJoueurs[id]==numCase);
+			if ((longueurs[numCase]==-1)||occupee)
+				continue;
+			final int distance=Math.abs(numCase/reference.nbColonnes-caseCible/reference.nbColonnes)+Math.abs(numCase%reference.nbColonnes-caseCible%reference.nbColonnes);
+			if ((distance<meilleureDistance)||((distance==meilleureDistance)&&(longueurs[numCase]<longueurs[attendue]))) {
+				attendue=numCase;
+				meilleureDistance=distance;
+			}
+		}
+		final PositionPlateau position=elementsJeu.positionLibreAccessibleLaPlusProche(Joueur.joueurAvecId(elementsJeu.getJoueurs(),idJoueur),
+				new PositionPlateau(caseCible/reference.nbColonnes,caseCible%reference.nbColonnes,elementsJeu.getConfiguration()));
+		if (position.getNumCase()!=attendue) {
+			signaler(graine,numCoup,"position libre la plus proche de "+caseCible+" pour le joueur "+idJoueur+" : case "+attendue+" attendue, "+position.getNumCase()+" obtenue");
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Méthode testant si un chemin de pièces est exactement le chemin de référence.
+	 * @param attendu Les cases du chemin de référence (ou null).
+	 * @param chemin Le chemin de pièces (ou null).
+	 * @return true si et seulement si les deux chemins passent par les mêmes cases dans le même ordre.
+	 */
+	static private boolean identiques(final int[] attendu,final ArrayList<Piece> chemin) {
+		if ((attendu==null)||(chemin==null))
+			return (attendu==null)&&(chemin==null);
+		if (attendu.length!=chemin.size())
+			return false;
+		for (int i=0;i<attendu.length;i++)
+			if (chemin.get(i).getPosition().getNumCase()!=attendu[i])
+				return false;
+		return true;
+	}
+
+	/**
+	 * Méthode testant si un chemin de pièces est un chemin valide de même longueur que le chemin de référence.
+	 * @param reference L'état de référence.
+	 * @param attendu Les cases du chemin de référence (ou null).
+	 * @param chemin Le chemin de pièces (ou null).
+	 * @param caseInitiale La case initiale.
+	 * @param caseFinale La case finale.
+	 * @return true si et seulement si le chemin relie les deux cases par des pièces directement accessibles et a la longueur attendue.
+	 */
+	static private boolean equivalents(final Reference reference,final int[] attendu,final ArrayList<Piece> chemin,final int caseInitiale,final int caseFinale) {
+		if ((attendu==null)||(chemin==null))
+			return (attendu==null)&&(chemin==null);
+		if ((attendu.length!=chemin.size())||(chemin.get(0).getPosition().getNumCase()!=caseInitiale)
+				||(chemin.get(chemin.size()-1).getPosition().getNumCase()!=caseFinale))
+			return false;
+		for (int i=1;i<chemin.size();i++)
+			if (!reference.estDirectementAccessible(chemin.get(i-1).getPosition().getNumCase(),chemin.get(i).getPosition().getNumCase()))
+				return false;
+		return true;
+	}
+
+	/**
+	 * Méthode lançant la vérification.
+	 * @param args Éventuellement le nombre d'états initiaux, le nombre de coups par état puis la première graine.
+	 */
+	public static void main(String[] args) {
+		final int nbEtats=(args.length>0)?Integer.parseInt(args[0]):NB_ETATS_DEFAUT;
+		final int nbCoups=(args.length>1)?Integer.parseInt(args[1]):NB_COUPS_PAR_ETAT_DEFAUT;
+		final long graine=(args.length>2)?Long.parseLong(args[2]):0;
+		final long debut=System.nanoTime();
+		IntStream.range(0,nbEtats).parallel().forEach(i -> verifierEtat(graine+i,nbCoups));
+		final double dureeS=(System.nanoTime()-debut)/1e9;
+		System.out.printf("%d états, %d coups, %d chemins vérifiés en %.1f s%n",nbEtats,NB_COUPS.sum(),NB_CHEMINS.sum(),dureeS);
+		for (String divergence : DIVERGENCES)
+			System.out.println(divergence);
+		if (NB_DIVERGENCES.get()>0) {
+			System.out.println(NB_DIVERGENCES.get()+" divergence(s) trouvée(s)");
+			System.exit(1);
+		}
+		System.out.println("Aucune divergence");
+	}
+}
@@ -0,0 +1,155 @@
+package dedale.outils;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
+import dedale.elements.ConfigurationJeu;
+import dedale.elements.Direction;
+import dedale.elements.ElementsJeu;
+import dedale.elements.PositionPlateau;
+import dedale.evenements.EtatPartie;
+import dedale.evenements.EvenementJeu;
+import dedale.evenements.JoueurDeplace;
+import dedale.evenements.LigneDecalee;
+import dedale.evenements.ObjetRecupere;
+import dedale.evenements.PartieGagnee;
+import dedale.evenements.PieceRotationnee;
+import dedale.evenements.TourPasse;
+import dedale.spectateurs.EncodeurEvenements;
+
+/**
+ * Programme vérifiant que les trames des spectateurs (voir {@link EncodeurEvenements}) restituent exactement les événements encodés
+ * pour la configuration maximale : un plateau de {@link ConfigurationJeu#TAILLE_MAX_PLATEAU} lignes et colonnes,
+ * {@link ConfigurationJeu#NB_JOUEURS_MAX} joueurs et autant d'objets que de cases.
+ * Chaque trame est relue champ par champ selon le format documenté et comparée à l'événement d'origine ;
+ * les valeurs extrêmes (dernière ligne, dernier joueur, dernier objet) sont toutes encodées.
+ * Le programme se termine avec le code 1 si une trame ne restitue pas son événement.
+ * <br>
+ * Exemple de lancement : java dedale.outils.VerificationEncodage
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public class VerificationEncodage {
+	/**
+	 * Méthode relisant une trame et la comparant à l'événement encodé.
+	 * @param evenement L'événement encodé.
+	 * @param trame La trame de l'événement.
+	 * @return Une description de la première différence ou null si la trame restitue l'événement.
+	 */
+	static private String comparer(final EvenementJeu evenement,final ByteBuffer trame) {
+		if (trame.getInt()!=trame.remaining())
+			return "longueur de la trame";
+		final byte type=trame.get();
+		if (trame.get()!=evenement.getIdJoueur())
+			return "identifiant du joueur";
+		if (evenement instanceof PieceRotationnee) {
+			final int masque=trame.get();
+			for (Direction direction : Direction.values())
+				if (((masque>>direction.ordinal())&1)!=(((PieceRotationnee)evenement).getSortie(direction)?1:0))
+					return "sortie "+direction;
+			return verifierType(type,EncodeurEvenements.TYPE_PIECE_ROTATIONNEE,trame);
+		}
+		if (evenement instanceof LigneDecalee) {
+			final LigneDecalee decalage=(LigneDecalee)evenement;
+			if ((trame.get()!=decalage.getDirection().ordinal())||(trame.getShort()!=decalage.getNumLigneOuColonne()))
+				return "décalage";
+			return verifierType(type,EncodeurEvenements.TYPE_LIGNE_DECALEE,trame);
+		}
+		if (evenement instanceof JoueurDeplace) {
+			final JoueurDeplace deplacement=(JoueurDeplace)evenement;
+			if ((trame.getShort()!=deplacement.getNumLigneDepart())||(trame.getShort()!=deplacement.getNumColonneDepart())
+					||(trame.getShort()!=deplacement.getNumLigneArrivee())||(trame.getShort()!=deplacement.getNumColonneArrivee()))
+				return "déplacement";
+			return verifierType(type,EncodeurEvenements.TYPE_JOUEUR_DEPLACE,trame);
+		}
+		if (evenement instanceof ObjetRecupere) {
+			if (trame.getInt()!=((ObjetRecupere)evenement).getIdObjet())
+				return "identifiant de l'objet";
+			return verifierType(type,EncodeurEvenements.TYPE_OBJET_RECUPERE,trame);
+		}
+		if (evenement instanceof TourPasse) {
+			if (trame.get()!=((TourPasse)evenement).getIdJoueurSuivant())
+				return "joueur suivant";
+			return verifierType(type,EncodeurEvenements.TYPE_TOUR_PASSE,trame);
+		}
+		if (evenement instanceof PartieGagnee)
+			return verifierType(type,EncodeurEvenements.TYPE_PARTIE_GAGNEE,trame);
+		final EtatPartie etat=(EtatPartie)evenement;
+		if ((trame.getShort()!=etat.getNbLignes())||(trame.getShort()!=etat.getNbColonnes()))
+			return "dimensions du plateau";
+		for (int numCase=0;numCase<etat.getNbLignes()*etat.getNbColonnes();numCase++)
+			if (trame.get()!=etat.getMasqueSorties(numCase))
+				return "masque de la case "+numCase;
+		if (trame.get()!=etat.getMasqueSortiesHorsPlateau())
+			return "masque de la pièce hors plateau";
+		if (trame.getInt()!=etat.getNbObjets())
+			return "nombre d'objets";
+		for (int idObjet=0;idObjet<etat.getNbObjets();idObjet++)
+			if (trame.getInt()!=etat.getCaseObjet(idObjet))
+				return "case de l'objet "+idObjet;
+		if (trame.get()!=etat.getNbJoueurs())
+			return "nombre de joueurs";
+		for (int idJoueur=0;idJoueur<etat.getNbJoueurs();idJoueur++)
+			if (trame.getInt()!=etat.getCaseJoueur(idJoueur))
+				return "case du joueur "+idJoueur;
+		return verifierType(type,EncodeurEvenements.TYPE_ETAT_PARTIE,trame);
+	}
+
+	/**
+	 * Méthode vérifiant le type d'une trame entièrement relue.
+	 * @param type Le type lu.
+	 * @param typeAttendu Le type attendu.
+	 * @param trame La trame.
+	 * @return Une description de la différence ou null si le type est le bon et la trame a été entièrement relue.
+	 */
+	static private String verifierType(final byte type,final byte typeAttendu,final ByteBuffer trame) {
+		if (type!=typeAttendu)
+			return "type de la trame";
+		return trame.hasRemaining()?"octets en trop":null;
+	}
+
+	/**
+	 * Méthode principale du programme.
+	 * @param args Aucun argument.
+	 */
+	public static void main(String[] args) {
+		final int taille=ConfigurationJeu.TAILLE_MAX_PLATEAU;
+		final int nbJoueurs=ConfigurationJeu.NB_JOUEURS_MAX;
+		final ConfigurationJeu configuration=new ConfigurationJeu(ConfigurationJeu.PROB_SORTIE_DEFAUT,taille,taille,nbJoueurs,
+				taille*taille/nbJoueurs,ConfigurationJeu.GRAINE_DEFAUT,ConfigurationJeu.TEMPS_CALCUL_MAX_MS_DEFAUT);
+		final ElementsJeu elementsJeu=new ElementsJeu(configuration);
+		final int dernierJoueur=nbJoueurs-1;
+		final ArrayList<EvenementJeu> evenements=new ArrayList<EvenementJeu>();
+		evenements.add(new EtatPartie(dernierJoueur,elementsJeu));
+		evenements.add(new PieceRotationnee(dernierJoueur,elementsJeu.getPieceHorsPlateau()));
+		for (Direction direction : Direction.values())
+			evenements.add(new LigneDecalee(dernierJoueur,direction,taille-1));
+		evenements.add(new JoueurDeplace(dernierJoueur,new PositionPlateau(taille-1,taille-1,configuration),new PositionPlateau(0,taille-1,configuration)));
+		evenements.add(new ObjetRecupere(dernierJoueur,elementsJeu.getObjets().size()-1));
+		evenements.add(new TourPasse(dernierJoueur,0));
+		evenements.add(new TourPasse(dernierJoueur-1,dernierJoueur));
+		evenements.add(new PartieGagnee(dernierJoueur));
+		int nbDivergences=0;
+		for (EvenementJeu evenement : evenements) {
+			String difference;
+			try {
+				difference=comparer(evenement,EncodeurEvenements.encoder(evenement));
+			} catch (BufferUnderflowException e) {
+				difference="longueur de la trame (trame trop courte)";
+			}
+			if (difference!=null) {
+				nbDivergences++;
+				System.out.println("  "+evenement.getClass().getSimpleName()+" : divergence sur "+difference);
+			}
+		}
+		System.out.println(evenements.size()+" événements vérifiés (plateau "+taille+"x"+taille+", "+nbJoueurs+" joueurs, "
+				+elementsJeu.getObjets().size()+" objets)");
+		if (nbDivergences>0) {
+			System.out.println(nbDivergences+" trame(s) ne restituant pas leur événement");
+			System.exit(1);
+		}
+		System.out.println("Toutes les trames restituent leur événement");
+	}
+}
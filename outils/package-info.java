@@ -0,0 +1,7 @@
+/**
+ * Paquetage contenant des outils (programmes autonomes) permettant de mesurer les performances du moteur du jeu.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+package dedale.outils;
@@ -0,0 +1,321 @@
+package dedale.spectateurs;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.LongAdder;
+
+import dedale.evenements.EtatPartie;
+import dedale.evenements.EvenementJeu;
+
+/**
+ * Une instance de cette classe diffuse les événements d'une partie à des spectateurs connectés en TCP sur l'adresse locale.
+ * Le diffuseur s'abonne au flux des événements de la partie (voir {@link dedale.evenements.FluxEvenementsJeu}) :
+ * chaque événement est encodé une seule fois (voir {@link EncodeurEvenements}) et la même trame est écrite à tous les spectateurs.
+ * Les écritures sont non bloquantes (NIO) et réalisées par un unique thread dédié : le nombre de spectateurs n'a aucune
+ * influence sur le thread du jeu.
+ * <br>
+ * Un spectateur reçoit d'abord le dernier instantané de la partie ({@link EtatPartie}, publié au début de la partie et à chaque
+ * changement de tour) puis les événements suivants. Un spectateur trop lent dont la file de trames déborde
+ * perd les événements en attente et reprend au prochain instantané.
+ * <br>
+ * Seul le protocole TCP brut est proposé : une passerelle WebSocket peut relayer les trames telles quelles.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public class DiffuseurSpectateurs implements Flow.Subscriber<EvenementJeu>, AutoCloseable {
+	/**
+	 * Le nombre maximal par défaut de trames en attente pour un spectateur, la valeur de cette constante est {@value}.
+	 */
+	static final public int NB_TRAMES_MAX_DEFAUT=1024;
+
+	/**
+	 * Le canal d'écoute des connexions des spectateurs.
+	 */
+	final private ServerSocketChannel canalEcoute;
+
+	/**
+	 * Le sélecteur utilisé par le thread du diffuseur.
+	 */
+	final private Selector selecteur;
+
+	/**
+	 * Le thread du diffuseur.
+	 */
+	final private Thread thread;
+
+	/**
+	 * Le nombre maximal de trames en attente pour un spectateur.
+	 */
+	final private int nbTramesMax;
+
+	/**
+	 * Les trames encodées en attente de diffusion par le thread du diffuseur.
+	 */
+	final private ConcurrentLinkedQueue<TrameADiffuser> tramesADiffuser=new ConcurrentLinkedQueue<TrameADiffuser>();
+
+	/**
+	 * Le nombre de trames abandonnées (une trame abandonnée pour n spectateurs compte n fois).
+	 */
+	final private LongAdder nbTramesAbandonnees=new LongAdder();
+
+	/**
+	 * Le dernier instantané de la partie (utilisé uniquement par le thread du diffuseur).
+	 */
+	private ByteBuffer dernierInstantane;
+
+	/**
+	 * Le nombre de spectateurs connectés.
+	 */
+	private volatile int nbSpectateurs;
+
+	/**
+	 * L'abonnement au flux des événements.
+	 */
+	private volatile Flow.Subscription abonnement;
+
+	/**
+	 * Une trame encodée et sa nature (instantané ou non).
+	 */
+	static private class TrameADiffuser {
+		/**
+		 * La trame.
+		 */
+		final ByteBuffer trame;
+
+		/**
+		 * true si la trame correspond à un instantané.
+		 */
+		final boolean estInstantane;
+
+		/**
+		 * Constructeur.
+		 * @param trame La trame.
+		 * @param estInstantane true si la trame correspond à un instantané.
+		 */
+		TrameADiffuser(final ByteBuffer trame,final boolean estInstantane) {
+			this.trame=trame;
+			this.estInstantane=estInstantane;
+		}
+	}
+
+	/**
+	 * Constructeur permettant de créer un diffuseur écoutant sur un port de l'adresse locale.
+	 * Le thread du diffuseur est démarré immédiatement.
+	 * @param port Le port d'écoute (0 pour un port choisi par le système, voir {@link #getPort()}).
+	 * @param nbTramesMax Le nombre maximal de trames en attente pour un spectateur.
+	 * @throws IOException Si le port ne peut pas être ouvert.
+	 */
+	public DiffuseurSpectateurs(final int port,final int nbTramesMax) throws IOException {
+		if (nbTramesMax<=0)
+			throw new IllegalArgumentException("Le nombre maximal de trames doit être strictement positif !");
+		this.nbTramesMax=nbTramesMax;
+		selecteur=Selector.open();
+		canalEcoute=ServerSocketChannel.open();
+		canalEcoute.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(),port));
+		canalEcoute.configureBlocking(false);
+		canalEcoute.register(selecteur,SelectionKey.OP_ACCEPT);
+		thread=new Thread(this::diffuser,"dedale-spectateurs");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Constructeur permettant de créer un diffuseur écoutant sur un port de l'adresse locale avec le nombre maximal
+	 * de trames en attente par défaut.
+	 * @param port Le port d'écoute (0 pour un port choisi par le système).
+	 * @throws IOException Si le port ne peut pas être ouvert.
+	 */
+	public DiffuseurSpectateurs(final int port) throws IOException {
+		this(port,NB_TRAMES_MAX_DEFAUT);
+	}
+
+	/**
+	 * Méthode retournant le port d'écoute du diffuseur.
+	 * @return Le port d'écoute.
+	 */
+	public int getPort() {
+		return canalEcoute.socket().getLocalPort();
+	}
+
+	/**
+	 * Méthode retournant le nombre de spectateurs connectés.
+	 * @return Le nombre de spectateurs.
+	 */
+	public int getNbSpectateurs() {
+		return nbSpectateurs;
+	}
+
+	/**
+	 * Méthode retournant le nombre de trames abandonnées pour des spectateurs trop lents.
+	 * @return Le nombre de trames abandonnées.
+	 */
+	public long getNbTramesAbandonnees() {
+		return nbTramesAbandonnees.sum();
+	}
+
+	@Override
+	public void onSubscribe(final Flow.Subscription abonnement) {
+		this.abonnement=abonnement;
+		abonnement.request(Long.MAX_VALUE);
+	}
+
+	/**
+	 * Méthode encodant l'événement (une seule fois) et le confiant au thread du diffuseur.
+	 */
+	@Override
+	public void onNext(final EvenementJeu evenement) {
+		tramesADiffuser.add(new TrameADiffuser(EncodeurEvenements.encoder(evenement),evenement instanceof EtatPartie));
+		selecteur.wakeup();
+	}
+
+	@Override
+	public void onError(final Throwable erreur) {
+		close();
+	}
+
+	@Override
+	public void onComplete() {
+		close();
+	}
+
+	/**
+	 * Méthode exécutée par le thread du diffuseur : acceptation des spectateurs, répartition des trames et écritures non bloquantes.
+	 */
+	private void diffuser() {
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				selecteur.select();
+				repartirTrames();
+				final Iterator<SelectionKey> cles=selecteur.selectedKeys().iterator();
+				while (cles.hasNext()) {
+					final SelectionKey cle=cles.next();
+					cles.remove();
+					if (!cle.isValid())
+						continue;
+					if (cle.isAcceptable())
+						accepter();
+					else {
+						final Spectateur spectateur=(Spectateur)cle.attachment();
+						if (cle.isReadable())
+							lire(cle,spectateur);
+						if (cle.isValid()&&cle.isWritable())
+							ecrire(cle,spectateur);
+					}
+				}
+			}
+		} catch (IOException|ClosedSelectorException e) {
+			// Le diffuseur a été fermé.
+		}
+	}
+
+	/**
+	 * Méthode ajoutant les trames en attente de diffusion à la file de chaque spectateur puis tentant de les écrire.
+	 */
+	private void repartirTrames() {
+		TrameADiffuser trameADiffuser;
+		while ((trameADiffuser=tramesADiffuser.poll())!=null) {
+			if (trameADiffuser.estInstantane)
+				dernierInstantane=trameADiffuser.trame;
+			for (SelectionKey cle : selecteur.keys())
+				if (cle.isValid()&&(cle.attachment() instanceof Spectateur))
+					nbTramesAbandonnees.add(((Spectateur)cle.attachment()).ajouter(trameADiffuser.trame,trameADiffuser.estInstantane));
+		}
+		for (SelectionKey cle : selecteur.keys())
+			if (cle.isValid()&&(cle.attachment() instanceof Spectateur))
+				ecrire(cle,(Spectateur)cle.attachment());
+	}
+
+	/**
+	 * Méthode acceptant un nouveau spectateur et lui envoyant le dernier instantané de la partie.
+	 * @throws IOException Si le canal d'écoute a été fermé.
+	 */
+	private void accepter() throws IOException {
+		final SocketChannel canal=canalEcoute.accept();
+		if (canal==null)
+			return;
+		canal.configureBlocking(false);
+		canal.socket().setTcpNoDelay(true);
+		final Spectateur spectateur=new Spectateur(canal,nbTramesMax);
+		final SelectionKey cle=canal.register(selecteur,SelectionKey.OP_READ,spectateur);
+		nbSpectateurs++;
+		if (dernierInstantane!=null) {
+			spectateur.ajouter(dernierInstantane,true);
+			ecrire(cle,spectateur);
+		}
+	}
+
+	/**
+	 * Méthode lisant (et ignorant) les données envoyées par un spectateur afin de détecter la fermeture de sa connexion.
+	 * @param cle La clé du spectateur.
+	 * @param spectateur Le spectateur.
+	 */
+	private void lire(final SelectionKey cle,final Spectateur spectateur) {
+		final ByteBuffer tampon=ByteBuffer.allocate(64);
+		try {
+			while (spectateur.getCanal().read(tampon)>0)
+				tampon.clear();
+			if (spectateur.getCanal().read(tampon)<0)
+				deconnecter(cle);
+		} catch (IOException e) {
+			deconnecter(cle);
+		}
+	}
+
+	/**
+	 * Méthode écrivant sans bloquer les trames en attente d'un spectateur, l'intérêt pour l'écriture n'étant
+	 * demandé au sélecteur que s'il reste des trames à écrire.
+	 * @param cle La clé du spectateur.
+	 * @param spectateur Le spectateur.
+	 */
+	private void ecrire(final SelectionKey cle,final Spectateur spectateur) {
+		try {
+			spectateur.ecrire();
+			cle.interestOps(spectateur.aDesTramesAEcrire()?SelectionKey.OP_READ|SelectionKey.OP_WRITE:SelectionKey.OP_READ);
+		} catch (IOException e) {
+			deconnecter(cle);
+		}
+	}
+
+	/**
+	 * Méthode déconnectant un spectateur.
+	 * @param cle La clé du spectateur.
+	 */
+	private void deconnecter(final SelectionKey cle) {
+		cle.cancel();
+		try {
+			cle.channel().close();
+		} catch (IOException e) {
+			// La connexion est déjà fermée.
+		}
+		nbSpectateurs--;
+	}
+
+	/**
+	 * Méthode fermant le diffuseur : l'abonnement au flux est annulé et toutes les connexions sont fermées.
+	 */
+	@Override
+	public void close() {
+		final Flow.Subscription abonnement=this.abonnement;
+		if (abonnement!=null)
+			abonnement.cancel();
+		thread.interrupt();
+		try {
+			for (SelectionKey cle : selecteur.keys())
+				cle.channel().close();
+			selecteur.close();
+		} catch (IOException|ClosedSelectorException e) {
+			// Le diffuseur est déjà fermé.
+		}
+	}
+}
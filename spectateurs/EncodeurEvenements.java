@@ -0,0 +1,181 @@
+package dedale.spectateurs;
+
+import java.nio.ByteBuffer;
+
+import dedale.elements.Direction;
+import dedale.evenements.EtatPartie;
+import dedale.evenements.EvenementJeu;
+import dedale.evenements.JoueurDeplace;
+import dedale.evenements.LigneDecalee;
+import dedale.evenements.ObjetRecupere;
+import dedale.evenements.PartieGagnee;
+import dedale.evenements.PieceRotationnee;
+import dedale.evenements.TourPasse;
+
+/**
+ * Cette classe permet d'encoder un événement d'une partie sous la forme d'une trame binaire compacte (ordre des octets gros-boutiste).
+ * Chaque trame commence par sa longueur (int, sans compter ces 4 octets) suivie du type de l'événement (byte),
+ * de l'identifiant du joueur à l'origine de l'événement (byte) puis des données propres au type :
+ * <ul>
+ * <li>{@link #TYPE_PIECE_ROTATIONNEE} : le masque des sorties de la pièce hors plateau (byte).</li>
+ * <li>{@link #TYPE_LIGNE_DECALEE} : l'ordinal de la direction (byte) et le numéro de la ligne ou de la colonne (short).</li>
+ * <li>{@link #TYPE_JOUEUR_DEPLACE} : les numéros de ligne et de colonne de départ puis d'arrivée (4 short).</li>
+ * <li>{@link #TYPE_OBJET_RECUPERE} : l'identifiant de l'objet (int).</li>
+ * <li>{@link #TYPE_TOUR_PASSE} : l'identifiant du joueur suivant (byte).</li>
+ * <li>{@link #TYPE_PARTIE_GAGNEE} : aucune donnée.</li>
+ * <li>{@link #TYPE_ETAT_PARTIE} : le nombre de lignes et de colonnes (2 short), le masque des sorties de chaque case (nbLignes*nbColonnes byte),
+ * le masque de la pièce hors plateau (byte), le nombre d'objets (int) et la case de chaque objet (int, -1 si récupéré),
+ * le nombre de joueurs (byte) et la case de chaque joueur (int).</li>
+ * </ul>
+ * Les champs byte et short sont signés : ils contiennent toutes les valeurs permises par {@link dedale.elements.ConfigurationJeu}
+ * (au plus {@link dedale.elements.ConfigurationJeu#NB_JOUEURS_MAX} joueurs, des numéros de ligne et de colonne inférieurs à
+ * {@link dedale.elements.ConfigurationJeu#TAILLE_MAX_PLATEAU}). Les identifiants et le nombre d'objets, qui peuvent atteindre le nombre
+ * de cases du plateau, sont codés sur un int. Une valeur ne tenant pas dans son champ lève une Exception de type IllegalArgumentException
+ * plutôt que d'être tronquée.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+public class EncodeurEvenements {
+	/**
+	 * Le type d'une trame correspondant à l'événement {@link PieceRotationnee}, la valeur de cette constante est {@value}.
+	 */
+	static final public byte TYPE_PIECE_ROTATIONNEE=1;
+
+	/**
+	 * Le type d'une trame correspondant à l'événement {@link LigneDecalee}, la valeur de cette constante est {@value}.
+	 */
+	static final public byte TYPE_LIGNE_DECALEE=2;
+
+	/**
+	 * Le type d'une trame correspondant à l'événement {@link JoueurDeplace}, la valeur de cette constante est {@value}.
+	 */
+	static final public byte TYPE_JOUEUR_DEPLACE=3;
+
+	/**
+	 * Le type d'une trame correspondant à l'événement {@link ObjetRecupere}, la valeur de cette constante est {@value}.
+	 */
+	static final public byte TYPE_OBJET_RECUPERE=4;
+
+	/**
+	 * Le type d'une trame correspondant à l'événement {@link TourPasse}, la valeur de cette constante est {@value}.
+	 */
+	static final public byte TYPE_TOUR_PASSE=5;
+
+	/**
+	 * Le type d'une trame correspondant à l'événement {@link PartieGagnee}, la valeur de cette constante est {@value}.
+	 */
+	static final public byte TYPE_PARTIE_GAGNEE=6;
+
+	/**
+	 * Le type d'une trame correspondant à l'événement {@link EtatPartie}, la valeur de cette constante est {@value}.
+	 */
+	static final public byte TYPE_ETAT_PARTIE=7;
+
+	/**
+	 * La taille de l'en-tête d'une trame (longueur, type et identifiant du joueur), la valeur de cette constante est {@value}.
+	 */
+	static final private int TAILLE_ENTETE=6;
+
+	/**
+	 * Constructeur privé : cette classe ne contient que des méthodes statiques.
+	 */
+	private EncodeurEvenements() {
+	}
+
+	/**
+	 * Méthode encodant un événement sous la forme d'une trame.
+	 * Dans le cas où le type de l'événement n'est pas connu, une Exception de type IllegalArgumentExcpetion est levée.
+	 * @param evenement L'événement à encoder.
+	 * @return Une trame en lecture seule, prête à être écrite (position 0).
+	 */
+	static public ByteBuffer encoder(final EvenementJeu evenement) {
+		final ByteBuffer trame;
+		if (evenement instanceof PieceRotationnee) {
+			final PieceRotationnee rotation=(PieceRotationnee)evenement;
+			int masque=0;
+			for (Direction direction : Direction.values())
+				if (rotation.getSortie(direction))
+					masque|=1<<direction.ordinal();
+			trame=entete(TYPE_PIECE_ROTATIONNEE,evenement,1);
+			trame.put(octet(masque));
+		} else if (evenement instanceof LigneDecalee) {
+			final LigneDecalee decalage=(LigneDecalee)evenement;
+			trame=entete(TYPE_LIGNE_DECALEE,evenement,3);
+			trame.put(octet(decalage.getDirection().ordinal()));
+			trame.putShort(court(decalage.getNumLigneOuColonne()));
+		} else if (evenement instanceof JoueurDeplace) {
+			final JoueurDeplace deplacement=(JoueurDeplace)evenement;
+			trame=entete(TYPE_JOUEUR_DEPLACE,evenement,8);
+			trame.putShort(court(deplacement.getNumLigneDepart()));
+			trame.putShort(court(deplacement.getNumColonneDepart()));
+			trame.putShort(court(deplacement.getNumLigneArrivee()));
+			trame.putShort(court(deplacement.getNumColonneArrivee()));
+		} else if (evenement instanceof ObjetRecupere) {
+			trame=entete(TYPE_OBJET_RECUPERE,evenement,4);
+			trame.putInt(((ObjetRecupere)evenement).getIdObjet());
+		} else if (evenement instanceof TourPasse) {
+			trame=entete(TYPE_TOUR_PASSE,evenement,1);
+			trame.put(octet(((TourPasse)evenement).getIdJoueurSuivant()));
+		} else if (evenement instanceof PartieGagnee) {
+			trame=entete(TYPE_PARTIE_GAGNEE,evenement,0);
+		} else if (evenement instanceof EtatPartie) {
+			final EtatPartie etat=(EtatPartie)evenement;
+			final int nbCases=etat.getNbLignes()*etat.getNbColonnes();
+			trame=entete(TYPE_ETAT_PARTIE,evenement,4+nbCases+1+4+4*etat.getNbObjets()+1+4*etat.getNbJoueurs());
+			trame.putShort(court(etat.getNbLignes()));
+			trame.putShort(court(etat.getNbColonnes()));
+			for (int numCase=0;numCase<nbCases;numCase++)
+				trame.put(octet(etat.getMasqueSorties(numCase)));
+			trame.put(octet(etat.getMasqueSortiesHorsPlateau()));
+			trame.putInt(etat.getNbObjets());
+			for (int idObjet=0;idObjet<etat.getNbObjets();idObjet++)
+				trame.putInt(etat.getCaseObjet(idObjet));
+			trame.put(octet(etat.getNbJoueurs()));
+			for (int idJoueur=0;idJoueur<etat.getNbJoueurs();idJoueur++)
+				trame.putInt(etat.getCaseJoueur(idJoueur));
+		} else
+			throw new IllegalArgumentException("Le type de l'événement n'est pas connu : "+evenement+" !");
+		trame.flip();
+		return trame.asReadOnlyBuffer();
+	}
+
+	/**
+	 * Méthode allouant une trame et y écrivant son en-tête.
+	 * @param type Le type de la trame.
+	 * @param evenement L'événement encodé.
+	 * @param tailleDonnees La taille des données propres au type.
+	 * @return La trame positionnée après l'en-tête.
+	 */
+	static private ByteBuffer entete(final byte type,final EvenementJeu evenement,final int tailleDonnees) {
+		final ByteBuffer trame=ByteBuffer.allocate(TAILLE_ENTETE+tailleDonnees);
+		trame.putInt(TAILLE_ENTETE-4+tailleDonnees);
+		trame.put(type);
+		trame.put(octet(evenement.getIdJoueur()));
+		return trame;
+	}
+
+	/**
+	 * Méthode convertissant une valeur en un champ byte.
+	 * Dans le cas où la valeur n'est pas comprise entre 0 et Byte.MAX_VALUE, une Exception de type IllegalArgumentException est levée.
+	 * @param valeur La valeur.
+	 * @return Le champ byte.
+	 */
+	static private byte octet(final int valeur) {
+		if ((valeur<0)||(valeur>Byte.MAX_VALUE))
+			throw new IllegalArgumentException("La valeur ne tient pas sur un octet : "+valeur+" !");
+		return (byte)valeur;
+	}
+
+	/**
+	 * Méthode convertissant une valeur en un champ short.
+	 * Dans le cas où la valeur n'est pas comprise entre 0 et Short.MAX_VALUE, une Exception de type IllegalArgumentException est levée.
+	 * @param valeur La valeur.
+	 * @return Le champ short.
+	 */
+	static private short court(final int valeur) {
+		if ((valeur<0)||(valeur>Short.MAX_VALUE))
+			throw new IllegalArgumentException("La valeur ne tient pas sur deux octets : "+valeur+" !");
+		return (short)valeur;
+	}
+}
@@ -0,0 +1,115 @@
+package dedale.spectateurs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+
+/**
+ * Une instance de cette classe correspond à la connexion d'un spectateur : une file bornée de trames restant à lui écrire.
+ * Elle n'est utilisée que par le thread du diffuseur (voir {@link DiffuseurSpectateurs}).
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+class Spectateur {
+	/**
+	 * Le canal de la connexion (non bloquant).
+	 */
+	final private SocketChannel canal;
+
+	/**
+	 * Les trames restant à écrire (la première pouvant être partiellement écrite).
+	 */
+	final private ArrayDeque<ByteBuffer> trames=new ArrayDeque<ByteBuffer>();
+
+	/**
+	 * Le nombre maximal de trames en attente.
+	 */
+	final private int nbTramesMax;
+
+	/**
+	 * Un booléen indiquant que le spectateur doit recevoir un instantané avant toute autre trame
+	 * (à la connexion ou après un débordement de sa file).
+	 */
+	private boolean attendInstantane=true;
+
+	/**
+	 * Constructeur permettant de créer un spectateur à partir de sa connexion.
+	 * @param canal Le canal de la connexion (non bloquant).
+	 * @param nbTramesMax Le nombre maximal de trames en attente.
+	 */
+	Spectateur(final SocketChannel canal,final int nbTramesMax) {
+		this.canal=canal;
+		this.nbTramesMax=nbTramesMax;
+	}
+
+	/**
+	 * Méthode retournant le canal de la connexion.
+	 * @return Le canal de la connexion.
+	 */
+	SocketChannel getCanal() {
+		return canal;
+	}
+
+	/**
+	 * Méthode ajoutant une trame à écrire.
+	 * Un instantané rend obsolètes les trames en attente qui n'ont pas commencé à être écrites : elles sont retirées.
+	 * Si la file est pleine, les trames en attente sont abandonnées et le spectateur attend le prochain instantané.
+	 * @param trame La trame (partagée entre les spectateurs, elle n'est jamais modifiée).
+	 * @param estInstantane true si la trame correspond à un instantané de la partie.
+	 * @return Le nombre de trames abandonnées.
+	 */
+	int ajouter(final ByteBuffer trame,final boolean estInstantane) {
+		if (estInstantane) {
+			final int nbAbandonnees=viderTramesNonCommencees();
+			attendInstantane=false;
+			trames.add(trame.duplicate());
+			return nbAbandonnees;
+		}
+		if (attendInstantane)
+			return 1;
+		if (trames.size()>=nbTramesMax) {
+			attendInstantane=true;
+			return viderTramesNonCommencees()+1;
+		}
+		trames.add(trame.duplicate());
+		return 0;
+	}
+
+	/**
+	 * Méthode retirant les trames en attente, sauf la première si elle est partiellement écrite.
+	 * @return Le nombre de trames retirées.
+	 */
+	private int viderTramesNonCommencees() {
+		final ByteBuffer premiere=trames.peekFirst();
+		final boolean garderPremiere=(premiere!=null)&&(premiere.position()>0);
+		final int nbRetirees=trames.size()-(garderPremiere?1:0);
+		trames.clear();
+		if (garderPremiere)
+			trames.add(premiere);
+		return nbRetirees;
+	}
+
+	/**
+	 * Méthode indiquant s'il reste des trames à écrire.
+	 * @return true s'il reste des trames à écrire.
+	 */
+	boolean aDesTramesAEcrire() {
+		return !trames.isEmpty();
+	}
+
+	/**
+	 * Méthode écrivant autant de trames que possible sans bloquer.
+	 * @throws IOException Si la connexion a été fermée.
+	 */
+	void ecrire() throws IOException {
+		while (!trames.isEmpty()) {
+			final ByteBuffer trame=trames.peekFirst();
+			canal.write(trame);
+			if (trame.hasRemaining())
+				return;
+			trames.pollFirst();
+		}
+	}
+}
@@ -0,0 +1,8 @@
+/**
+ * Paquetage contenant les classes permettant à des spectateurs (en lecture seule) de suivre une partie en direct
+ * par l'intermédiaire de connexions TCP locales.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+package dedale.spectateurs;
@@ -0,0 +1,97 @@
+package dedale.elements;
+
+import java.nio.ByteOrder;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Extraction des plans des sorties par l'API vectorielle (module incubateur jdk.incubator.vector) : les masques des sorties
+ * de 8 cases consécutives par voie (64 cases pour un vecteur de 512 bits, 32 avec AVX2) sont chargés dans un vecteur d'entiers longs,
+ * le bit de chaque direction est regroupé dans chaque voie par multiplication comme dans {@link PlansConnexions},
+ * puis les octets obtenus sont placés à leur rang et réunis par une réduction (ou logique).
+ * Les masques de voies (VectorMask.toLong) ne sont pas utilisés : ils ne sont pas compilés en instructions vectorielles par la JVM 17
+ * et créent un objet par appel.
+ * <br>
+ * Le module n'étant pas chargé par défaut, cette classe est placée dans un répertoire de sources facultatif (vectoriel), séparé des sources
+ * du jeu qui compilent sans option ; elle est compilée à part, avec les options du fichier vectoriel/options-javac, dans le répertoire des classes du jeu :
+ * <ul>
+ * <li>javac @vectoriel/options-javac -cp classes -d classes vectoriel/elements/ExtractionSortiesVectorielle.java ;</li>
+ * <li>java --add-modules jdk.incubator.vector ... dedale.DedaleV1 (sans cette option ou sans cette classe, {@link PlansConnexions} utilise le calcul par entiers longs).</li>
+ * </ul>
+ * Cette classe n'est jamais référencée directement : {@link PlansConnexions} la charge par réflexion après avoir vérifié la présence du module.
+ * @author Damlencourt Valentin
+ * @since 6.0 (19/10/26)
+ * @version 6.0 (19/10/26)
+ */
+final class ExtractionSortiesVectorielle implements ExtractionSorties {
+	/**
+	 * La forme des vecteurs d'entiers longs préférée par la plateforme.
+	 */
+	static final private VectorSpecies<Long> ESPECE=LongVector.SPECIES_PREFERRED;
+
+	/**
+	 * Le nombre de cases traitées par vecteur (8 par voie).
+	 */
+	static final private int NB_CASES_VECTEUR=8*ESPECE.length();
+
+	/**
+	 * Le bit de poids faible de chacun des 8 octets d'un entier long.
+	 */
+	static final private long BITS_DE_POIDS_FAIBLE=0x0101010101010101L;
+
+	/**
+	 * Le multiplicateur rassemblant dans l'octet de poids fort les bits de poids faible des 8 octets d'un entier long.
+	 */
+	static final private long MULTIPLICATEUR_REGROUPEMENT=0x0102040810204080L;
+
+	/**
+	 * Les rangs auxquels sont placés les 8 bits regroupés de chaque voie (8 fois le numéro de la voie).
+	 */
+	static final private LongVector RANGS=LongVector.zero(ESPECE).addIndex(8);
+
+	@Override
+	public void extraire(final byte[] masques,final long[][] sorties) {
+		final int nbCases=masques.length;
+		for (int mot=0;mot<sorties[0].length;mot++) {
+			final int debut=mot<<6;
+			final int fin=Math.min(debut+64,nbCases);
+			long haut=0;
+			long droite=0;
+			long bas=0;
+			long gauche=0;
+			int numCase=debut;
+			for (;numCase+NB_CASES_VECTEUR<=fin;numCase+=NB_CASES_VECTEUR) {
+				final LongVector vecteur=LongVector.fromByteArray(ESPECE,masques,numCase,ByteOrder.LITTLE_ENDIAN);
+				final int bit=numCase-debut;
+				haut|=regrouper(vecteur)<<bit;
+				droite|=regrouper(vecteur.lanewise(VectorOperators.LSHR,1))<<bit;
+				bas|=regrouper(vecteur.lanewise(VectorOperators.LSHR,2))<<bit;
+				gauche|=regrouper(vecteur.lanewise(VectorOperators.LSHR,3))<<bit;
+			}
+			for (;numCase<fin;numCase++) {
+				final long masque=masques[numCase];
+				final int bit=numCase-debut;
+				haut|=(masque&1)<<bit;
+				droite|=((masque>>>1)&1)<<bit;
+				bas|=((masque>>>2)&1)<<bit;
+				gauche|=((masque>>>3)&1)<<bit;
+			}
+			sorties[0][mot]=haut;
+			sorties[1][mot]=droite;
+			sorties[2][mot]=bas;
+			sorties[3][mot]=gauche;
+		}
+	}
+
+	/**
+	 * Méthode rassemblant les bits de poids faible des octets de toutes les voies d'un vecteur.
+	 * @param vecteur Le vecteur (8 octets par voie).
+	 * @return Un entier dont le bit 8*v+i est le bit de poids faible de l'octet i de la voie v.
+	 */
+	static private long regrouper(final LongVector vecteur) {
+		return vecteur.and(BITS_DE_POIDS_FAIBLE).mul(MULTIPLICATEUR_REGROUPEMENT).lanewise(VectorOperators.LSHR,56)
+				.lanewise(VectorOperators.LSHL,RANGS).reduceLanes(VectorOperators.OR);
+	}
+}